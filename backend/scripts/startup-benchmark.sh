@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-ready and first-request latency per launch mode
+#
+# Build first:   mvn -Paot -DskipTests package
+# Run:           scripts/startup-benchmark.sh [runs]
+#
+# Modes:
+#   jvm      boot jar, no AOT, no CDS (what we deploy today)
+#   aot      thin jar with AOT-processed bean definitions
+#   aot-cds  thin jar with AOT and the AppCDS archive from the training run
+#
+# The application needs its database (and Redis if enabled) like a real pod; pass them with the
+# usual environment variables (DB_URL, DB_USERNAME, DB_PASSWORD, ...). Time-to-ready is measured
+# from launch until /actuator/health/readiness reports UP, which includes the warm-up runner.
+# The first request is POST /api/auth/login: with BENCH_EMAIL and BENCH_PASSWORD it logs in and
+# also times GET /api/courses, otherwise it times the rejected login.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCH_PORT:-18080}"
+BASE_URL="http://localhost:${PORT}"
+TIMEOUT_SECONDS="${BENCH_TIMEOUT:-180}"
+BACKEND_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+CDS_DIR="${BACKEND_DIR}/target/cds"
+BOOT_JAR="$(ls "${BACKEND_DIR}"/target/platform-*.jar | grep -v -- '-cds' | head -1)"
+JAVA="${JAVA_HOME:+${JAVA_HOME}/bin/}java"
+
+COMMON_ARGS=(-Dspring.profiles.active=prod "-Dserver.port=${PORT}")
+
+if [[ ! -f "${CDS_DIR}/platform-cds.jar" || ! -f "${CDS_DIR}/application.jsa" ]]; then
+    echo "Missing ${CDS_DIR}; build with: mvn -Paot -DskipTests package" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+mode_args() {
+    case "$1" in
+        jvm)     echo "-jar ${BOOT_JAR}" ;;
+        aot)     echo "-Dspring.aot.enabled=true -jar ${CDS_DIR}/platform-cds.jar" ;;
+        aot-cds) echo "-XX:SharedArchiveFile=${CDS_DIR}/application.jsa -Xlog:cds=off -Dspring.aot.enabled=true -jar ${CDS_DIR}/platform-cds.jar" ;;
+    esac
+}
+
+first_request_ms() {
+    local body status token
+    if [[ -n "${BENCH_EMAIL:-}" && -n "${BENCH_PASSWORD:-}" ]]; then
+        body="{\"email\":\"${BENCH_EMAIL}\",\"password\":\"${BENCH_PASSWORD}\"}"
+    else
+        body='{"email":"startup-benchmark@example.com","password":"not-a-password"}'
+    fi
+    status=$(curl -s -o /tmp/startup-benchmark-login.json -w '%{time_total}' \
+        -H 'Content-Type: application/json' -d "${body}" "${BASE_URL}/api/auth/login")
+    echo -n "$(awk -v t="${status}" 'BEGIN { printf "%d", t * 1000 }')"
+
+    token=$(sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p' /tmp/startup-benchmark-login.json)
+    if [[ -n "${token}" ]]; then
+        status=$(curl -s -o /dev/null -w '%{time_total}' -H "Authorization: Bearer ${token}" "${BASE_URL}/api/courses")
+        echo -n " $(awk -v t="${status}" 'BEGIN { printf "%d", t * 1000 }')"
+    else
+        echo -n " -"
+    fi
+}
+
+run_once() {
+    local mode="$1" start pid ready_ms first
+    start=$(now_ms)
+    # shellcheck disable=SC2046
+    "${JAVA}" "${COMMON_ARGS[@]}" $(mode_args "${mode}") > "/tmp/startup-benchmark-${mode}.log" 2>&1 &
+    pid=$!
+
+    until curl -sf "${BASE_URL}/actuator/health/readiness" 2>/dev/null | grep -q '"UP"'; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "${mode}: application exited, see /tmp/startup-benchmark-${mode}.log" >&2
+            exit 1
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            kill "${pid}"
+            echo "${mode}: not ready after ${TIMEOUT_SECONDS}s" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready_ms=$(( $(now_ms) - start ))
+    first=$(first_request_ms)
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${mode} ${ready_ms} ${first}"
+}
+
+echo "mode run ready_ms login_ms courses_ms"
+for mode in jvm aot aot-cds; do
+    for run in $(seq 1 "${RUNS}"); do
+        read -r name ready login courses <<< "$(run_once "${mode}")"
+        echo "${name} ${run} ${ready} ${login} ${courses}"
+    done
+done | tee /tmp/startup-benchmark.txt
+
+echo
+echo "Median per mode (ms):"
+for mode in jvm aot aot-cds; do
+    awk -v m="${mode}" '$1 == m { print $3 }' /tmp/startup-benchmark.txt | sort -n |
+        awk -v m="${mode}" '{ v[NR] = $1 } END { if (NR) printf "  %-8s ready %d\n", m, v[int((NR + 1) / 2)] }'
+    awk -v m="${mode}" '$1 == m { print $4 }' /tmp/startup-benchmark.txt | sort -n |
+        awk '{ v[NR] = $1 } END { if (NR) printf "           first request %d\n", v[int((NR + 1) / 2)] }'
+done
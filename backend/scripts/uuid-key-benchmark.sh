@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# Primary key benchmark: random UUIDv4 vs time-ordered UUIDv7 keys on PostgreSQL
+#
+# Run:   scripts/uuid-key-benchmark.sh [rows] [batch]
+#
+# Connects with psql using BENCH_DATABASE_URL, or the usual libpq variables (PGHOST, PGPORT,
+# PGDATABASE, PGUSER, PGPASSWORD). Everything happens in a scratch schema uuid_bench that is dropped
+# afterwards (BENCH_KEEP=1 keeps it), with its own copy of uuid_generate_v7 (V21), so it can run on an
+# empty database or a development copy.
+# For each key kind the same number of rows is inserted, in committed batches, into a table shaped
+# like user_progress. Reported per kind: insert throughput, WAL written, primary key index size and,
+# when the pgstattuple extension is installed, leaf density and fragmentation of that index.
+# The difference shows once the index outgrows shared_buffers, so pick rows accordingly.
+
+set -euo pipefail
+
+ROWS="${1:-2000000}"
+BATCH="${2:-1000}"
+PSQL=(psql -X -q -At -v ON_ERROR_STOP=1)
+if [[ -n "${BENCH_DATABASE_URL:-}" ]]; then
+    PSQL+=("${BENCH_DATABASE_URL}")
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+sql() {
+    "${PSQL[@]}" -c "$1"
+}
+
+"${PSQL[@]}" <<SQL
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+
+CREATE FUNCTION uuid_bench.uuid_generate_v7() RETURNS UUID
+    LANGUAGE plpgsql VOLATILE AS \$\$
+DECLARE
+    value BYTEA := uuid_send(gen_random_uuid());
+    unix_ms BIGINT := floor(extract(EPOCH FROM clock_timestamp()) * 1000);
+BEGIN
+    value := overlay(value PLACING substring(int8send(unix_ms) FROM 3) FROM 1 FOR 6);
+    value := set_byte(value, 6, (get_byte(value, 6) & 15) | 112);
+    RETURN encode(value, 'hex')::UUID;
+END
+\$\$;
+
+CREATE TABLE uuid_bench.keys_v4 (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    course_id UUID NOT NULL,
+    current_block_index INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE TABLE uuid_bench.keys_v7 (LIKE uuid_bench.keys_v4 INCLUDING ALL);
+ALTER TABLE uuid_bench.keys_v7 ALTER COLUMN id SET DEFAULT uuid_bench.uuid_generate_v7();
+SQL
+
+has_pgstattuple=$(sql "SELECT count(*) FROM pg_extension WHERE extname = 'pgstattuple'")
+
+run_kind() {
+    local kind="$1" table="uuid_bench.keys_$1" start elapsed wal_before wal_bytes index_bytes density
+    sql "CHECKPOINT" > /dev/null 2>&1 || true
+    wal_before=$(sql "SELECT pg_current_wal_lsn()")
+    start=$(now_ms)
+    "${PSQL[@]}" <<SQL
+DO \$\$
+DECLARE
+    inserted BIGINT := 0;
+    size INTEGER;
+BEGIN
+    WHILE inserted < ${ROWS} LOOP
+        size := LEAST(${BATCH}, ${ROWS} - inserted);
+        INSERT INTO ${table} (user_id, course_id)
+        SELECT gen_random_uuid(), gen_random_uuid() FROM generate_series(1, size);
+        inserted := inserted + size;
+        COMMIT;
+    END LOOP;
+END
+\$\$;
+SQL
+    elapsed=$(( $(now_ms) - start ))
+    wal_bytes=$(sql "SELECT pg_current_wal_lsn() - '${wal_before}'::pg_lsn")
+    index_bytes=$(sql "SELECT pg_relation_size('${table}_pkey')")
+    density="-"
+    if [[ "${has_pgstattuple}" == "1" ]]; then
+        density=$(sql "SELECT round(avg_leaf_density::numeric, 1) || '% / ' || round(leaf_fragmentation::numeric, 1) || '%'
+                       FROM pgstatindex('${table}_pkey')")
+    fi
+    awk -v k="${kind}" -v r="${ROWS}" -v ms="${elapsed}" -v wal="${wal_bytes}" -v idx="${index_bytes}" -v d="${density}" \
+        'BEGIN { printf "%-4s %10d rows %8.1f s %10.0f rows/s %8.1f MB WAL %8.1f MB pkey   %s\n",
+                 k, r, ms / 1000, r * 1000 / (ms > 0 ? ms : 1), wal / 1048576, idx / 1048576, d }'
+}
+
+echo "kind       rows       time       throughput        WAL       pkey size   leaf density / fragmentation"
+run_kind v4
+run_kind v7
+
+if [[ "${BENCH_KEEP:-0}" != "1" ]]; then
+    sql "DROP SCHEMA uuid_bench CASCADE"
+fi
@@ -0,0 +1,96 @@
+package com.cbt.platform.benchmark;
+
+import com.cbt.platform.security.InMemoryTokenEpochStore;
+import com.cbt.platform.security.JwtTokenProvider;
+import com.cbt.platform.security.UserPrincipal;
+import com.cbt.platform.user.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its JWT
+ *
+ * - twoPassFreshParser: previous filter (validateToken + getEmailFromToken, parser built per call)
+ * - singlePassSharedParser: one verification with parser built once
+ * - cachedProvider: JwtTokenProvider with verified-token cache (repeat request of the same client)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-min-256-bits-long-enough";
+
+    private SecretKey key;
+    private JwtParser sharedParser;
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        sharedParser = Jwts.parser().verifyWith(key).build();
+        cachedProvider = provider(10000);
+        uncachedProvider = provider(0);
+        token = cachedProvider.generateAccessToken(UUID.randomUUID(), "user@example.com", UserRole.USER);
+    }
+
+    @Benchmark
+    public String twoPassFreshParser() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Claims singlePassSharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public UserPrincipal uncachedProvider() {
+        return uncachedProvider.getPrincipalFromToken(token);
+    }
+
+    @Benchmark
+    public UserPrincipal cachedProvider() {
+        return cachedProvider.getPrincipalFromToken(token);
+    }
+
+    private JwtTokenProvider provider(long cacheSize) throws ReflectiveOperationException {
+        JwtTokenProvider provider = new JwtTokenProvider(new InMemoryTokenEpochStore());
+        setField(provider, "jwtSecret", SECRET);
+        setField(provider, "accessTokenExpiration", TimeUnit.HOURS.toMillis(1));
+        setField(provider, "refreshTokenExpiration", TimeUnit.DAYS.toMillis(1));
+        setField(provider, "verifiedCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,61 @@
+package com.cbt.platform.benchmark;
+
+import com.cbt.platform.safety.config.SafetyProperties;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.service.RiskScreener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of risk pre-screen on the request path
+ * Typical chat message, long journal entry, and a message with a hit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskScreenerBenchmark {
+
+    private static final String SHORT_CLEAN =
+            "Сегодня на работе был тяжелый день, начальник снова раскритиковал мой отчет.";
+
+    private static final String SHORT_HIT =
+            "Мне так плохо, что иногда кажется, что я больше не хочу жить.";
+
+    private RiskScreener riskScreener;
+    private String longClean;
+
+    @Setup
+    public void setUp() {
+        riskScreener = new RiskScreener(new SafetyProperties());
+        riskScreener.init();
+        longClean = (SHORT_CLEAN + " I keep thinking about what I could have done better. ").repeat(25);
+    }
+
+    @Benchmark
+    public ScreeningResult shortClean() {
+        return riskScreener.screen(SHORT_CLEAN);
+    }
+
+    @Benchmark
+    public ScreeningResult shortHit() {
+        return riskScreener.screen(SHORT_HIT);
+    }
+
+    @Benchmark
+    public ScreeningResult longClean() {
+        return riskScreener.screen(longClean);
+    }
+}
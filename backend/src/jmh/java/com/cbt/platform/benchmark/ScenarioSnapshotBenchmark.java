@@ -0,0 +1,216 @@
+package com.cbt.platform.benchmark;
+
+import com.cbt.platform.engine.config.ScenarioSnapshotProperties;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioSnapshotStore;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.service.CanonicalJson;
+import com.cbt.platform.scenario.service.ScenarioSplitter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of the engine after a restart, for N cached course versions
+ *
+ * - firstBlockFromJson: parse full scenario JSON text (what the JSONB read returns) and take the first block
+ * - firstBlockFromSnapshot: map snapshot directory, read compiled header and first session, take the first block
+ * - retainedFromJson / retainedFromSnapshot: heap retained by N versions held in memory
+ *   (full trees vs. compiled headers plus the session users are in), reported as the retainedBytes counter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ScenarioSnapshotBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({"50"})
+    public int versions;
+
+    @Param({"20"})
+    public int sessions;
+
+    @Param({"40"})
+    public int blocksPerSession;
+
+    private Path directory;
+    private List<byte[]> scenarioTexts;
+    private List<String> scenarioHashes;
+    private List<String> firstSessionHashes;
+    private List<Object> retained;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("scenario-snapshots");
+        scenarioTexts = new ArrayList<>();
+        scenarioHashes = new ArrayList<>();
+        firstSessionHashes = new ArrayList<>();
+
+        ScenarioSnapshotStore store = newStore();
+        for (int version = 0; version < versions; version++) {
+            JsonNode scenario = scenario(version);
+            String scenarioHash = CanonicalJson.sha256(CanonicalJson.toBytes(scenario));
+
+            JsonNode header = null;
+            List<ScenarioPart> parts = new ArrayList<>();
+            List<String> blockKeys = new ArrayList<>();
+            for (ScenarioSplitter.Part part : ScenarioSplitter.split(scenario)) {
+                byte[] canonical = CanonicalJson.toBytes(part.content());
+                String partHash = CanonicalJson.sha256(canonical);
+                parts.add(ScenarioPart.builder()
+                        .scenarioHash(scenarioHash)
+                        .kind(part.kind())
+                        .partKey(part.key())
+                        .position(part.position())
+                        .partHash(partHash)
+                        .sizeBytes(canonical.length)
+                        .build());
+                if (ScenarioSplitter.HEADER_KEY.equals(part.key())) {
+                    header = part.content();
+                } else {
+                    blockKeys.addAll(CompiledScenario.sessionBlockKeys(part.key(), part.content()));
+                    store.write("part-" + partHash, ScenarioBlob.builder()
+                            .hash(partHash)
+                            .content(part.content())
+                            .sizeBytes(canonical.length)
+                            .build());
+                }
+            }
+            CompiledScenario compiled = CompiledScenario.compile(null, 0, scenarioHash, header, parts, blockKeys);
+            store.write("scenario-" + scenarioHash, compiled);
+
+            scenarioTexts.add(objectMapper.writeValueAsBytes(scenario));
+            scenarioHashes.add(scenarioHash);
+            firstSessionHashes.add(compiled.sessionHash(compiled.firstSessionId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public JsonNode firstBlockFromJson() throws IOException {
+        JsonNode scenario = objectMapper.readTree(scenarioTexts.get(0));
+        String firstSession = scenario.get("meta").get("sessions").get(0).asText();
+        return scenario.get("sessions").get(firstSession).get("blocks").get(0);
+    }
+
+    @Benchmark
+    public JsonNode firstBlockFromSnapshot() {
+        ScenarioSnapshotStore store = newStore();
+        CompiledScenario compiled = store.read("scenario-" + scenarioHashes.get(0), CompiledScenario.class).orElseThrow();
+        String sessionHash = compiled.sessionHash(compiled.firstSessionId());
+        return store.read("part-" + sessionHash, ScenarioBlob.class).orElseThrow().getContent().get("blocks").get(0);
+    }
+
+    @Benchmark
+    public void retainedFromJson(HeapCounters counters) throws IOException {
+        retained = null;
+        long before = usedHeapAfterGc();
+        List<Object> loaded = new ArrayList<>();
+        for (byte[] text : scenarioTexts) {
+            loaded.add(objectMapper.readTree(text));
+        }
+        retained = loaded;
+        counters.retainedBytes = usedHeapAfterGc() - before;
+    }
+
+    @Benchmark
+    public void retainedFromSnapshot(HeapCounters counters) {
+        retained = null;
+        long before = usedHeapAfterGc();
+        ScenarioSnapshotStore store = newStore();
+        List<Object> loaded = new ArrayList<>();
+        for (int version = 0; version < versions; version++) {
+            loaded.add(store.read("scenario-" + scenarioHashes.get(version), CompiledScenario.class).orElseThrow());
+            loaded.add(store.read("part-" + firstSessionHashes.get(version), ScenarioBlob.class).orElseThrow());
+        }
+        retained = List.of(store, loaded);
+        counters.retainedBytes = usedHeapAfterGc() - before;
+    }
+
+    /**
+     * Heap retained by the loaded versions, measured around the benchmark call
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long retainedBytes;
+    }
+
+    private ScenarioSnapshotStore newStore() {
+        ScenarioSnapshotProperties properties = new ScenarioSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        ScenarioSnapshotStore store = new ScenarioSnapshotStore(properties, new SimpleMeterRegistry());
+        store.init();
+        return store;
+    }
+
+    private JsonNode scenario(int version) {
+        ObjectNode scenario = objectMapper.createObjectNode();
+        ObjectNode meta = scenario.putObject("meta");
+        meta.put("version", "1.0." + version);
+        ArrayNode sessionIds = meta.putArray("sessions");
+        ObjectNode sessionNodes = scenario.putObject("sessions");
+        for (int session = 0; session < sessions; session++) {
+            String sessionId = "session_" + session;
+            sessionIds.add(sessionId);
+            ArrayNode blocks = sessionNodes.putObject(sessionId).putArray("blocks");
+            for (int block = 0; block < blocksPerSession; block++) {
+                blocks.addObject()
+                        .put("id", sessionId + "_block_" + block)
+                        .put("type", "static")
+                        .put("content", "Version " + version + " text " + "x".repeat(400));
+            }
+        }
+        return scenario;
+    }
+
+    private static long usedHeapAfterGc() {
+        // Reference processing runs after a collection, repeat until garbage of the previous call is gone
+        long used = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            System.gc();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            used = Math.min(used, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
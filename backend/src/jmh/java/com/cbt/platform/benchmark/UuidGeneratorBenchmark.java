@@ -0,0 +1,41 @@
+package com.cbt.platform.benchmark;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating one entity key in-process, on 4 threads
+ *
+ * - randomV4: UUID.randomUUID(), what GenerationType.UUID did
+ * - timeOrderedV7: UuidV7Generator (shared sequence, same SecureRandom source for the random bits)
+ *
+ * Effect of the key order on inserts and index size: scripts/uuid-key-benchmark.sh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class UuidGeneratorBenchmark {
+
+    @Benchmark
+    public UUID randomV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedV7() {
+        return UuidV7Generator.next();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cbt.platform.analytics.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the block interaction log
+ * Binds to analytics.block-events.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics.block-events")
+@Data
+public class BlockEventProperties {
+
+    /**
+     * Write block events to block_events
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events waiting for the writer; when full, the overflow policy applies
+     */
+    private int queueCapacity = 65536;
+
+    /**
+     * Rows per INSERT batch
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time an event waits for a batch to fill (milliseconds)
+     */
+    private long flushInterval = 1000;
+
+    /**
+     * What a request does when the queue is full
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * Longest wait for queue space with BLOCK policy before the event is dropped (milliseconds)
+     */
+    private long blockTimeout = 50;
+
+    /**
+     * Monthly partitions created ahead of the current month
+     */
+    private int partitionsAhead = 2;
+
+    /**
+     * Full months kept before the current one; older partitions are detached and dropped (0 = keep all)
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * How often missing partitions are created and expired ones dropped (milliseconds)
+     */
+    private long partitionCheckInterval = 21600000;
+
+    public enum OverflowPolicy {
+        /**
+         * Drop the event, the request is never slowed down
+         */
+        DROP,
+        /**
+         * Wait up to blockTimeout for the writer to catch up
+         */
+        BLOCK
+    }
+}
@@ -0,0 +1,35 @@
+package com.cbt.platform.analytics.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for funnel analytics
+ * Binds to analytics.funnel.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "analytics.funnel")
+@Data
+public class FunnelProperties {
+
+    /**
+     * Count block arrivals, completions and dwell times
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often counters are flushed to funnel_block_stats (milliseconds)
+     */
+    private long flushInterval = 10000;
+
+    /**
+     * Users whose last viewed block is remembered (for dwell time and repeated views)
+     */
+    private long viewsMaxSize = 100000;
+
+    /**
+     * How long the last viewed block of a user is remembered (milliseconds)
+     */
+    private long viewsExpiry = 3600000;
+}
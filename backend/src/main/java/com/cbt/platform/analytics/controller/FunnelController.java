@@ -0,0 +1,42 @@
+package com.cbt.platform.analytics.controller;
+
+import com.cbt.platform.analytics.dto.CourseFunnelResponse;
+import com.cbt.platform.analytics.service.FunnelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * REST controller for course funnel analytics
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Analytics", description = "Course funnel and drop-off reports (admin only)")
+public class FunnelController {
+
+    private final FunnelService funnelService;
+
+    @GetMapping("/funnel/{courseId}")
+    @Operation(summary = "Get course funnel", description = "Reach, completion and median dwell time per block")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Funnel retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<CourseFunnelResponse> getCourseFunnel(@PathVariable UUID courseId) {
+        CourseFunnelResponse funnel = funnelService.getCourseFunnel(courseId);
+        return ResponseEntity.ok(funnel);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cbt.platform.analytics.dto;
+
+/**
+ * Funnel figures of one block
+ *
+ * @param blockId           Block ID
+ * @param reached           Arrivals at the block
+ * @param completed         Completions of the block
+ * @param dropOff           Arrivals that did not complete the block
+ * @param completionRate    completed / reached (0 when never reached)
+ * @param medianDwellMillis Median time from arrival to completion, null without completions
+ */
+public record BlockFunnelResponse(
+        String blockId,
+        long reached,
+        long completed,
+        long dropOff,
+        double completionRate,
+        Long medianDwellMillis
+) {
+}
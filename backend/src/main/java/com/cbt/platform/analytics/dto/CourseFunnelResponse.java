@@ -0,0 +1,23 @@
+package com.cbt.platform.analytics.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Funnel of a course, built from per-block aggregates
+ *
+ * @param courseId  Course ID
+ * @param reached   Arrivals at the first block of the course
+ * @param completed Completions of the last block of the course
+ * @param updatedAt Last flush of any block counter, null if nothing was recorded
+ * @param sessions  Sessions in scenario order
+ */
+public record CourseFunnelResponse(
+        UUID courseId,
+        long reached,
+        long completed,
+        LocalDateTime updatedAt,
+        List<SessionFunnelResponse> sessions
+) {
+}
@@ -0,0 +1,19 @@
+package com.cbt.platform.analytics.dto;
+
+import java.util.List;
+
+/**
+ * Funnel of one session: reached at its first block, completed at its last
+ *
+ * @param sessionId Session ID
+ * @param reached   Arrivals at the first block
+ * @param completed Completions of the last block
+ * @param blocks    Blocks in scenario order
+ */
+public record SessionFunnelResponse(
+        String sessionId,
+        long reached,
+        long completed,
+        List<BlockFunnelResponse> blocks
+) {
+}
@@ -0,0 +1,64 @@
+package com.cbt.platform.analytics.entity;
+
+import com.cbt.platform.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Funnel aggregate of one course block
+ * Rows are upserted in batches from in-memory counters
+ */
+@Entity
+@Table(
+    name = "funnel_block_stats",
+    uniqueConstraints = @UniqueConstraint(name = "uq_funnel_block_stats", columnNames = {"course_id", "session_id", "block_id"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelBlockStats {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(name = "session_id", nullable = false, length = 100)
+    private String sessionId;
+
+    @Column(name = "block_id", nullable = false, length = 100)
+    private String blockId;
+
+    /**
+     * Arrivals at the block
+     */
+    @Column(nullable = false)
+    private Long reached;
+
+    /**
+     * Completions of the block
+     */
+    @Column(nullable = false)
+    private Long completed;
+
+    /**
+     * Completions by dwell time, see DwellHistogram
+     */
+    @Column(name = "dwell_histogram", nullable = false)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] dwellHistogram;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
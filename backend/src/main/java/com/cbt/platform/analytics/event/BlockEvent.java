@@ -0,0 +1,49 @@
+package com.cbt.platform.analytics.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by CourseEngine for every block rendered or input processed
+ * Listeners run on the request thread and must only hand the event off.
+ *
+ * @param occurredAt     When the block was handled
+ * @param userId         User ID
+ * @param courseId       Course ID
+ * @param sessionId      Session ID
+ * @param blockId        Block ID
+ * @param blockType      Block type
+ * @param type           VIEW or SUBMIT
+ * @param input          Submitted input (digested by the writer, never stored), null for views
+ * @param flags          Result flags (COMPLETE, USER_DATA, PRECOMPUTED, FAILED)
+ * @param handlerNanos   Time spent in the block handler
+ */
+public record BlockEvent(
+        LocalDateTime occurredAt,
+        UUID userId,
+        UUID courseId,
+        String sessionId,
+        String blockId,
+        String blockType,
+        Type type,
+        JsonNode input,
+        int flags,
+        long handlerNanos
+) {
+
+    public static final int COMPLETE = 1;
+    public static final int USER_DATA = 1 << 1;
+    public static final int PRECOMPUTED = 1 << 2;
+    public static final int FAILED = 1 << 3;
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public enum Type {
+        VIEW,
+        SUBMIT
+    }
+}
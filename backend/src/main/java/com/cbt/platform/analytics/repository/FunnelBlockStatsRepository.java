@@ -0,0 +1,20 @@
+package com.cbt.platform.analytics.repository;
+
+import com.cbt.platform.analytics.entity.FunnelBlockStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for funnel aggregates
+ */
+@Repository
+public interface FunnelBlockStatsRepository extends JpaRepository<FunnelBlockStats, UUID> {
+
+    /**
+     * Aggregates of all blocks of a course (one row per block, independent of user count)
+     */
+    List<FunnelBlockStats> findByCourseId(UUID courseId);
+}
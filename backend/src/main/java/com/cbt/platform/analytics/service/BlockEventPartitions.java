@@ -0,0 +1,88 @@
+package com.cbt.platform.analytics.service;
+
+import com.cbt.platform.analytics.config.BlockEventProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains monthly partitions of block_events
+ * Creates partitions ahead of time (create_block_events_partition, V18) and drops partitions older than
+ * retentionMonths, so retention never runs a DELETE. Runs on startup and then every partitionCheckInterval;
+ * any instance may run it, creation is idempotent and a dropped partition is simply gone for the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlockEventPartitions {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("block_events_y(\\d{4})m(\\d{2})");
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname AS name, i.inhdetachpending AS pending " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'block_events'::regclass";
+
+    private final BlockEventProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(fixedDelayString = "${analytics.block-events.partition-check-interval:21600000}")
+    public void createAhead() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        try {
+            for (int ahead = 0; ahead <= properties.getPartitionsAhead(); ahead++) {
+                String partition = jdbcTemplate.queryForObject("SELECT create_block_events_partition(?)",
+                        String.class, Date.valueOf(month.plusMonths(ahead)));
+                log.debug("Block events partition {} is present", partition);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to create block events partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Detach and drop partitions of months before the retention window
+     * DETACH ... CONCURRENTLY does not block writers of the current partition; a detach interrupted
+     * half-way is completed with FINALIZE on the next run.
+     */
+    @Scheduled(fixedDelayString = "${analytics.block-events.partition-check-interval:21600000}")
+    public void dropExpired() {
+        if (!properties.isEnabled() || properties.getRetentionMonths() <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.now().minusMonths(properties.getRetentionMonths());
+        try {
+            List<Map<String, Object>> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL);
+            for (Map<String, Object> partition : partitions) {
+                String name = (String) partition.get("name");
+                Matcher matcher = PARTITION_NAME.matcher(name);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (!month.isBefore(oldestKept)) {
+                    continue;
+                }
+                String detach = Boolean.TRUE.equals(partition.get("pending")) ? "FINALIZE" : "CONCURRENTLY";
+                jdbcTemplate.execute("ALTER TABLE block_events DETACH PARTITION " + name + " " + detach);
+                jdbcTemplate.execute("DROP TABLE " + name);
+                log.info("Dropped block events partition {}", name);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to drop expired block events partitions: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.cbt.platform.analytics.service;
+
+import com.cbt.platform.analytics.config.BlockEventProperties;
+import com.cbt.platform.analytics.event.BlockEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes block events to block_events off the request path
+ *
+ * Requests only add the event to a bounded lock-free queue (a ConcurrentLinkedQueue with a CAS-reserved
+ * size); one writer thread drains it every flushInterval, or as soon as a batch is full, and inserts in
+ * JDBC batches. Input digests are computed by the writer. When the queue is full the event is dropped,
+ * or with the BLOCK policy the request waits up to blockTimeout first.
+ * A failed batch is counted and dropped: the log is for analytics, not for state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlockEventWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO block_events (occurred_at, user_id, course_id, " +
+            "session_id, block_id, block_type, event_type, input_digest, result_flags, handler_micros) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BlockEventProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<BlockEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writer;
+    private MessageDigest digest;
+    private Counter dropped;
+    private Counter blocked;
+    private Counter written;
+    private Counter failed;
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() throws NoSuchAlgorithmException {
+        digest = MessageDigest.getInstance("SHA-256");
+        dropped = Counter.builder("analytics.block-events.dropped")
+                .description("Block events dropped because the queue was full")
+                .register(meterRegistry);
+        blocked = Counter.builder("analytics.block-events.blocked")
+                .description("Requests that waited for queue space (BLOCK policy)")
+                .register(meterRegistry);
+        written = Counter.builder("analytics.block-events.written")
+                .description("Block events inserted")
+                .register(meterRegistry);
+        failed = Counter.builder("analytics.block-events.failed")
+                .description("Block events lost to failed inserts")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("analytics.block-events.flush")
+                .description("Duration of one INSERT batch")
+                .register(meterRegistry);
+        Gauge.builder("analytics.block-events.queued", queued, AtomicInteger::get)
+                .description("Block events waiting for the writer")
+                .register(meterRegistry);
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::run, "block-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue event; returns immediately unless the queue is full and the policy is BLOCK
+     */
+    @EventListener
+    public void onBlockEvent(BlockEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (offer(event)) {
+            if (queued.get() >= properties.getBatchSize()) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        if (properties.getOverflowPolicy() == BlockEventProperties.OverflowPolicy.BLOCK) {
+            blocked.increment();
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeout());
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                if (offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    /**
+     * Write all queued events in batches
+     */
+    public synchronized void flush() {
+        while (true) {
+            List<BlockEvent> batch = new ArrayList<>(properties.getBatchSize());
+            BlockEvent event;
+            while (batch.size() < properties.getBatchSize() && (event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private boolean offer(BlockEvent event) {
+        if (queued.incrementAndGet() > properties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    private void run() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        while (running) {
+            LockSupport.parkNanos(this, interval);
+            flush();
+        }
+        flush();
+    }
+
+    private void write(List<BlockEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, event) -> {
+                statement.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                statement.setObject(2, event.userId());
+                statement.setObject(3, event.courseId());
+                statement.setString(4, event.sessionId());
+                statement.setString(5, event.blockId());
+                statement.setString(6, event.blockType());
+                statement.setString(7, event.type().name());
+                statement.setBytes(8, digest(event));
+                statement.setShort(9, (short) event.flags());
+                statement.setInt(10, (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(event.handlerNanos())));
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} block events", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private byte[] digest(BlockEvent event) {
+        if (event.input() == null || event.input().isNull()) {
+            return null;
+        }
+        try {
+            return digest.digest(objectMapper.writeValueAsBytes(event.input()));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
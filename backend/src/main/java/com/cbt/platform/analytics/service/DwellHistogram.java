@@ -0,0 +1,62 @@
+package com.cbt.platform.analytics.service;
+
+/**
+ * Log2 buckets of dwell time stored in funnel_block_stats.dwell_histogram
+ * Bucket 0 holds times under 1 s, bucket N (1..15) times from 2^(N-1) to 2^N s, bucket 16 everything longer.
+ */
+public final class DwellHistogram {
+
+    public static final int BUCKETS = 17;
+
+    private DwellHistogram() {
+    }
+
+    /**
+     * Bucket of a dwell time
+     */
+    public static int bucket(long millis) {
+        long seconds = Math.max(0, millis) / 1000;
+        if (seconds == 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(seconds));
+    }
+
+    /**
+     * Median dwell time, interpolated linearly inside its bucket
+     *
+     * @return median in milliseconds, or null if the histogram is empty
+     */
+    public static Long median(Long[] histogram) {
+        if (histogram == null) {
+            return null;
+        }
+        long total = 0;
+        for (Long count : histogram) {
+            total += count != null ? count : 0;
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        double half = total / 2.0;
+        long below = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            long count = histogram[bucket] != null ? histogram[bucket] : 0;
+            if (count > 0 && below + count >= half) {
+                long lower = lowerMillis(bucket);
+                if (bucket >= BUCKETS - 1) {
+                    return lower;
+                }
+                long upper = lowerMillis(bucket + 1);
+                return lower + Math.round((upper - lower) * (half - below) / count);
+            }
+            below += count;
+        }
+        return lowerMillis(histogram.length - 1);
+    }
+
+    private static long lowerMillis(int bucket) {
+        return bucket == 0 ? 0 : (1L << (bucket - 1)) * 1000;
+    }
+}
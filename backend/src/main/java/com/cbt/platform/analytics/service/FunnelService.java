@@ -0,0 +1,34 @@
+package com.cbt.platform.analytics.service;
+
+import com.cbt.platform.analytics.dto.CourseFunnelResponse;
+import com.cbt.platform.analytics.event.BlockEvent;
+
+import java.util.UUID;
+
+/**
+ * Service for per-block funnel and drop-off analytics
+ */
+public interface FunnelService {
+
+    /**
+     * Count block arrival or completion (called on the request thread, memory only)
+     *
+     * @param event block event published by CourseEngine
+     */
+    void record(BlockEvent event);
+
+    /**
+     * Get funnel of a course: reach, completion and median dwell per block
+     * Reads one aggregate row per block, so the cost does not depend on the number of users.
+     *
+     * @param courseId Course ID
+     * @return funnel in scenario order
+     * @throws com.cbt.platform.course.exception.CourseNotFoundException if course does not exist
+     */
+    CourseFunnelResponse getCourseFunnel(UUID courseId);
+
+    /**
+     * Write accumulated counters to funnel_block_stats
+     */
+    void flush();
+}
@@ -0,0 +1,252 @@
+package com.cbt.platform.analytics.service;
+
+import com.cbt.platform.analytics.config.FunnelProperties;
+import com.cbt.platform.analytics.dto.BlockFunnelResponse;
+import com.cbt.platform.analytics.dto.CourseFunnelResponse;
+import com.cbt.platform.analytics.dto.SessionFunnelResponse;
+import com.cbt.platform.analytics.entity.FunnelBlockStats;
+import com.cbt.platform.analytics.event.BlockEvent;
+import com.cbt.platform.analytics.repository.FunnelBlockStatsRepository;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of FunnelService
+ *
+ * Block events are counted in memory: LongAdder counters per block (striped, so concurrent requests
+ * on a popular block do not contend) and the last viewed block of each user in a bounded cache.
+ * A view of a block other than the remembered one is an arrival; a completion of the remembered block
+ * adds its dwell time to a log2 histogram. Counters are cumulative and the flusher upserts the part not
+ * yet written, so a failed flush is simply written with the next one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FunnelServiceImpl implements FunnelService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO funnel_block_stats (course_id, session_id, block_id, reached, completed, " +
+            "dwell_histogram, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT ON CONSTRAINT uq_funnel_block_stats DO UPDATE SET " +
+            "reached = funnel_block_stats.reached + EXCLUDED.reached, " +
+            "completed = funnel_block_stats.completed + EXCLUDED.completed, " +
+            "dwell_histogram = ARRAY(SELECT COALESCE(t.a, 0) + COALESCE(t.b, 0) " +
+            "FROM unnest(funnel_block_stats.dwell_histogram, EXCLUDED.dwell_histogram) " +
+            "WITH ORDINALITY AS t(a, b, i) ORDER BY t.i), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private final FunnelProperties properties;
+    private final FunnelBlockStatsRepository statsRepository;
+    private final ScenarioCache scenarioCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<BlockKey, BlockCounter> counters = new ConcurrentHashMap<>();
+    private Cache<ViewKey, View> views;
+
+    @PostConstruct
+    public void init() {
+        views = Caffeine.newBuilder()
+                .maximumSize(properties.getViewsMaxSize())
+                .expireAfterAccess(Duration.ofMillis(properties.getViewsExpiry()))
+                .build();
+    }
+
+    @Override
+    @EventListener
+    public void record(BlockEvent event) {
+        if (!properties.isEnabled() || event.userId() == null || event.courseId() == null
+                || event.sessionId() == null || event.blockId() == null) {
+            return;
+        }
+
+        ViewKey viewKey = new ViewKey(event.userId(), event.courseId());
+        if (event.type() == BlockEvent.Type.VIEW) {
+            // Re-rendering the same block (page reload, retry) is not a new arrival
+            boolean[] arrived = new boolean[1];
+            views.asMap().compute(viewKey, (key, current) -> {
+                if (current != null && current.isOf(event)) {
+                    return current;
+                }
+                arrived[0] = true;
+                return new View(event.sessionId(), event.blockId(), event.occurredAt());
+            });
+            if (arrived[0]) {
+                counter(event).reached.increment();
+            }
+            return;
+        }
+
+        if (!event.has(BlockEvent.COMPLETE) || event.has(BlockEvent.FAILED)) {
+            return;
+        }
+        BlockCounter counter = counter(event);
+        counter.completed.increment();
+        View view = views.asMap().remove(viewKey);
+        if (view != null && view.isOf(event)) {
+            long dwell = Duration.between(view.viewedAt(), event.occurredAt()).toMillis();
+            counter.dwell[DwellHistogram.bucket(dwell)].increment();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CourseFunnelResponse getCourseFunnel(UUID courseId) {
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        Map<String, FunnelBlockStats> stats = statsRepository.findByCourseId(courseId).stream()
+                .collect(Collectors.toMap(row -> CompiledScenario.blockKey(row.getSessionId(), row.getBlockId()),
+                        Function.identity()));
+
+        Map<String, List<BlockFunnelResponse>> blocksBySession = new LinkedHashMap<>();
+        LocalDateTime updatedAt = null;
+        for (String blockKey : scenario.blockKeys()) {
+            int separator = blockKey.indexOf(':');
+            String sessionId = blockKey.substring(0, separator);
+            String blockId = blockKey.substring(separator + 1);
+            FunnelBlockStats row = stats.get(blockKey);
+            if (row != null && (updatedAt == null || row.getUpdatedAt().isAfter(updatedAt))) {
+                updatedAt = row.getUpdatedAt();
+            }
+            blocksBySession.computeIfAbsent(sessionId, id -> new ArrayList<>()).add(toResponse(blockId, row));
+        }
+
+        List<SessionFunnelResponse> sessions = new ArrayList<>();
+        for (Map.Entry<String, List<BlockFunnelResponse>> entry : blocksBySession.entrySet()) {
+            List<BlockFunnelResponse> blocks = entry.getValue();
+            sessions.add(new SessionFunnelResponse(entry.getKey(), blocks.get(0).reached(),
+                    blocks.get(blocks.size() - 1).completed(), List.copyOf(blocks)));
+        }
+        long reached = sessions.isEmpty() ? 0 : sessions.get(0).reached();
+        long completed = sessions.isEmpty() ? 0 : sessions.get(sessions.size() - 1).completed();
+        return new CourseFunnelResponse(courseId, reached, completed, updatedAt, sessions);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.funnel.flush-interval:10000}")
+    public synchronized void flush() {
+        List<FlushRow> rows = new ArrayList<>();
+        for (Map.Entry<BlockKey, BlockCounter> entry : counters.entrySet()) {
+            FlushRow row = entry.getValue().unflushed(entry.getKey());
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (statement, row) -> {
+                statement.setObject(1, row.key().courseId());
+                statement.setString(2, row.key().sessionId());
+                statement.setString(3, row.key().blockId());
+                statement.setLong(4, row.reached());
+                statement.setLong(5, row.completed());
+                statement.setArray(6, statement.getConnection().createArrayOf("bigint", row.dwell()));
+            });
+            rows.forEach(row -> counters.get(row.key()).markFlushed(row));
+            log.debug("Flushed funnel counters of {} blocks", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to flush funnel counters, will retry", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private BlockCounter counter(BlockEvent event) {
+        return counters.computeIfAbsent(new BlockKey(event.courseId(), event.sessionId(), event.blockId()),
+                key -> new BlockCounter());
+    }
+
+    private BlockFunnelResponse toResponse(String blockId, FunnelBlockStats row) {
+        if (row == null) {
+            return new BlockFunnelResponse(blockId, 0, 0, 0, 0, null);
+        }
+        long reached = row.getReached();
+        long completed = row.getCompleted();
+        double rate = reached > 0 ? Math.min(1.0, (double) completed / reached) : 0;
+        return new BlockFunnelResponse(blockId, reached, completed, Math.max(0, reached - completed), rate,
+                DwellHistogram.median(row.getDwellHistogram()));
+    }
+
+    private record BlockKey(UUID courseId, String sessionId, String blockId) {
+    }
+
+    private record ViewKey(UUID userId, UUID courseId) {
+    }
+
+    private record View(String sessionId, String blockId, LocalDateTime viewedAt) {
+
+        boolean isOf(BlockEvent event) {
+            return sessionId.equals(event.sessionId()) && blockId.equals(event.blockId());
+        }
+    }
+
+    private record FlushRow(BlockKey key, long reached, long completed, Long[] dwell) {
+    }
+
+    /**
+     * Cumulative counters of a block and the part already written (touched by the flusher only)
+     */
+    private static final class BlockCounter {
+
+        private final LongAdder reached = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder[] dwell = new LongAdder[DwellHistogram.BUCKETS];
+        private long flushedReached;
+        private long flushedCompleted;
+        private final long[] flushedDwell = new long[DwellHistogram.BUCKETS];
+
+        BlockCounter() {
+            for (int i = 0; i < dwell.length; i++) {
+                dwell[i] = new LongAdder();
+            }
+        }
+
+        FlushRow unflushed(BlockKey key) {
+            long reachedDelta = reached.sum() - flushedReached;
+            long completedDelta = completed.sum() - flushedCompleted;
+            Long[] dwellDelta = new Long[dwell.length];
+            for (int i = 0; i < dwell.length; i++) {
+                dwellDelta[i] = dwell[i].sum() - flushedDwell[i];
+            }
+            if (reachedDelta == 0 && completedDelta == 0) {
+                return null;
+            }
+            return new FlushRow(key, reachedDelta, completedDelta, dwellDelta);
+        }
+
+        void markFlushed(FlushRow row) {
+            flushedReached += row.reached();
+            flushedCompleted += row.completed();
+            for (int i = 0; i < flushedDwell.length; i++) {
+                flushedDwell[i] += row.dwell()[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.cbt.platform.batch.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for nightly batch pre-generation
+ * Binds to batch.pregeneration.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "batch.pregeneration")
+@Data
+public class PregenerationProperties {
+
+    /**
+     * Enable nightly pre-generation and serving of pre-generated content
+     */
+    private boolean enabled = false;
+
+    /**
+     * When the nightly run starts
+     */
+    private String cron = "0 0 3 * * *";
+
+    /**
+     * How often submitted batches are polled for results (milliseconds)
+     */
+    private long pollInterval = 300000;
+
+    /**
+     * Number of user shards; each shard is processed by one node under an advisory lock
+     */
+    private int shards = 16;
+
+    /**
+     * Progress records read per page
+     */
+    private int pageSize = 500;
+
+    /**
+     * Max LLM requests submitted in one provider batch
+     */
+    private int maxBatchSize = 10000;
+
+    /**
+     * Only users active within this number of days are eligible
+     */
+    private int activeWithinDays = 7;
+
+    /**
+     * How long generated content can be served (hours)
+     */
+    private int contentTtlHours = 36;
+
+    /**
+     * A shard still CLAIMED after this many minutes is treated as abandoned by a crashed node
+     * and run again; must exceed the longest shard run
+     */
+    private int claimTimeoutMinutes = 120;
+}
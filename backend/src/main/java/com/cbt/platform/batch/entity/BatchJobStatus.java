@@ -0,0 +1,26 @@
+package com.cbt.platform.batch.entity;
+
+/**
+ * Status of a nightly batch job
+ */
+public enum BatchJobStatus {
+    /**
+     * Shard is claimed by a node that is still building the batch
+     */
+    CLAIMED,
+
+    /**
+     * Batch is submitted to provider, results not collected yet
+     */
+    SUBMITTED,
+
+    /**
+     * Results are collected, or the run finished with nothing to generate
+     */
+    ENDED,
+
+    /**
+     * Batch could not be submitted or collected
+     */
+    FAILED
+}
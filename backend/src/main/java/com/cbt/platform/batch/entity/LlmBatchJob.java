@@ -0,0 +1,76 @@
+package com.cbt.platform.batch.entity;
+
+import com.cbt.platform.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Nightly pre-generation job for one shard of users
+ * Tracks the provider batch until its results are collected
+ */
+@Entity
+@Table(
+    name = "llm_batch_jobs",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"shard", "run_date"})
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmBatchJob {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    /**
+     * Shard of users processed by this job
+     */
+    @Column(nullable = false)
+    private Integer shard;
+
+    /**
+     * Night the job belongs to (one job per shard per night)
+     */
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    /**
+     * Batch ID returned by provider (null if nothing was submitted)
+     */
+    @Column(length = 200)
+    private String providerBatchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BatchJobStatus status;
+
+    /**
+     * Number of LLM requests in the batch
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer itemCount = 0;
+
+    @Column(length = 1000)
+    private String error;
+
+    /**
+     * When the shard was claimed for the current run (a CLAIMED job older than the claim timeout is taken over)
+     */
+    private LocalDateTime claimedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
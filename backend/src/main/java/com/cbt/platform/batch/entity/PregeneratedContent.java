@@ -0,0 +1,82 @@
+package com.cbt.platform.batch.entity;
+
+import com.cbt.platform.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Personalized content generated ahead of time by the nightly batch
+ *
+ * Content keys:
+ * - "block:{sessionId}:{blockId}" - LLM_RESPONSE block, served only if prompt digest matches
+ * - "notification:{flowId}" - resolved notification of inter-session flow (JSON of InterSessionNotification)
+ */
+@Entity
+@Table(name = "pregenerated_content")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PregeneratedContent {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    /**
+     * Batch job that produced this content (null if no LLM call was needed)
+     */
+    @Column(name = "batch_job_id")
+    private UUID batchJobId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    @Column(nullable = false, length = 200)
+    private String contentKey;
+
+    /**
+     * SHA-256 of resolved prompts the content was generated for
+     */
+    @Column(length = 64)
+    private String promptDigest;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PregeneratedContentStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Column(length = 100)
+    private String model;
+
+    private Integer tokensUsed;
+
+    @Column(length = 1000)
+    private String error;
+
+    /**
+     * Content is not served after this moment
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.cbt.platform.batch.entity;
+
+/**
+ * Status of pre-generated content
+ */
+public enum PregeneratedContentStatus {
+    /**
+     * Request is submitted in a batch, waiting for result
+     */
+    PENDING,
+
+    /**
+     * Content is generated and can be served
+     */
+    READY,
+
+    /**
+     * Generation failed, content will be generated on the interactive path
+     */
+    FAILED
+}
@@ -0,0 +1,43 @@
+package com.cbt.platform.batch.repository;
+
+import com.cbt.platform.batch.entity.BatchJobStatus;
+import com.cbt.platform.batch.entity.LlmBatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for LlmBatchJob entity operations
+ */
+@Repository
+public interface LlmBatchJobRepository extends JpaRepository<LlmBatchJob, UUID> {
+
+    /**
+     * Find job of shard for the night
+     */
+    Optional<LlmBatchJob> findByShardAndRunDate(Integer shard, LocalDate runDate);
+
+    /**
+     * Find jobs by status
+     */
+    List<LlmBatchJob> findByStatus(BatchJobStatus status);
+
+    /**
+     * Find jobs in status claimed before the given time
+     */
+    List<LlmBatchJob> findByStatusAndClaimedAtBefore(BatchJobStatus status, LocalDateTime claimedBefore);
+
+    /**
+     * Try to take transaction-level advisory lock (PostgreSQL)
+     * Lock is released automatically on commit or rollback
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, :id)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("namespace") int namespace, @Param("id") int id);
+}
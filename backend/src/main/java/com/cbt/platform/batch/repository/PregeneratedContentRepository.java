@@ -0,0 +1,54 @@
+package com.cbt.platform.batch.repository;
+
+import com.cbt.platform.batch.entity.PregeneratedContent;
+import com.cbt.platform.batch.entity.PregeneratedContentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for PregeneratedContent entity operations
+ */
+@Repository
+public interface PregeneratedContentRepository extends JpaRepository<PregeneratedContent, UUID> {
+
+    /**
+     * Find latest ready content generated for the same prompts
+     */
+    @Query("SELECT c FROM PregeneratedContent c WHERE c.userId = :userId AND c.courseId = :courseId AND c.contentKey = :contentKey AND c.promptDigest = :promptDigest AND c.status = :status AND c.expiresAt > :now ORDER BY c.createdAt DESC LIMIT 1")
+    Optional<PregeneratedContent> findLatest(@Param("userId") UUID userId,
+                                             @Param("courseId") UUID courseId,
+                                             @Param("contentKey") String contentKey,
+                                             @Param("promptDigest") String promptDigest,
+                                             @Param("status") PregeneratedContentStatus status,
+                                             @Param("now") LocalDateTime now);
+
+    /**
+     * Find latest ready content by key
+     */
+    @Query("SELECT c FROM PregeneratedContent c WHERE c.userId = :userId AND c.courseId = :courseId AND c.contentKey = :contentKey AND c.status = :status AND c.expiresAt > :now ORDER BY c.createdAt DESC LIMIT 1")
+    Optional<PregeneratedContent> findLatest(@Param("userId") UUID userId,
+                                             @Param("courseId") UUID courseId,
+                                             @Param("contentKey") String contentKey,
+                                             @Param("status") PregeneratedContentStatus status,
+                                             @Param("now") LocalDateTime now);
+
+    /**
+     * Find all content of a batch job
+     */
+    List<PregeneratedContent> findByBatchJobId(UUID batchJobId);
+
+    /**
+     * Delete expired content
+     */
+    @Modifying
+    @Query("DELETE FROM PregeneratedContent c WHERE c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,65 @@
+package com.cbt.platform.batch.service;
+
+import com.cbt.platform.batch.config.PregenerationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Triggers nightly pre-generation and polls submitted batches
+ * Every node runs the schedule; shards are distributed by advisory locks
+ */
+@Component
+@ConditionalOnProperty(prefix = "batch.pregeneration", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PregenerationScheduler {
+
+    private final PregenerationService pregenerationService;
+    private final PregenerationProperties properties;
+
+    /**
+     * Walk over all shards starting from a random one, so nodes rarely compete for the same shard
+     */
+    @Scheduled(cron = "${batch.pregeneration.cron:0 0 3 * * *}")
+    public void pregenerate() {
+        LocalDate runDate = LocalDate.now();
+        int shards = properties.getShards();
+        int offset = ThreadLocalRandom.current().nextInt(shards);
+        log.info("Starting nightly pre-generation for {}", runDate);
+
+        int submitted = 0;
+        for (int i = 0; i < shards; i++) {
+            int shard = (offset + i) % shards;
+            try {
+                submitted += pregenerationService.pregenerateShard(shard, runDate);
+            } catch (Exception e) {
+                log.error("Pre-generation of shard {} failed", shard, e);
+            }
+        }
+
+        log.info("Nightly pre-generation finished: {} LLM requests submitted by this node", submitted);
+    }
+
+    /**
+     * Resume shards abandoned by crashed nodes, then collect finished batches
+     */
+    @Scheduled(fixedDelayString = "${batch.pregeneration.poll-interval:300000}")
+    public void collectResults() {
+        try {
+            pregenerationService.resumeExpiredClaims();
+        } catch (Exception e) {
+            log.error("Failed to resume expired shard claims", e);
+        }
+        try {
+            pregenerationService.collectResults();
+        } catch (Exception e) {
+            log.error("Failed to collect batch results", e);
+        }
+    }
+}
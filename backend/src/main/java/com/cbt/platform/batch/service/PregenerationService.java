@@ -0,0 +1,66 @@
+package com.cbt.platform.batch.service;
+
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for nightly batch pre-generation of personalized content
+ */
+public interface PregenerationService {
+
+    /**
+     * Find pre-generated response for LLM_RESPONSE block
+     * Served only if it was generated for the same resolved prompts
+     *
+     * @param userId    user ID
+     * @param courseId  course ID
+     * @param sessionId session ID
+     * @param blockData block configuration
+     * @param userData  current user data
+     * @return pre-generated response, or empty
+     */
+    Optional<LlmResponse> findBlockResponse(UUID userId, UUID courseId, String sessionId,
+                                            JsonNode blockData, JsonNode userData);
+
+    /**
+     * Find pre-generated notification of inter-session flow
+     *
+     * @param userId   user ID
+     * @param courseId course ID
+     * @param flowId   inter-session flow ID (e.g. "daily_check_in")
+     * @return notification resolved for the user, or empty
+     */
+    Optional<InterSessionNotification> findNotification(UUID userId, UUID courseId, String flowId);
+
+    /**
+     * Generate content for one shard of eligible users and submit LLM requests as a batch
+     * Notifications are stored for every eligible user; LLM requests stop at the max batch size.
+     * Does nothing if the shard is locked by another node or already claimed for the night,
+     * unless that claim is older than the claim timeout (the claiming node died mid-run).
+     * Runs without a surrounding transaction: pages commit one by one and the batch is submitted after them.
+     *
+     * @param shard   shard number
+     * @param runDate night of the run
+     * @return number of LLM requests submitted
+     */
+    int pregenerateShard(int shard, LocalDate runDate);
+
+    /**
+     * Run again shards whose job was left CLAIMED past the claim timeout
+     *
+     * @return number of LLM requests submitted
+     */
+    int resumeExpiredClaims();
+
+    /**
+     * Collect results of submitted batches
+     *
+     * @return number of collected results
+     */
+    int collectResults();
+}
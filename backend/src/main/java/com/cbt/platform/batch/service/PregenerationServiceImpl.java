@@ -0,0 +1,431 @@
+package com.cbt.platform.batch.service;
+
+import com.cbt.platform.batch.config.PregenerationProperties;
+import com.cbt.platform.batch.entity.BatchJobStatus;
+import com.cbt.platform.batch.entity.LlmBatchJob;
+import com.cbt.platform.batch.entity.PregeneratedContent;
+import com.cbt.platform.batch.entity.PregeneratedContentStatus;
+import com.cbt.platform.batch.repository.LlmBatchJobRepository;
+import com.cbt.platform.batch.repository.PregeneratedContentRepository;
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.engine.service.InterSessionNotificationService;
+import com.cbt.platform.engine.service.LlmBlockPrompts;
+import com.cbt.platform.llm.dto.LlmBatchItem;
+import com.cbt.platform.llm.dto.LlmBatchResult;
+import com.cbt.platform.llm.dto.LlmBatchStatus;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.llm.provider.LlmBatchProvider;
+import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.usage.service.UsageService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PregenerationService
+ *
+ * Nightly, every node walks over all shards; a shard is claimed by the node that takes its advisory
+ * lock first and inserts its llm_batch_jobs row as CLAIMED (one per shard and night, so it is processed once).
+ * Candidates are then read page by page, each page with its content rows in its own transaction,
+ * and the batch is submitted to the provider after the last commit. Notifications of inter-session
+ * flows need no LLM call: they are resolved for every candidate and stored READY right away. The job becomes SUBMITTED, ENDED
+ * or FAILED only when the run finishes; a job left CLAIMED past the claim timeout is run again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PregenerationServiceImpl implements PregenerationService {
+
+    private static final int SHARD_LOCK_NAMESPACE = "pregeneration:shard".hashCode();
+    private static final int COLLECT_LOCK_NAMESPACE = "pregeneration:collect".hashCode();
+
+    private static final String BLOCK_KEY_PREFIX = "block:";
+    private static final String NOTIFICATION_KEY_PREFIX = "notification:";
+
+    private final PregenerationProperties properties;
+    private final PregeneratedContentRepository contentRepository;
+    private final LlmBatchJobRepository batchJobRepository;
+    private final ProgressRepository progressRepository;
+    private final CourseRepository courseRepository;
+    private final LlmBatchProvider batchProvider;
+    private final LlmService llmService;
+    private final PromptBuilder promptBuilder;
+    private final LlmBlockPrompts blockPrompts;
+    private final UsageService usageService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LlmResponse> findBlockResponse(UUID userId, UUID courseId, String sessionId,
+                                                   JsonNode blockData, JsonNode userData) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        String contentKey = blockKey(sessionId, blockData.get("id").asText());
+        String promptDigest = blockPrompts.digest(blockData, userData);
+
+        return contentRepository.findLatest(userId, courseId, contentKey, promptDigest,
+                        PregeneratedContentStatus.READY, LocalDateTime.now())
+                .map(content -> {
+                    log.debug("Serving pre-generated content {} for user {}", contentKey, userId);
+                    return LlmResponse.builder()
+                            .content(content.getContent())
+                            .model(content.getModel())
+                            .tokensUsed(content.getTokensUsed())
+                            .finishReason("batch")
+                            .metadata(Map.of("pregeneratedContentId", content.getId()))
+                            .build();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<InterSessionNotification> findNotification(UUID userId, UUID courseId, String flowId) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        return contentRepository.findLatest(userId, courseId, NOTIFICATION_KEY_PREFIX + flowId,
+                        PregeneratedContentStatus.READY, LocalDateTime.now())
+                .map(content -> readNotification(content.getContent()));
+    }
+
+    @Override
+    public int pregenerateShard(int shard, LocalDate runDate) {
+        LlmBatchJob job = transactionTemplate.execute(status -> claimShard(shard, runDate));
+        if (job == null) {
+            return 0;
+        }
+
+        LocalDateTime activeSince = LocalDateTime.now().minusDays(properties.getActiveWithinDays());
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(properties.getContentTtlHours());
+        Map<UUID, JsonNode> scenarios = new HashMap<>();
+        List<LlmBatchItem> items = new ArrayList<>();
+        AtomicInteger notifications = new AtomicInteger();
+
+        UUID afterId = new UUID(0L, 0L);
+        List<UserProgress> page;
+        do {
+            UUID pageAfterId = afterId;
+            page = transactionTemplate.execute(status -> {
+                List<UserProgress> candidates = progressRepository.findPregenerationCandidates(activeSince,
+                        properties.getShards(), shard, pageAfterId, properties.getPageSize());
+                for (UserProgress progress : candidates) {
+                    JsonNode scenarioJson = scenarios.computeIfAbsent(progress.getCourseId(), courseId ->
+                            courseRepository.findById(courseId).map(Course::getScenarioJson).orElse(null));
+                    if (scenarioJson != null) {
+                        notifications.addAndGet(pregenerateNotifications(progress, scenarioJson, expiresAt));
+                        buildBlockRequests(progress, scenarioJson, job, expiresAt, items);
+                    }
+                }
+                return candidates;
+            });
+
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == properties.getPageSize());
+
+        if (items.size() >= properties.getMaxBatchSize()) {
+            log.warn("Pre-generation of shard {} reached max batch size {}, remaining users got notifications only",
+                    shard, properties.getMaxBatchSize());
+        }
+        if (items.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                job.setStatus(BatchJobStatus.ENDED);
+                job.setCompletedAt(LocalDateTime.now());
+                batchJobRepository.save(job);
+            });
+        } else {
+            submit(job, items);
+        }
+
+        log.info("Pre-generation of shard {}: {} LLM requests, {} notifications",
+                shard, items.size(), notifications.get());
+        return items.size();
+    }
+
+    @Override
+    public int resumeExpiredClaims() {
+        LocalDateTime claimedBefore = LocalDateTime.now().minusMinutes(properties.getClaimTimeoutMinutes());
+        int submitted = 0;
+        for (LlmBatchJob job : batchJobRepository.findByStatusAndClaimedAtBefore(BatchJobStatus.CLAIMED, claimedBefore)) {
+            submitted += pregenerateShard(job.getShard(), job.getRunDate());
+        }
+        return submitted;
+    }
+
+    @Override
+    @Transactional
+    public int collectResults() {
+        if (!batchJobRepository.tryAdvisoryLock(COLLECT_LOCK_NAMESPACE, 0)) {
+            return 0;
+        }
+
+        int deleted = contentRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired pre-generated content records", deleted);
+        }
+
+        int collected = 0;
+        for (LlmBatchJob job : batchJobRepository.findByStatus(BatchJobStatus.SUBMITTED)) {
+            try {
+                if (batchProvider.getStatus(job.getProviderBatchId()) != LlmBatchStatus.ENDED) {
+                    continue;
+                }
+
+                Map<String, LlmBatchResult> results = batchProvider.getResults(job.getProviderBatchId()).stream()
+                        .collect(Collectors.toMap(LlmBatchResult::customId, Function.identity()));
+                List<PregeneratedContent> contents = contentRepository.findByBatchJobId(job.getId());
+
+                for (PregeneratedContent content : contents) {
+                    LlmBatchResult result = results.get(content.getId().toString());
+                    if (result != null && result.isSucceeded()) {
+                        content.setStatus(PregeneratedContentStatus.READY);
+                        content.setContent(result.response().content());
+                        content.setModel(result.response().model());
+                        content.setTokensUsed(result.response().tokensUsed());
+                        usageService.record(LlmCallContext.of(LlmPriority.BATCH, content.getUserId(),
+                                        content.getCourseId(), blockIdOf(content.getContentKey())),
+                                batchProvider.getProviderType(), result.response());
+                    } else {
+                        content.setStatus(PregeneratedContentStatus.FAILED);
+                        content.setError(result != null ? truncate(result.error()) : "No result in batch");
+                    }
+                }
+                contentRepository.saveAll(contents);
+
+                job.setStatus(BatchJobStatus.ENDED);
+                job.setCompletedAt(LocalDateTime.now());
+                collected += results.size();
+                log.info("Collected {} results of batch {}", results.size(), job.getProviderBatchId());
+            } catch (Exception e) {
+                log.error("Failed to collect batch {}", job.getProviderBatchId(), e);
+                failJob(job, e);
+            }
+            batchJobRepository.save(job);
+        }
+
+        return collected;
+    }
+
+    /**
+     * Claim shard for the night under advisory lock: insert its job row as CLAIMED, or take over
+     * a job left CLAIMED by a node that died mid-run (its pending content is marked failed)
+     *
+     * @return claimed job, or null if shard is locked by another node, claimed recently or already processed
+     */
+    private LlmBatchJob claimShard(int shard, LocalDate runDate) {
+        if (!batchJobRepository.tryAdvisoryLock(SHARD_LOCK_NAMESPACE, shard)) {
+            log.debug("Shard {} is processed by another node", shard);
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<LlmBatchJob> existing = batchJobRepository.findByShardAndRunDate(shard, runDate);
+        if (existing.isEmpty()) {
+            return batchJobRepository.save(LlmBatchJob.builder()
+                    .shard(shard)
+                    .runDate(runDate)
+                    .status(BatchJobStatus.CLAIMED)
+                    .claimedAt(now)
+                    .build());
+        }
+
+        LlmBatchJob job = existing.get();
+        if (job.getStatus() != BatchJobStatus.CLAIMED || !isClaimExpired(job, now)) {
+            log.debug("Shard {} was already claimed for {}", shard, runDate);
+            return null;
+        }
+
+        log.warn("Taking over shard {} for {} claimed at {}", shard, runDate, job.getClaimedAt());
+        failContents(job, "Claim expired");
+        job.setClaimedAt(now);
+        job.setItemCount(0);
+        return batchJobRepository.save(job);
+    }
+
+    private boolean isClaimExpired(LlmBatchJob job, LocalDateTime now) {
+        return job.getClaimedAt() == null
+                || job.getClaimedAt().isBefore(now.minusMinutes(properties.getClaimTimeoutMinutes()));
+    }
+
+    /**
+     * Resolve notifications of inter-session flows (template only, no LLM call)
+     */
+    private int pregenerateNotifications(UserProgress progress, JsonNode scenarioJson, LocalDateTime expiresAt) {
+        JsonNode flows = scenarioJson.get(InterSessionNotificationService.FLOWS_SECTION);
+        if (flows == null || !flows.isObject()) {
+            return 0;
+        }
+
+        int count = 0;
+        Iterator<Map.Entry<String, JsonNode>> iterator = flows.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> flow = iterator.next();
+            JsonNode notification = flow.getValue().path("notification");
+            if (!notification.hasNonNull("body")) {
+                continue;
+            }
+
+            InterSessionNotification resolved = InterSessionNotificationService.resolve(flow.getKey(), notification,
+                    progress.getUserData(), promptBuilder);
+            contentRepository.save(PregeneratedContent.builder()
+                    .userId(progress.getUserId())
+                    .courseId(progress.getCourseId())
+                    .contentKey(NOTIFICATION_KEY_PREFIX + flow.getKey())
+                    .status(PregeneratedContentStatus.READY)
+                    .content(writeNotification(resolved))
+                    .expiresAt(expiresAt)
+                    .build());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Build requests for LLM_RESPONSE blocks the user will see first when coming back:
+     * blocks from current position up to the first block that changes userData
+     * Adds to items until they reach maxBatchSize.
+     */
+    private void buildBlockRequests(UserProgress progress, JsonNode scenarioJson, LlmBatchJob job,
+                                    LocalDateTime expiresAt, List<LlmBatchItem> items) {
+        String sessionId = progress.getCurrentSessionId() != null ?
+                progress.getCurrentSessionId() : getFirstSessionId(scenarioJson);
+        JsonNode session = sessionId != null ? scenarioJson.path("sessions").get(sessionId) : null;
+        if (session == null || !session.has("blocks")) {
+            return;
+        }
+
+        JsonNode blocks = session.get("blocks");
+        for (int i = progress.getCurrentBlockIndex(); i < blocks.size() && items.size() < properties.getMaxBatchSize(); i++) {
+            JsonNode block = blocks.get(i);
+            String type = block.path("type").asText();
+
+            if ("llm_response".equalsIgnoreCase(type)) {
+                JsonNode userData = progress.getUserData();
+                PregeneratedContent content = contentRepository.save(PregeneratedContent.builder()
+                        .batchJobId(job.getId())
+                        .userId(progress.getUserId())
+                        .courseId(progress.getCourseId())
+                        .contentKey(blockKey(sessionId, block.get("id").asText()))
+                        .promptDigest(blockPrompts.digest(block, userData))
+                        .status(PregeneratedContentStatus.PENDING)
+                        .expiresAt(expiresAt)
+                        .build());
+
+                items.add(new LlmBatchItem(content.getId().toString(), llmService.buildRequest(
+                        blockPrompts.systemPrompt(block),
+                        blockPrompts.userPrompt(block),
+                        userData,
+                        Map.of()
+                )));
+            } else if (!"static".equalsIgnoreCase(type)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Submit batch outside of any transaction, then record the outcome on the job
+     */
+    private void submit(LlmBatchJob job, List<LlmBatchItem> items) {
+        job.setItemCount(items.size());
+        try {
+            job.setProviderBatchId(batchProvider.submitBatch(items));
+            job.setStatus(BatchJobStatus.SUBMITTED);
+            batchJobRepository.save(job);
+        } catch (Exception e) {
+            log.error("Failed to submit batch for shard {}", job.getShard(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                failJob(job, e);
+                batchJobRepository.save(job);
+            });
+        }
+    }
+
+    private void failJob(LlmBatchJob job, Exception e) {
+        job.setStatus(BatchJobStatus.FAILED);
+        job.setError(truncate(e.getMessage()));
+        job.setCompletedAt(LocalDateTime.now());
+        failContents(job, job.getError());
+    }
+
+    private void failContents(LlmBatchJob job, String error) {
+        List<PregeneratedContent> contents = contentRepository.findByBatchJobId(job.getId());
+        contents.forEach(content -> {
+            content.setStatus(PregeneratedContentStatus.FAILED);
+            content.setError(error);
+        });
+        contentRepository.saveAll(contents);
+    }
+
+    private String writeNotification(InterSessionNotification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize notification " + notification.flowId(), e);
+        }
+    }
+
+    private InterSessionNotification readNotification(String content) {
+        try {
+            return objectMapper.readValue(content, InterSessionNotification.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt pre-generated notification", e);
+        }
+    }
+
+    private String getFirstSessionId(JsonNode scenarioJson) {
+        JsonNode sessions = scenarioJson.path("meta").path("sessions");
+        return sessions.isArray() && !sessions.isEmpty() ? sessions.get(0).asText() : null;
+    }
+
+    private String blockKey(String sessionId, String blockId) {
+        return BLOCK_KEY_PREFIX + sessionId + ":" + blockId;
+    }
+
+    /**
+     * Block ID of a block content key, null for other keys
+     */
+    private String blockIdOf(String contentKey) {
+        if (!contentKey.startsWith(BLOCK_KEY_PREFIX)) {
+            return null;
+        }
+        return contentKey.substring(contentKey.lastIndexOf(':') + 1);
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
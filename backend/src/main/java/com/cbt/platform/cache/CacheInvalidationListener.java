@@ -0,0 +1,39 @@
+package com.cbt.platform.cache;
+
+import com.cbt.platform.cache.config.TwoTierCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies cache invalidations published by other instances to the local tier
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoTierCacheManager cacheManager;
+    private final TwoTierCacheProperties properties;
+
+    @Bean
+    public RedisMessageListenerContainer cacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(properties.getRedis().getChannel()));
+        return container;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,249 @@
+package com.cbt.platform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Spring cache with a bounded local tier (Caffeine) in front of a shared Redis tier
+ *
+ * Values go to Redis JDK-serialized, so cached types must be Serializable.
+ * Keys are compared by their string form in both tiers. Redis errors degrade to a miss.
+ * Evictions and clears are announced through the invalidation publisher so that other instances
+ * drop their local copy. put() is not announced: Spring calls it to fill a miss of @Cacheable, so the
+ * value is the same everywhere. Data changes must evict (@CacheEvict), not @CachePut.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    /**
+     * Key of invalidation message that clears the whole cache
+     */
+    public static final String ALL_KEYS = "*";
+
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final RedisTemplate<String, Object> redis;
+    private final Duration ttl;
+    private final String keyPrefix;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter remoteErrors;
+    private final Timer remoteLatency;
+
+    /**
+     * @param name                  Cache name
+     * @param local                 Local tier
+     * @param redis                 Shared tier, or null for local only
+     * @param ttl                   Time to live of entries in the shared tier
+     * @param keyPrefix             Prefix of Redis keys
+     * @param invalidationPublisher Announces (cacheName, key) changes to other instances
+     * @param meterRegistry         Registry for hit/miss/latency metrics
+     */
+    public TwoTierCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            RedisTemplate<String, Object> redis,
+            Duration ttl,
+            String keyPrefix,
+            BiConsumer<String, String> invalidationPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.redis = redis;
+        this.ttl = ttl;
+        this.keyPrefix = keyPrefix + name + ":";
+        this.invalidationPublisher = invalidationPublisher;
+
+        this.localHits = getsCounter(meterRegistry, "local", "hit");
+        this.remoteHits = getsCounter(meterRegistry, "redis", "hit");
+        this.misses = getsCounter(meterRegistry, "all", "miss");
+        this.remoteErrors = Counter.builder("cache.redis.errors")
+                .description("Failed Redis tier operations")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.remoteLatency = Timer.builder("cache.redis.latency")
+                .description("Latency of Redis tier reads")
+                .tag("cache", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("cache.size", List.of(Tag.of("cache", name)),
+                local, com.github.benmanes.caffeine.cache.Cache::estimatedSize);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        value = lookupRemote(cacheKey);
+        if (value != null) {
+            local.put(cacheKey, value);
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = String.valueOf(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            localHits.increment();
+            return (T) fromStoreValue(value);
+        }
+        value = local.get(cacheKey, k -> {
+            Object remote = lookupRemote(k);
+            if (remote != null) {
+                return remote;
+            }
+            misses.increment();
+            try {
+                Object loaded = toStoreValue(valueLoader.call());
+                putRemote(k, loaded);
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        putRemote(cacheKey, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        local.invalidate(cacheKey);
+        if (redis != null) {
+            remote(() -> redis.delete(keyPrefix + cacheKey));
+        }
+        invalidationPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (redis != null) {
+            remote(this::deleteRemoteKeys);
+        }
+        invalidationPublisher.accept(name, ALL_KEYS);
+    }
+
+    /**
+     * Drop entries of the local tier only (on invalidation from another instance)
+     *
+     * @param key Cache key, or ALL_KEYS
+     */
+    public void invalidateLocal(String key) {
+        if (ALL_KEYS.equals(key)) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private Object lookupRemote(String cacheKey) {
+        if (redis == null) {
+            return null;
+        }
+        Object value = remote(() -> remoteLatency.record(() -> redis.opsForValue().get(keyPrefix + cacheKey)));
+        if (value != null) {
+            remoteHits.increment();
+        }
+        return value;
+    }
+
+    private void putRemote(String cacheKey, Object storeValue) {
+        if (redis != null) {
+            remote(() -> {
+                redis.opsForValue().set(keyPrefix + cacheKey, storeValue, ttl);
+                return null;
+            });
+        }
+    }
+
+    private Long deleteRemoteKeys() {
+        long deleted = 0;
+        List<String> batch = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(DELETE_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redis.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= DELETE_BATCH_SIZE) {
+                    deleted += deleteRemote(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += deleteRemote(batch);
+        }
+        return deleted;
+    }
+
+    private long deleteRemote(List<String> keys) {
+        Long deleted = redis.delete(keys);
+        return deleted != null ? deleted : 0;
+    }
+
+    private <T> T remote(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.warn("Redis tier of cache {} failed: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private Counter getsCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.gets")
+                .description("Cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.cbt.platform.cache;
+
+import com.cbt.platform.cache.config.TwoTierCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates TwoTierCache instances on first use and applies invalidations from other instances
+ *
+ * Invalidation message: "{nodeId}|{cacheName}|{key}", own messages are ignored.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager {
+
+    private static final String SEPARATOR = "|";
+
+    private final TwoTierCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, Object> redis;
+    private final StringRedisTemplate messaging;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties    Cache settings
+     * @param meterRegistry Registry for cache metrics
+     * @param redis         Shared tier template (JDK serialized values), or null for local only
+     * @param messaging     Template for invalidation messages, or null for local only
+     */
+    public TwoTierCacheManager(
+            TwoTierCacheProperties properties,
+            MeterRegistry meterRegistry,
+            RedisTemplate<String, Object> redis,
+            StringRedisTemplate messaging
+    ) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.redis = redis;
+        this.messaging = messaging;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Apply invalidation message published by an instance
+     *
+     * @param message Message body
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed cache invalidation: {}", message);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts[2]);
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        TwoTierCacheProperties.Spec spec = properties.getSpec(name);
+        Duration ttl = Duration.ofMillis(spec.getTtl());
+        log.info("Creating cache {} (ttl: {}, max size: {}, redis: {})", name, ttl, spec.getMaxSize(), redis != null);
+        return new TwoTierCache(
+                name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(ttl)
+                        .maximumSize(spec.getMaxSize())
+                        .build(),
+                redis,
+                ttl,
+                properties.getRedis().getKeyPrefix(),
+                this::publish,
+                meterRegistry
+        );
+    }
+
+    private void publish(String cacheName, String key) {
+        if (messaging == null) {
+            return;
+        }
+        try {
+            messaging.convertAndSend(properties.getRedis().getChannel(),
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            // Other instances fall back to local tier TTL
+            log.warn("Failed to publish invalidation of cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
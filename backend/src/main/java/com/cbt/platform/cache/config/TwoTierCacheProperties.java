@@ -0,0 +1,70 @@
+package com.cbt.platform.cache.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the two-tier (local + Redis) cache
+ * Binds to cache.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "cache")
+@Data
+public class TwoTierCacheProperties {
+
+    /**
+     * Settings of caches without an entry in specs
+     */
+    private Spec defaults = new Spec();
+
+    /**
+     * Per-cache settings: cache name -> spec
+     */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    private Redis redis = new Redis();
+
+    /**
+     * Get spec of cache, falling back to defaults
+     */
+    public Spec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Time to live of an entry in both tiers (milliseconds)
+         */
+        private long ttl = 300000;
+
+        /**
+         * Max number of entries in the local tier
+         */
+        private long maxSize = 1000;
+    }
+
+    @Data
+    public static class Redis {
+
+        /**
+         * Use Redis as shared second tier and invalidate local tiers of other instances
+         */
+        private boolean enabled = false;
+
+        /**
+         * Prefix of Redis keys: {prefix}{cacheName}:{key}
+         */
+        private String keyPrefix = "cache:";
+
+        /**
+         * Redis channel for local tier invalidation messages
+         */
+        private String channel = "cache:invalidate";
+    }
+}
@@ -0,0 +1,20 @@
+package com.cbt.platform.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the annotated @Id as a time-ordered UUIDv7 in-process (see UuidV7Generator)
+ * Use instead of @GeneratedValue(strategy = GenerationType.UUID).
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UuidV7 {
+}
@@ -0,0 +1,79 @@
+package com.cbt.platform.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562) identifiers: 48-bit Unix millisecond timestamp, 12-bit sequence, 62 random bits
+ *
+ * New keys sort after existing ones, so inserts append to the right edge of the primary key index
+ * instead of splitting pages all over it. The sequence starts at a random value each millisecond
+ * and is incremented within it, so keys from this JVM are strictly increasing even when the clock
+ * stands still or steps back. The random part uses SecureRandom, like UUID.randomUUID().
+ * Existing v4 keys stay valid: both are plain UUID values.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final long SEQUENCE_MASK = 0xFFF;
+
+    /**
+     * Last issued (millis << 12 | sequence)
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public UuidV7Generator(UuidV7 config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Next identifier, for rows inserted without Hibernate
+     */
+    public static UUID next() {
+        long stamp = nextStamp();
+        long mostSigBits = ((stamp >>> 12) << 16) | 0x7000L | (stamp & SEQUENCE_MASK);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Millisecond timestamp of a UUIDv7
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static long nextStamp() {
+        long now = System.currentTimeMillis() << 12;
+        while (true) {
+            long last = LAST.get();
+            // A full sequence carries into the next millisecond, keeping the order
+            long next = now > (last & ~SEQUENCE_MASK)
+                    ? now | ThreadLocalRandom.current().nextInt(1 << 11)
+                    : last + 1;
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
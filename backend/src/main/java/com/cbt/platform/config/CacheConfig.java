@@ -0,0 +1,70 @@
+package com.cbt.platform.config;
+
+import com.cbt.platform.cache.TwoTierCacheManager;
+import com.cbt.platform.cache.config.TwoTierCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Enables Spring caching (@Cacheable / @CacheEvict) backed by the two-tier cache
+ * Cache advice wraps transaction advice, so evictions run after commit
+ * and a cache hit does not open a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Course list views (published, all active, by category)
+     */
+    public static final String COURSE_CATALOG = "course-catalog";
+
+    /**
+     * Course detail views by id and by slug
+     */
+    public static final String COURSES = "courses";
+
+    /**
+     * Block template lists (all active, by block type)
+     */
+    public static final String BLOCK_TEMPLATES = "block-templates";
+
+    /**
+     * Draft detail views by id
+     */
+    public static final String DRAFTS = "drafts";
+
+    /**
+     * Draft version lists and single versions
+     */
+    public static final String DRAFT_VERSIONS = "draft-versions";
+
+    @Bean
+    public TwoTierCacheManager cacheManager(
+            TwoTierCacheProperties properties,
+            MeterRegistry meterRegistry,
+            ObjectProvider<RedisConnectionFactory> connectionFactory
+    ) {
+        if (!properties.getRedis().isEnabled() || connectionFactory.getIfAvailable() == null) {
+            return new TwoTierCacheManager(properties, meterRegistry, null, null);
+        }
+
+        RedisTemplate<String, Object> redis = new RedisTemplate<>();
+        redis.setConnectionFactory(connectionFactory.getObject());
+        redis.setKeySerializer(StringRedisSerializer.UTF_8);
+        redis.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        redis.afterPropertiesSet();
+
+        return new TwoTierCacheManager(properties, meterRegistry, redis,
+                new StringRedisTemplate(connectionFactory.getObject()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.cbt.platform.config;
+
+import com.cbt.platform.datasource.ReadWriteRoutingDataSource;
+import com.cbt.platform.datasource.ReadYourWritesGuard;
+import com.cbt.platform.datasource.ReadYourWritesInterceptor;
+import com.cbt.platform.datasource.ReplicaLagMonitor;
+import com.cbt.platform.datasource.Workload;
+import com.cbt.platform.datasource.WorkloadInterceptor;
+import com.cbt.platform.datasource.WorkloadRoutingDataSource;
+import com.cbt.platform.datasource.config.ReplicaProperties;
+import com.cbt.platform.datasource.config.WorkloadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Connection pools behind routing DataSources
+ * With datasource.workloads.enabled the primary is reached through one pool per Workload;
+ * with datasource.replica.enabled read-only transactions go to a replica pool.
+ * With neither, the single pool auto-configured from spring.datasource is used.
+ */
+@Configuration
+@ConditionalOnExpression("${datasource.replica.enabled:false} or ${datasource.workloads.enabled:false}")
+@RequiredArgsConstructor
+public class DataSourceConfig implements WebMvcConfigurer {
+
+    private final ReplicaProperties replicaProperties;
+    private final WorkloadProperties workloadProperties;
+
+    /**
+     * Single pool on the primary, configured by spring.datasource and spring.datasource.hikari
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return pool(properties, "primary");
+    }
+
+    /**
+     * Pool for learner requests, configured by datasource.workloads.pools.interactive
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.workloads.pools.interactive")
+    public HikariDataSource interactiveDataSource(DataSourceProperties properties) {
+        return pool(properties, "interactive");
+    }
+
+    /**
+     * Pool for editor and course management requests, configured by datasource.workloads.pools.admin
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.workloads.pools.admin")
+    public HikariDataSource adminDataSource(DataSourceProperties properties) {
+        return pool(properties, "admin");
+    }
+
+    /**
+     * Pool for jobs and background work, configured by datasource.workloads.pools.batch
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.workloads.pools.batch")
+    public HikariDataSource batchDataSource(DataSourceProperties properties) {
+        return pool(properties, "batch");
+    }
+
+    /**
+     * Pool on the replica, configured by datasource.replica and datasource.replica.hikari
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(replicaProperties.getUsername());
+        dataSource.setPassword(replicaProperties.getPassword());
+        dataSource.setDriverClassName(properties.getDriverClassName());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    public ReadYourWritesGuard readYourWritesGuard() {
+        return new ReadYourWritesGuard(replicaProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replica,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaProperties, new JdbcTemplate(replica), meterRegistry);
+    }
+
+    /**
+     * DataSource used by JPA, JdbcTemplate and Flyway
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            Map<String, HikariDataSource> pools,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        DataSource primary = pools.get("primaryDataSource");
+        if (workloadProperties.isEnabled()) {
+            Map<Workload, DataSource> workloadPools = new EnumMap<>(Workload.class);
+            workloadPools.put(Workload.INTERACTIVE, pools.get("interactiveDataSource"));
+            workloadPools.put(Workload.ADMIN, pools.get("adminDataSource"));
+            workloadPools.put(Workload.BATCH, pools.get("batchDataSource"));
+            WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(workloadPools);
+            routing.afterPropertiesSet();
+            primary = routing;
+        }
+        if (!replicaProperties.isEnabled()) {
+            return primary;
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, pools.get("replicaDataSource"),
+                readYourWritesGuard(), replicaLagMonitor.getObject(), meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (workloadProperties.isEnabled()) {
+            registry.addInterceptor(new WorkloadInterceptor(workloadProperties));
+        }
+        if (replicaProperties.isEnabled()) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesGuard()));
+        }
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,47 @@
+package com.cbt.platform.course.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for cluster-wide course invalidation
+ * Binds to course.invalidation.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "course.invalidation")
+@Data
+public class CourseInvalidationProperties {
+
+    /**
+     * Broadcast course changes through Redis pub/sub
+     */
+    private boolean redis = false;
+
+    /**
+     * Broadcast course changes through Postgres LISTEN/NOTIFY
+     * Can be enabled together with Redis, duplicate messages are ignored
+     */
+    private boolean postgres = false;
+
+    /**
+     * Redis channel for course change messages
+     */
+    private String redisChannel = "course:invalidate";
+
+    /**
+     * Postgres notification channel for course change messages
+     */
+    private String postgresChannel = "course_invalidate";
+
+    /**
+     * How often to compare cached revisions with the database (milliseconds, 0 = never)
+     * Catches messages lost while a transport was down
+     */
+    private long reconcileInterval = 60000;
+
+    /**
+     * Delay before reconnecting a dropped Postgres listener (milliseconds)
+     */
+    private long reconnectDelay = 5000;
+}
@@ -2,6 +2,7 @@ package com.cbt.platform.course.dto;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -25,5 +26,5 @@ public record CourseDetailResponse(
         boolean isPublished,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
-) {
+) implements Serializable {
 }
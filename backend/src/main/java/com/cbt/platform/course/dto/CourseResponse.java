@@ -1,5 +1,6 @@
 package com.cbt.platform.course.dto;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,5 +22,5 @@ public record CourseResponse(
         boolean isActive,
         boolean isPublished,
         LocalDateTime createdAt
-) {
+) implements Serializable {
 }
@@ -0,0 +1,12 @@
+package com.cbt.platform.course.dto;
+
+import java.util.UUID;
+
+/**
+ * Course ID with its current revision
+ */
+public record CourseRevision(
+        UUID id,
+        Long revision
+) {
+}
@@ -1,5 +1,7 @@
 package com.cbt.platform.course.entity;
 
+import com.cbt.platform.common.id.UuidV7;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,9 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -27,7 +27,7 @@ import java.util.UUID;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -49,12 +49,12 @@ public class Course {
     private String description;
 
     /**
-     * Full scenario JSON loaded from resources/scenarios/{slug}/scenario_{version}.json
-     * Contains: meta, global_config, user_profile_schema, sessions
+     * Full scenario loaded from resources/scenarios/{slug}/scenario_{version}.json
+     * Stored once per content in scenario_blobs, shared with drafts and draft versions
      */
-    @Column(columnDefinition = "jsonb", nullable = false)
-    @JdbcTypeCode(SqlTypes.JSON)
-    private JsonNode scenarioJson;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "scenario_hash", nullable = false)
+    private ScenarioBlob scenario;
 
     /**
      * Scenario version (e.g., "1.0.1")
@@ -62,6 +62,15 @@ public class Course {
     @Column(nullable = false, length = 20)
     private String version;
 
+    /**
+     * Revision of the row, incremented by Hibernate in the UPDATE of every change (optimistic lock)
+     * Caches on all instances compare it to drop stale copies
+     */
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Long revision = 0L;
+
     /**
      * Number of free sessions available before paywall
      */
@@ -117,4 +126,11 @@ public class Course {
      * Soft delete timestamp
      */
     private LocalDateTime deletedAt;
+
+    /**
+     * Scenario JSON: meta, global_config, user_profile_schema, sessions
+     */
+    public JsonNode getScenarioJson() {
+        return scenario != null ? scenario.getContent() : null;
+    }
 }
@@ -0,0 +1,12 @@
+package com.cbt.platform.course.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a course row changes (create, update, scenario reload, delete, draft publish)
+ *
+ * @param courseId Course ID
+ * @param revision Revision of the course after the change
+ */
+public record CourseChangedEvent(UUID courseId, long revision) {
+}
@@ -0,0 +1,16 @@
+package com.cbt.platform.course.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a course was changed by another request after it was loaded
+ */
+public class CourseConflictException extends BaseException {
+
+    public CourseConflictException(UUID id) {
+        super("Course was changed by another request: " + id, "COURSE_CONFLICT", HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cbt.platform.course.invalidation;
+
+import com.cbt.platform.cache.TwoTierCache;
+import com.cbt.platform.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drops local copies of course Spring caches when a course changes on any instance
+ * The shared tier is already evicted by the instance that made the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseCacheEvictor implements CourseCacheListener {
+
+    private static final List<String> CACHE_NAMES = List.of(CacheConfig.COURSE_CATALOG, CacheConfig.COURSES);
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void onCourseChanged(UUID courseId, long revision) {
+        invalidateLocal();
+    }
+
+    @Override
+    public void onResync() {
+        invalidateLocal();
+    }
+
+    private void invalidateLocal() {
+        for (String name : CACHE_NAMES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.invalidateLocal(TwoTierCache.ALL_KEYS);
+            } else if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cbt.platform.course.invalidation;
+
+import java.util.UUID;
+
+/**
+ * Holder of per-instance course data that must follow course changes
+ */
+public interface CourseCacheListener {
+
+    /**
+     * Course changed; drop copies older than the revision
+     * Called once per revision, in increasing order per course
+     *
+     * @param courseId Course ID
+     * @param revision Revision after the change
+     */
+    void onCourseChanged(UUID courseId, long revision);
+
+    /**
+     * Changes may have been missed (transport reconnected); drop everything
+     */
+    void onResync();
+}
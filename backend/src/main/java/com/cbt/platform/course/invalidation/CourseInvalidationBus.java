@@ -0,0 +1,131 @@
+package com.cbt.platform.course.invalidation;
+
+import com.cbt.platform.course.config.CourseInvalidationProperties;
+import com.cbt.platform.course.dto.CourseRevision;
+import com.cbt.platform.course.event.CourseChangedEvent;
+import com.cbt.platform.course.repository.CourseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned invalidation of per-instance course data
+ *
+ * A committed course change is applied locally and sent through every enabled transport
+ * (Redis pub/sub, Postgres LISTEN/NOTIFY). Messages carry (courseId, revision); a revision is
+ * applied once, so replays and copies arriving over both transports are ignored.
+ * After a transport reconnects the instance starts a new epoch: listeners drop everything,
+ * because messages sent while disconnected are lost. A periodic reconcile against
+ * courses.revision catches the rest.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CourseInvalidationBus {
+
+    private final List<CourseCacheListener> listeners;
+    private final ObjectProvider<CourseInvalidationTransport> transports;
+    private final CourseRepository courseRepository;
+    private final CourseInvalidationProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Highest applied revision per course
+     */
+    private final Map<UUID, Long> revisions = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        apply(event.courseId(), event.revision());
+        transports.orderedStream().forEach(transport -> {
+            try {
+                transport.publish(event.courseId(), event.revision());
+            } catch (RuntimeException e) {
+                // Other instances catch up on reconcile
+                log.warn("Failed to publish course change {} via {}: {}",
+                        event, transport.getClass().getSimpleName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Apply message received from a transport
+     *
+     * @param message Message body "{courseId}:{revision}"
+     */
+    public void receive(String message) {
+        int separator = message.lastIndexOf(':');
+        UUID courseId;
+        long revision;
+        try {
+            courseId = UUID.fromString(message.substring(0, separator));
+            revision = Long.parseLong(message.substring(separator + 1));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed course invalidation: {}", message);
+            return;
+        }
+        if (!apply(courseId, revision)) {
+            meterRegistry.counter("course.invalidation.duplicates").increment();
+        }
+    }
+
+    /**
+     * Apply course change once per revision
+     *
+     * @return true if the revision was new
+     */
+    public boolean apply(UUID courseId, long revision) {
+        Long previous = revisions.get(courseId);
+        while (previous == null || previous < revision) {
+            boolean advanced = previous == null
+                    ? revisions.putIfAbsent(courseId, revision) == null
+                    : revisions.replace(courseId, previous, revision);
+            if (advanced) {
+                log.debug("Applying course change: courseId={}, revision={}", courseId, revision);
+                listeners.forEach(listener -> listener.onCourseChanged(courseId, revision));
+                meterRegistry.counter("course.invalidation.applied").increment();
+                return true;
+            }
+            previous = revisions.get(courseId);
+        }
+        return false;
+    }
+
+    /**
+     * Start a new cache epoch after messages may have been lost
+     */
+    public void resync() {
+        log.info("Resynchronizing course caches");
+        listeners.forEach(CourseCacheListener::onResync);
+        meterRegistry.counter("course.invalidation.resyncs").increment();
+    }
+
+    /**
+     * Compare applied revisions with the database and apply missed changes
+     */
+    @Scheduled(fixedDelayString = "${course.invalidation.reconcile-interval:60000}")
+    public void reconcile() {
+        if (!properties.isRedis() && !properties.isPostgres()) {
+            return; // Single instance: every change is applied locally
+        }
+        int applied = 0;
+        for (CourseRevision course : courseRepository.findAllRevisions()) {
+            if (apply(course.id(), course.revision())) {
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            log.debug("Reconcile applied {} course revision(s)", applied);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cbt.platform.course.invalidation;
+
+import java.util.UUID;
+
+/**
+ * Channel that carries course change messages to other instances
+ * Message body: "{courseId}:{revision}"
+ */
+public interface CourseInvalidationTransport {
+
+    /**
+     * Send course change to all instances
+     */
+    void publish(UUID courseId, long revision);
+
+    /**
+     * Format message body
+     */
+    static String encode(UUID courseId, long revision) {
+        return courseId + ":" + revision;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cbt.platform.course.invalidation;
+
+import com.cbt.platform.course.config.CourseInvalidationProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Course change messages over Postgres LISTEN/NOTIFY
+ * Works without Redis; the listener thread holds its own connection to the primary,
+ * opened outside of the connection pools so it never takes a pooled connection.
+ * Every reconnect starts a new cache epoch.
+ */
+@Component
+@ConditionalOnProperty(name = "course.invalidation.postgres", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresCourseInvalidationTransport implements CourseInvalidationTransport {
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MS = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final CourseInvalidationBus bus;
+    private final CourseInvalidationProperties properties;
+
+    private DataSource listenerDataSource;
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    public void start() {
+        if (!CHANNEL_PATTERN.matcher(properties.getPostgresChannel()).matches()) {
+            throw new IllegalStateException("Invalid Postgres channel name: " + properties.getPostgresChannel());
+        }
+        listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        running = true;
+        listener = new Thread(this::listen, "course-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public void publish(UUID courseId, long revision) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null,
+                properties.getPostgresChannel(), CourseInvalidationTransport.encode(courseId, revision));
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getPostgresChannel());
+                }
+                if (reconnect) {
+                    log.info("Listening on {} again", properties.getPostgresChannel());
+                    bus.resync();
+                }
+                reconnect = true;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            bus.receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Course invalidation listener failed, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.cbt.platform.course.invalidation;
+
+import com.cbt.platform.course.config.CourseInvalidationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Course change messages over Redis pub/sub
+ * Every subscription after the first one is a reconnect and starts a new cache epoch.
+ */
+@Configuration
+@ConditionalOnProperty(name = "course.invalidation.redis", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisCourseInvalidationTransport implements CourseInvalidationTransport, MessageListener, SubscriptionListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final CourseInvalidationBus bus;
+    private final CourseInvalidationProperties properties;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    @Bean
+    public RedisMessageListenerContainer courseInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(properties.getRedisChannel()));
+        return container;
+    }
+
+    @Override
+    public void publish(UUID courseId, long revision) {
+        redisTemplate.convertAndSend(properties.getRedisChannel(), CourseInvalidationTransport.encode(courseId, revision));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        bus.receive(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if (subscribed.getAndSet(true)) {
+            log.info("Resubscribed to {}", properties.getRedisChannel());
+            bus.resync();
+        }
+    }
+}
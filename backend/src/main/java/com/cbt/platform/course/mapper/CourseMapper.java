@@ -22,8 +22,10 @@ public interface CourseMapper {
 
     /**
      * Convert CreateCourseRequest to Course entity
+     * Scenario blob is stored and set by the service
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "scenario", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
@@ -36,6 +38,7 @@ public interface CourseMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "slug", ignore = true)
+    @Mapping(target = "scenario", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
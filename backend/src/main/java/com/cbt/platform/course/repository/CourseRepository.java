@@ -1,5 +1,7 @@
 package com.cbt.platform.course.repository;
 
+import com.cbt.platform.course.dto.CourseResponse;
+import com.cbt.platform.course.dto.CourseRevision;
 import com.cbt.platform.course.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -24,21 +26,30 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
 
     /**
      * Find all active and published courses (not soft-deleted)
+     * Reads catalog columns only, scenario_json is not loaded
      */
-    @Query("SELECT c FROM Course c WHERE c.isActive = true AND c.isPublished = true AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
-    List<Course> findAllActiveAndPublished();
+    @Query("SELECT new com.cbt.platform.course.dto.CourseResponse(c.id, c.slug, c.name, c.description, c.version, c.freeSessions, c.price, c.imageUrl, c.estimatedDurationMinutes, c.category, c.isActive, c.isPublished, c.createdAt) FROM Course c WHERE c.isActive = true AND c.isPublished = true AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    List<CourseResponse> findAllActiveAndPublished();
 
     /**
      * Find all active courses (not soft-deleted)
+     * Reads catalog columns only, scenario_json is not loaded
      */
-    @Query("SELECT c FROM Course c WHERE c.isActive = true AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
-    List<Course> findAllActive();
+    @Query("SELECT new com.cbt.platform.course.dto.CourseResponse(c.id, c.slug, c.name, c.description, c.version, c.freeSessions, c.price, c.imageUrl, c.estimatedDurationMinutes, c.category, c.isActive, c.isPublished, c.createdAt) FROM Course c WHERE c.isActive = true AND c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+    List<CourseResponse> findAllActive();
 
     /**
      * Find courses by category
+     * Reads catalog columns only, scenario_json is not loaded
      */
-    @Query("SELECT c FROM Course c WHERE c.category = :category AND c.isActive = true AND c.isPublished = true AND c.deletedAt IS NULL")
-    List<Course> findByCategory(@Param("category") String category);
+    @Query("SELECT new com.cbt.platform.course.dto.CourseResponse(c.id, c.slug, c.name, c.description, c.version, c.freeSessions, c.price, c.imageUrl, c.estimatedDurationMinutes, c.category, c.isActive, c.isPublished, c.createdAt) FROM Course c WHERE c.category = :category AND c.isActive = true AND c.isPublished = true AND c.deletedAt IS NULL")
+    List<CourseResponse> findByCategory(@Param("category") String category);
+
+    /**
+     * Find revisions of all courses (including soft-deleted)
+     */
+    @Query("SELECT new com.cbt.platform.course.dto.CourseRevision(c.id, c.revision) FROM Course c")
+    List<CourseRevision> findAllRevisions();
 
     /**
      * Find active course by slug
@@ -50,11 +61,4 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * Check if course exists by slug
      */
     boolean existsBySlug(String slug);
-
-    /**
-     * Soft delete course
-     */
-    @Modifying
-    @Query("UPDATE Course c SET c.deletedAt = CURRENT_TIMESTAMP, c.isActive = false WHERE c.id = :id")
-    void softDelete(@Param("id") UUID id);
 }
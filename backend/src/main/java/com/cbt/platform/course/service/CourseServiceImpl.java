@@ -1,23 +1,34 @@
 package com.cbt.platform.course.service;
 
+import com.cbt.platform.config.CacheConfig;
 import com.cbt.platform.course.dto.*;
 import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.event.CourseChangedEvent;
 import com.cbt.platform.course.exception.CourseAlreadyExistsException;
+import com.cbt.platform.course.exception.CourseConflictException;
 import com.cbt.platform.course.exception.CourseNotFoundException;
 import com.cbt.platform.course.exception.ScenarioLoadException;
 import com.cbt.platform.course.mapper.CourseMapper;
 import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.service.ScenarioBlobService;
+import com.cbt.platform.scenario.service.ScenarioPartService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -33,41 +44,39 @@ public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository courseRepository;
     private final CourseMapper courseMapper;
+    private final ScenarioBlobService scenarioBlobService;
+    private final ScenarioPartService scenarioPartService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Pattern SCENARIO_PATH_PATTERN = Pattern.compile("scenarios/([a-z0-9-]+)/scenario_(\\d+\\.\\d+\\.\\d+)\\.json");
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'published'")
     @Transactional(readOnly = true)
     public List<CourseResponse> findAllActiveAndPublished() {
         log.debug("Fetching all active and published courses");
-        return courseRepository.findAllActiveAndPublished()
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findAllActiveAndPublished();
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'active'")
     @Transactional(readOnly = true)
     public List<CourseResponse> findAllActive() {
         log.debug("Fetching all active courses");
-        return courseRepository.findAllActive()
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findAllActive();
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'category:' + #category")
     @Transactional(readOnly = true)
     public List<CourseResponse> findByCategory(String category) {
         log.debug("Fetching courses by category: {}", category);
-        return courseRepository.findByCategory(category)
-                .stream()
-                .map(courseMapper::toResponse)
-                .toList();
+        return courseRepository.findByCategory(category);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "'slug:' + #slug")
     @Transactional(readOnly = true)
     public CourseDetailResponse findBySlug(String slug) {
         log.debug("Fetching course by slug: {}", slug);
@@ -77,6 +86,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "'id:' + #id")
     @Transactional(readOnly = true)
     public CourseDetailResponse findById(UUID id) {
         log.debug("Fetching course by id: {}", id);
@@ -86,6 +96,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSES}, allEntries = true)
     @Transactional
     public CourseDetailResponse create(CreateCourseRequest request) {
         log.info("Creating course: {}", request.slug());
@@ -95,13 +106,16 @@ public class CourseServiceImpl implements CourseService {
         }
 
         Course course = courseMapper.toEntity(request);
+        course.setScenario(storeScenario(request.scenarioJson()));
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getRevision()));
 
         log.info("Course created: id={}, slug={}", course.getId(), course.getSlug());
         return courseMapper.toDetailResponse(course);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSES}, allEntries = true)
     @Transactional
     public CourseDetailResponse loadFromScenario(String scenarioPath) {
         log.info("Loading course from scenario: {}", scenarioPath);
@@ -124,10 +138,11 @@ public class CourseServiceImpl implements CourseService {
                     .orElseThrow(() -> new CourseNotFoundException(slug));
 
             JsonNode scenarioJson = loadScenarioJsonFromFile(scenarioPath);
-            existingCourse.setScenarioJson(scenarioJson);
+            existingCourse.setScenario(storeScenario(scenarioJson));
             existingCourse.setVersion(version);
 
-            Course updated = courseRepository.save(existingCourse);
+            Course updated = saveChanges(existingCourse);
+            eventPublisher.publishEvent(new CourseChangedEvent(updated.getId(), updated.getRevision()));
             log.info("Course scenario updated: id={}, slug={}, version={}", updated.getId(), updated.getSlug(), updated.getVersion());
             return courseMapper.toDetailResponse(updated);
         }
@@ -149,7 +164,7 @@ public class CourseServiceImpl implements CourseService {
                 .slug(slug)
                 .name(name)
                 .description(description)
-                .scenarioJson(scenarioJson)
+                .scenario(storeScenario(scenarioJson))
                 .version(version)
                 .freeSessions(2) // Default from project spec
                 .category(slug.split("-")[0]) // First part of slug as category
@@ -158,12 +173,14 @@ public class CourseServiceImpl implements CourseService {
                 .build();
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getRevision()));
         log.info("Course loaded from scenario: id={}, slug={}, version={}", course.getId(), course.getSlug(), course.getVersion());
 
         return courseMapper.toDetailResponse(course);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSES}, allEntries = true)
     @Transactional
     public CourseDetailResponse update(UUID id, UpdateCourseRequest request) {
         log.info("Updating course: id={}", id);
@@ -172,13 +189,18 @@ public class CourseServiceImpl implements CourseService {
                 .orElseThrow(() -> new CourseNotFoundException(id));
 
         courseMapper.updateEntity(course, request);
-        course = courseRepository.save(course);
+        if (request.scenarioJson() != null) {
+            course.setScenario(storeScenario(request.scenarioJson()));
+        }
+        course = saveChanges(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getRevision()));
 
         log.info("Course updated: id={}, slug={}", course.getId(), course.getSlug());
         return courseMapper.toDetailResponse(course);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.COURSE_CATALOG, CacheConfig.COURSES}, allEntries = true)
     @Transactional
     public void delete(UUID id) {
         log.info("Soft deleting course: id={}", id);
@@ -186,7 +208,10 @@ public class CourseServiceImpl implements CourseService {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id));
 
-        courseRepository.softDelete(id);
+        course.setDeletedAt(LocalDateTime.now());
+        course.setIsActive(false);
+        course = saveChanges(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, course.getRevision()));
         log.info("Course soft deleted: id={}, slug={}", id, course.getSlug());
     }
 
@@ -196,6 +221,27 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.existsBySlug(slug);
     }
 
+    /**
+     * Store scenario and split it into the parts the engine and clients load
+     */
+    private ScenarioBlob storeScenario(JsonNode scenarioJson) {
+        ScenarioBlob blob = scenarioBlobService.store(scenarioJson);
+        scenarioPartService.split(blob.getHash());
+        return blob;
+    }
+
+    /**
+     * Flush changes of course so that it carries the revision written by the UPDATE
+     * A concurrent change of the same course fails the version check instead of being lost.
+     */
+    private Course saveChanges(Course course) {
+        try {
+            return courseRepository.saveAndFlush(course);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new CourseConflictException(course.getId());
+        }
+    }
+
     /**
      * Load and parse scenario JSON from classpath resource
      */
@@ -0,0 +1,67 @@
+package com.cbt.platform.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends @Transactional(readOnly = true) work to the replica and everything else to the primary
+ *
+ * The route is decided when a connection is fetched, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for a connection before the
+ * read-only flag of the transaction is bound, the proxy defers that until the first statement.
+ * Reads still go to the primary when ReadYourWritesGuard requires it or the replica is behind.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesGuard guard;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter pinnedRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard,
+                                      ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.guard = guard;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        primaryRoutes = routeCounter(meterRegistry, "primary");
+        replicaRoutes = routeCounter(meterRegistry, "replica");
+        pinnedRoutes = routeCounter(meterRegistry, "pinned");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                guard.wrote();
+            }
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (guard.primaryRequired() || lagMonitor.isBehind()) {
+            pinnedRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.routing")
+                .description("Connections fetched per route (pinned = read-only work sent to the primary)")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cbt.platform.datasource;
+
+import com.cbt.platform.datasource.config.ReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps reads of a user on the primary right after the user wrote
+ *
+ * A request that ran a read-write transaction marks its user for readYourWritesWindow; requests of a
+ * marked user, and the rest of the writing request itself, read from the primary. Writers are
+ * remembered per instance, so the window should cover the usual replica lag (see ReplicaLagMonitor
+ * for when it does not).
+ */
+public class ReadYourWritesGuard {
+
+    private final Cache<UUID, Boolean> recentWriters;
+    private final ThreadLocal<RequestState> requests = new ThreadLocal<>();
+
+    public ReadYourWritesGuard(ReplicaProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(properties.getReadYourWritesWindow()))
+                .maximumSize(properties.getMaxTrackedWriters())
+                .build();
+    }
+
+    /**
+     * Start request of a user (null for anonymous requests)
+     */
+    public void begin(UUID userId) {
+        boolean pinned = userId != null && recentWriters.getIfPresent(userId) != null;
+        requests.set(new RequestState(userId, pinned));
+    }
+
+    /**
+     * Whether reads of the current request must go to the primary
+     */
+    public boolean primaryRequired() {
+        RequestState state = requests.get();
+        return state != null && state.pinned;
+    }
+
+    /**
+     * Record that the current request started a read-write transaction
+     */
+    public void wrote() {
+        RequestState state = requests.get();
+        if (state != null) {
+            state.wrote = true;
+            state.pinned = true;
+        }
+    }
+
+    /**
+     * Finish request, remembering its user if it wrote
+     */
+    public void end() {
+        RequestState state = requests.get();
+        requests.remove();
+        if (state != null && state.wrote && state.userId != null) {
+            recentWriters.put(state.userId, Boolean.TRUE);
+        }
+    }
+
+    private static final class RequestState {
+
+        private final UUID userId;
+        private boolean pinned;
+        private boolean wrote;
+
+        RequestState(UUID userId, boolean pinned) {
+            this.userId = userId;
+            this.pinned = pinned;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.cbt.platform.datasource;
+
+import com.cbt.platform.datasource.config.ReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures replay lag of the replica and takes it out of rotation while it is behind or unreachable
+ * A replica that has replayed everything it received reports no lag, however old its last transaction is.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL = "SELECT CASE " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final ReplicaProperties properties;
+    private final JdbcTemplate replica;
+
+    private volatile long lagMillis;
+    private volatile boolean behind;
+
+    public ReplicaLagMonitor(ReplicaProperties properties, JdbcTemplate replica, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.replica = replica;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replay lag of the read replica (milliseconds)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether reads must go to the primary because the replica is too far behind
+     */
+    public boolean isBehind() {
+        return behind;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:1000}")
+    public void check() {
+        boolean wasBehind = behind;
+        try {
+            Number lag = replica.queryForObject(LAG_SQL, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+            behind = lagMillis > properties.getMaxLag();
+        } catch (DataAccessException e) {
+            behind = true;
+            log.debug("Replica lag check failed: {}", e.getMessage());
+        }
+        if (behind != wasBehind) {
+            log.warn(behind ? "Read replica is behind ({} ms) or unreachable, reading from primary"
+                    : "Read replica caught up ({} ms), reading from replica", lagMillis);
+        }
+    }
+}
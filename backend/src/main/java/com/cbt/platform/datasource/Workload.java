@@ -0,0 +1,19 @@
+package com.cbt.platform.datasource;
+
+/**
+ * Class of database work, each with its own connection pool
+ */
+public enum Workload {
+    /**
+     * Learner requests (sessions, progress, auth), latency critical
+     */
+    INTERACTIVE,
+    /**
+     * Editor and course management requests, large payloads and listings
+     */
+    ADMIN,
+    /**
+     * Scheduled jobs, flushers and other work outside of requests
+     */
+    BATCH
+}
@@ -0,0 +1,47 @@
+package com.cbt.platform.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Workload of the current thread
+ * Bound per request by WorkloadInterceptor; threads outside of requests run as BATCH
+ * unless they do learner-facing work and bind INTERACTIVE with call().
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.BATCH;
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Run action as another workload, e.g. an import started from a request as BATCH
+     * Takes effect for connections fetched inside the action (not inside an already open transaction).
+     */
+    public static <T> T call(Workload workload, Supplier<T> action) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cbt.platform.datasource;
+
+import com.cbt.platform.datasource.config.WorkloadProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds the workload of each request from its handler
+ * @WorkloadPool on the method or controller wins, then the longest matching package of
+ * datasource.workloads.packages, then the request default. Resolved once per handler method.
+ */
+public class WorkloadInterceptor implements AsyncHandlerInterceptor {
+
+    private final WorkloadProperties properties;
+    private final Map<Method, Workload> resolved = new ConcurrentHashMap<>();
+
+    public WorkloadInterceptor(WorkloadProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Workload workload = handler instanceof HandlerMethod method
+                ? resolved.computeIfAbsent(method.getMethod(), key -> resolve(method))
+                : properties.getRequestDefault();
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        WorkloadContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        WorkloadContext.clear();
+    }
+
+    private Workload resolve(HandlerMethod method) {
+        WorkloadPool annotation = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), WorkloadPool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), WorkloadPool.class);
+        }
+        if (annotation != null) {
+            return annotation.value();
+        }
+
+        String type = method.getBeanType().getName();
+        Workload workload = properties.getRequestDefault();
+        int longest = -1;
+        for (Map.Entry<Workload, List<String>> entry : properties.getPackages().entrySet()) {
+            for (String prefix : entry.getValue()) {
+                if (type.startsWith(prefix + ".") && prefix.length() > longest) {
+                    workload = entry.getKey();
+                    longest = prefix.length();
+                }
+            }
+        }
+        return workload;
+    }
+}
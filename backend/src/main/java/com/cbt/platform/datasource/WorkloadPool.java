@@ -0,0 +1,19 @@
+package com.cbt.platform.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pool used by requests to a controller or handler method, overriding the package mapping
+ * of datasource.workloads.packages
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WorkloadPool {
+
+    Workload value();
+}
@@ -0,0 +1,49 @@
+package com.cbt.platform.datasource.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for read replica routing
+ * Binds to datasource.replica.* properties in application.yml (pool settings under datasource.replica.hikari)
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+@Data
+public class ReplicaProperties {
+
+    /**
+     * Send read-only transactions to the replica
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * How long reads of a user go to the primary after the user wrote (milliseconds)
+     */
+    private long readYourWritesWindow = 5000;
+
+    /**
+     * Users whose last write is remembered for the read-your-writes window
+     */
+    private long maxTrackedWriters = 100000;
+
+    /**
+     * Replay lag above which all reads go to the primary (milliseconds)
+     */
+    private long maxLag = 2000;
+
+    /**
+     * How often replica lag is measured (milliseconds)
+     */
+    private long lagCheckInterval = 1000;
+}
@@ -0,0 +1,36 @@
+package com.cbt.platform.datasource.config;
+
+import com.cbt.platform.datasource.Workload;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for workload-isolated connection pools
+ * Binds to datasource.workloads.* properties in application.yml; each pool is configured under
+ * datasource.workloads.pools.{interactive,admin,batch} with Hikari settings.
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.workloads")
+@Data
+public class WorkloadProperties {
+
+    /**
+     * Use one pool per workload instead of the single spring.datasource.hikari pool
+     */
+    private boolean enabled = false;
+
+    /**
+     * Workload of requests to controllers in these packages (longest match wins)
+     */
+    private Map<Workload, List<String>> packages = new EnumMap<>(Workload.class);
+
+    /**
+     * Workload of requests whose controller matches no package
+     */
+    private Workload requestDefault = Workload.INTERACTIVE;
+}
@@ -3,9 +3,7 @@ package com.cbt.platform.editor.controller;
 import com.cbt.platform.editor.dto.*;
 import com.cbt.platform.editor.entity.DraftStatus;
 import com.cbt.platform.editor.service.ScenarioEditorService;
-import com.cbt.platform.user.entity.User;
-import com.cbt.platform.user.exception.UserNotFoundException;
-import com.cbt.platform.user.repository.UserRepository;
+import com.cbt.platform.security.CurrentUserId;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -15,8 +13,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
@@ -35,7 +31,6 @@ import java.util.UUID;
 public class ScenarioDraftController {
 
     private final ScenarioEditorService editorService;
-    private final UserRepository userRepository;
 
     @GetMapping
     @Operation(summary = "Get all active drafts", description = "Retrieve all active scenario drafts")
@@ -88,8 +83,7 @@ public class ScenarioDraftController {
     })
     public ResponseEntity<DraftDetailResponse> create(
             @Valid @RequestBody CreateDraftRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         DraftDetailResponse created = editorService.create(request, userId);
         URI location = URI.create("/api/editor/drafts/" + created.id());
         return ResponseEntity.created(location).body(created);
@@ -105,8 +99,7 @@ public class ScenarioDraftController {
     public ResponseEntity<DraftDetailResponse> update(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateDraftRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         DraftDetailResponse updated = editorService.update(id, request, userId);
         return ResponseEntity.ok(updated);
     }
@@ -181,20 +174,8 @@ public class ScenarioDraftController {
     public ResponseEntity<DraftDetailResponse> restoreVersion(
             @PathVariable UUID id,
             @PathVariable Integer versionNumber,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         DraftDetailResponse restored = editorService.restoreVersion(id, versionNumber, userId);
         return ResponseEntity.ok(restored);
     }
-
-    /**
-     * Get user ID from UserDetails (email)
-     * UserDetails.getUsername() returns email, not UUID
-     */
-    private UUID getUserId(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        User user = userRepository.findActiveByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-        return user.getId();
-    }
 }
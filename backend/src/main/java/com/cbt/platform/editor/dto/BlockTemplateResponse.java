@@ -2,6 +2,7 @@ package com.cbt.platform.editor.dto;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -20,5 +21,5 @@ public record BlockTemplateResponse(
         Integer usageCount,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
-) {
+) implements Serializable {
 }
@@ -3,6 +3,7 @@ package com.cbt.platform.editor.dto;
 import com.cbt.platform.editor.entity.DraftStatus;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -27,5 +28,5 @@ public record DraftDetailResponse(
         LocalDateTime publishedAt,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
-) {
+) implements Serializable {
 }
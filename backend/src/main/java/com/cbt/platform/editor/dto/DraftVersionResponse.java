@@ -2,6 +2,7 @@ package com.cbt.platform.editor.dto;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -17,5 +18,5 @@ public record DraftVersionResponse(
         UUID createdByUserId,
         String createdByName,
         LocalDateTime createdAt
-) {
+) implements Serializable {
 }
@@ -1,5 +1,6 @@
 package com.cbt.platform.editor.entity;
 
+import com.cbt.platform.common.id.UuidV7;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -27,7 +28,7 @@ import java.util.UUID;
 public class BlockTemplate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
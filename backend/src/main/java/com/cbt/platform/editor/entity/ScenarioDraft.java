@@ -1,6 +1,8 @@
 package com.cbt.platform.editor.entity;
 
+import com.cbt.platform.common.id.UuidV7;
 import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
 import com.cbt.platform.user.entity.User;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
@@ -29,7 +31,7 @@ import java.util.UUID;
 public class ScenarioDraft {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -58,12 +60,12 @@ public class ScenarioDraft {
     private String version = "1.0.0";
 
     /**
-     * Full scenario JSON (same structure as Course.scenarioJson)
-     * Contains: meta, global_config, user_profile_schema, sessions
+     * Full scenario (same structure as Course.scenario)
+     * Every save points to the blob of the new content, unchanged content keeps the same blob
      */
-    @Column(columnDefinition = "jsonb", nullable = false)
-    @JdbcTypeCode(SqlTypes.JSON)
-    private JsonNode scenarioJson;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "scenario_hash", nullable = false)
+    private ScenarioBlob scenario;
 
     /**
      * Draft status
@@ -124,4 +126,11 @@ public class ScenarioDraft {
      * Soft delete timestamp
      */
     private LocalDateTime deletedAt;
+
+    /**
+     * Scenario JSON: meta, global_config, user_profile_schema, sessions
+     */
+    public JsonNode getScenarioJson() {
+        return scenario != null ? scenario.getContent() : null;
+    }
 }
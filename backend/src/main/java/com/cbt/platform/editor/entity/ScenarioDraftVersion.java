@@ -1,5 +1,7 @@
 package com.cbt.platform.editor.entity;
 
+import com.cbt.platform.common.id.UuidV7;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
 import com.cbt.platform.user.entity.User;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
@@ -8,8 +10,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,7 +27,7 @@ import java.util.UUID;
 public class ScenarioDraftVersion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -44,11 +44,11 @@ public class ScenarioDraftVersion {
     private Integer versionNumber;
 
     /**
-     * Snapshot of scenario JSON at this version
+     * Snapshot of scenario at this version (same blob as the draft while content is unchanged)
      */
-    @Column(columnDefinition = "jsonb", nullable = false)
-    @JdbcTypeCode(SqlTypes.JSON)
-    private JsonNode scenarioJson;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "scenario_hash", nullable = false)
+    private ScenarioBlob scenario;
 
     /**
      * Optional description of changes made in this version
@@ -66,4 +66,11 @@ public class ScenarioDraftVersion {
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
+
+    /**
+     * Scenario JSON snapshot
+     */
+    public JsonNode getScenarioJson() {
+        return scenario != null ? scenario.getContent() : null;
+    }
 }
@@ -31,6 +31,7 @@ public interface DraftMapper {
      * Convert CreateDraftRequest to ScenarioDraft entity
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "scenario", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "isValid", ignore = true)
     @Mapping(target = "validationErrors", ignore = true)
@@ -49,6 +50,7 @@ public interface DraftMapper {
      */
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "scenario", ignore = true)
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "isValid", ignore = true)
     @Mapping(target = "validationErrors", ignore = true)
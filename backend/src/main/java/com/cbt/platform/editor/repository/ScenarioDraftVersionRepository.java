@@ -12,6 +12,7 @@ import java.util.UUID;
 
 /**
  * Repository for ScenarioDraftVersion entity operations
+ * The table is hash partitioned by draft_id (V20): queries filter by draft so only one partition is read.
  */
 @Repository
 public interface ScenarioDraftVersionRepository extends JpaRepository<ScenarioDraftVersion, UUID> {
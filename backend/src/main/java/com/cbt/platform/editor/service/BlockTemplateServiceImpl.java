@@ -1,5 +1,6 @@
 package com.cbt.platform.editor.service;
 
+import com.cbt.platform.config.CacheConfig;
 import com.cbt.platform.editor.dto.BlockTemplateResponse;
 import com.cbt.platform.editor.dto.CreateBlockTemplateRequest;
 import com.cbt.platform.editor.dto.UpdateBlockTemplateRequest;
@@ -10,6 +11,8 @@ import com.cbt.platform.editor.mapper.BlockTemplateMapper;
 import com.cbt.platform.editor.repository.BlockTemplateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     private final BlockTemplateMapper templateMapper;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BLOCK_TEMPLATES, key = "'active'")
     @Transactional(readOnly = true)
     public List<BlockTemplateResponse> findAllActive() {
         log.debug("Fetching all active block templates");
@@ -38,6 +42,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BLOCK_TEMPLATES, key = "'type:' + #blockType")
     @Transactional(readOnly = true)
     public List<BlockTemplateResponse> findByBlockType(String blockType) {
         log.debug("Fetching block templates by type: {}", blockType);
@@ -67,6 +72,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BLOCK_TEMPLATES, allEntries = true)
     @Transactional
     public BlockTemplateResponse create(CreateBlockTemplateRequest request) {
         log.info("Creating block template: {}", request.name());
@@ -79,6 +85,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BLOCK_TEMPLATES, allEntries = true)
     @Transactional
     public BlockTemplateResponse update(UUID id, UpdateBlockTemplateRequest request) {
         log.info("Updating block template: {}", id);
@@ -98,6 +105,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BLOCK_TEMPLATES, allEntries = true)
     @Transactional
     public void delete(UUID id) {
         log.info("Deleting block template: {}", id);
@@ -118,6 +126,7 @@ public class BlockTemplateServiceImpl implements BlockTemplateService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BLOCK_TEMPLATES, allEntries = true)
     @Transactional
     public void incrementUsageCount(UUID id) {
         log.debug("Incrementing usage count for template: {}", id);
@@ -1,6 +1,8 @@
 package com.cbt.platform.editor.service;
 
+import com.cbt.platform.config.CacheConfig;
 import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.event.CourseChangedEvent;
 import com.cbt.platform.course.exception.CourseAlreadyExistsException;
 import com.cbt.platform.course.repository.CourseRepository;
 import com.cbt.platform.editor.dto.*;
@@ -15,12 +17,18 @@ import com.cbt.platform.editor.mapper.DraftMapper;
 import com.cbt.platform.editor.mapper.DraftVersionMapper;
 import com.cbt.platform.editor.repository.ScenarioDraftRepository;
 import com.cbt.platform.editor.repository.ScenarioDraftVersionRepository;
+import com.cbt.platform.scenario.service.ScenarioBlobService;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import com.cbt.platform.user.cache.UserCache;
 import com.cbt.platform.user.entity.User;
 import com.cbt.platform.user.exception.UserNotFoundException;
-import com.cbt.platform.user.repository.UserRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,10 +47,13 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     private final ScenarioDraftRepository draftRepository;
     private final ScenarioDraftVersionRepository versionRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final DraftMapper draftMapper;
     private final DraftVersionMapper versionMapper;
     private final ScenarioValidationService validationService;
+    private final ScenarioBlobService scenarioBlobService;
+    private final ScenarioPartService scenarioPartService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,6 +86,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DRAFTS, key = "#id")
     @Transactional(readOnly = true)
     public DraftDetailResponse findById(UUID id) {
         log.debug("Fetching draft by id: {}", id);
@@ -92,13 +104,14 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
             throw new DraftAlreadyExistsException(request.slug());
         }
 
-        User user = userRepository.findById(userId)
+        User user = userCache.findActiveById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         ScenarioDraft draft = draftMapper.toEntity(request);
         draft.setCreatedBy(user);
         draft.setLastModifiedBy(user);
         draft.setStatus(DraftStatus.DRAFT);
+        draft.setScenario(scenarioBlobService.store(request.scenarioJson()));
 
         ValidationResultResponse validation = validationService.validate(request.scenarioJson());
         draft.setIsValid(validation.isValid());
@@ -115,6 +128,10 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRAFTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DRAFT_VERSIONS, key = "#id + ':all'")
+    })
     @Transactional
     public DraftDetailResponse update(UUID id, UpdateDraftRequest request, UUID userId) {
         log.info("Updating draft: {}", id);
@@ -122,7 +139,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
         ScenarioDraft draft = draftRepository.findActiveById(id)
                 .orElseThrow(() -> new DraftNotFoundException(id));
 
-        User user = userRepository.findById(userId)
+        User user = userCache.findActiveById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         if (request.slug() != null && !request.slug().equals(draft.getSlug())) {
@@ -131,11 +148,13 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
             }
         }
 
-        JsonNode oldScenarioJson = draft.getScenarioJson();
+        // Hash comparison reads the blob id only, old content is not loaded
+        String oldScenarioHash = draft.getScenario().getHash();
         draftMapper.updateEntity(draft, request);
         draft.setLastModifiedBy(user);
 
-        if (request.scenarioJson() != null && !request.scenarioJson().equals(oldScenarioJson)) {
+        if (request.scenarioJson() != null && !scenarioBlobService.hash(request.scenarioJson()).equals(oldScenarioHash)) {
+            draft.setScenario(scenarioBlobService.store(request.scenarioJson()));
             ValidationResultResponse validation = validationService.validate(request.scenarioJson());
             draft.setIsValid(validation.isValid());
             if (!validation.isValid()) {
@@ -154,6 +173,10 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRAFTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DRAFT_VERSIONS, key = "#id + ':all'")
+    })
     @Transactional
     public void delete(UUID id) {
         log.info("Deleting draft: {}", id);
@@ -178,6 +201,10 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSE_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DRAFTS, key = "#id")
+    })
     @Transactional
     public UUID publishDraft(UUID id, PublishDraftRequest request) {
         log.info("Publishing draft: {}", id);
@@ -197,11 +224,14 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
             throw new CourseAlreadyExistsException(draft.getSlug());
         }
 
+        // Drafts are stored whole, the published scenario is split for session-granular loading
+        scenarioPartService.split(draft.getScenario().getHash());
+
         Course course = Course.builder()
                 .slug(draft.getSlug())
                 .name(draft.getName())
                 .category(draft.getCategory())
-                .scenarioJson(draft.getScenarioJson())
+                .scenario(draft.getScenario())
                 .version(draft.getVersion())
                 .freeSessions(request.freeSessions() != null ? request.freeSessions() : 2)
                 .price(request.price())
@@ -212,6 +242,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
                 .build();
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId(), course.getRevision()));
 
         draft.setStatus(DraftStatus.PUBLISHED);
         draft.setPublishedCourse(course);
@@ -223,6 +254,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DRAFT_VERSIONS, key = "#draftId + ':all'")
     @Transactional(readOnly = true)
     public List<DraftVersionResponse> getDraftVersions(UUID draftId) {
         log.debug("Fetching versions for draft: {}", draftId);
@@ -238,6 +270,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DRAFT_VERSIONS, key = "#draftId + ':' + #versionNumber")
     @Transactional(readOnly = true)
     public DraftVersionResponse getDraftVersion(UUID draftId, Integer versionNumber) {
         log.debug("Fetching version {} for draft: {}", versionNumber, draftId);
@@ -248,6 +281,10 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRAFTS, key = "#draftId"),
+            @CacheEvict(cacheNames = CacheConfig.DRAFT_VERSIONS, key = "#draftId + ':all'")
+    })
     @Transactional
     public DraftDetailResponse restoreVersion(UUID draftId, Integer versionNumber, UUID userId) {
         log.info("Restoring draft {} to version {}", draftId, versionNumber);
@@ -258,10 +295,10 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
         ScenarioDraftVersion version = versionRepository.findByDraftIdAndVersionNumber(draftId, versionNumber)
                 .orElseThrow(() -> new VersionNotFoundException(draftId, versionNumber));
 
-        User user = userRepository.findById(userId)
+        User user = userCache.findActiveById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        draft.setScenarioJson(version.getScenarioJson());
+        draft.setScenario(version.getScenario());
         draft.setLastModifiedBy(user);
 
         ValidationResultResponse validation = validationService.validate(version.getScenarioJson());
@@ -286,7 +323,7 @@ public class ScenarioEditorServiceImpl implements ScenarioEditorService {
         ScenarioDraftVersion version = ScenarioDraftVersion.builder()
                 .draft(draft)
                 .versionNumber(nextVersionNumber)
-                .scenarioJson(draft.getScenarioJson())
+                .scenario(draft.getScenario())
                 .changeDescription(changeDescription)
                 .createdBy(user)
                 .build();
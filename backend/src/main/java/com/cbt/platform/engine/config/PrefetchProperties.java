@@ -0,0 +1,50 @@
+package com.cbt.platform.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for speculative LLM prefetch
+ * Binds to engine.prefetch.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "engine.prefetch")
+@Data
+public class PrefetchProperties {
+
+    /**
+     * Enable speculative generation of the next LLM_RESPONSE block
+     */
+    private boolean enabled = true;
+
+    /**
+     * Max number of SINGLE_SELECT options to speculate on per block
+     */
+    private int maxOptions = 4;
+
+    /**
+     * Max number of speculative LLM calls running at the same time
+     */
+    private int maxConcurrent = 4;
+
+    /**
+     * Max number of speculative LLM calls waiting for a free worker
+     */
+    private int maxQueued = 32;
+
+    /**
+     * Max number of users with a pending speculation
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * How long a speculative result stays valid (milliseconds)
+     */
+    private long ttl = 600000;
+
+    /**
+     * How long to wait for a speculation that is still running (milliseconds)
+     */
+    private long awaitTimeout = 30000;
+}
@@ -0,0 +1,23 @@
+package com.cbt.platform.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Configuration properties for scenario bundles served to clients
+ * Binds to engine.scenario-bundle.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "engine.scenario-bundle")
+@Data
+public class ScenarioBundleProperties {
+
+    /**
+     * Top-level scenario sections clients may download; others (llm_prompt_templates,
+     * computations) stay on the server
+     */
+    private List<String> clientSections = List.of("ui_component_specs", "inter_session_flows");
+}
@@ -0,0 +1,25 @@
+package com.cbt.platform.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the compiled scenario cache
+ * Binds to engine.scenario-cache.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "engine.scenario-cache")
+@Data
+public class ScenarioCacheProperties {
+
+    /**
+     * Max number of compiled scenarios kept per instance
+     */
+    private long maxSize = 100;
+
+    /**
+     * Max total size of loaded sessions kept per instance (bytes of stored JSON)
+     */
+    private long maxSessionBytes = 64L * 1024 * 1024;
+}
@@ -0,0 +1,30 @@
+package com.cbt.platform.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the on-disk scenario snapshot cache
+ * Binds to engine.scenario-snapshot.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "engine.scenario-snapshot")
+@Data
+public class ScenarioSnapshotProperties {
+
+    /**
+     * Keep compiled scenarios and sessions as Smile files on local disk
+     */
+    private boolean enabled = false;
+
+    /**
+     * Snapshot directory; files are keyed by content hash and can be deleted at any time
+     */
+    private String directory = System.getProperty("java.io.tmpdir") + "/cbt-platform/scenario-snapshots";
+
+    /**
+     * Max total size of snapshot files (bytes); new snapshots are skipped above it
+     */
+    private long maxDiskBytes = 512L * 1024 * 1024;
+}
@@ -2,20 +2,23 @@ package com.cbt.platform.engine.controller;
 
 import com.cbt.platform.engine.dto.BlockInputRequest;
 import com.cbt.platform.engine.dto.BlockResult;
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.engine.dto.ScenarioBundle;
+import com.cbt.platform.engine.dto.ScenarioManifest;
 import com.cbt.platform.engine.service.CourseEngine;
-import com.cbt.platform.user.entity.User;
-import com.cbt.platform.user.exception.UserNotFoundException;
-import com.cbt.platform.user.repository.UserRepository;
+import com.cbt.platform.engine.service.InterSessionNotificationService;
+import com.cbt.platform.engine.service.ScenarioBundleService;
+import com.cbt.platform.security.CurrentUserId;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -30,7 +33,8 @@ import java.util.UUID;
 public class SessionController {
 
     private final CourseEngine courseEngine;
-    private final UserRepository userRepository;
+    private final ScenarioBundleService bundleService;
+    private final InterSessionNotificationService notificationService;
 
     @GetMapping("/courses/{courseId}/current-block")
     @Operation(summary = "Get current block", description = "Get the current block for authenticated user in course")
@@ -41,8 +45,7 @@ public class SessionController {
     })
     public ResponseEntity<BlockResult> getCurrentBlock(
             @PathVariable UUID courseId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         BlockResult result = courseEngine.getCurrentBlock(userId, courseId);
         return ResponseEntity.ok(result);
     }
@@ -58,8 +61,7 @@ public class SessionController {
     public ResponseEntity<BlockResult> submitBlockInput(
             @PathVariable UUID courseId,
             @Valid @RequestBody BlockInputRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         BlockResult result = courseEngine.processBlockInput(userId, courseId, request);
         return ResponseEntity.ok(result);
     }
@@ -73,20 +75,89 @@ public class SessionController {
     })
     public ResponseEntity<BlockResult> nextBlock(
             @PathVariable UUID courseId,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        UUID userId = getUserId(userDetails);
+            @CurrentUserId UUID userId) {
         BlockResult result = courseEngine.nextBlock(userId, courseId);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/courses/{courseId}/notifications/{flowId}")
+    @Operation(summary = "Get inter-session notification", description = "Get notification of an inter-session flow (e.g. daily_check_in) personalized for authenticated user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Notification retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Course, progress or notification not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<InterSessionNotification> getNotification(
+            @PathVariable UUID courseId,
+            @PathVariable String flowId,
+            @CurrentUserId UUID userId) {
+        InterSessionNotification notification = notificationService.getNotification(userId, courseId, flowId);
+        return ResponseEntity.ok(notification);
+    }
+
+    @GetMapping("/courses/{courseId}/scenario")
+    @Operation(summary = "Get scenario manifest", description = "Get scenario header and the list of session and section bundles with their hashes")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Manifest retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Scenario not modified"),
+            @ApiResponse(responseCode = "404", description = "Course not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ScenarioManifest> getScenarioManifest(
+            @PathVariable UUID courseId,
+            WebRequest webRequest) {
+        ScenarioManifest manifest = bundleService.getManifest(courseId);
+        if (webRequest.checkNotModified(manifest.scenarioHash())) {
+            return null;
+        }
+        return withETag(manifest.scenarioHash(), manifest);
+    }
+
+    @GetMapping("/courses/{courseId}/scenario/sessions/{sessionId}")
+    @Operation(summary = "Get session bundle", description = "Download one session of the course scenario")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Session bundle retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Session not modified"),
+            @ApiResponse(responseCode = "404", description = "Course or session not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ScenarioBundle> getSessionBundle(
+            @PathVariable UUID courseId,
+            @PathVariable String sessionId,
+            WebRequest webRequest) {
+        ScenarioBundle bundle = bundleService.getSession(courseId, sessionId);
+        if (webRequest.checkNotModified(bundle.hash())) {
+            return null;
+        }
+        return withETag(bundle.hash(), bundle);
+    }
+
+    @GetMapping("/courses/{courseId}/scenario/sections/{name}")
+    @Operation(summary = "Get section bundle", description = "Download a shared scenario section (e.g. ui_component_specs)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Section bundle retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Section not modified"),
+            @ApiResponse(responseCode = "404", description = "Course or section not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ScenarioBundle> getSectionBundle(
+            @PathVariable UUID courseId,
+            @PathVariable String name,
+            WebRequest webRequest) {
+        ScenarioBundle bundle = bundleService.getSection(courseId, name);
+        if (webRequest.checkNotModified(bundle.hash())) {
+            return null;
+        }
+        return withETag(bundle.hash(), bundle);
+    }
+
     /**
-     * Get user ID from UserDetails (email)
-     * UserDetails.getUsername() returns email, not UUID
+     * Content-addressed response: clients revalidate with If-None-Match and get 304 while the hash is unchanged
      */
-    private UUID getUserId(UserDetails userDetails) {
-        String email = userDetails.getUsername();
-        User user = userRepository.findActiveByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-        return user.getId();
+    private <T> ResponseEntity<T> withETag(String hash, T body) {
+        return ResponseEntity.ok()
+                .eTag(hash)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
     }
 }
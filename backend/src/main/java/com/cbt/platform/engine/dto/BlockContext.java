@@ -0,0 +1,13 @@
+package com.cbt.platform.engine.dto;
+
+import java.util.UUID;
+
+/**
+ * User and course a block is processed for
+ * Passed to handlers that call external services on behalf of the user
+ */
+public record BlockContext(
+        UUID userId,
+        UUID courseId
+) {
+}
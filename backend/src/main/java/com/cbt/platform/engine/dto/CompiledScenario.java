@@ -0,0 +1,149 @@
+package com.cbt.platform.engine.dto;
+
+import com.cbt.platform.engine.exception.BlockNotFoundException;
+import com.cbt.platform.engine.exception.ScenarioSectionNotFoundException;
+import com.cbt.platform.engine.exception.SessionNotFoundException;
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Header of a course revision prepared for the engine
+ * Holds the scenario header and the part hash of every session; session content is
+ * loaded on demand (see ScenarioCache). The JSON is shared between requests and must not be modified.
+ *
+ * @param courseId       Course ID
+ * @param revision       Course revision the scenario was read at
+ * @param scenarioHash   Content hash of the scenario blob
+ * @param header         Scenario header (meta, global_config, user_profile_schema)
+ * @param firstSession   ID of the first session, or null if scenario has none
+ * @param sessionHashes  Session ID -> hash of the session part
+ * @param sectionHashes  Section name -> hash of the section part
+ * @param blockKeys      Keys of all blocks ("session_id:block_id") in scenario order
+ * @param blockOrdinals  Block key -> stable ordinal of the block in the course (empty until bound to a course)
+ */
+public record CompiledScenario(
+        UUID courseId,
+        long revision,
+        String scenarioHash,
+        JsonNode header,
+        String firstSession,
+        Map<String, String> sessionHashes,
+        Map<String, String> sectionHashes,
+        List<String> blockKeys,
+        Map<String, Integer> blockOrdinals
+) {
+
+    /**
+     * Index scenario parts
+     */
+    public static CompiledScenario compile(UUID courseId, long revision, String scenarioHash,
+                                           JsonNode header, List<ScenarioPart> parts, List<String> blockKeys) {
+        String firstSession = null;
+        JsonNode meta = header.get("meta");
+        if (meta != null && meta.has("sessions") && meta.get("sessions").isArray() && !meta.get("sessions").isEmpty()) {
+            firstSession = meta.get("sessions").get(0).asText();
+        }
+
+        Map<String, String> sessionHashes = new HashMap<>();
+        Map<String, String> sectionHashes = new HashMap<>();
+        for (ScenarioPart part : parts) {
+            if (part.getKind() == ScenarioPartKind.SESSION) {
+                sessionHashes.put(part.getPartKey(), part.getPartHash());
+            } else if (part.getKind() == ScenarioPartKind.SECTION) {
+                sectionHashes.put(part.getPartKey(), part.getPartHash());
+            }
+        }
+        return new CompiledScenario(courseId, revision, scenarioHash, header, firstSession,
+                Map.copyOf(sessionHashes), Map.copyOf(sectionHashes), List.copyOf(blockKeys), Map.of());
+    }
+
+    /**
+     * Keys of the blocks of one session, in session order
+     */
+    public static List<String> sessionBlockKeys(String sessionId, JsonNode session) {
+        List<String> keys = new ArrayList<>();
+        JsonNode blocks = session.get("blocks");
+        if (blocks != null && blocks.isArray()) {
+            for (JsonNode block : blocks) {
+                if (block.hasNonNull("id")) {
+                    keys.add(blockKey(sessionId, block.get("id").asText()));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Block key used for completion tracking
+     */
+    public static String blockKey(String sessionId, String blockId) {
+        return sessionId + ":" + blockId;
+    }
+
+    /**
+     * Same compiled header for another course or revision (content is shared, not copied)
+     *
+     * @param blockOrdinals Ordinals of the course, covering every key in blockKeys
+     */
+    public CompiledScenario forCourse(UUID courseId, long revision, Map<String, Integer> blockOrdinals) {
+        return new CompiledScenario(courseId, revision, scenarioHash, header, firstSession, sessionHashes, sectionHashes,
+                blockKeys, blockOrdinals);
+    }
+
+    /**
+     * Get stable ordinal of block, the bit of the block in completion bitsets
+     */
+    public int blockOrdinal(String sessionId, String blockId) {
+        Integer ordinal = blockOrdinals.get(blockKey(sessionId, blockId));
+        if (ordinal == null) {
+            throw new BlockNotFoundException(sessionId, blockId);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Number of blocks in scenario
+     */
+    public int blockCount() {
+        return blockKeys.size();
+    }
+
+    /**
+     * Get first session ID
+     */
+    public String firstSessionId() {
+        if (firstSession == null) {
+            throw new SessionNotFoundException("No sessions defined in scenario");
+        }
+        return firstSession;
+    }
+
+    /**
+     * Get hash of session part
+     */
+    public String sessionHash(String sessionId) {
+        String hash = sessionId != null ? sessionHashes.get(sessionId) : null;
+        if (hash == null) {
+            throw new SessionNotFoundException(sessionId);
+        }
+        return hash;
+    }
+
+    /**
+     * Get hash of section part
+     */
+    public String sectionHash(String name) {
+        String hash = name != null ? sectionHashes.get(name) : null;
+        if (hash == null) {
+            throw new ScenarioSectionNotFoundException(name);
+        }
+        return hash;
+    }
+}
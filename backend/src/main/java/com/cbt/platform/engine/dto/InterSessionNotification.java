@@ -0,0 +1,15 @@
+package com.cbt.platform.engine.dto;
+
+/**
+ * Notification of an inter-session flow with templates resolved for the user
+ *
+ * @param flowId Inter-session flow ID (e.g. "daily_check_in")
+ * @param title  Resolved title, or null if the flow has none
+ * @param body   Resolved body
+ */
+public record InterSessionNotification(
+        String flowId,
+        String title,
+        String body
+) {
+}
@@ -0,0 +1,20 @@
+package com.cbt.platform.engine.dto;
+
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One session or section of a course scenario downloaded on demand
+ *
+ * @param kind    SESSION or SECTION
+ * @param key     Session ID or section name
+ * @param hash    Content hash
+ * @param content Part JSON
+ */
+public record ScenarioBundle(
+        ScenarioPartKind kind,
+        String key,
+        String hash,
+        JsonNode content
+) {
+}
@@ -0,0 +1,23 @@
+package com.cbt.platform.engine.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scenario header of a course with the list of parts a client can download on demand
+ * A client keeps bundles whose hash is unchanged between manifests.
+ *
+ * @param courseId     Course ID
+ * @param scenarioHash Content hash of the full scenario
+ * @param header       meta, global_config, user_profile_schema
+ * @param parts        Sessions and sections in scenario order
+ */
+public record ScenarioManifest(
+        UUID courseId,
+        String scenarioHash,
+        JsonNode header,
+        List<ScenarioPartInfo> parts
+) {
+}
@@ -0,0 +1,19 @@
+package com.cbt.platform.engine.dto;
+
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+
+/**
+ * Downloadable part listed in a scenario manifest
+ *
+ * @param kind      SESSION or SECTION
+ * @param key       Session ID or section name
+ * @param hash      Content hash, also the ETag of the bundle
+ * @param sizeBytes Size of the part JSON
+ */
+public record ScenarioPartInfo(
+        ScenarioPartKind kind,
+        String key,
+        String hash,
+        Integer sizeBytes
+) {
+}
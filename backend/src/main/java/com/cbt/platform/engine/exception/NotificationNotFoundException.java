@@ -0,0 +1,14 @@
+package com.cbt.platform.engine.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when course scenario has no notification for an inter-session flow
+ */
+public class NotificationNotFoundException extends BaseException {
+
+    public NotificationNotFoundException(String flowId) {
+        super("Notification not found for inter-session flow: " + flowId, "NOTIFICATION_NOT_FOUND", HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,14 @@
+package com.cbt.platform.engine.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a top-level section is not found in course scenario
+ */
+public class ScenarioSectionNotFoundException extends BaseException {
+
+    public ScenarioSectionNotFoundException(String name) {
+        super("Scenario section not found: " + name, "SCENARIO_SECTION_NOT_FOUND", HttpStatus.NOT_FOUND);
+    }
+}
@@ -1,5 +1,6 @@
 package com.cbt.platform.engine.handler;
 
+import com.cbt.platform.engine.dto.BlockContext;
 import com.cbt.platform.engine.dto.BlockResult;
 import com.cbt.platform.engine.dto.BlockType;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -26,6 +27,20 @@ public interface BlockHandler {
      */
     BlockResult handle(JsonNode blockData, JsonNode userData, JsonNode userInput);
 
+    /**
+     * Process block on behalf of a user in a course
+     * Override in handlers that need to know who the block is processed for
+     *
+     * @param context     User and course
+     * @param blockData   Block configuration from scenario JSON
+     * @param userData    Current user data (JSONB from UserProgress)
+     * @param userInput   User input (null if first rendering, non-null if user submitted data)
+     * @return BlockResult with content to display and updated user data
+     */
+    default BlockResult handle(BlockContext context, JsonNode blockData, JsonNode userData, JsonNode userInput) {
+        return handle(blockData, userData, userInput);
+    }
+
     /**
      * Validate user input for this block type
      *
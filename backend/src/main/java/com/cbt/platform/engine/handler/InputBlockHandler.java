@@ -1,7 +1,10 @@
 package com.cbt.platform.engine.handler;
 
+import com.cbt.platform.engine.dto.BlockContext;
 import com.cbt.platform.engine.dto.BlockResult;
 import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.service.SafetyService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -11,7 +14,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * Handler for INPUT blocks
- * Collects text input from user and stores in userData
+ * Collects text input from user and stores in userData (unless flagged by safety screening)
  */
 @Component
 @Slf4j
@@ -19,6 +22,7 @@ import org.springframework.stereotype.Component;
 public class InputBlockHandler implements BlockHandler {
 
     private final ObjectMapper objectMapper;
+    private final SafetyService safetyService;
 
     @Override
     public BlockType getBlockType() {
@@ -27,6 +31,11 @@ public class InputBlockHandler implements BlockHandler {
 
     @Override
     public BlockResult handle(JsonNode blockData, JsonNode userData, JsonNode userInput) {
+        return handle(new BlockContext(null, null), blockData, userData, userInput);
+    }
+
+    @Override
+    public BlockResult handle(BlockContext context, JsonNode blockData, JsonNode userData, JsonNode userInput) {
         String blockId = blockData.get("id").asText();
         log.debug("Processing INPUT block: {}", blockId);
 
@@ -56,8 +65,21 @@ public class InputBlockHandler implements BlockHandler {
                     .build();
         }
 
-        // Extract input value and save to userData
+        // Flagged input is not saved: userData feeds LLM prompts. Course continues after the safety flow.
         String inputValue = userInput.get("value").asText();
+        ScreeningResult screening = safetyService.screen(context.userId(), context.courseId(), blockId, inputValue);
+        if (screening.isFlagged()) {
+            return BlockResult.builder()
+                    .blockId(blockId)
+                    .blockType(BlockType.INPUT)
+                    .content(safetyService.buildSafetyContent(screening))
+                    .requiresInput(false)
+                    .isComplete(true)
+                    .updatedUserData(userData)
+                    .build();
+        }
+
+        // Save input to userData
         String saveToKey = blockData.get("save_to").asText();
 
         ObjectNode updatedUserData = userData.deepCopy();
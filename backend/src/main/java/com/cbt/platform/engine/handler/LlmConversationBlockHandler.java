@@ -1,10 +1,17 @@
 package com.cbt.platform.engine.handler;
 
+import com.cbt.platform.engine.dto.BlockContext;
 import com.cbt.platform.engine.dto.BlockResult;
 import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.llm.dto.LlmCallContext;
 import com.cbt.platform.llm.dto.LlmMessage;
+import com.cbt.platform.llm.dto.LlmPriority;
 import com.cbt.platform.llm.dto.LlmResponse;
 import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.service.SafetyService;
+import com.cbt.platform.usage.config.UsageProperties;
+import com.cbt.platform.usage.exception.LlmBudgetExceededException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -15,6 +22,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Handler for LLM_CONVERSATION blocks
@@ -27,6 +35,8 @@ public class LlmConversationBlockHandler implements BlockHandler {
 
     private final LlmService llmService;
     private final ObjectMapper objectMapper;
+    private final SafetyService safetyService;
+    private final UsageProperties usageProperties;
 
     @Override
     public BlockType getBlockType() {
@@ -35,6 +45,11 @@ public class LlmConversationBlockHandler implements BlockHandler {
 
     @Override
     public BlockResult handle(JsonNode blockData, JsonNode userData, JsonNode userInput) {
+        return handle(new BlockContext(null, null), blockData, userData, userInput);
+    }
+
+    @Override
+    public BlockResult handle(BlockContext context, JsonNode blockData, JsonNode userData, JsonNode userInput) {
         String blockId = blockData.get("id").asText();
         log.debug("Processing LLM_CONVERSATION block: {}", blockId);
 
@@ -66,6 +81,19 @@ public class LlmConversationBlockHandler implements BlockHandler {
             // Get user message from input
             String userMessage = userInput.get("message").asText();
 
+            // Risk language goes to the safety flow and never reaches the LLM
+            ScreeningResult screening = safetyService.screen(context.userId(), context.courseId(), blockId, userMessage);
+            if (screening.isFlagged()) {
+                return BlockResult.builder()
+                        .blockId(blockId)
+                        .blockType(BlockType.LLM_CONVERSATION)
+                        .content(safetyService.buildSafetyContent(screening))
+                        .requiresInput(true)
+                        .isComplete(false)
+                        .updatedUserData(userData)
+                        .build();
+            }
+
             // Get conversation history from userData
             String conversationKey = "conversation_" + blockId;
             List<LlmMessage> conversationHistory = loadConversationHistory(userData, conversationKey);
@@ -81,7 +109,9 @@ public class LlmConversationBlockHandler implements BlockHandler {
             LlmResponse llmResponse = llmService.sendConversation(
                     systemPrompt,
                     conversationHistory,
-                    userData
+                    userData,
+                    Map.of(),
+                    LlmCallContext.of(LlmPriority.INTERACTIVE, context.userId(), context.courseId(), blockId)
             );
 
             // Add assistant response to history
@@ -117,6 +147,23 @@ public class LlmConversationBlockHandler implements BlockHandler {
                     .updatedUserData(updatedUserData)
                     .build();
 
+        } catch (LlmBudgetExceededException e) {
+            log.info("LLM budget exceeded in conversation block: {}", blockId);
+            // Block stays open: the learner can continue once budget is available again
+            ObjectNode content = blockData.deepCopy();
+            content.put("message", blockData.has("fallback_response") ?
+                    blockData.get("fallback_response").asText() : usageProperties.getDegradedMessage());
+            content.put("degraded", true);
+
+            return BlockResult.builder()
+                    .blockId(blockId)
+                    .blockType(BlockType.LLM_CONVERSATION)
+                    .content(content)
+                    .requiresInput(true)
+                    .isComplete(false)
+                    .updatedUserData(userData)
+                    .build();
+
         } catch (Exception e) {
             log.error("Error in LLM conversation", e);
             return BlockResult.builder()
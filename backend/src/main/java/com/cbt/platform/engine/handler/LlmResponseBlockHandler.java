@@ -1,9 +1,15 @@
 package com.cbt.platform.engine.handler;
 
+import com.cbt.platform.engine.dto.BlockContext;
 import com.cbt.platform.engine.dto.BlockResult;
 import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.engine.service.LlmBlockPrompts;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
 import com.cbt.platform.llm.dto.LlmResponse;
 import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.usage.config.UsageProperties;
+import com.cbt.platform.usage.exception.LlmBudgetExceededException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -21,7 +27,9 @@ import org.springframework.stereotype.Component;
 public class LlmResponseBlockHandler implements BlockHandler {
 
     private final LlmService llmService;
+    private final LlmBlockPrompts blockPrompts;
     private final ObjectMapper objectMapper;
+    private final UsageProperties usageProperties;
 
     @Override
     public BlockType getBlockType() {
@@ -30,6 +38,11 @@ public class LlmResponseBlockHandler implements BlockHandler {
 
     @Override
     public BlockResult handle(JsonNode blockData, JsonNode userData, JsonNode userInput) {
+        return handle(new BlockContext(null, null), blockData, userData, userInput);
+    }
+
+    @Override
+    public BlockResult handle(BlockContext context, JsonNode blockData, JsonNode userData, JsonNode userInput) {
         String blockId = blockData.get("id").asText();
         log.debug("Processing LLM_RESPONSE block: {}", blockId);
 
@@ -47,26 +60,23 @@ public class LlmResponseBlockHandler implements BlockHandler {
         }
 
         try {
-            // Get prompts from block config
-            String systemPrompt = blockData.has("system_prompt") ?
-                    blockData.get("system_prompt").asText() : "";
-            String userPrompt = blockData.has("prompt") ?
-                    blockData.get("prompt").asText() : "";
-
             // Generate response using LLM
             LlmResponse llmResponse = llmService.sendMessage(
-                    systemPrompt,
-                    userPrompt,
-                    userData
+                    blockPrompts.systemPrompt(blockData),
+                    blockPrompts.userPrompt(blockData),
+                    userData,
+                    LlmCallContext.of(LlmPriority.RENDER, context.userId(), context.courseId(), blockId)
             );
 
-            // Create content with generated response
+            return toResult(blockData, userData, llmResponse);
+
+        } catch (LlmBudgetExceededException e) {
+            log.info("LLM budget exceeded, serving fallback for block: {}", blockId);
             ObjectNode content = objectMapper.createObjectNode();
             content.put("type", "llm_response");
-            content.put("response", llmResponse.content());
-            content.put("model", llmResponse.model());
-
-            log.debug("Generated LLM response: {} tokens", llmResponse.tokensUsed());
+            content.put("response", blockData.has("fallback_response") ?
+                    blockData.get("fallback_response").asText() : usageProperties.getDegradedMessage());
+            content.put("degraded", true);
 
             return BlockResult.builder()
                     .blockId(blockId)
@@ -90,4 +100,31 @@ public class LlmResponseBlockHandler implements BlockHandler {
                     .build();
         }
     }
+
+    /**
+     * Build block result from already generated LLM response
+     *
+     * @param blockData   Block configuration
+     * @param userData    Current user data
+     * @param llmResponse Generated response (live or prefetched)
+     * @return BlockResult with generated content
+     */
+    public BlockResult toResult(JsonNode blockData, JsonNode userData, LlmResponse llmResponse) {
+        // Create content with generated response
+        ObjectNode content = objectMapper.createObjectNode();
+        content.put("type", "llm_response");
+        content.put("response", llmResponse.content());
+        content.put("model", llmResponse.model());
+
+        log.debug("Generated LLM response: {} tokens", llmResponse.tokensUsed());
+
+        return BlockResult.builder()
+                .blockId(blockData.get("id").asText())
+                .blockType(BlockType.LLM_RESPONSE)
+                .content(content)
+                .requiresInput(false)
+                .isComplete(true)
+                .updatedUserData(userData)
+                .build();
+    }
 }
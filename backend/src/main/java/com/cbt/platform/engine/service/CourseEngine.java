@@ -1,40 +1,75 @@
 package com.cbt.platform.engine.service;
 
-import com.cbt.platform.course.entity.Course;
-import com.cbt.platform.course.exception.CourseNotFoundException;
-import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.analytics.event.BlockEvent;
+import com.cbt.platform.batch.service.PregenerationService;
+import com.cbt.platform.engine.dto.BlockContext;
 import com.cbt.platform.engine.dto.BlockInputRequest;
 import com.cbt.platform.engine.dto.BlockResult;
 import com.cbt.platform.engine.dto.BlockType;
-import com.cbt.platform.engine.exception.BlockNotFoundException;
-import com.cbt.platform.engine.exception.SessionNotFoundException;
+import com.cbt.platform.engine.dto.CompiledScenario;
 import com.cbt.platform.engine.handler.BlockHandler;
+import com.cbt.platform.engine.handler.LlmResponseBlockHandler;
+import com.cbt.platform.llm.dto.LlmResponse;
 import com.cbt.platform.progress.entity.UserProgress;
 import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSession;
+import com.cbt.platform.progress.hot.HotSessionService;
 import com.cbt.platform.progress.repository.UserProgressRepository;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.cbt.platform.progress.writebehind.ProgressUpdate;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Core course engine service
  * Orchestrates block processing, manages state transitions, handles navigation
+ *
+ * Session state comes from HotSessionService (Redis) when enabled and reachable; otherwise from
+ * user_progress, with position written through ProgressWriteBuffer. Only the user_progress path opens
+ * a database transaction, so a hot session is served without a database round trip.
+ * Every rendered block and processed input is published as a BlockEvent.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CourseEngine {
 
-    private final CourseRepository courseRepository;
+    private final ScenarioCache scenarioCache;
     private final UserProgressRepository progressRepository;
+    private final BlockCompletionService completionService;
+    private final ProgressWriteBuffer writeBuffer;
+    private final HotSessionService hotSessions;
+    private final TransactionTemplate transactionTemplate;
     private final BlockHandlerRegistry handlerRegistry;
+    private final LlmResponseBlockHandler llmResponseHandler;
+    private final LlmPrefetchService prefetchService;
+    private final PregenerationService pregenerationService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Read-only unit for rendering from user_progress, routable to a replica
+     */
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * Get current block for user (from UserProgress state)
@@ -43,31 +78,67 @@ public class CourseEngine {
      * @param courseId Course ID
      * @return BlockResult for current block
      */
-    @Transactional(readOnly = true)
     public BlockResult getCurrentBlock(UUID userId, UUID courseId) {
         log.debug("Getting current block for user: {} in course: {}", userId, courseId);
 
-        UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
-                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
+        Optional<HotSession> hot = hotSessions.load(userId, courseId);
+        if (hot.isPresent()) {
+            return renderBlock(userId, courseId, hot.get().userData(), hot.get().position());
+        }
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new CourseNotFoundException(courseId));
+        // Progress row and pre-generated content are read in one read-only transaction
+        return readOnlyTransaction.execute(status -> {
+            UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
+                    .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
+
+            return renderBlock(userId, courseId, progress.getUserData(), writeBuffer.position(progress));
+        });
+    }
 
-        JsonNode scenarioJson = course.getScenarioJson();
-        String currentSessionId = progress.getCurrentSessionId();
-        Integer currentBlockIndex = progress.getCurrentBlockIndex();
+    /**
+     * Render block at position (may be ahead of the loaded row, see ProgressWriteBuffer)
+     */
+    private BlockResult renderBlock(UUID userId, UUID courseId, JsonNode userData, ProgressPosition position) {
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        String currentSessionId = position.sessionId();
+        int currentBlockIndex = position.blockIndex();
 
         if (currentSessionId == null) {
             // No session started yet - start first session
-            currentSessionId = getFirstSessionId(scenarioJson);
+            currentSessionId = scenario.firstSessionId();
             currentBlockIndex = 0;
         }
 
-        JsonNode currentBlock = getBlockByIndex(scenarioJson, currentSessionId, currentBlockIndex);
+        JsonNode currentBlock = scenarioCache.block(scenario, currentSessionId, currentBlockIndex);
         BlockType blockType = BlockType.valueOf(currentBlock.get("type").asText().toUpperCase());
+        long start = System.nanoTime();
+
+        if (blockType == BlockType.LLM_RESPONSE) {
+            // Serve response generated while user was on the previous block, or by the nightly batch
+            Optional<LlmResponse> precomputed = prefetchService.take(userId, courseId, currentBlock, userData);
+            if (precomputed.isEmpty()) {
+                precomputed = pregenerationService.findBlockResponse(
+                        userId, courseId, currentSessionId, currentBlock, userData);
+            }
+            if (precomputed.isPresent()) {
+                BlockResult result = llmResponseHandler.toResult(currentBlock, userData, precomputed.get());
+                publish(userId, courseId, currentSessionId, currentBlock, BlockEvent.Type.VIEW, null,
+                        BlockEvent.PRECOMPUTED, start);
+                return result;
+            }
+        }
 
         BlockHandler handler = handlerRegistry.getHandler(blockType);
-        return handler.handle(currentBlock, progress.getUserData(), null);
+        BlockResult result = handler.handle(new BlockContext(userId, courseId), currentBlock, userData, null);
+        publish(userId, courseId, currentSessionId, currentBlock, BlockEvent.Type.VIEW, null, 0, start);
+
+        if (blockType == BlockType.INPUT || blockType == BlockType.SINGLE_SELECT) {
+            // Use user think time to generate the next LLM_RESPONSE block
+            JsonNode blocks = scenarioCache.session(scenario, currentSessionId).get("blocks");
+            prefetchService.speculate(userId, courseId, blocks, currentBlockIndex, userData);
+        }
+
+        return result;
     }
 
     /**
@@ -78,120 +149,182 @@ public class CourseEngine {
      * @param request User input request
      * @return BlockResult after processing input
      */
-    @Transactional
     public BlockResult processBlockInput(UUID userId, UUID courseId, BlockInputRequest request) {
         log.debug("Processing block input for user: {} in course: {}, block: {}",
                 userId, courseId, request.blockId());
 
-        UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
-                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
+        Optional<HotSession> hot = hotSessions.load(userId, courseId);
+        if (hot.isEmpty()) {
+            return transactionTemplate.execute(status -> processStoredBlockInput(userId, courseId, request));
+        }
+
+        HotSession session = hot.get();
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        ProgressPosition position = session.position();
+        JsonNode currentBlock = currentBlock(scenario, position, request);
+        BlockResult result = handle(userId, courseId, position, currentBlock, session.userData(), request);
+
+        if (result.isComplete()) {
+            ProgressPosition next = nextPosition(scenario, position);
+            int ordinal = scenario.blockOrdinal(position.sessionId(), request.blockId());
+            // Index 0 after a move means the session is complete
+            if (hotSessions.advance(userId, courseId, session, next, result.getUpdatedUserData(), ordinal,
+                    next.blockIndex() == 0).isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    UserProgress progress = loadForWrite(userId, courseId);
+                    storeMove(progress, scenario, position, request.blockId(), next, result.getUpdatedUserData());
+                });
+            }
+            log.debug("Progress updated: sessionId={}, blockIndex={}", next.sessionId(), next.blockIndex());
+        }
+
+        return result;
+    }
+
+    private BlockResult processStoredBlockInput(UUID userId, UUID courseId, BlockInputRequest request) {
+        UserProgress progress = loadForWrite(userId, courseId);
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new CourseNotFoundException(courseId));
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        ProgressPosition position = writeBuffer.position(progress);
+        JsonNode currentBlock = currentBlock(scenario, position, request);
+        BlockResult result = handle(userId, courseId, position, currentBlock, progress.getUserData(), request);
 
-        JsonNode scenarioJson = course.getScenarioJson();
-        String currentSessionId = progress.getCurrentSessionId();
-        Integer currentBlockIndex = progress.getCurrentBlockIndex();
+        // If block is complete, update progress
+        if (result.isComplete()) {
+            ProgressPosition next = nextPosition(scenario, position);
+            storeMove(progress, scenario, position, request.blockId(), next, result.getUpdatedUserData());
+            log.debug("Progress updated: sessionId={}, blockIndex={}", next.sessionId(), next.blockIndex());
+        }
 
-        JsonNode currentBlock = getBlockByIndex(scenarioJson, currentSessionId, currentBlockIndex);
+        return result;
+    }
+
+    /**
+     * Current block, verifying user is submitting input for it
+     */
+    private JsonNode currentBlock(CompiledScenario scenario, ProgressPosition position, BlockInputRequest request) {
+        JsonNode currentBlock = scenarioCache.block(scenario, position.sessionId(), position.blockIndex());
         String blockId = currentBlock.get("id").asText();
 
-        // Verify user is submitting input for current block
         if (!blockId.equals(request.blockId())) {
             throw new IllegalStateException("Cannot submit input for block " + request.blockId() +
                     " - current block is " + blockId);
         }
+        return currentBlock;
+    }
 
+    private BlockResult handle(UUID userId, UUID courseId, ProgressPosition position, JsonNode currentBlock,
+                               JsonNode userData, BlockInputRequest request) {
         BlockType blockType = BlockType.valueOf(currentBlock.get("type").asText().toUpperCase());
         BlockHandler handler = handlerRegistry.getHandler(blockType);
+        long start = System.nanoTime();
 
         // Process block with user input
-        BlockResult result = handler.handle(currentBlock, progress.getUserData(), request.input());
-
-        // If block is complete, update progress
-        if (result.isComplete()) {
-            // Update userData
-            if (result.getUpdatedUserData() != null) {
-                progress.setUserData(result.getUpdatedUserData());
-            }
-
-            // Move to next block
-            progress.setCurrentBlockIndex(currentBlockIndex + 1);
-
-            // Check if session is complete
-            JsonNode session = getSession(scenarioJson, currentSessionId);
-            JsonNode blocks = session.get("blocks");
-            if (progress.getCurrentBlockIndex() >= blocks.size()) {
-                // Session complete
-                progress.setCurrentBlockIndex(0);
-
-                // Move to next session if available
-                String nextSessionId = session.has("next_session") ?
-                        session.get("next_session").asText() : null;
-                progress.setCurrentSessionId(nextSessionId);
-            }
-
-            progressRepository.save(progress);
-            log.debug("Progress updated: sessionId={}, blockIndex={}",
-                    progress.getCurrentSessionId(), progress.getCurrentBlockIndex());
+        BlockResult result;
+        try {
+            result = handler.handle(new BlockContext(userId, courseId), currentBlock, userData, request.input());
+        } catch (RuntimeException e) {
+            publish(userId, courseId, position.sessionId(), currentBlock, BlockEvent.Type.SUBMIT, request.input(),
+                    BlockEvent.FAILED, start);
+            throw e;
         }
-
+        int flags = (result.isComplete() ? BlockEvent.COMPLETE : 0)
+                | (result.getUpdatedUserData() != null ? BlockEvent.USER_DATA : 0);
+        publish(userId, courseId, position.sessionId(), currentBlock, BlockEvent.Type.SUBMIT, request.input(), flags, start);
         return result;
     }
 
     /**
-     * Navigate to next block
+     * Hand block event to listeners (BlockEventWriter only queues it)
      */
-    @Transactional
-    public BlockResult nextBlock(UUID userId, UUID courseId) {
-        log.debug("Navigating to next block for user: {} in course: {}", userId, courseId);
-
-        UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
-                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new CourseNotFoundException(courseId));
+    private void publish(UUID userId, UUID courseId, String sessionId, JsonNode block, BlockEvent.Type type,
+                         JsonNode input, int flags, long start) {
+        long handlerNanos = System.nanoTime() - start;
+        eventPublisher.publishEvent(new BlockEvent(LocalDateTime.now(), userId, courseId, sessionId,
+                block.path("id").asText(null), block.path("type").asText(null), type, input, flags, handlerNanos));
+    }
 
-        // Increment block index
-        progress.setCurrentBlockIndex(progress.getCurrentBlockIndex() + 1);
-        progressRepository.save(progress);
+    /**
+     * Position after completing the block at position
+     */
+    private ProgressPosition nextPosition(CompiledScenario scenario, ProgressPosition position) {
+        String nextSessionId = position.sessionId();
+        int nextBlockIndex = position.blockIndex() + 1;
 
-        return getCurrentBlock(userId, courseId);
+        // Check if session is complete
+        JsonNode session = scenarioCache.session(scenario, position.sessionId());
+        JsonNode blocks = session.get("blocks");
+        if (nextBlockIndex >= blocks.size()) {
+            // Session complete: move to next session if available
+            nextBlockIndex = 0;
+            nextSessionId = session.has("next_session") ?
+                    session.get("next_session").asText() : null;
+        }
+        return new ProgressPosition(nextSessionId, nextBlockIndex);
     }
 
     /**
-     * Get first session ID from scenario
+     * Write completed block to user_progress (no hot state)
      */
-    private String getFirstSessionId(JsonNode scenarioJson) {
-        JsonNode meta = scenarioJson.get("meta");
-        if (meta != null && meta.has("sessions") && meta.get("sessions").isArray()) {
-            return meta.get("sessions").get(0).asText();
+    private void storeMove(UserProgress progress, CompiledScenario scenario, ProgressPosition position,
+                           String blockId, ProgressPosition next, JsonNode updatedUserData) {
+        // Update userData (the only field written with the row)
+        if (updatedUserData != null) {
+            progress.setUserData(updatedUserData);
+            progressRepository.save(progress);
         }
-        throw new SessionNotFoundException("No sessions defined in scenario");
+
+        writeBuffer.record(progress.getUserId(), progress.getCourseId(),
+                ProgressUpdate.position(next.sessionId(), next.blockIndex(), LocalDateTime.now()));
+        completionService.markCompleted(progress.getUserId(), progress.getCourseId(),
+                scenario.blockOrdinal(position.sessionId(), blockId), scenario.blockCount());
     }
 
     /**
-     * Get session by ID
+     * Load progress to change it in user_progress, fencing off hot state Redis may still have
      */
-    private JsonNode getSession(JsonNode scenarioJson, String sessionId) {
-        JsonNode sessions = scenarioJson.get("sessions");
-        if (sessions == null || !sessions.has(sessionId)) {
-            throw new SessionNotFoundException(sessionId);
-        }
-        return sessions.get(sessionId);
+    private UserProgress loadForWrite(UUID userId, UUID courseId) {
+        hotSessions.fallBack(userId, courseId);
+        return progressRepository.findByUserIdAndCourseId(userId, courseId)
+                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
     }
 
     /**
-     * Get block by index in session
+     * Navigate to next block
      */
-    private JsonNode getBlockByIndex(JsonNode scenarioJson, String sessionId, int blockIndex) {
-        JsonNode session = getSession(scenarioJson, sessionId);
-        JsonNode blocks = session.get("blocks");
+    public BlockResult nextBlock(UUID userId, UUID courseId) {
+        log.debug("Navigating to next block for user: {} in course: {}", userId, courseId);
 
-        if (blocks == null || !blocks.isArray() || blockIndex >= blocks.size()) {
-            throw new BlockNotFoundException(sessionId, "block at index " + blockIndex);
+        Optional<HotSession> hot = hotSessions.load(userId, courseId);
+        if (hot.isPresent()) {
+            // Fail fast if course does not exist
+            scenarioCache.get(courseId);
+
+            ProgressPosition current = hot.get().position();
+            ProgressPosition next = new ProgressPosition(current.sessionId(), current.blockIndex() + 1);
+            if (hotSessions.advance(userId, courseId, hot.get(), next, null, null, false).isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    loadForWrite(userId, courseId);
+                    writeBuffer.record(userId, courseId,
+                            ProgressUpdate.position(next.sessionId(), next.blockIndex(), LocalDateTime.now()));
+                });
+            }
+            return renderBlock(userId, courseId, hot.get().userData(), next);
         }
 
-        return blocks.get(blockIndex);
+        return transactionTemplate.execute(status -> {
+            UserProgress progress = loadForWrite(userId, courseId);
+
+            // Fail fast if course does not exist
+            scenarioCache.get(courseId);
+
+            // Increment block index
+            ProgressPosition current = writeBuffer.position(progress);
+            ProgressPosition next = new ProgressPosition(current.sessionId(), current.blockIndex() + 1);
+            writeBuffer.record(userId, courseId,
+                    ProgressUpdate.position(next.sessionId(), next.blockIndex(), LocalDateTime.now()));
+
+            return renderBlock(userId, courseId, progress.getUserData(), next);
+        });
     }
 }
@@ -0,0 +1,88 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.batch.service.PregenerationService;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.engine.exception.NotificationNotFoundException;
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSession;
+import com.cbt.platform.progress.hot.HotSessionService;
+import com.cbt.platform.progress.repository.UserProgressRepository;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Serves notifications of inter-session flows (daily_check_in, ...)
+ * The notification resolved by the nightly batch is served if there is one; otherwise the flow's
+ * templates are resolved against the user's current data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InterSessionNotificationService {
+
+    public static final String FLOWS_SECTION = "inter_session_flows";
+
+    private final PregenerationService pregenerationService;
+    private final ScenarioCache scenarioCache;
+    private final ScenarioPartService partService;
+    private final HotSessionService hotSessions;
+    private final UserProgressRepository progressRepository;
+    private final PromptBuilder promptBuilder;
+
+    /**
+     * Get notification of inter-session flow for user
+     *
+     * @param userId   User ID
+     * @param courseId Course ID
+     * @param flowId   Inter-session flow ID
+     * @return notification with resolved title and body
+     * @throws NotificationNotFoundException if the flow does not exist or has no notification
+     * @throws ProgressNotFoundException     if user has not started the course
+     */
+    public InterSessionNotification getNotification(UUID userId, UUID courseId, String flowId) {
+        Optional<InterSessionNotification> pregenerated = pregenerationService.findNotification(userId, courseId, flowId);
+        if (pregenerated.isPresent()) {
+            log.debug("Serving pre-generated notification {} for user {}", flowId, userId);
+            return pregenerated.get();
+        }
+
+        JsonNode notification = flowNotification(scenarioCache.get(courseId), flowId);
+        JsonNode userData = hotSessions.load(userId, courseId)
+                .map(HotSession::userData)
+                .orElseGet(() -> progressRepository.findByUserIdAndCourseId(userId, courseId)
+                        .orElseThrow(() -> new ProgressNotFoundException(userId, courseId))
+                        .getUserData());
+        return resolve(flowId, notification, userData, promptBuilder);
+    }
+
+    /**
+     * Resolve title and body templates of flow notification
+     */
+    public static InterSessionNotification resolve(String flowId, JsonNode notification, JsonNode userData,
+                                                   PromptBuilder promptBuilder) {
+        String title = notification.hasNonNull("title") ?
+                promptBuilder.buildPrompt(notification.get("title").asText(), userData) : null;
+        return new InterSessionNotification(flowId, title,
+                promptBuilder.buildPrompt(notification.get("body").asText(), userData));
+    }
+
+    private JsonNode flowNotification(CompiledScenario scenario, String flowId) {
+        String hash = scenario.sectionHashes().get(FLOWS_SECTION);
+        if (hash == null) {
+            throw new NotificationNotFoundException(flowId);
+        }
+        JsonNode notification = partService.loadPart(hash).getContent().path(flowId).path("notification");
+        if (!notification.hasNonNull("body")) {
+            throw new NotificationNotFoundException(flowId);
+        }
+        return notification;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Reads prompts of LLM_RESPONSE blocks and computes a digest of the resolved prompts
+ * Two calls with the same digest send the same request to the LLM
+ */
+@Component
+@RequiredArgsConstructor
+public class LlmBlockPrompts {
+
+    private final PromptBuilder promptBuilder;
+
+    /**
+     * Get system prompt template from block config
+     */
+    public String systemPrompt(JsonNode blockData) {
+        return blockData.has("system_prompt") ? blockData.get("system_prompt").asText() : "";
+    }
+
+    /**
+     * Get user prompt template from block config
+     */
+    public String userPrompt(JsonNode blockData) {
+        return blockData.has("prompt") ? blockData.get("prompt").asText() : "";
+    }
+
+    /**
+     * Compute SHA-256 digest of block prompts resolved against userData
+     *
+     * @param blockData Block configuration
+     * @param userData  User data for template resolution
+     * @return Hex encoded digest
+     */
+    public String digest(JsonNode blockData, JsonNode userData) {
+        String resolvedSystemPrompt = promptBuilder.buildPrompt(systemPrompt(blockData), userData);
+        String resolvedUserPrompt = promptBuilder.buildPrompt(userPrompt(blockData), userData);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(resolvedSystemPrompt.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(resolvedUserPrompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
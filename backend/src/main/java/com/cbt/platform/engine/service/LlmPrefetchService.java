@@ -0,0 +1,282 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.datasource.Workload;
+import com.cbt.platform.datasource.WorkloadContext;
+import com.cbt.platform.engine.config.PrefetchProperties;
+import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.llm.service.LlmService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Speculative prefetch of the next LLM_RESPONSE block
+ * While user is on INPUT or SINGLE_SELECT block, generates the next LLM response
+ * in background for every userData the submit can produce (one per option, or one
+ * if the prompt does not depend on the input). Results are keyed by the digest of
+ * resolved prompts, so a stored result is served only if the assumption matched.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LlmPrefetchService {
+
+    private static final String PROBE_VALUE_A = "\u0000prefetch-a";
+    private static final String PROBE_VALUE_B = "\u0000prefetch-b";
+
+    private final LlmService llmService;
+    private final LlmBlockPrompts blockPrompts;
+    private final PrefetchProperties properties;
+
+    /**
+     * One speculation per user and course: "userId:courseId" -> speculation
+     */
+    private final Map<String, Speculation> speculations = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                properties.getMaxConcurrent(),
+                properties.getMaxConcurrent(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getMaxQueued()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "llm-prefetch-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        speculations.values().forEach(Speculation::cancel);
+        speculations.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start speculative generation of the block following the current one
+     *
+     * @param userId       User ID
+     * @param courseId     Course ID
+     * @param blocks       Blocks of current session
+     * @param currentIndex Index of current (INPUT or SINGLE_SELECT) block
+     * @param userData     Current user data
+     */
+    public void speculate(UUID userId, UUID courseId, JsonNode blocks, int currentIndex, JsonNode userData) {
+        if (!properties.isEnabled() || blocks == null || currentIndex + 1 >= blocks.size()) {
+            return;
+        }
+
+        JsonNode currentBlock = blocks.get(currentIndex);
+        JsonNode nextBlock = blocks.get(currentIndex + 1);
+        if (!isBlockType(nextBlock, BlockType.LLM_RESPONSE) || !llmService.isAvailable()) {
+            return;
+        }
+
+        String scope = scope(userId, courseId);
+        String nextBlockId = nextBlock.get("id").asText();
+
+        Speculation existing = speculations.get(scope);
+        if (existing != null && existing.blockId().equals(nextBlockId) && !existing.isExpired()) {
+            return; // Already speculating on this block
+        }
+        if (existing != null && speculations.remove(scope, existing)) {
+            existing.cancel();
+        }
+
+        List<JsonNode> assumptions = assumeUserData(currentBlock, nextBlock, userData);
+        if (assumptions.isEmpty()) {
+            return;
+        }
+
+        if (speculations.size() >= properties.getMaxEntries()) {
+            evictExpired();
+            if (speculations.size() >= properties.getMaxEntries()) {
+                log.debug("Prefetch skipped: {} speculations pending", speculations.size());
+                return;
+            }
+        }
+
+        Speculation speculation = new Speculation(nextBlockId,
+                System.currentTimeMillis() + properties.getTtl(), new ConcurrentHashMap<>());
+
+        for (JsonNode assumedUserData : assumptions) {
+            String digest = blockPrompts.digest(nextBlock, assumedUserData);
+            if (speculation.results().containsKey(digest)) {
+                continue;
+            }
+            try {
+                // Learner-facing work: use the interactive pool, not the one of background jobs
+                Future<LlmResponse> future = executor.submit(() -> WorkloadContext.call(Workload.INTERACTIVE,
+                        () -> llmService.sendMessage(
+                                blockPrompts.systemPrompt(nextBlock),
+                                blockPrompts.userPrompt(nextBlock),
+                                assumedUserData,
+                                LlmCallContext.of(LlmPriority.PREFETCH, userId, courseId, nextBlockId)
+                        )));
+                speculation.results().put(digest, future);
+            } catch (RejectedExecutionException e) {
+                log.debug("Prefetch queue is full, skipping remaining assumptions for block: {}", nextBlockId);
+                break;
+            }
+        }
+
+        if (speculation.results().isEmpty()) {
+            return;
+        }
+
+        Speculation previous = speculations.put(scope, speculation);
+        if (previous != null) {
+            previous.cancel();
+        }
+        log.debug("Prefetching block {} for user {} with {} assumption(s)",
+                nextBlockId, userId, speculation.results().size());
+    }
+
+    /**
+     * Take prefetched response for block if it was generated for the same userData
+     * Other speculations of this user are cancelled
+     *
+     * @param userId    User ID
+     * @param courseId  Course ID
+     * @param blockData LLM_RESPONSE block configuration
+     * @param userData  Actual user data
+     * @return prefetched response, or empty if assumption did not match
+     */
+    public Optional<LlmResponse> take(UUID userId, UUID courseId, JsonNode blockData, JsonNode userData) {
+        Speculation speculation = speculations.remove(scope(userId, courseId));
+        if (speculation == null) {
+            return Optional.empty();
+        }
+
+        String blockId = blockData.get("id").asText();
+        if (!speculation.blockId().equals(blockId) || speculation.isExpired()) {
+            speculation.cancel();
+            return Optional.empty();
+        }
+
+        Future<LlmResponse> future = speculation.results().remove(blockPrompts.digest(blockData, userData));
+        speculation.cancel();
+        if (future == null) {
+            log.debug("Prefetch miss for block {} of user {}", blockId, userId);
+            return Optional.empty();
+        }
+
+        try {
+            LlmResponse response = future.get(properties.getAwaitTimeout(), TimeUnit.MILLISECONDS);
+            log.debug("Prefetch hit for block {} of user {}", blockId, userId);
+            return Optional.ofNullable(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Prefetch for block {} failed: {}", blockId, e.getMessage());
+            future.cancel(true);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Build userData variants the submit of current block can produce
+     */
+    private List<JsonNode> assumeUserData(JsonNode currentBlock, JsonNode nextBlock, JsonNode userData) {
+        if (!currentBlock.has("save_to") || userData == null || !userData.isObject()) {
+            return List.of();
+        }
+        String saveToKey = currentBlock.get("save_to").asText();
+        List<JsonNode> assumptions = new ArrayList<>();
+
+        if (isBlockType(currentBlock, BlockType.SINGLE_SELECT)) {
+            JsonNode options = currentBlock.get("options");
+            if (options == null || !options.isArray()) {
+                return List.of();
+            }
+            for (JsonNode option : options) {
+                if (assumptions.size() >= properties.getMaxOptions()) {
+                    break;
+                }
+                if (option.has("id")) {
+                    assumptions.add(withValue(userData, saveToKey, option.get("id").asText()));
+                }
+            }
+        } else if (isBlockType(currentBlock, BlockType.INPUT)) {
+            // Free text can only be assumed if the next prompt does not depend on it
+            JsonNode probeA = withValue(userData, saveToKey, PROBE_VALUE_A);
+            JsonNode probeB = withValue(userData, saveToKey, PROBE_VALUE_B);
+            if (blockPrompts.digest(nextBlock, probeA).equals(blockPrompts.digest(nextBlock, probeB))) {
+                assumptions.add(probeA);
+            }
+        }
+
+        return assumptions;
+    }
+
+    private JsonNode withValue(JsonNode userData, String key, String value) {
+        ObjectNode assumed = userData.deepCopy();
+        assumed.put(key, value);
+        return assumed;
+    }
+
+    private boolean isBlockType(JsonNode block, BlockType type) {
+        return block.has("type") && type.name().equalsIgnoreCase(block.get("type").asText());
+    }
+
+    private void evictExpired() {
+        speculations.entrySet().removeIf(entry -> {
+            if (entry.getValue().isExpired()) {
+                entry.getValue().cancel();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private String scope(UUID userId, UUID courseId) {
+        return userId + ":" + courseId;
+    }
+
+    /**
+     * Pending results for one block: prompt digest -> LLM call
+     */
+    private record Speculation(String blockId, long expiresAt, Map<String, Future<LlmResponse>> results) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+
+        void cancel() {
+            results.values().forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.course.dto.CourseResponse;
+import com.cbt.platform.course.exception.CourseNotFoundException;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.engine.config.ScenarioBundleProperties;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.dto.ScenarioBundle;
+import com.cbt.platform.engine.dto.ScenarioManifest;
+import com.cbt.platform.engine.dto.ScenarioPartInfo;
+import com.cbt.platform.engine.exception.ScenarioSectionNotFoundException;
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves course scenarios to clients session by session
+ * Bundles are content-addressed: the hash in the manifest is the ETag of the bundle.
+ * Only active, published courses are served (others are reported as not found), and of the
+ * top-level sections only those listed in engine.scenario-bundle.client-sections.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioBundleService {
+
+    private final ScenarioCache scenarioCache;
+    private final ScenarioPartService partService;
+    private final CourseService courseService;
+    private final ScenarioBundleProperties properties;
+
+    /**
+     * Get scenario header and part list of course
+     *
+     * @param courseId Course ID
+     * @return manifest
+     */
+    public ScenarioManifest getManifest(UUID courseId) {
+        CompiledScenario scenario = scenarioCache.get(requirePublished(courseId));
+        List<ScenarioPartInfo> parts = partService.findParts(scenario.scenarioHash()).stream()
+                .filter(part -> part.getKind() == ScenarioPartKind.SESSION
+                        || part.getKind() == ScenarioPartKind.SECTION && isClientSection(part.getPartKey()))
+                .map(part -> new ScenarioPartInfo(part.getKind(), part.getPartKey(), part.getPartHash(), part.getSizeBytes()))
+                .toList();
+        return new ScenarioManifest(courseId, scenario.scenarioHash(), scenario.header(), parts);
+    }
+
+    /**
+     * Get session bundle
+     *
+     * @param courseId  Course ID
+     * @param sessionId Session ID
+     * @return session bundle
+     */
+    public ScenarioBundle getSession(UUID courseId, String sessionId) {
+        CompiledScenario scenario = scenarioCache.get(requirePublished(courseId));
+        return new ScenarioBundle(ScenarioPartKind.SESSION, sessionId, scenario.sessionHash(sessionId),
+                scenarioCache.session(scenario, sessionId));
+    }
+
+    /**
+     * Get section bundle (inter_session_flows, ui_component_specs, ...)
+     *
+     * @param courseId Course ID
+     * @param name     Section name
+     * @return section bundle
+     */
+    public ScenarioBundle getSection(UUID courseId, String name) {
+        if (!isClientSection(name)) {
+            throw new ScenarioSectionNotFoundException(name);
+        }
+        CompiledScenario scenario = scenarioCache.get(requirePublished(courseId));
+        String hash = scenario.sectionHash(name);
+        return new ScenarioBundle(ScenarioPartKind.SECTION, name, hash, partService.loadPart(hash).getContent());
+    }
+
+    /**
+     * Check course against the cached catalog of active, published courses
+     */
+    private UUID requirePublished(UUID courseId) {
+        boolean published = courseService.findAllActiveAndPublished().stream()
+                .map(CourseResponse::id)
+                .anyMatch(courseId::equals);
+        if (!published) {
+            throw new CourseNotFoundException(courseId);
+        }
+        return courseId;
+    }
+
+    private boolean isClientSection(String name) {
+        return properties.getClientSections().contains(name);
+    }
+}
@@ -0,0 +1,216 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.exception.CourseNotFoundException;
+import com.cbt.platform.course.invalidation.CourseCacheListener;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.config.ScenarioCacheProperties;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.exception.BlockNotFoundException;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-instance cache of compiled course scenarios
+ *
+ * Entries are dropped by the course invalidation bus. A load that raced with an invalidation
+ * (read an older revision than one already invalidated, or started in an older epoch)
+ * is served but not cached.
+ *
+ * Compiled headers are also kept by scenario hash: blobs are immutable, so a course change that
+ * keeps the scenario (metadata, publish flag) or a course sharing it reuses the compiled header
+ * without reading the blob again.
+ *
+ * Only the header is loaded with the course. Sessions are loaded on first use and kept by part hash
+ * within a byte budget, so memory follows the sessions users are in rather than full course size.
+ *
+ * Compiled headers and sessions are also written to local disk snapshots (ScenarioSnapshotStore),
+ * so after a restart they are read from mapped files instead of the database.
+ *
+ * Block keys are collected when a header is compiled; binding it to a course assigns the
+ * course's stable block ordinals used by completion tracking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioCache implements CourseCacheListener {
+
+    private final CourseRepository courseRepository;
+    private final ScenarioPartService partService;
+    private final ScenarioSnapshotStore snapshotStore;
+    private final BlockCompletionService completionService;
+    private final ScenarioCacheProperties properties;
+
+    /**
+     * Lowest revision that may be cached per course (latest invalidated revision)
+     */
+    private final Map<UUID, Long> minRevisions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    private Cache<UUID, CompiledScenario> scenarios;
+
+    /**
+     * Scenario hash -> compiled header, never invalidated (content of a hash cannot change)
+     */
+    private Cache<String, CompiledScenario> contents;
+
+    /**
+     * Session part hash -> session blob, weighed by stored size
+     */
+    private Cache<String, ScenarioBlob> sessions;
+
+    @PostConstruct
+    public void init() {
+        scenarios = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .build();
+        contents = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .build();
+        sessions = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSessionBytes())
+                .weigher((String hash, ScenarioBlob session) -> session.getSizeBytes())
+                .build();
+    }
+
+    /**
+     * Get compiled scenario of course
+     *
+     * @param courseId Course ID
+     * @return compiled scenario
+     * @throws CourseNotFoundException if course does not exist
+     */
+    public CompiledScenario get(UUID courseId) {
+        CompiledScenario cached = scenarios.getIfPresent(courseId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadEpoch = epoch.get();
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException(courseId));
+        CompiledScenario compiled = compile(course);
+
+        scenarios.asMap().compute(courseId, (id, current) -> {
+            if (loadEpoch != epoch.get() || compiled.revision() < minRevisions.getOrDefault(id, 0L)) {
+                return current;
+            }
+            return current != null && current.revision() >= compiled.revision() ? current : compiled;
+        });
+        log.debug("Compiled scenario of course {} at revision {}", courseId, compiled.revision());
+        return compiled;
+    }
+
+    /**
+     * Get session of scenario, loading only this session
+     *
+     * @param scenario  Compiled scenario
+     * @param sessionId Session ID
+     * @return session JSON
+     * @throws com.cbt.platform.engine.exception.SessionNotFoundException if session does not exist
+     */
+    public JsonNode session(CompiledScenario scenario, String sessionId) {
+        return sessions.get(scenario.sessionHash(sessionId), this::loadSession).getContent();
+    }
+
+    /**
+     * Get block by index in session
+     */
+    public JsonNode block(CompiledScenario scenario, String sessionId, int blockIndex) {
+        JsonNode blocks = session(scenario, sessionId).get("blocks");
+        if (blocks == null || !blocks.isArray() || blockIndex >= blocks.size()) {
+            throw new BlockNotFoundException(sessionId, "block at index " + blockIndex);
+        }
+        return blocks.get(blockIndex);
+    }
+
+    /**
+     * Compile scenario header of course, reusing the header compiled for the same hash
+     */
+    private CompiledScenario compile(Course course) {
+        // Id of the lazy blob reference is known without loading the blob
+        String hash = course.getScenario().getHash();
+        CompiledScenario content = contents.get(hash, this::loadHeader);
+        return content.forCourse(course.getId(), course.getRevision(),
+                completionService.assignOrdinals(course.getId(), content.blockKeys()));
+    }
+
+    private CompiledScenario loadHeader(String scenarioHash) {
+        String snapshotKey = "scenario-" + scenarioHash;
+        Optional<CompiledScenario> snapshot = snapshotStore.read(snapshotKey, CompiledScenario.class);
+        // Snapshots written before block keys were recorded are compiled again
+        if (snapshot.isPresent() && snapshot.get().blockKeys() != null) {
+            return snapshot.get();
+        }
+
+        List<ScenarioPart> parts = partService.findParts(scenarioHash);
+        ScenarioPart header = parts.stream()
+                .filter(part -> part.getKind() == ScenarioPartKind.HEADER)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Scenario header not found: " + scenarioHash));
+        CompiledScenario compiled = CompiledScenario.compile(null, 0, scenarioHash,
+                partService.loadPart(header.getPartHash()).getContent(), parts, blockKeys(parts));
+        snapshotStore.write(snapshotKey, compiled);
+        return compiled;
+    }
+
+    /**
+     * Keys of all blocks in scenario order; sessions are read once here, not cached
+     */
+    private List<String> blockKeys(List<ScenarioPart> parts) {
+        List<String> keys = new ArrayList<>();
+        for (ScenarioPart part : parts) {
+            if (part.getKind() == ScenarioPartKind.SESSION) {
+                JsonNode session = partService.loadPart(part.getPartHash()).getContent();
+                keys.addAll(CompiledScenario.sessionBlockKeys(part.getPartKey(), session));
+            }
+        }
+        return keys;
+    }
+
+    private ScenarioBlob loadSession(String partHash) {
+        String snapshotKey = "part-" + partHash;
+        Optional<ScenarioBlob> snapshot = snapshotStore.read(snapshotKey, ScenarioBlob.class);
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+
+        ScenarioBlob session = partService.loadPart(partHash);
+        snapshotStore.write(snapshotKey, session);
+        return session;
+    }
+
+    @Override
+    public void onCourseChanged(UUID courseId, long revision) {
+        ConcurrentMap<UUID, CompiledScenario> map = scenarios.asMap();
+        map.compute(courseId, (id, current) -> {
+            minRevisions.merge(id, revision, Math::max);
+            return current != null && current.revision() >= revision ? current : null;
+        });
+    }
+
+    @Override
+    public void onResync() {
+        epoch.incrementAndGet();
+        scenarios.invalidateAll();
+    }
+}
@@ -0,0 +1,167 @@
+package com.cbt.platform.engine.service;
+
+import com.cbt.platform.engine.config.ScenarioSnapshotProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local disk snapshots of compiled scenarios in Smile (binary JSON)
+ *
+ * Keys are content hashes, so a snapshot never goes stale and needs no invalidation.
+ * Existing files are memory-mapped on boot and parsed only when first requested;
+ * a restarted node serves scenarios from disk instead of reading and parsing JSONB again.
+ * Any I/O error only disables the affected snapshot: the database stays the source of truth.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioSnapshotStore {
+
+    private static final String EXTENSION = ".smile";
+
+    private final ScenarioSnapshotProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+    private final Map<String, MappedByteBuffer> mapped = new ConcurrentHashMap<>();
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    private Path directory;
+    private volatile boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        directory = Path.of(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).forEach(this::map);
+            }
+            enabled = true;
+            log.info("Mapped {} scenario snapshots ({} bytes) from {}", mapped.size(), diskBytes.get(), directory);
+        } catch (IOException e) {
+            log.warn("Scenario snapshots disabled, directory {} is not usable: {}", directory, e.getMessage());
+        }
+
+        Gauge.builder("engine.scenario.snapshots", mapped, Map::size)
+                .description("Scenario snapshots mapped from local disk")
+                .register(meterRegistry);
+        Gauge.builder("engine.scenario.snapshots.bytes", diskBytes, AtomicLong::get)
+                .description("Size of scenario snapshots on local disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Read snapshot, parsing it from the mapped file
+     *
+     * @param key  Snapshot key (content hash with a type prefix)
+     * @param type Snapshot type
+     * @return snapshot, or empty if it does not exist or cannot be read
+     */
+    public <T> Optional<T> read(String key, Class<T> type) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        MappedByteBuffer buffer = mapped.get(key);
+        if (buffer == null) {
+            count("miss");
+            return Optional.empty();
+        }
+        try (InputStream input = new ByteBufferBackedInputStream(buffer.duplicate())) {
+            T value = smileMapper.readValue(input, type);
+            count("hit");
+            return Optional.of(value);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable scenario snapshot {}: {}", key, e.getMessage());
+            delete(key);
+            count("error");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write snapshot unless it exists (content of a key never changes)
+     *
+     * @param key   Snapshot key (content hash with a type prefix)
+     * @param value Snapshot value
+     */
+    public void write(String key, Object value) {
+        if (!enabled || mapped.containsKey(key)) {
+            return;
+        }
+        try {
+            byte[] bytes = smileMapper.writeValueAsBytes(value);
+            if (diskBytes.get() + bytes.length > properties.getMaxDiskBytes()) {
+                log.debug("Scenario snapshot {} skipped, disk budget is used up", key);
+                return;
+            }
+            // Readers on other threads or a crash never see a partial file
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, bytes);
+            Path target = directory.resolve(key + EXTENSION);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            map(target);
+        } catch (IOException e) {
+            log.warn("Failed to write scenario snapshot {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void map(Path file) {
+        String fileName = file.getFileName().toString();
+        String key = fileName.substring(0, fileName.length() - EXTENSION.length());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.putIfAbsent(key, buffer) == null) {
+                diskBytes.addAndGet(buffer.capacity());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to map scenario snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void delete(String key) {
+        MappedByteBuffer buffer = mapped.remove(key);
+        if (buffer != null) {
+            diskBytes.addAndGet(-buffer.capacity());
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(key + EXTENSION));
+        } catch (IOException e) {
+            log.debug("Failed to delete scenario snapshot {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder("engine.scenario.snapshot.reads")
+                .description("Scenario snapshot reads by result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -26,6 +26,11 @@ public class LlmProviderProperties {
      */
     private RetryConfig retry = new RetryConfig();
 
+    /**
+     * Request scheduler configuration
+     */
+    private SchedulerConfig scheduler = new SchedulerConfig();
+
     /**
      * Per-provider configurations
      */
@@ -37,6 +42,14 @@ public class LlmProviderProperties {
         private long backoffDelay = 1000; // milliseconds
     }
 
+    @Data
+    public static class SchedulerConfig {
+        private boolean enabled = true;
+        private int maxQueueSize = 50; // per priority class
+        private long maxQueueTime = 10000; // milliseconds
+        private double shedBelow = 0.2; // shed low-priority work below this fraction of rate budget
+    }
+
     @Data
     public static class ProviderConfig {
         private boolean enabled = false;
@@ -46,6 +59,8 @@ public class LlmProviderProperties {
         private Integer maxTokens = 1024;
         private Double temperature = 0.7;
         private Long timeout = 30000L; // milliseconds
+        private Integer requestsPerMinute; // null = no limit
+        private Integer tokensPerMinute; // null = no limit
     }
 
     /**
@@ -0,0 +1,17 @@
+package com.cbt.platform.llm.dto;
+
+/**
+ * Single request inside a provider batch
+ */
+public record LlmBatchItem(
+        /**
+         * Caller-defined ID used to match the result with the request
+         */
+        String customId,
+
+        /**
+         * Request to execute
+         */
+        LlmRequest request
+) {
+}
@@ -0,0 +1,25 @@
+package com.cbt.platform.llm.dto;
+
+/**
+ * Result of a single request inside a provider batch
+ */
+public record LlmBatchResult(
+        /**
+         * Custom ID of the request
+         */
+        String customId,
+
+        /**
+         * Generated response (null if request failed)
+         */
+        LlmResponse response,
+
+        /**
+         * Error message (null if request succeeded)
+         */
+        String error
+) {
+    public boolean isSucceeded() {
+        return response != null;
+    }
+}
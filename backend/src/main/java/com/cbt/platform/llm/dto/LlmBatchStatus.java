@@ -0,0 +1,16 @@
+package com.cbt.platform.llm.dto;
+
+/**
+ * Processing status of a provider batch
+ */
+public enum LlmBatchStatus {
+    /**
+     * Batch is queued or being processed
+     */
+    IN_PROGRESS,
+
+    /**
+     * All requests are processed, results can be collected
+     */
+    ENDED
+}
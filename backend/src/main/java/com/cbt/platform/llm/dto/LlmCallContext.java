@@ -0,0 +1,37 @@
+package com.cbt.platform.llm.dto;
+
+import java.util.UUID;
+
+/**
+ * Who an LLM call is made for
+ * Used for scheduling priority, usage accounting and budget checks
+ */
+public record LlmCallContext(
+        /**
+         * Priority class in request scheduler
+         */
+        LlmPriority priority,
+
+        /**
+         * User the call is made for (null for system calls)
+         */
+        UUID userId,
+
+        /**
+         * Course the call belongs to (optional)
+         */
+        UUID courseId,
+
+        /**
+         * Scenario block that triggered the call (optional)
+         */
+        String blockId
+) {
+    public static LlmCallContext of(LlmPriority priority) {
+        return new LlmCallContext(priority, null, null, null);
+    }
+
+    public static LlmCallContext of(LlmPriority priority, UUID userId, UUID courseId, String blockId) {
+        return new LlmCallContext(priority, userId, courseId, blockId);
+    }
+}
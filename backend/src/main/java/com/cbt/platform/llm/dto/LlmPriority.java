@@ -0,0 +1,49 @@
+package com.cbt.platform.llm.dto;
+
+/**
+ * Priority class of an LLM call
+ * Classes share provider rate limit by weight; low-priority work is shed first
+ */
+public enum LlmPriority {
+    /**
+     * User is waiting for a conversation turn
+     */
+    INTERACTIVE(8, false),
+
+    /**
+     * First render of LLM_RESPONSE block
+     */
+    RENDER(4, false),
+
+    /**
+     * Speculative generation during user think time
+     */
+    PREFETCH(2, true),
+
+    /**
+     * Background batch work
+     */
+    BATCH(1, true);
+
+    private final int weight;
+    private final boolean sheddable;
+
+    LlmPriority(int weight, boolean sheddable) {
+        this.weight = weight;
+        this.sheddable = sheddable;
+    }
+
+    /**
+     * Share of dispatches this class gets when all classes are waiting
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Whether calls of this class are rejected when rate limit budget runs low
+     */
+    public boolean isSheddable() {
+        return sheddable;
+    }
+}
@@ -24,6 +24,16 @@ public record LlmResponse(
          */
         Integer tokensUsed,
 
+        /**
+         * Prompt tokens (null if provider does not report them)
+         */
+        Integer inputTokens,
+
+        /**
+         * Generated tokens (null if provider does not report them)
+         */
+        Integer outputTokens,
+
         /**
          * Model that generated the response
          */
@@ -0,0 +1,15 @@
+package com.cbt.platform.llm.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when LLM call is not admitted by the request scheduler
+ * (queue is full, wait time exceeded or low-priority work is shed)
+ */
+public class LlmOverloadedException extends BaseException {
+
+    public LlmOverloadedException(String message) {
+        super(message, "LLM_OVERLOADED", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
 import java.util.function.Supplier;
 
@@ -124,6 +126,20 @@ public abstract class AbstractLlmProvider implements LlmProvider {
         return properties.getProviderConfig(getProviderType());
     }
 
+    /**
+     * Send HEAD to the base URL: any status means the connection is open and kept alive
+     */
+    @Override
+    public void warmUp() {
+        try {
+            restClient.head().uri("/").retrieve().toBodilessEntity();
+        } catch (RestClientResponseException e) {
+            log.debug("{} warm-up answered {}", getProviderType(), e.getStatusCode());
+        } catch (RestClientException e) {
+            log.warn("{} warm-up failed: {}", getProviderType(), e.getMessage());
+        }
+    }
+
     @Override
     public boolean isConfigured() {
         LlmProviderProperties.ProviderConfig config = getConfig();
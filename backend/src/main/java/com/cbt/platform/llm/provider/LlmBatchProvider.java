@@ -0,0 +1,44 @@
+package com.cbt.platform.llm.provider;
+
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmBatchItem;
+import com.cbt.platform.llm.dto.LlmBatchResult;
+import com.cbt.platform.llm.dto.LlmBatchStatus;
+
+import java.util.List;
+
+/**
+ * Asynchronous batch interface of an LLM provider (Messages Batches style)
+ * Requests are submitted in bulk, processed off the interactive path and collected later
+ */
+public interface LlmBatchProvider {
+
+    /**
+     * Get provider that processes the batches (used for usage accounting)
+     */
+    ProviderType getProviderType();
+
+    /**
+     * Submit batch of requests
+     *
+     * @param items Requests with custom IDs
+     * @return provider batch ID
+     */
+    String submitBatch(List<LlmBatchItem> items);
+
+    /**
+     * Get processing status of batch
+     *
+     * @param batchId Provider batch ID
+     * @return batch status
+     */
+    LlmBatchStatus getStatus(String batchId);
+
+    /**
+     * Get results of ended batch
+     *
+     * @param batchId Provider batch ID
+     * @return result for every submitted request
+     */
+    List<LlmBatchResult> getResults(String batchId);
+}
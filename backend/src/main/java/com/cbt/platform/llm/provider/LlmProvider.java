@@ -43,4 +43,11 @@ public interface LlmProvider {
      * @return model identifier
      */
     String getModel();
+
+    /**
+     * Open connection to the provider before the first real request (TLS handshake, keep-alive pool)
+     * Must not consume tokens; failures are ignored
+     */
+    default void warmUp() {
+    }
 }
@@ -0,0 +1,113 @@
+package com.cbt.platform.llm.provider.batch;
+
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmBatchItem;
+import com.cbt.platform.llm.dto.LlmBatchResult;
+import com.cbt.platform.llm.dto.LlmBatchStatus;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.exception.LlmProviderException;
+import com.cbt.platform.llm.provider.LlmBatchProvider;
+import com.cbt.platform.llm.provider.LlmProvider;
+import com.cbt.platform.llm.service.LlmProviderFactory;
+import com.cbt.platform.llm.service.LlmRequestScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stub of provider batch API
+ * Executes batch requests one by one through the default provider on a background thread,
+ * with the lowest scheduler priority.
+ * Batches live in memory only and are lost on restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalBatchProvider implements LlmBatchProvider {
+
+    private final LlmProviderFactory providerFactory;
+    private final LlmRequestScheduler requestScheduler;
+
+    private final Map<String, LocalBatch> batches = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "llm-local-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ProviderType getProviderType() {
+        return providerFactory.getDefaultProvider().getProviderType();
+    }
+
+    @Override
+    public String submitBatch(List<LlmBatchItem> items) {
+        String batchId = "local_batch_" + UUID.randomUUID();
+        LocalBatch batch = new LocalBatch(List.copyOf(items), new ArrayList<>());
+        batches.put(batchId, batch);
+
+        executor.submit(() -> process(batchId, batch));
+        log.info("Submitted local batch {} with {} requests", batchId, items.size());
+        return batchId;
+    }
+
+    @Override
+    public LlmBatchStatus getStatus(String batchId) {
+        LocalBatch batch = getBatch(batchId);
+        synchronized (batch) {
+            return batch.results().size() == batch.items().size() ?
+                    LlmBatchStatus.ENDED : LlmBatchStatus.IN_PROGRESS;
+        }
+    }
+
+    @Override
+    public List<LlmBatchResult> getResults(String batchId) {
+        if (getStatus(batchId) != LlmBatchStatus.ENDED) {
+            throw new LlmProviderException("Batch is still in progress: " + batchId);
+        }
+        LocalBatch batch = batches.remove(batchId);
+        return batch != null ? List.copyOf(batch.results()) : List.of();
+    }
+
+    private void process(String batchId, LocalBatch batch) {
+        for (LlmBatchItem item : batch.items()) {
+            LlmBatchResult result;
+            try {
+                LlmProvider provider = providerFactory.getDefaultProvider();
+                result = new LlmBatchResult(item.customId(), requestScheduler.execute(
+                        provider.getProviderType(), LlmPriority.BATCH, item.request(), provider::sendMessage), null);
+            } catch (Exception e) {
+                result = new LlmBatchResult(item.customId(), null, e.getMessage());
+            }
+            synchronized (batch) {
+                batch.results().add(result);
+            }
+        }
+        log.info("Local batch {} ended", batchId);
+    }
+
+    private LocalBatch getBatch(String batchId) {
+        LocalBatch batch = batches.get(batchId);
+        if (batch == null) {
+            throw new LlmProviderException("Batch not found: " + batchId);
+        }
+        return batch;
+    }
+
+    private record LocalBatch(List<LlmBatchItem> items, List<LlmBatchResult> results) {
+    }
+}
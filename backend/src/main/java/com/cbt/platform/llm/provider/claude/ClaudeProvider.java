@@ -139,6 +139,8 @@ public class ClaudeProvider extends AbstractLlmProvider {
                 .content(textContent)
                 .finishReason((String) response.get("stop_reason"))
                 .tokensUsed(inputTokens + outputTokens)
+                .inputTokens(inputTokens)
+                .outputTokens(outputTokens)
                 .model((String) response.get("model"))
                 .metadata(Map.of(
                         "id", response.get("id"),
@@ -0,0 +1,301 @@
+package com.cbt.platform.llm.service;
+
+import com.cbt.platform.llm.config.LlmProviderProperties;
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmMessage;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmRequest;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.llm.exception.LlmOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Admission scheduler for LLM calls
+ *
+ * Per provider: token buckets for requests and tokens per minute, and a bounded wait queue
+ * per priority class. When calls are waiting for rate budget, the next one is chosen by
+ * smooth weighted round robin over priority weights (interactive > render > prefetch > batch).
+ * Sheddable classes are rejected right away when the budget runs low.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LlmRequestScheduler {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final LlmProviderProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ProviderType, ProviderQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Execute LLM call once it is admitted by provider rate limit
+     *
+     * @param providerType Provider the call goes to
+     * @param priority     Priority class of the call
+     * @param request      LLM request (used to estimate tokens)
+     * @param call         Actual provider call
+     * @return LLM response
+     * @throws LlmOverloadedException if call is not admitted
+     */
+    public LlmResponse execute(
+            ProviderType providerType,
+            LlmPriority priority,
+            LlmRequest request,
+            Function<LlmRequest, LlmResponse> call
+    ) {
+        if (!properties.getScheduler().isEnabled()) {
+            return call.apply(request);
+        }
+
+        ProviderQueue queue = queues.computeIfAbsent(providerType, this::createQueue);
+        int estimatedTokens = estimateTokens(request);
+
+        long queuedNanos = queue.admit(priority, estimatedTokens);
+        Timer.builder("llm.scheduler.queue.time")
+                .description("Time LLM calls wait for rate limit budget")
+                .tag("provider", providerType.name().toLowerCase())
+                .tag("priority", priority.name().toLowerCase())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(queuedNanos, TimeUnit.NANOSECONDS);
+
+        LlmResponse response = call.apply(request);
+
+        // Correct token budget with actual usage
+        if (response != null && response.tokensUsed() != null) {
+            queue.adjustTokens(response.tokensUsed() - estimatedTokens);
+        }
+        return response;
+    }
+
+    /**
+     * Estimate tokens of request: prompt size plus max output tokens
+     */
+    private int estimateTokens(LlmRequest request) {
+        long chars = request.systemPrompt() != null ? request.systemPrompt().length() : 0;
+        if (request.messages() != null) {
+            for (LlmMessage message : request.messages()) {
+                chars += message.content() != null ? message.content().length() : 0;
+            }
+        }
+        return (int) (chars / CHARS_PER_TOKEN) + request.getMaxTokens();
+    }
+
+    private ProviderQueue createQueue(ProviderType providerType) {
+        LlmProviderProperties.ProviderConfig config = properties.getProviderConfig(providerType);
+        TokenBucket requestBucket = config != null && config.getRequestsPerMinute() != null ?
+                new TokenBucket(config.getRequestsPerMinute()) : null;
+        TokenBucket tokenBucket = config != null && config.getTokensPerMinute() != null ?
+                new TokenBucket(config.getTokensPerMinute()) : null;
+
+        ProviderQueue queue = new ProviderQueue(providerType, requestBucket, tokenBucket);
+        for (LlmPriority priority : LlmPriority.values()) {
+            Gauge.builder("llm.scheduler.queue.size", queue, q -> q.size(priority))
+                    .description("LLM calls waiting for rate limit budget")
+                    .tag("provider", providerType.name().toLowerCase())
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        log.info("Created LLM scheduler queue for {} (rpm: {}, tpm: {})", providerType,
+                config != null ? config.getRequestsPerMinute() : null,
+                config != null ? config.getTokensPerMinute() : null);
+        return queue;
+    }
+
+    private LlmOverloadedException shed(ProviderType providerType, LlmPriority priority, String reason) {
+        Counter.builder("llm.scheduler.shed")
+                .description("LLM calls rejected by scheduler")
+                .tag("provider", providerType.name().toLowerCase())
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.debug("Rejected {} LLM call to {}: {}", priority, providerType, reason);
+        return new LlmOverloadedException("LLM call rejected (" + reason + "), please try again later");
+    }
+
+    /**
+     * Rate limit state and wait queues of one provider
+     */
+    private final class ProviderQueue {
+
+        private final ProviderType providerType;
+        private final TokenBucket requestBucket;
+        private final TokenBucket tokenBucket;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Map<LlmPriority, Deque<Ticket>> waiting = new EnumMap<>(LlmPriority.class);
+        private final Map<LlmPriority, Integer> currentWeights = new EnumMap<>(LlmPriority.class);
+
+        ProviderQueue(ProviderType providerType, TokenBucket requestBucket, TokenBucket tokenBucket) {
+            this.providerType = providerType;
+            this.requestBucket = requestBucket;
+            this.tokenBucket = tokenBucket;
+            for (LlmPriority priority : LlmPriority.values()) {
+                waiting.put(priority, new ArrayDeque<>());
+                currentWeights.put(priority, 0);
+            }
+        }
+
+        /**
+         * Wait until call is admitted
+         *
+         * @return time spent in queue (nanoseconds)
+         */
+        long admit(LlmPriority priority, int tokens) {
+            LlmProviderProperties.SchedulerConfig config = properties.getScheduler();
+            long start = System.nanoTime();
+            long deadline = start + Duration.ofMillis(config.getMaxQueueTime()).toNanos();
+
+            lock.lock();
+            try {
+                if (priority.isSheddable() && budgetFraction() < config.getShedBelow()) {
+                    throw shed(providerType, priority, "budget_exhausted");
+                }
+                Deque<Ticket> queue = waiting.get(priority);
+                if (queue.size() >= config.getMaxQueueSize()) {
+                    throw shed(providerType, priority, "queue_full");
+                }
+
+                Ticket ticket = new Ticket();
+                queue.addLast(ticket);
+                try {
+                    while (true) {
+                        long waitNanos;
+                        if (selectNext() == priority && queue.peekFirst() == ticket) {
+                            waitNanos = nanosUntilAvailable(tokens);
+                            if (waitNanos == 0) {
+                                acquire(tokens);
+                                commitSelection(priority);
+                                queue.removeFirst();
+                                ticket.admitted = true;
+                                changed.signalAll();
+                                return System.nanoTime() - start;
+                            }
+                        } else {
+                            waitNanos = Long.MAX_VALUE;
+                        }
+
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw shed(providerType, priority, "queue_timeout");
+                        }
+                        changed.awaitNanos(Math.min(waitNanos, remaining));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw shed(providerType, priority, "interrupted");
+                } finally {
+                    if (!ticket.admitted) {
+                        queue.remove(ticket);
+                        changed.signalAll();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void adjustTokens(int delta) {
+            if (tokenBucket != null) {
+                tokenBucket.adjust(delta);
+            }
+        }
+
+        int size(LlmPriority priority) {
+            lock.lock();
+            try {
+                return waiting.get(priority).size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Priority class that gets the next dispatch (smooth weighted round robin)
+         */
+        private LlmPriority selectNext() {
+            LlmPriority selected = null;
+            int selectedWeight = Integer.MIN_VALUE;
+            for (LlmPriority priority : LlmPriority.values()) {
+                if (waiting.get(priority).isEmpty()) {
+                    continue;
+                }
+                int weight = currentWeights.get(priority) + priority.getWeight();
+                if (weight > selectedWeight) {
+                    selected = priority;
+                    selectedWeight = weight;
+                }
+            }
+            return selected;
+        }
+
+        private void commitSelection(LlmPriority selected) {
+            int totalWeight = 0;
+            for (LlmPriority priority : LlmPriority.values()) {
+                if (waiting.get(priority).isEmpty()) {
+                    currentWeights.put(priority, 0);
+                    continue;
+                }
+                currentWeights.merge(priority, priority.getWeight(), Integer::sum);
+                totalWeight += priority.getWeight();
+            }
+            currentWeights.merge(selected, -totalWeight, Integer::sum);
+        }
+
+        private long nanosUntilAvailable(int tokens) {
+            long wait = 0;
+            if (requestBucket != null) {
+                wait = Math.max(wait, requestBucket.nanosUntilAvailable(1));
+            }
+            if (tokenBucket != null) {
+                wait = Math.max(wait, tokenBucket.nanosUntilAvailable(tokens));
+            }
+            return wait;
+        }
+
+        private void acquire(int tokens) {
+            if (requestBucket != null) {
+                requestBucket.tryAcquire(1);
+            }
+            if (tokenBucket != null) {
+                tokenBucket.tryAcquire(tokens);
+            }
+        }
+
+        private double budgetFraction() {
+            double fraction = 1.0;
+            if (requestBucket != null) {
+                fraction = Math.min(fraction, requestBucket.availableFraction());
+            }
+            if (tokenBucket != null) {
+                fraction = Math.min(fraction, tokenBucket.availableFraction());
+            }
+            return fraction;
+        }
+    }
+
+    private static final class Ticket {
+        private boolean admitted;
+    }
+}
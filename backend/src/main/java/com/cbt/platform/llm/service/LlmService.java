@@ -1,10 +1,13 @@
 package com.cbt.platform.llm.service;
 
 import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmCallContext;
 import com.cbt.platform.llm.dto.LlmMessage;
+import com.cbt.platform.llm.dto.LlmPriority;
 import com.cbt.platform.llm.dto.LlmRequest;
 import com.cbt.platform.llm.dto.LlmResponse;
 import com.cbt.platform.llm.provider.LlmProvider;
+import com.cbt.platform.usage.service.UsageService;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +27,8 @@ public class LlmService {
 
     private final LlmProviderFactory providerFactory;
     private final PromptBuilder promptBuilder;
+    private final LlmRequestScheduler requestScheduler;
+    private final UsageService usageService;
 
     /**
      * Send message using default provider
@@ -55,25 +60,80 @@ public class LlmService {
             String userMessage,
             JsonNode userData,
             Map<String, Object> parameters
+    ) {
+        return sendMessage(systemPrompt, userMessage, userData, parameters, LlmCallContext.of(LlmPriority.INTERACTIVE));
+    }
+
+    /**
+     * Send message on behalf of a user, course and block
+     *
+     * @param systemPrompt System prompt
+     * @param userMessage  User message
+     * @param userData     User data
+     * @param context      Priority and owner of the call (for scheduling and usage metering)
+     * @return LLM response
+     */
+    public LlmResponse sendMessage(
+            String systemPrompt,
+            String userMessage,
+            JsonNode userData,
+            LlmCallContext context
+    ) {
+        return sendMessage(systemPrompt, userMessage, userData, Map.of(), context);
+    }
+
+    /**
+     * Send message with parameters on behalf of a user, course and block
+     *
+     * @param systemPrompt System prompt
+     * @param userMessage  User message
+     * @param userData     User data
+     * @param parameters   Additional parameters (temperature, maxTokens, etc.)
+     * @param context      Priority and owner of the call (for scheduling and usage metering)
+     * @return LLM response
+     */
+    public LlmResponse sendMessage(
+            String systemPrompt,
+            String userMessage,
+            JsonNode userData,
+            Map<String, Object> parameters,
+            LlmCallContext context
     ) {
         LlmProvider provider = providerFactory.getDefaultProvider();
-        log.debug("Sending message using provider: {}", provider.getProviderType());
+        log.debug("Sending {} message using provider: {}", context.priority(), provider.getProviderType());
+
+        return execute(provider, buildRequest(systemPrompt, userMessage, userData, parameters), context);
+    }
 
+    /**
+     * Build single-message request with resolved templates
+     * Used directly by callers that execute requests outside of this service (batches)
+     *
+     * @param systemPrompt System prompt
+     * @param userMessage  User message
+     * @param userData     User data
+     * @param parameters   Additional parameters
+     * @return LLM request
+     */
+    public LlmRequest buildRequest(
+            String systemPrompt,
+            String userMessage,
+            JsonNode userData,
+            Map<String, Object> parameters
+    ) {
         // Resolve templates in system prompt
         String resolvedSystemPrompt = promptBuilder.buildPrompt(systemPrompt, userData);
 
         // Resolve templates in user message
         String resolvedUserMessage = promptBuilder.buildPrompt(userMessage, userData);
 
-        LlmRequest request = LlmRequest.builder()
+        return LlmRequest.builder()
                 .systemPrompt(resolvedSystemPrompt)
                 .messages(List.of(LlmMessage.user(resolvedUserMessage)))
                 .userData(userData)
                 .parameters(parameters)
                 .stream(false)
                 .build();
-
-        return provider.sendMessage(request);
     }
 
     /**
@@ -106,6 +166,26 @@ public class LlmService {
             List<LlmMessage> messages,
             JsonNode userData,
             Map<String, Object> parameters
+    ) {
+        return sendConversation(systemPrompt, messages, userData, parameters, LlmCallContext.of(LlmPriority.INTERACTIVE));
+    }
+
+    /**
+     * Send message with conversation history on behalf of a user, course and block
+     *
+     * @param systemPrompt System prompt
+     * @param messages     Conversation messages
+     * @param userData     User data
+     * @param parameters   Additional parameters
+     * @param context      Priority and owner of the call (for scheduling and usage metering)
+     * @return LLM response
+     */
+    public LlmResponse sendConversation(
+            String systemPrompt,
+            List<LlmMessage> messages,
+            JsonNode userData,
+            Map<String, Object> parameters,
+            LlmCallContext context
     ) {
         LlmProvider provider = providerFactory.getDefaultProvider();
 
@@ -119,7 +199,7 @@ public class LlmService {
                 .stream(false)
                 .build();
 
-        return provider.sendMessage(request);
+        return execute(provider, request, context);
     }
 
     /**
@@ -150,7 +230,18 @@ public class LlmService {
                 .stream(false)
                 .build();
 
-        return provider.sendMessage(request);
+        return execute(provider, request, LlmCallContext.of(LlmPriority.INTERACTIVE));
+    }
+
+    /**
+     * Execute request on provider within budget, once admitted by request scheduler
+     */
+    private LlmResponse execute(LlmProvider provider, LlmRequest request, LlmCallContext context) {
+        usageService.checkBudget(context);
+        LlmResponse response = requestScheduler.execute(
+                provider.getProviderType(), context.priority(), request, provider::sendMessage);
+        usageService.record(context, provider.getProviderType(), response);
+        return response;
     }
 
     /**
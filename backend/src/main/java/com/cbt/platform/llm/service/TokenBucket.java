@@ -0,0 +1,82 @@
+package com.cbt.platform.llm.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter refilled continuously at a per-minute rate
+ * Thread-safe; used for both requests and tokens per minute of a provider
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier clock;
+
+    private double available;
+    private long lastRefill;
+
+    public TokenBucket(long perMinute) {
+        this(perMinute, System::nanoTime);
+    }
+
+    public TokenBucket(long perMinute, LongSupplier clock) {
+        if (perMinute <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + perMinute);
+        }
+        this.capacity = perMinute;
+        this.refillPerNano = (double) perMinute / NANOS_PER_MINUTE;
+        this.clock = clock;
+        this.available = perMinute;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Take amount from bucket if available
+     * Amounts larger than capacity are capped, so a big request is admitted once the bucket is full
+     *
+     * @return true if amount was taken
+     */
+    public synchronized boolean tryAcquire(double amount) {
+        refill();
+        double required = Math.min(amount, capacity);
+        if (available >= required) {
+            available -= required;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Time until amount becomes available (0 if available now)
+     */
+    public synchronized long nanosUntilAvailable(double amount) {
+        refill();
+        double missing = Math.min(amount, capacity) - available;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano);
+    }
+
+    /**
+     * Correct bucket after the fact (positive delta takes more, negative returns)
+     * Bucket may go below zero, delaying next acquisitions
+     */
+    public synchronized void adjust(double delta) {
+        refill();
+        available = Math.min(capacity, available - delta);
+    }
+
+    /**
+     * Fraction of capacity currently available (0..1)
+     */
+    public synchronized double availableFraction() {
+        refill();
+        return Math.max(0, available) / capacity;
+    }
+
+    private void refill() {
+        long now = clock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
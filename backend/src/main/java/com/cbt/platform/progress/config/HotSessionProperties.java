@@ -0,0 +1,55 @@
+package com.cbt.platform.progress.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for Redis-resident state of active sessions
+ * Binds to progress.hot-session.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "progress.hot-session")
+@Data
+public class HotSessionProperties {
+
+    /**
+     * Keep position and userData of active sessions in Redis, checkpointing them to user_progress
+     */
+    private boolean enabled = false;
+
+    /**
+     * Checkpoint after this many writes since the last checkpoint
+     */
+    private int checkpointInteractions = 20;
+
+    /**
+     * Checkpoint and drop state of sessions without activity for this long (milliseconds)
+     */
+    private long idleTimeout = 300000;
+
+    /**
+     * How often idle sessions are looked for (milliseconds)
+     */
+    private long sweepInterval = 60000;
+
+    /**
+     * Maximum idle sessions checkpointed per sweep
+     */
+    private int sweepBatchSize = 500;
+
+    /**
+     * Expiry of Redis keys; only reached if no instance sweeps, must be well above idleTimeout (milliseconds)
+     */
+    private long ttl = 86400000;
+
+    /**
+     * After a Redis error, serve sessions from user_progress for this long before trying Redis again (milliseconds)
+     */
+    private long retryInterval = 5000;
+
+    /**
+     * Prefix of Redis keys
+     */
+    private String keyPrefix = "progress:hot:";
+}
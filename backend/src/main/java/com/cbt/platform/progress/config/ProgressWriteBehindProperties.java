@@ -0,0 +1,41 @@
+package com.cbt.platform.progress.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for write-behind of small progress fields
+ * Binds to progress.write-behind.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "progress.write-behind")
+@Data
+public class ProgressWriteBehindProperties {
+
+    /**
+     * Buffer position, percentage and activity time in memory; when disabled they are written immediately
+     * Safe only when all requests of a user reach the same instance: flushes of other instances are not fenced.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often buffered updates are flushed to user_progress (milliseconds)
+     */
+    private long flushInterval = 5000;
+
+    /**
+     * Number of buffered (user, course) rows that triggers a flush before the interval
+     */
+    private int maxPending = 1000;
+
+    /**
+     * Journal directory on local disk; must survive a process restart (the tmpdir default does not in a container)
+     */
+    private String journalDirectory = System.getProperty("java.io.tmpdir") + "/cbt-platform/progress-journal";
+
+    /**
+     * Force every journal append to disk before the request returns
+     */
+    private boolean fsync = true;
+}
@@ -2,9 +2,7 @@ package com.cbt.platform.progress.controller;
 
 import com.cbt.platform.progress.dto.*;
 import com.cbt.platform.progress.service.ProgressService;
-import com.cbt.platform.user.entity.User;
-import com.cbt.platform.user.exception.UserNotFoundException;
-import com.cbt.platform.user.repository.UserRepository;
+import com.cbt.platform.security.CurrentUserId;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,7 +12,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
@@ -31,7 +28,6 @@ import java.util.UUID;
 public class ProgressController {
 
     private final ProgressService progressService;
-    private final UserRepository userRepository;
 
     @PostMapping("/start")
     @Operation(summary = "Start a course", description = "Initialize progress tracking for a course")
@@ -41,9 +37,8 @@ public class ProgressController {
             @ApiResponse(responseCode = "409", description = "Course already started")
     })
     public ResponseEntity<ProgressResponse> startCourse(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @Valid @RequestBody StartCourseRequest request) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.startCourse(userId, request);
         URI location = URI.create("/api/progress/" + progress.id());
         return ResponseEntity.created(location).body(progress);
@@ -54,8 +49,7 @@ public class ProgressController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Progress retrieved successfully")
     })
-    public ResponseEntity<List<ProgressResponse>> getMyProgress(Authentication authentication) {
-        UUID userId = getUserIdFromAuth(authentication);
+    public ResponseEntity<List<ProgressResponse>> getMyProgress(@CurrentUserId UUID userId) {
         List<ProgressResponse> progress = progressService.getAllProgressForUser(userId);
         return ResponseEntity.ok(progress);
     }
@@ -65,8 +59,7 @@ public class ProgressController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Active progress retrieved successfully")
     })
-    public ResponseEntity<List<ProgressResponse>> getMyActiveProgress(Authentication authentication) {
-        UUID userId = getUserIdFromAuth(authentication);
+    public ResponseEntity<List<ProgressResponse>> getMyActiveProgress(@CurrentUserId UUID userId) {
         List<ProgressResponse> progress = progressService.getActiveProgressForUser(userId);
         return ResponseEntity.ok(progress);
     }
@@ -78,9 +71,8 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> getProgressInCourse(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.getProgress(userId, courseId);
         return ResponseEntity.ok(progress);
     }
@@ -103,10 +95,9 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> updateProgress(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId,
             @Valid @RequestBody UpdateProgressRequest request) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.updateProgress(userId, courseId, request);
         return ResponseEntity.ok(progress);
     }
@@ -121,10 +112,9 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> updateUserData(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId,
             @Valid @RequestBody UpdateUserDataRequest request) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.updateUserData(userId, courseId, request);
         return ResponseEntity.ok(progress);
     }
@@ -136,10 +126,9 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> completeSession(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId,
             @Valid @RequestBody CompleteSessionRequest request) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.completeSession(userId, courseId, request);
         return ResponseEntity.ok(progress);
     }
@@ -151,11 +140,10 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> completeBlock(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId,
             @PathVariable String sessionId,
             @PathVariable String blockId) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.completeBlock(userId, courseId, sessionId, blockId);
         return ResponseEntity.ok(progress);
     }
@@ -167,9 +155,8 @@ public class ProgressController {
             @ApiResponse(responseCode = "404", description = "Progress not found")
     })
     public ResponseEntity<ProgressResponse> completeCourse(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId) {
-        UUID userId = getUserIdFromAuth(authentication);
         ProgressResponse progress = progressService.completeCourse(userId, courseId);
         return ResponseEntity.ok(progress);
     }
@@ -182,23 +169,8 @@ public class ProgressController {
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteProgress(
-            Authentication authentication,
+            @CurrentUserId UUID userId,
             @PathVariable UUID courseId) {
-        UUID userId = getUserIdFromAuth(authentication);
         progressService.deleteProgress(userId, courseId);
     }
-
-    /**
-     * Extract user ID from Authentication (Spring Security)
-     * Gets email from JWT token (subject) and looks up user in database
-     *
-     * NOTE: This implementation requires a DB query per request.
-     * For better performance, consider adding userId to JWT claims in future.
-     */
-    private UUID getUserIdFromAuth(Authentication authentication) {
-        String email = authentication.getName(); // Email is stored in JWT subject
-        User user = userRepository.findActiveByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException(email));
-        return user.getId();
-    }
 }
@@ -0,0 +1,42 @@
+package com.cbt.platform.progress.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Stable ordinal of a block within a course, the bit of the block in completion bitsets
+ * Append-only: a block keeps its ordinal across scenario versions, removed blocks keep theirs.
+ */
+@Entity
+@Table(name = "course_block_ordinals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_course_block_ordinals_key", columnNames = {"course_id", "block_key"}),
+        @UniqueConstraint(name = "uk_course_block_ordinals_ordinal", columnNames = {"course_id", "ordinal"})
+})
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockOrdinal {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false)
+    private UUID courseId;
+
+    /**
+     * Block key (format: "session_id:block_id")
+     */
+    @Column(name = "block_key", nullable = false, length = 201)
+    private String blockKey;
+
+    @Column(nullable = false)
+    private Integer ordinal;
+}
@@ -1,5 +1,6 @@
 package com.cbt.platform.progress.entity;
 
+import com.cbt.platform.common.id.UuidV7;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
@@ -23,12 +25,16 @@ import java.util.UUID;
  * - Current position in the course (session + block)
  * - User data accumulated during the course (JSONB)
  * - Completion history
+ *
+ * Updates write only changed columns: position, percentage and activity time are usually written
+ * by ProgressWriteBuffer, and a save of other fields must not overwrite them with loaded values.
  */
 @Entity
 @Table(
     name = "user_progress",
     uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id"})
 )
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -36,7 +42,7 @@ import java.util.UUID;
 public class UserProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -92,15 +98,21 @@ public class UserProgress {
     private List<String> completedSessions = new ArrayList<>();
 
     /**
-     * List of completed block IDs (format: "session_id:block_id")
+     * Completed blocks as a bitset indexed by block ordinal (see BlockOrdinal, CompletionBits)
+     * Written only by ProgressRepository.markBlockCompleted, never by entity updates.
      */
-    @Column(columnDefinition = "jsonb")
-    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "completed_bits", updatable = false)
+    private byte[] completedBits;
+
+    /**
+     * Number of bits set in completedBits
+     */
+    @Column(name = "completed_block_count", nullable = false, updatable = false)
     @Builder.Default
-    private List<String> completedBlocks = new ArrayList<>();
+    private Integer completedBlockCount = 0;
 
     /**
-     * Overall course completion percentage (0-100)
+     * Overall course completion percentage (0-100), completed blocks over blocks in scenario
      */
     @Column(nullable = false)
     @Builder.Default
@@ -131,6 +143,14 @@ public class UserProgress {
     @Column(name = "last_activity_at")
     private LocalDateTime lastActivityAt;
 
+    /**
+     * Version of the last checkpoint of Redis-resident session state (see HotSessionService)
+     * Written only by ProgressRepository.claimStateGeneration and checkpointState.
+     */
+    @Column(name = "state_version", nullable = false, updatable = false)
+    @Builder.Default
+    private Long stateVersion = 0L;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
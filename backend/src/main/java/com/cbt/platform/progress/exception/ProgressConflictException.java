@@ -0,0 +1,20 @@
+package com.cbt.platform.progress.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when session state changed between reading and writing it (concurrent request of the same user)
+ */
+public class ProgressConflictException extends BaseException {
+
+    public ProgressConflictException(UUID userId, UUID courseId) {
+        super(
+                String.format("Progress of user %s in course %s was changed by another request", userId, courseId),
+                "PROGRESS_CONFLICT",
+                HttpStatus.CONFLICT
+        );
+    }
+}
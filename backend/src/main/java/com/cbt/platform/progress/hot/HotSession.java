@@ -0,0 +1,85 @@
+package com.cbt.platform.progress.hot;
+
+import com.cbt.platform.progress.dto.ProgressResponse;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Session state of one user in one course as kept in Redis
+ *
+ * @param version             Version of this state, incremented by every write (see UserProgress.stateVersion)
+ * @param checkpointedVersion Version last written to user_progress
+ * @param sessionId           Current session ID
+ * @param blockIndex          Current block index
+ * @param userData            User data
+ * @param lastActivityAt      Time of last write
+ * @param completedBlocks     Ordinals of blocks completed since the last checkpoint, comma separated
+ */
+public record HotSession(
+        long version,
+        long checkpointedVersion,
+        String sessionId,
+        int blockIndex,
+        JsonNode userData,
+        LocalDateTime lastActivityAt,
+        String completedBlocks
+) {
+
+    /**
+     * State loaded from the last checkpoint, with the version of a freshly claimed generation
+     */
+    public static HotSession of(UserProgress progress, long version) {
+        return new HotSession(version, version, progress.getCurrentSessionId(),
+                progress.getCurrentBlockIndex() != null ? progress.getCurrentBlockIndex() : 0,
+                progress.getUserData(), progress.getLastActivityAt(), "");
+    }
+
+    public ProgressPosition position() {
+        return new ProgressPosition(sessionId, blockIndex);
+    }
+
+    /**
+     * Writes not yet in user_progress
+     */
+    public long uncheckpointed() {
+        return version - checkpointedVersion;
+    }
+
+    public List<Integer> completedOrdinals() {
+        List<Integer> ordinals = new ArrayList<>();
+        if (completedBlocks != null && !completedBlocks.isEmpty()) {
+            for (String ordinal : completedBlocks.split(",")) {
+                ordinals.add(Integer.parseInt(ordinal));
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * Show state in a response read from user_progress
+     * Completed blocks and percentage are those of the last checkpoint.
+     */
+    public ProgressResponse applyTo(ProgressResponse response) {
+        return new ProgressResponse(
+                response.id(),
+                response.userId(),
+                response.courseId(),
+                sessionId,
+                blockIndex,
+                userData,
+                response.completedSessions(),
+                response.completedBlocks(),
+                response.completionPercentage(),
+                response.isCompleted(),
+                response.startedAt(),
+                response.completedAt(),
+                lastActivityAt != null ? lastActivityAt : response.lastActivityAt(),
+                response.createdAt(),
+                response.updatedAt());
+    }
+}
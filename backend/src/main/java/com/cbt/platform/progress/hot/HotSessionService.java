@@ -0,0 +1,355 @@
+package com.cbt.platform.progress.hot;
+
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.progress.config.HotSessionProperties;
+import com.cbt.platform.progress.dto.ProgressResponse;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.exception.ProgressConflictException;
+import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSessionStore.SessionKey;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis-resident state (position and userData) of active sessions, checkpointed to user_progress
+ *
+ * The first engine request of a session loads the row into Redis; later reads and writes of the engine
+ * are one Redis round trip each. State is written back as a checkpoint when a session is completed,
+ * every checkpointInteractions writes, when the session is idle for idleTimeout, and before progress is
+ * changed through ProgressService.
+ *
+ * Checkpoints are fenced by user_progress.state_version: loading state claims a new generation on the
+ * row, Redis writes count up within it, and a checkpoint only applies if the row is not at a newer
+ * version. A checkpoint from state that was lost and loaded again can therefore never overwrite newer
+ * state. When Redis loses a session, the next request continues from the last checkpoint.
+ * When Redis is unreachable, requests are served from user_progress and the sessions written meanwhile
+ * are dropped from Redis once it is back.
+ */
+@Service
+@Slf4j
+public class HotSessionService {
+
+    private final HotSessionProperties properties;
+    private final HotSessionStore store;
+    private final ProgressRepository progressRepository;
+    private final BlockCompletionService completionService;
+    private final ProgressWriteBuffer writeBuffer;
+    private final ScenarioCache scenarioCache;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate newTransaction;
+
+    /**
+     * Sessions written to user_progress while Redis was unreachable, their Redis state is stale
+     */
+    private final Set<SessionKey> staleSessions = ConcurrentHashMap.newKeySet();
+
+    private volatile long unavailableUntil;
+
+    public HotSessionService(HotSessionProperties properties,
+                             HotSessionStore store,
+                             ProgressRepository progressRepository,
+                             BlockCompletionService completionService,
+                             ProgressWriteBuffer writeBuffer,
+                             ScenarioCache scenarioCache,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.progressRepository = progressRepository;
+        this.completionService = completionService;
+        this.writeBuffer = writeBuffer;
+        this.scenarioCache = scenarioCache;
+        this.meterRegistry = meterRegistry;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get state of session, loading it from user_progress if Redis does not have it
+     *
+     * @return empty when disabled or Redis is unreachable: use user_progress
+     */
+    public Optional<HotSession> load(UUID userId, UUID courseId) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            if (!redisReady()) {
+                return Optional.empty();
+            }
+            Optional<HotSession> session = store.get(userId, courseId);
+            return session.isPresent() ? session : seed(userId, courseId);
+        } catch (DataAccessException e) {
+            unavailable(e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Move session to position, optionally replacing userData and completing a block
+     * Checkpoints when the session ended or enough writes accumulated.
+     *
+     * @return updated state; empty if it could not be written to Redis: write to user_progress instead
+     * @throws ProgressConflictException if another request changed the state after it was loaded
+     */
+    public Optional<HotSession> advance(UUID userId, UUID courseId, HotSession current, ProgressPosition next,
+                                        JsonNode userData, Integer completedOrdinal, boolean sessionEnded) {
+        LocalDateTime now = LocalDateTime.now();
+        long version;
+        try {
+            version = store.write(userId, courseId, current.version(), next, userData, completedOrdinal, now);
+        } catch (DataAccessException e) {
+            unavailable(e);
+            return Optional.empty();
+        }
+        if (version < 0) {
+            throw new ProgressConflictException(userId, courseId);
+        }
+        if (version == 0) {
+            log.warn("Hot state of user {} in course {} is gone, writing to user_progress", userId, courseId);
+            return Optional.empty();
+        }
+
+        String completed = current.completedBlocks();
+        if (completedOrdinal != null) {
+            completed = completed == null || completed.isEmpty() ? completedOrdinal.toString() : completed + "," + completedOrdinal;
+        }
+        HotSession updated = new HotSession(version, current.checkpointedVersion(), next.sessionId(), next.blockIndex(),
+                userData != null ? userData : current.userData(), now, completed);
+
+        if (sessionEnded || updated.uncheckpointed() >= properties.getCheckpointInteractions()) {
+            try {
+                checkpoint(userId, courseId, updated, sessionEnded ? "session" : "interactions");
+            } catch (DataAccessException e) {
+                unavailable(e);
+            }
+        }
+        return Optional.of(updated);
+    }
+
+    /**
+     * Show state of active session in a response read from user_progress
+     */
+    public ProgressResponse apply(ProgressResponse response) {
+        if (!properties.isEnabled()) {
+            return response;
+        }
+        try {
+            if (!redisReady()) {
+                return response;
+            }
+            return store.get(response.userId(), response.courseId())
+                    .map(session -> session.applyTo(response))
+                    .orElse(response);
+        } catch (DataAccessException e) {
+            unavailable(e);
+            return response;
+        }
+    }
+
+    /**
+     * Checkpoint and drop state before user_progress is changed directly (ProgressService)
+     */
+    public void evict(UUID userId, UUID courseId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (!redisReady()) {
+                fallBack(userId, courseId);
+                return;
+            }
+            for (int attempt = 0; attempt < 3; attempt++) {
+                Optional<HotSession> session = store.get(userId, courseId);
+                if (session.isEmpty()) {
+                    return;
+                }
+                checkpoint(userId, courseId, session.get(), "evict");
+                if (store.evict(userId, courseId, session.get().version())) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            unavailable(e);
+            fallBack(userId, courseId);
+            return;
+        }
+        throw new ProgressConflictException(userId, courseId);
+    }
+
+    /**
+     * Drop state of deleted progress
+     */
+    public void discard(UUID userId, UUID courseId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            store.delete(userId, courseId);
+        } catch (DataAccessException e) {
+            unavailable(e);
+            staleSessions.add(new SessionKey(userId, courseId));
+        }
+    }
+
+    /**
+     * Mark session as written to user_progress without Redis, in the caller's transaction
+     * Claims a new generation, so the state Redis may still have can no longer be checkpointed.
+     */
+    public void fallBack(UUID userId, UUID courseId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        progressRepository.claimStateGeneration(userId, courseId);
+        staleSessions.add(new SessionKey(userId, courseId));
+        meterRegistry.counter("progress.hot-session.fallbacks").increment();
+    }
+
+    /**
+     * Checkpoint and drop state of idle sessions
+     */
+    @Scheduled(fixedDelayString = "${progress.hot-session.sweep-interval:60000}")
+    public void sweepIdle() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (!redisReady()) {
+                return;
+            }
+            LocalDateTime idleSince = LocalDateTime.now().minusNanos(properties.getIdleTimeout() * 1_000_000);
+            List<SessionKey> idle = store.idleSince(idleSince, properties.getSweepBatchSize());
+            for (SessionKey key : idle) {
+                Optional<HotSession> session = store.get(key.userId(), key.courseId());
+                if (session.isEmpty()) {
+                    store.forget(key.userId(), key.courseId());
+                } else if (checkpoint(key.userId(), key.courseId(), session.get(), "idle")) {
+                    store.evict(key.userId(), key.courseId(), session.get().version());
+                }
+            }
+            if (!idle.isEmpty()) {
+                log.debug("Checkpointed {} idle sessions", idle.size());
+            }
+        } catch (DataAccessException e) {
+            unavailable(e);
+        }
+    }
+
+    /**
+     * Write state to user_progress unless the row has a newer version
+     * State that lost the race to a newer generation is dropped from Redis.
+     *
+     * @return whether user_progress has this state now
+     */
+    private boolean checkpoint(UUID userId, UUID courseId, HotSession session, String reason) {
+        if (session.uncheckpointed() <= 0) {
+            return true;
+        }
+        List<Integer> completed = session.completedOrdinals();
+        Boolean written;
+        try {
+            written = newTransaction.execute(status -> {
+                if (progressRepository.checkpointState(userId, courseId, session.sessionId(), session.blockIndex(),
+                        session.lastActivityAt(), session.version()) == 0) {
+                    return false;
+                }
+                progressRepository.findByUserIdAndCourseId(userId, courseId)
+                        .ifPresent(progress -> progress.setUserData(session.userData()));
+                if (!completed.isEmpty()) {
+                    int blockCount = scenarioCache.get(courseId).blockCount();
+                    for (int ordinal : completed) {
+                        completionService.markCompleted(userId, courseId, ordinal, blockCount);
+                    }
+                }
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.error("Checkpoint of user {} in course {} failed, will retry", userId, courseId, e);
+            return false;
+        }
+
+        if (Boolean.TRUE.equals(written)) {
+            store.checkpointed(userId, courseId, session);
+            meterRegistry.counter("progress.hot-session.checkpoints", "reason", reason).increment();
+            return true;
+        }
+        log.warn("Checkpoint of user {} in course {} at version {} is stale or progress is gone, dropping hot state",
+                userId, courseId, session.version());
+        store.evict(userId, courseId, session.version());
+        meterRegistry.counter("progress.hot-session.fenced").increment();
+        return false;
+    }
+
+    /**
+     * Load state from the last checkpoint into Redis under a new generation
+     */
+    private Optional<HotSession> seed(UUID userId, UUID courseId) {
+        // A position still in the write-behind buffer would be written over later checkpoints
+        if (writeBuffer.pending(userId, courseId).isPresent()) {
+            writeBuffer.flush();
+            if (writeBuffer.pending(userId, courseId).isPresent()) {
+                return Optional.empty();
+            }
+        }
+
+        HotSession seeded = newTransaction.execute(status -> {
+            if (progressRepository.claimStateGeneration(userId, courseId) == 0) {
+                throw new ProgressNotFoundException(userId, courseId);
+            }
+            UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
+                    .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
+            HotSession session = HotSession.of(progress, progress.getStateVersion());
+            if (store.create(userId, courseId, session)) {
+                return session;
+            }
+            // Loaded by a concurrent request: keep its generation
+            status.setRollbackOnly();
+            return null;
+        });
+        if (seeded != null) {
+            log.debug("Loaded hot state of user {} in course {} at version {}", userId, courseId, seeded.version());
+            return Optional.of(seeded);
+        }
+        return Optional.of(store.get(userId, courseId).orElseThrow(() -> new ProgressConflictException(userId, courseId)));
+    }
+
+    /**
+     * Whether Redis may be used; first drops state of sessions written to user_progress during an outage
+     */
+    private boolean redisReady() {
+        if (System.currentTimeMillis() < unavailableUntil) {
+            return false;
+        }
+        for (SessionKey key : staleSessions) {
+            store.delete(key.userId(), key.courseId());
+            staleSessions.remove(key);
+        }
+        return true;
+    }
+
+    private void unavailable(DataAccessException e) {
+        if (System.currentTimeMillis() >= unavailableUntil) {
+            log.warn("Redis unavailable for hot session state, using user_progress for {} ms: {}",
+                    properties.getRetryInterval(), e.getMessage());
+        }
+        unavailableUntil = System.currentTimeMillis() + properties.getRetryInterval();
+    }
+}
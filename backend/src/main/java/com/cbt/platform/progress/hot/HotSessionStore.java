@@ -0,0 +1,233 @@
+package com.cbt.platform.progress.hot;
+
+import com.cbt.platform.progress.config.HotSessionProperties;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis access for hot session state
+ *
+ * One hash per user and course ("progress:hot:{userId}:{courseId}") with short fields:
+ * v version, cv checkpointed version, s session ID, b block index, d userData JSON,
+ * t last activity (epoch millis), p ordinals of blocks completed since the checkpoint.
+ * Sessions are also scored by last activity in the sorted set "progress:hot:active" to find idle ones.
+ * Every change is a Lua script, so a write is one round trip and atomic against concurrent writers.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotSessionStore {
+
+    /**
+     * Create state unless it exists: ARGV version, session ID ("" = none), block index, userData, activity, ttl, member
+     */
+    private static final RedisScript<Long> CREATE = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'v', ARGV[1], 'cv', ARGV[1], 'b', ARGV[3], 'd', ARGV[4], 't', ARGV[5]) " +
+            "if ARGV[2] ~= '' then redis.call('HSET', KEYS[1], 's', ARGV[2]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[6]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[5], ARGV[7]) " +
+            "return 1", Long.class);
+
+    /**
+     * Compare-and-set write: ARGV expected version, session ID ("" = none), block index,
+     * userData ("" = unchanged), completed ordinal ("" = none), activity, ttl, member
+     * Returns the new version, -1 if the version changed, 0 if the state is gone.
+     */
+    private static final RedisScript<Long> WRITE = new DefaultRedisScript<>(
+            "local v = redis.call('HGET', KEYS[1], 'v') " +
+            "if not v then return 0 end " +
+            "if v ~= ARGV[1] then return -1 end " +
+            "if ARGV[2] == '' then redis.call('HDEL', KEYS[1], 's') else redis.call('HSET', KEYS[1], 's', ARGV[2]) end " +
+            "redis.call('HSET', KEYS[1], 'b', ARGV[3], 't', ARGV[6]) " +
+            "if ARGV[4] ~= '' then redis.call('HSET', KEYS[1], 'd', ARGV[4]) end " +
+            "if ARGV[5] ~= '' then " +
+            "  local p = redis.call('HGET', KEYS[1], 'p') " +
+            "  if p and p ~= '' then p = p .. ',' .. ARGV[5] else p = ARGV[5] end " +
+            "  redis.call('HSET', KEYS[1], 'p', p) " +
+            "end " +
+            "local nv = redis.call('HINCRBY', KEYS[1], 'v', 1) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[7]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[6], ARGV[8]) " +
+            "return nv", Long.class);
+
+    /**
+     * Record checkpoint: ARGV checkpointed version, completed ordinals it wrote
+     * Ordinals appended after the checkpoint read the state are kept.
+     */
+    private static final RedisScript<Long> CHECKPOINTED = new DefaultRedisScript<>(
+            "local cv = redis.call('HGET', KEYS[1], 'cv') " +
+            "if not cv then return 0 end " +
+            "if tonumber(cv) >= tonumber(ARGV[1]) then return 1 end " +
+            "redis.call('HSET', KEYS[1], 'cv', ARGV[1]) " +
+            "local p = redis.call('HGET', KEYS[1], 'p') or '' " +
+            "local n = #ARGV[2] " +
+            "if n > 0 and string.sub(p, 1, n) == ARGV[2] and (#p == n or string.sub(p, n + 1, n + 1) == ',') then " +
+            "  redis.call('HSET', KEYS[1], 'p', string.sub(p, n + 2)) " +
+            "end " +
+            "return 1", Long.class);
+
+    /**
+     * Delete state if still at version: ARGV version, member
+     */
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], 'v') ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('ZREM', KEYS[2], ARGV[2]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final HotSessionProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public Optional<HotSession> get(UUID userId, UUID courseId) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(userId, courseId));
+        if (fields.isEmpty() || !fields.containsKey("v")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new HotSession(
+                    Long.parseLong((String) fields.get("v")),
+                    Long.parseLong((String) fields.get("cv")),
+                    (String) fields.get("s"),
+                    Integer.parseInt((String) fields.get("b")),
+                    objectMapper.readTree((String) fields.get("d")),
+                    time(Long.parseLong((String) fields.get("t"))),
+                    (String) fields.getOrDefault("p", "")));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt userData in hot session of user " + userId, e);
+        }
+    }
+
+    /**
+     * Store state loaded from user_progress
+     *
+     * @return false if another request stored it first
+     */
+    public boolean create(UUID userId, UUID courseId, HotSession session) {
+        Long created = redisTemplate.execute(CREATE, keys(userId, courseId),
+                Long.toString(session.version()),
+                session.sessionId() != null ? session.sessionId() : "",
+                Integer.toString(session.blockIndex()),
+                json(session.userData()),
+                Long.toString(millis(session.lastActivityAt() != null ? session.lastActivityAt() : LocalDateTime.now())),
+                Long.toString(properties.getTtl()),
+                member(userId, courseId));
+        return created != null && created == 1;
+    }
+
+    /**
+     * Move session to position, optionally replacing userData and adding a completed block
+     *
+     * @return new version, -1 if the state is no longer at expectedVersion, 0 if it is gone
+     */
+    public long write(UUID userId, UUID courseId, long expectedVersion, ProgressPosition position,
+                      JsonNode userData, Integer completedOrdinal, LocalDateTime now) {
+        Long version = redisTemplate.execute(WRITE, keys(userId, courseId),
+                Long.toString(expectedVersion),
+                position.sessionId() != null ? position.sessionId() : "",
+                Integer.toString(position.blockIndex()),
+                userData != null ? json(userData) : "",
+                completedOrdinal != null ? completedOrdinal.toString() : "",
+                Long.toString(millis(now)),
+                Long.toString(properties.getTtl()),
+                member(userId, courseId));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Record that state up to version is in user_progress
+     */
+    public void checkpointed(UUID userId, UUID courseId, HotSession session) {
+        redisTemplate.execute(CHECKPOINTED, List.of(key(userId, courseId)),
+                Long.toString(session.version()),
+                session.completedBlocks() != null ? session.completedBlocks() : "");
+    }
+
+    /**
+     * Delete state if nothing was written after version
+     */
+    public boolean evict(UUID userId, UUID courseId, long version) {
+        Long evicted = redisTemplate.execute(EVICT, keys(userId, courseId), Long.toString(version), member(userId, courseId));
+        return evicted != null && evicted == 1;
+    }
+
+    public void delete(UUID userId, UUID courseId) {
+        redisTemplate.delete(key(userId, courseId));
+        redisTemplate.opsForZSet().remove(activeKey(), member(userId, courseId));
+    }
+
+    /**
+     * Sessions without activity since the given time, oldest first
+     */
+    public List<SessionKey> idleSince(LocalDateTime since, int limit) {
+        Set<String> members = redisTemplate.opsForZSet().rangeByScore(activeKey(), 0, millis(since), 0, limit);
+        List<SessionKey> sessions = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                int separator = member.indexOf(':');
+                sessions.add(new SessionKey(
+                        UUID.fromString(member.substring(0, separator)),
+                        UUID.fromString(member.substring(separator + 1))));
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Drop entry of the active set whose state has expired
+     */
+    public void forget(UUID userId, UUID courseId) {
+        redisTemplate.opsForZSet().remove(activeKey(), member(userId, courseId));
+    }
+
+    private List<String> keys(UUID userId, UUID courseId) {
+        return List.of(key(userId, courseId), activeKey());
+    }
+
+    private String key(UUID userId, UUID courseId) {
+        return properties.getKeyPrefix() + member(userId, courseId);
+    }
+
+    private String activeKey() {
+        return properties.getKeyPrefix() + "active";
+    }
+
+    private static String member(UUID userId, UUID courseId) {
+        return userId + ":" + courseId;
+    }
+
+    private String json(JsonNode userData) {
+        try {
+            return objectMapper.writeValueAsString(userData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize userData", e);
+        }
+    }
+
+    private static long millis(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+
+    private static LocalDateTime time(long millis) {
+        return new Timestamp(millis).toLocalDateTime();
+    }
+
+    public record SessionKey(UUID userId, UUID courseId) {
+    }
+}
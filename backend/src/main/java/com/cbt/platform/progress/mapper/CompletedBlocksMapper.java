@@ -0,0 +1,24 @@
+package com.cbt.platform.progress.mapper;
+
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import lombok.RequiredArgsConstructor;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Decodes the completion bitset of progress into block keys for ProgressMapper
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletedBlocksMapper {
+
+    private final BlockCompletionService completionService;
+
+    @Named("completedBlocks")
+    public List<String> completedBlocks(UserProgress progress) {
+        return completionService.completedBlocks(progress.getCourseId(), progress.getCompletedBits());
+    }
+}
@@ -0,0 +1,32 @@
+package com.cbt.platform.progress.repository;
+
+import com.cbt.platform.progress.entity.BlockOrdinal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for BlockOrdinal entity operations
+ */
+@Repository
+public interface BlockOrdinalRepository extends JpaRepository<BlockOrdinal, UUID> {
+
+    /**
+     * Find all block ordinals of course
+     */
+    List<BlockOrdinal> findByCourseIdOrderByOrdinal(UUID courseId);
+
+    /**
+     * Insert ordinal unless the key or the ordinal is already taken (concurrent instances are safe)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO course_block_ordinals (id, course_id, block_key, ordinal) " +
+            "VALUES (:id, :courseId, :blockKey, :ordinal) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("courseId") UUID courseId,
+                       @Param("blockKey") String blockKey, @Param("ordinal") int ordinal);
+}
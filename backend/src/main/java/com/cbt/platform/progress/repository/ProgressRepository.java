@@ -2,10 +2,12 @@ package com.cbt.platform.progress.repository;
 
 import com.cbt.platform.progress.entity.UserProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -65,4 +67,66 @@ public interface ProgressRepository extends JpaRepository<UserProgress, UUID> {
      */
     @Query("SELECT p FROM UserProgress p WHERE p.userId = :userId AND p.completionPercentage >= :threshold")
     List<UserProgress> findByUserIdWithMinCompletion(@Param("userId") UUID userId, @Param("threshold") Integer threshold);
+
+    /**
+     * Find active progress of one user shard for nightly pre-generation (PostgreSQL)
+     * Keyset paging: pass the last ID of previous page as afterId
+     */
+    @Query(value = "SELECT p.* FROM user_progress p JOIN users u ON u.id = p.user_id " +
+            "WHERE p.is_completed = false AND u.is_active = true AND u.deleted_at IS NULL " +
+            "AND p.last_activity_at >= :activeSince " +
+            "AND mod(hashtext(CAST(p.user_id AS text)) & 2147483647, :shards) = :shard " +
+            "AND p.id > :afterId ORDER BY p.id LIMIT :limit", nativeQuery = true)
+    List<UserProgress> findPregenerationCandidates(@Param("activeSince") LocalDateTime activeSince,
+                                                   @Param("shards") int shards,
+                                                   @Param("shard") int shard,
+                                                   @Param("afterId") UUID afterId,
+                                                   @Param("limit") int limit);
+
+    /**
+     * Set completion bit of block without reading the row first
+     * Count and percentage grow only if the bit was not set; all SET expressions see the old row.
+     * Percentage is capped because bits of blocks removed from the scenario still count.
+     * progress_has_bit/progress_set_bit are defined in V15 (H2 aliases in tests).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE user_progress SET " +
+            "completed_block_count = completed_block_count + " +
+            "CASE WHEN progress_has_bit(completed_bits, :ordinal) THEN 0 ELSE 1 END, " +
+            "completion_percentage = LEAST(100, (completed_block_count + " +
+            "CASE WHEN progress_has_bit(completed_bits, :ordinal) THEN 0 ELSE 1 END) * 100 / :totalBlocks), " +
+            "completed_bits = progress_set_bit(completed_bits, :ordinal), " +
+            "last_activity_at = :now, updated_at = :now " +
+            "WHERE user_id = :userId AND course_id = :courseId", nativeQuery = true)
+    int markBlockCompleted(@Param("userId") UUID userId,
+                           @Param("courseId") UUID courseId,
+                           @Param("ordinal") int ordinal,
+                           @Param("totalBlocks") int totalBlocks,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Start a new generation of session state: versions of hot state loaded before are now stale
+     * state_version is generation * 2^32 + writes, see V17.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET state_version = (state_version / 4294967296 + 1) * 4294967296 " +
+            "WHERE user_id = :userId AND course_id = :courseId", nativeQuery = true)
+    int claimStateGeneration(@Param("userId") UUID userId, @Param("courseId") UUID courseId);
+
+    /**
+     * Write checkpoint of hot session state unless the row has a newer version
+     * Writing the same version again is a no-op rewrite, so a checkpoint can be retried.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET " +
+            "current_session_id = :sessionId, current_block_index = :blockIndex, " +
+            "last_activity_at = GREATEST(COALESCE(last_activity_at, :lastActivityAt), :lastActivityAt), " +
+            "state_version = :version, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = :userId AND course_id = :courseId AND state_version <= :version", nativeQuery = true)
+    int checkpointState(@Param("userId") UUID userId,
+                        @Param("courseId") UUID courseId,
+                        @Param("sessionId") String sessionId,
+                        @Param("blockIndex") int blockIndex,
+                        @Param("lastActivityAt") LocalDateTime lastActivityAt,
+                        @Param("version") long version);
 }
@@ -0,0 +1,41 @@
+package com.cbt.platform.progress.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Block completion tracking: stable per-course block ordinals and completion bitsets
+ */
+public interface BlockCompletionService {
+
+    /**
+     * Get ordinals of blocks, assigning the next free ordinals to blocks seen for the first time
+     *
+     * @param courseId  course ID
+     * @param blockKeys block keys in scenario order
+     * @return block key -> ordinal for every given key
+     */
+    Map<String, Integer> assignOrdinals(UUID courseId, List<String> blockKeys);
+
+    /**
+     * Mark block completed with a single UPDATE, without reading the progress first
+     * Completed block count and completion percentage are updated in the same statement.
+     *
+     * @param userId      user ID
+     * @param courseId    course ID
+     * @param ordinal     block ordinal
+     * @param totalBlocks number of blocks in the current scenario
+     * @return false if user has no progress in course
+     */
+    boolean markCompleted(UUID userId, UUID courseId, int ordinal, int totalBlocks);
+
+    /**
+     * Decode completion bitset into block keys
+     *
+     * @param courseId      course ID
+     * @param completedBits completion bitset, may be null
+     * @return completed block keys in ordinal order
+     */
+    List<String> completedBlocks(UUID courseId, byte[] completedBits);
+}
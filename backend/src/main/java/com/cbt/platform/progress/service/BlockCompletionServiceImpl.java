@@ -0,0 +1,119 @@
+package com.cbt.platform.progress.service;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import com.cbt.platform.progress.entity.BlockOrdinal;
+import com.cbt.platform.progress.repository.BlockOrdinalRepository;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of BlockCompletionService
+ *
+ * Ordinals are kept per course in course_block_ordinals and only ever appended, so a bit keeps
+ * its meaning when the scenario changes. Block keys by ordinal are cached for decoding; the
+ * registry only grows, so a cached list is reloaded when a bitset has an ordinal beyond it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlockCompletionServiceImpl implements BlockCompletionService {
+
+    /**
+     * Attempts to assign ordinals when other instances assign them concurrently
+     */
+    private static final int MAX_ASSIGN_ATTEMPTS = 5;
+
+    private final BlockOrdinalRepository ordinalRepository;
+    private final ProgressRepository progressRepository;
+
+    /**
+     * Course ID -> block key by ordinal (null for unused ordinals)
+     */
+    private final Cache<UUID, List<String>> keysByOrdinal = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Integer> assignOrdinals(UUID courseId, List<String> blockKeys) {
+        for (int attempt = 1; ; attempt++) {
+            List<BlockOrdinal> registry = ordinalRepository.findByCourseIdOrderByOrdinal(courseId);
+            Map<String, Integer> ordinals = new HashMap<>();
+            registry.forEach(ordinal -> ordinals.put(ordinal.getBlockKey(), ordinal.getOrdinal()));
+
+            Set<String> missing = new LinkedHashSet<>(blockKeys);
+            missing.removeAll(ordinals.keySet());
+            if (missing.isEmpty()) {
+                keysByOrdinal.put(courseId, keysByOrdinal(registry));
+                Map<String, Integer> result = new HashMap<>();
+                blockKeys.forEach(key -> result.put(key, ordinals.get(key)));
+                return Map.copyOf(result);
+            }
+            if (attempt == MAX_ASSIGN_ATTEMPTS) {
+                throw new IllegalStateException("Could not assign block ordinals of course " + courseId);
+            }
+
+            int next = registry.isEmpty() ? 0 : registry.get(registry.size() - 1).getOrdinal() + 1;
+            for (String key : missing) {
+                ordinalRepository.insertIfAbsent(UuidV7Generator.next(), courseId, key, next++);
+            }
+            log.info("Assigned ordinals to {} new blocks of course {}", missing.size(), courseId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean markCompleted(UUID userId, UUID courseId, int ordinal, int totalBlocks) {
+        return progressRepository.markBlockCompleted(userId, courseId, ordinal, Math.max(totalBlocks, 1),
+                LocalDateTime.now()) > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> completedBlocks(UUID courseId, byte[] completedBits) {
+        int[] ordinals = CompletionBits.ordinals(completedBits);
+        if (ordinals.length == 0) {
+            return List.of();
+        }
+
+        List<String> keys = keysByOrdinal.get(courseId, this::loadKeys);
+        if (ordinals[ordinals.length - 1] >= keys.size()) {
+            keys = loadKeys(courseId);
+            keysByOrdinal.put(courseId, keys);
+        }
+
+        List<String> completed = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            if (ordinal < keys.size() && keys.get(ordinal) != null) {
+                completed.add(keys.get(ordinal));
+            }
+        }
+        return completed;
+    }
+
+    private List<String> loadKeys(UUID courseId) {
+        return keysByOrdinal(ordinalRepository.findByCourseIdOrderByOrdinal(courseId));
+    }
+
+    private static List<String> keysByOrdinal(List<BlockOrdinal> registry) {
+        String[] keys = new String[registry.isEmpty() ? 0 : registry.get(registry.size() - 1).getOrdinal() + 1];
+        registry.forEach(ordinal -> keys[ordinal.getOrdinal()] = ordinal.getBlockKey());
+        return Arrays.asList(keys);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cbt.platform.progress.service;
+
+import java.util.BitSet;
+
+/**
+ * Completion bitsets as stored in user_progress.completed_bits
+ *
+ * Bit n is bit (n % 8), counted from the least significant, of byte (n / 8): the layout of
+ * PostgreSQL get_bit/set_bit on bytea and of BitSet.toByteArray. Also used by the V16 backfill migration.
+ */
+public final class CompletionBits {
+
+    private CompletionBits() {
+    }
+
+    /**
+     * Whether bit is set, null bitset means no completed blocks
+     */
+    public static boolean isSet(byte[] bits, int ordinal) {
+        int index = ordinal / 8;
+        return bits != null && index < bits.length && (bits[index] & (1 << (ordinal % 8))) != 0;
+    }
+
+    /**
+     * Copy of bitset with bit set, grown as needed
+     */
+    public static byte[] set(byte[] bits, int ordinal) {
+        int length = Math.max(bits != null ? bits.length : 0, ordinal / 8 + 1);
+        byte[] result = new byte[length];
+        if (bits != null) {
+            System.arraycopy(bits, 0, result, 0, bits.length);
+        }
+        result[ordinal / 8] |= (byte) (1 << (ordinal % 8));
+        return result;
+    }
+
+    /**
+     * Ordinals of set bits in ascending order
+     */
+    public static int[] ordinals(byte[] bits) {
+        return bits == null ? new int[0] : BitSet.valueOf(bits).stream().toArray();
+    }
+}
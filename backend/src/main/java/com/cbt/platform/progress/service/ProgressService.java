@@ -86,12 +86,14 @@ public interface ProgressService {
 
     /**
      * Mark a block as completed
+     * Sets the block bit and updates completion percentage without reading progress first
      *
      * @param userId    user ID
      * @param courseId  course ID
      * @param sessionId session ID
      * @param blockId   block ID
      * @return updated progress
+     * @throws com.cbt.platform.engine.exception.BlockNotFoundException if block is not in course scenario
      */
     ProgressResponse completeBlock(UUID userId, UUID courseId, String sessionId, String blockId);
 
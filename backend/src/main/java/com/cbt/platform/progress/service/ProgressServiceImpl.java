@@ -2,12 +2,17 @@ package com.cbt.platform.progress.service;
 
 import com.cbt.platform.course.exception.CourseNotFoundException;
 import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioCache;
 import com.cbt.platform.progress.dto.*;
 import com.cbt.platform.progress.entity.UserProgress;
 import com.cbt.platform.progress.exception.CourseAlreadyStartedException;
 import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSessionService;
 import com.cbt.platform.progress.mapper.ProgressMapper;
 import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.progress.writebehind.ProgressUpdate;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -23,6 +28,9 @@ import java.util.UUID;
 
 /**
  * Implementation of ProgressService for user progress management
+ * Position, percentage and activity time go through ProgressWriteBuffer; responses include buffered values.
+ * Responses also show Redis-resident state of active sessions, which is checkpointed and dropped
+ * (HotSessionService.evict) before progress is changed here.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +41,10 @@ public class ProgressServiceImpl implements ProgressService {
     private final CourseRepository courseRepository;
     private final ProgressMapper progressMapper;
     private final ObjectMapper objectMapper;
+    private final ScenarioCache scenarioCache;
+    private final BlockCompletionService completionService;
+    private final ProgressWriteBuffer writeBuffer;
+    private final HotSessionService hotSessions;
 
     @Override
     @Transactional
@@ -57,7 +69,6 @@ public class ProgressServiceImpl implements ProgressService {
                 .courseId(request.courseId())
                 .userData(emptyUserData)
                 .completedSessions(new ArrayList<>())
-                .completedBlocks(new ArrayList<>())
                 .completionPercentage(0)
                 .isCompleted(false)
                 .startedAt(LocalDateTime.now())
@@ -68,7 +79,7 @@ public class ProgressServiceImpl implements ProgressService {
         log.info("Course started: progressId={}, userId={}, courseId={}",
                 progress.getId(), userId, request.courseId());
 
-        return progressMapper.toResponse(progress);
+        return toResponse(progress);
     }
 
     @Override
@@ -77,7 +88,7 @@ public class ProgressServiceImpl implements ProgressService {
         log.debug("Fetching progress: userId={}, courseId={}", userId, courseId);
 
         return progressRepository.findByUserIdAndCourseId(userId, courseId)
-                .map(progressMapper::toResponse)
+                .map(this::toResponse)
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
     }
 
@@ -87,7 +98,7 @@ public class ProgressServiceImpl implements ProgressService {
         log.debug("Fetching progress by id: {}", progressId);
 
         return progressRepository.findById(progressId)
-                .map(progressMapper::toResponse)
+                .map(this::toResponse)
                 .orElseThrow(() -> new ProgressNotFoundException(progressId));
     }
 
@@ -98,7 +109,7 @@ public class ProgressServiceImpl implements ProgressService {
 
         return progressRepository.findByUserId(userId)
                 .stream()
-                .map(progressMapper::toResponse)
+                .map(this::toResponse)
                 .toList();
     }
 
@@ -109,7 +120,7 @@ public class ProgressServiceImpl implements ProgressService {
 
         return progressRepository.findActiveProgressByUserId(userId)
                 .stream()
-                .map(progressMapper::toResponse)
+                .map(this::toResponse)
                 .toList();
     }
 
@@ -118,16 +129,21 @@ public class ProgressServiceImpl implements ProgressService {
     public ProgressResponse updateProgress(UUID userId, UUID courseId, UpdateProgressRequest request) {
         log.info("Updating progress: userId={}, courseId={}", userId, courseId);
 
+        hotSessions.evict(userId, courseId);
         UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
-        progressMapper.updateEntity(progress, request);
-        progress.setLastActivityAt(LocalDateTime.now());
-
-        progress = progressRepository.save(progress);
+        if (request.userData() != null) {
+            progress.setUserData(request.userData());
+            progress = progressRepository.save(progress);
+        }
+        ProgressUpdate update = new ProgressUpdate(request.currentSessionId() != null, request.currentSessionId(),
+                request.currentBlockIndex(), request.completionPercentage(), LocalDateTime.now());
+        writeBuffer.record(userId, courseId, update);
         log.info("Progress updated: progressId={}", progress.getId());
 
-        return progressMapper.toResponse(progress);
+        // Loaded row does not have the update when it is written immediately
+        return update.applyTo(toResponse(progress));
     }
 
     @Override
@@ -135,6 +151,7 @@ public class ProgressServiceImpl implements ProgressService {
     public ProgressResponse updateUserData(UUID userId, UUID courseId, UpdateUserDataRequest request) {
         log.info("Updating user data: userId={}, courseId={}, merge={}", userId, courseId, request.merge());
 
+        hotSessions.evict(userId, courseId);
         UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
@@ -148,12 +165,12 @@ public class ProgressServiceImpl implements ProgressService {
         }
 
         progress.setUserData(newUserData);
-        progress.setLastActivityAt(LocalDateTime.now());
-
         progress = progressRepository.save(progress);
+        ProgressUpdate update = ProgressUpdate.touch(LocalDateTime.now());
+        writeBuffer.record(userId, courseId, update);
         log.info("User data updated: progressId={}", progress.getId());
 
-        return progressMapper.toResponse(progress);
+        return update.applyTo(toResponse(progress));
     }
 
     @Override
@@ -162,6 +179,7 @@ public class ProgressServiceImpl implements ProgressService {
         log.info("Completing session: userId={}, courseId={}, sessionId={}",
                 userId, courseId, request.sessionId());
 
+        hotSessions.evict(userId, courseId);
         UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
@@ -170,11 +188,12 @@ public class ProgressServiceImpl implements ProgressService {
             progress.getCompletedSessions().add(request.sessionId());
         }
 
-        progress.setLastActivityAt(LocalDateTime.now());
         progress = progressRepository.save(progress);
+        ProgressUpdate update = ProgressUpdate.touch(LocalDateTime.now());
+        writeBuffer.record(userId, courseId, update);
 
         log.info("Session completed: progressId={}, sessionId={}", progress.getId(), request.sessionId());
-        return progressMapper.toResponse(progress);
+        return update.applyTo(toResponse(progress));
     }
 
     @Override
@@ -183,21 +202,20 @@ public class ProgressServiceImpl implements ProgressService {
         log.info("Completing block: userId={}, courseId={}, sessionId={}, blockId={}",
                 userId, courseId, sessionId, blockId);
 
-        UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
-                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
-
-        String blockKey = sessionId + ":" + blockId;
+        hotSessions.evict(userId, courseId);
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        int ordinal = scenario.blockOrdinal(sessionId, blockId);
 
-        // Add block to completed list if not already there
-        if (!progress.getCompletedBlocks().contains(blockKey)) {
-            progress.getCompletedBlocks().add(blockKey);
+        // Single UPDATE: completing an already completed block changes nothing but activity time
+        if (!completionService.markCompleted(userId, courseId, ordinal, scenario.blockCount())) {
+            throw new ProgressNotFoundException(userId, courseId);
         }
 
-        progress.setLastActivityAt(LocalDateTime.now());
-        progress = progressRepository.save(progress);
+        UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
+                .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
-        log.info("Block completed: progressId={}, blockKey={}", progress.getId(), blockKey);
-        return progressMapper.toResponse(progress);
+        log.info("Block completed: progressId={}, blockOrdinal={}", progress.getId(), ordinal);
+        return toResponse(progress);
     }
 
     @Override
@@ -205,18 +223,22 @@ public class ProgressServiceImpl implements ProgressService {
     public ProgressResponse completeCourse(UUID userId, UUID courseId) {
         log.info("Completing course: userId={}, courseId={}", userId, courseId);
 
+        hotSessions.evict(userId, courseId);
         UserProgress progress = progressRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
+        LocalDateTime now = LocalDateTime.now();
         progress.setIsCompleted(true);
         progress.setCompletionPercentage(100);
-        progress.setCompletedAt(LocalDateTime.now());
-        progress.setLastActivityAt(LocalDateTime.now());
+        progress.setCompletedAt(now);
 
         progress = progressRepository.save(progress);
+        // Percentage also goes through the buffer, so an older buffered value cannot overwrite it
+        ProgressUpdate update = new ProgressUpdate(false, null, null, 100, now);
+        writeBuffer.record(userId, courseId, update);
         log.info("Course completed: progressId={}", progress.getId());
 
-        return progressMapper.toResponse(progress);
+        return update.applyTo(toResponse(progress));
     }
 
     @Override
@@ -228,9 +250,15 @@ public class ProgressServiceImpl implements ProgressService {
                 .orElseThrow(() -> new ProgressNotFoundException(userId, courseId));
 
         progressRepository.delete(progress);
+        writeBuffer.discard(userId, courseId);
+        hotSessions.discard(userId, courseId);
         log.info("Progress deleted: progressId={}", progress.getId());
     }
 
+    private ProgressResponse toResponse(UserProgress progress) {
+        return hotSessions.apply(writeBuffer.apply(progressMapper.toResponse(progress)));
+    }
+
     /**
      * Merge two JSON nodes (deep merge)
      * Fields in newData override fields in existingData
@@ -0,0 +1,139 @@
+package com.cbt.platform.progress.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local journal of buffered progress updates, one JSON line per update
+ *
+ * Updates are appended to the active segment before they are acknowledged. A flush rolls to a new
+ * segment and deletes the older ones once their updates are in the database, so after a crash the
+ * remaining segments hold exactly the updates that may not have been written.
+ */
+@Slf4j
+public class ProgressJournal implements Closeable {
+
+    private static final String PREFIX = "progress-";
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+
+    private FileChannel channel;
+    private long segment;
+
+    /**
+     * Journal entry
+     */
+    public record Entry(UUID userId, UUID courseId, ProgressUpdate update) {
+    }
+
+    public ProgressJournal(Path directory, boolean fsync, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read entries left by the previous run in append order and start a new segment after them
+     * A torn last line of a segment (crash during append) is skipped.
+     */
+    public synchronized List<Entry> open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = segments();
+        List<Entry> entries = new ArrayList<>();
+        for (Path path : segments) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        entries.add(objectMapper.readValue(line, Entry.class));
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable entry in progress journal {}", path.getFileName());
+                    }
+                }
+            }
+        }
+        segment = segments.isEmpty() ? 1 : number(segments.get(segments.size() - 1)) + 1;
+        channel = openSegment(segment);
+        return entries;
+    }
+
+    /**
+     * Append entry to the active segment
+     */
+    public synchronized void append(Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Start a new segment
+     *
+     * @return number of the segment closed
+     */
+    public synchronized long roll() throws IOException {
+        channel.close();
+        long closed = segment++;
+        channel = openSegment(segment);
+        return closed;
+    }
+
+    /**
+     * Delete segments up to the given one, their entries are in the database
+     */
+    public void deleteUpTo(long lastSegment) throws IOException {
+        for (Path path : segments()) {
+            if (number(path) <= lastSegment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("%s%012d%s", PREFIX, number, SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long number(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.cbt.platform.progress.writebehind;
+
+/**
+ * Current position of user in course, including buffered moves
+ *
+ * @param sessionId  Current session ID, or null if no session was started
+ * @param blockIndex Current block index within the session
+ */
+public record ProgressPosition(String sessionId, int blockIndex) {
+}
@@ -0,0 +1,73 @@
+package com.cbt.platform.progress.writebehind;
+
+import com.cbt.platform.progress.dto.ProgressResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Buffered change of the small progress fields; null fields are left unchanged
+ *
+ * @param sessionSet           Whether currentSessionId is changed (it may change to null at the end of course)
+ * @param currentSessionId     New current session ID
+ * @param currentBlockIndex    New current block index
+ * @param completionPercentage New completion percentage
+ * @param lastActivityAt       Activity time
+ */
+public record ProgressUpdate(
+        boolean sessionSet,
+        String currentSessionId,
+        Integer currentBlockIndex,
+        Integer completionPercentage,
+        LocalDateTime lastActivityAt
+) {
+
+    /**
+     * Activity only
+     */
+    public static ProgressUpdate touch(LocalDateTime now) {
+        return new ProgressUpdate(false, null, null, null, now);
+    }
+
+    /**
+     * Move to block of session
+     */
+    public static ProgressUpdate position(String sessionId, int blockIndex, LocalDateTime now) {
+        return new ProgressUpdate(true, sessionId, blockIndex, null, now);
+    }
+
+    /**
+     * Combine with a later update: fields set by the later one win, activity time is the latest
+     */
+    public ProgressUpdate merge(ProgressUpdate later) {
+        return new ProgressUpdate(
+                sessionSet || later.sessionSet,
+                later.sessionSet ? later.currentSessionId : currentSessionId,
+                later.currentBlockIndex != null ? later.currentBlockIndex : currentBlockIndex,
+                later.completionPercentage != null ? later.completionPercentage : completionPercentage,
+                lastActivityAt.isAfter(later.lastActivityAt) ? lastActivityAt : later.lastActivityAt);
+    }
+
+    /**
+     * Show update in a response read from the database
+     */
+    public ProgressResponse applyTo(ProgressResponse response) {
+        LocalDateTime activity = response.lastActivityAt() != null && response.lastActivityAt().isAfter(lastActivityAt)
+                ? response.lastActivityAt() : lastActivityAt;
+        return new ProgressResponse(
+                response.id(),
+                response.userId(),
+                response.courseId(),
+                sessionSet ? currentSessionId : response.currentSessionId(),
+                currentBlockIndex != null ? currentBlockIndex : response.currentBlockIndex(),
+                response.userData(),
+                response.completedSessions(),
+                response.completedBlocks(),
+                completionPercentage != null ? completionPercentage : response.completionPercentage(),
+                response.isCompleted(),
+                response.startedAt(),
+                response.completedAt(),
+                activity,
+                response.createdAt(),
+                response.updatedAt());
+    }
+}
@@ -0,0 +1,295 @@
+package com.cbt.platform.progress.writebehind;
+
+import com.cbt.platform.progress.config.ProgressWriteBehindProperties;
+import com.cbt.platform.progress.dto.ProgressResponse;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for the small, frequently changed progress fields
+ * (current position, completion percentage, last activity time)
+ *
+ * Updates are appended to a local journal (ProgressJournal) and coalesced in memory per user and
+ * course; a flush writes one batched UPDATE per row on the flush interval, when maxPending rows are
+ * buffered, and on shutdown. Reads apply buffered updates over the row, so callers see their own moves.
+ * Journal entries left by a crash are replayed on startup. Entity saves never write these columns
+ * (UserProgress uses dynamic updates), so a buffered value is not overwritten by an older one.
+ *
+ * When disabled (the default), every update is written immediately in the caller's transaction.
+ * The buffer and journal belong to one instance and the flush UPDATE carries no version, so enabling it
+ * requires a single instance or sticky routing of each user to one instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressWriteBuffer {
+
+    private static final String UPDATE_SQL = "UPDATE user_progress SET " +
+            "current_session_id = CASE WHEN ? THEN ? ELSE current_session_id END, " +
+            "current_block_index = COALESCE(?, current_block_index), " +
+            "completion_percentage = COALESCE(?, completion_percentage), " +
+            "last_activity_at = GREATEST(COALESCE(last_activity_at, ?), ?), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ? AND course_id = ?";
+
+    private final ProgressWriteBehindProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Read lock: record and read; write lock: swap buffers and roll the journal
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object flushMonitor = new Object();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private volatile Map<ProgressKey, ProgressUpdate> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Updates being written by the running flush, still served to reads
+     */
+    private volatile Map<ProgressKey, ProgressUpdate> flushing = Map.of();
+
+    private ProgressJournal journal;
+    private ExecutorService flushExecutor;
+    private Counter recordedUpdates;
+    private Counter writtenRows;
+
+    @PostConstruct
+    public void init() throws IOException {
+        recordedUpdates = Counter.builder("progress.write-behind.updates")
+                .description("Progress updates recorded")
+                .register(meterRegistry);
+        writtenRows = Counter.builder("progress.write-behind.rows")
+                .description("user_progress rows written for recorded updates")
+                .register(meterRegistry);
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        journal = new ProgressJournal(Path.of(properties.getJournalDirectory()), properties.isFsync(), objectMapper);
+        List<ProgressJournal.Entry> replayed = journal.open();
+        for (ProgressJournal.Entry entry : replayed) {
+            pending.merge(new ProgressKey(entry.userId(), entry.courseId()), entry.update(), ProgressUpdate::merge);
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} progress updates of {} rows from journal", replayed.size(), pending.size());
+        }
+
+        Gauge.builder("progress.write-behind.pending", () -> pending.size())
+                .description("Rows with buffered progress updates")
+                .register(meterRegistry);
+        flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record update of progress row
+     * Returns once the update is in the journal (or in the database when disabled).
+     */
+    public void record(UUID userId, UUID courseId, ProgressUpdate update) {
+        recordedUpdates.increment();
+        ProgressKey key = new ProgressKey(userId, courseId);
+        if (!properties.isEnabled()) {
+            write(Map.of(key, update));
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            journal.append(new ProgressJournal.Entry(userId, courseId, update));
+            pending.merge(key, update, ProgressUpdate::merge);
+        } catch (IOException e) {
+            log.error("Progress journal append failed, writing update directly", e);
+            write(Map.of(key, update));
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pending.size() >= properties.getMaxPending() && flushQueued.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushQueued.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Get buffered update of progress row not yet in the database
+     */
+    public Optional<ProgressUpdate> pending(UUID userId, UUID courseId) {
+        ProgressKey key = new ProgressKey(userId, courseId);
+        lock.readLock().lock();
+        try {
+            ProgressUpdate inFlight = flushing.get(key);
+            ProgressUpdate buffered = pending.get(key);
+            if (inFlight == null || buffered == null) {
+                return Optional.ofNullable(buffered != null ? buffered : inFlight);
+            }
+            return Optional.of(inFlight.merge(buffered));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply buffered update to progress read from the database
+     */
+    public ProgressResponse apply(ProgressResponse response) {
+        return pending(response.userId(), response.courseId())
+                .map(update -> update.applyTo(response))
+                .orElse(response);
+    }
+
+    /**
+     * Current position of progress, including a buffered move
+     */
+    public ProgressPosition position(UserProgress progress) {
+        String sessionId = progress.getCurrentSessionId();
+        int blockIndex = progress.getCurrentBlockIndex() != null ? progress.getCurrentBlockIndex() : 0;
+        Optional<ProgressUpdate> update = pending(progress.getUserId(), progress.getCourseId());
+        if (update.isPresent()) {
+            if (update.get().sessionSet()) {
+                sessionId = update.get().currentSessionId();
+            }
+            if (update.get().currentBlockIndex() != null) {
+                blockIndex = update.get().currentBlockIndex();
+            }
+        }
+        return new ProgressPosition(sessionId, blockIndex);
+    }
+
+    /**
+     * Drop buffered update of deleted progress (a replayed journal entry updates no row)
+     */
+    public void discard(UUID userId, UUID courseId) {
+        lock.readLock().lock();
+        try {
+            pending.remove(new ProgressKey(userId, courseId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write buffered updates in one batch, then delete the journal segments they came from
+     * On failure updates go back to the buffer and the segments are kept.
+     */
+    @Scheduled(fixedDelayString = "${progress.write-behind.flush-interval:5000}")
+    public void flush() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        synchronized (flushMonitor) {
+            Map<ProgressKey, ProgressUpdate> batch;
+            long segment;
+            lock.writeLock().lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                segment = journal.roll();
+                batch = pending;
+                flushing = batch;
+                pending = new ConcurrentHashMap<>();
+            } catch (IOException e) {
+                log.error("Failed to roll progress journal, will retry", e);
+                return;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                write(batch);
+                journal.deleteUpTo(segment);
+                log.debug("Flushed {} progress rows", batch.size());
+            } catch (Exception e) {
+                log.error("Failed to flush progress updates, will retry", e);
+                lock.writeLock().lock();
+                try {
+                    batch.forEach((key, update) -> pending.merge(key, update, (newer, failed) -> failed.merge(newer)));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                flushing = Map.of();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        journal.close();
+    }
+
+    private void write(Map<ProgressKey, ProgressUpdate> batch) {
+        List<Map.Entry<ProgressKey, ProgressUpdate>> rows = new ArrayList<>(batch.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                ProgressKey key = rows.get(i).getKey();
+                ProgressUpdate update = rows.get(i).getValue();
+                Timestamp activity = Timestamp.valueOf(update.lastActivityAt());
+                statement.setBoolean(1, update.sessionSet());
+                statement.setString(2, update.currentSessionId());
+                statement.setObject(3, update.currentBlockIndex(), Types.INTEGER);
+                statement.setObject(4, update.completionPercentage(), Types.INTEGER);
+                statement.setTimestamp(5, activity);
+                statement.setTimestamp(6, activity);
+                statement.setObject(7, key.userId());
+                statement.setObject(8, key.courseId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        writtenRows.increment(rows.size());
+    }
+
+    private record ProgressKey(UUID userId, UUID courseId) {
+    }
+}
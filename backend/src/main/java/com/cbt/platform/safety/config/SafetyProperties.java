@@ -0,0 +1,48 @@
+package com.cbt.platform.safety.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for risk language screening
+ * Binds to safety.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "safety")
+@Data
+public class SafetyProperties {
+
+    /**
+     * Screen user text before it is stored or sent to LLM
+     */
+    private boolean enabled = true;
+
+    /**
+     * Lexicon locations (Spring resource syntax)
+     */
+    private List<String> lexicons = new ArrayList<>(List.of(
+            "classpath:safety/lexicon-ru.txt",
+            "classpath:safety/lexicon-en.txt"
+    ));
+
+    /**
+     * Message shown in safety flow
+     */
+    private String message = "It sounds like you are going through something very hard right now. " +
+            "You don't have to face it alone - please reach out to someone who can help right away.";
+
+    /**
+     * Help lines shown in safety flow
+     */
+    private List<Hotline> hotlines = new ArrayList<>();
+
+    @Data
+    public static class Hotline {
+        private String name;
+        private String phone;
+    }
+}
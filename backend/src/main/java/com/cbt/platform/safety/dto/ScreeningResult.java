@@ -0,0 +1,34 @@
+package com.cbt.platform.safety.dto;
+
+import com.cbt.platform.safety.entity.RiskCategory;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of risk language screening
+ */
+public record ScreeningResult(
+        /**
+         * Detected categories (empty if text is clean)
+         */
+        Set<RiskCategory> categories,
+
+        /**
+         * Matched lexicon terms in normalized form
+         */
+        List<String> matchedTerms
+) {
+    public static final ScreeningResult CLEAN = new ScreeningResult(Set.of(), List.of());
+
+    public boolean isFlagged() {
+        return !categories.isEmpty();
+    }
+
+    /**
+     * Most severe detected category, null if clean
+     */
+    public RiskCategory primaryCategory() {
+        return categories.stream().min(Enum::compareTo).orElse(null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cbt.platform.safety.entity;
+
+/**
+ * Category of risk language detected in user text
+ * Ordered by severity: the first detected category is the primary one
+ */
+public enum RiskCategory {
+    /**
+     * Suicidal ideation or intent
+     */
+    SUICIDE,
+
+    /**
+     * Non-suicidal self-injury
+     */
+    SELF_HARM
+}
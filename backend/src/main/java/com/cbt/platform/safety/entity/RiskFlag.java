@@ -0,0 +1,55 @@
+package com.cbt.platform.safety.entity;
+
+import com.cbt.platform.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of risk language detected in user text
+ * Only matched lexicon terms are stored, never the text itself
+ */
+@Entity
+@Table(name = "risk_flags")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskFlag {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "course_id")
+    private UUID courseId;
+
+    @Column(length = 100)
+    private String blockId;
+
+    /**
+     * Most severe detected category
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RiskCategory category;
+
+    /**
+     * Matched lexicon terms (normalized, comma separated)
+     */
+    @Column(nullable = false, length = 500)
+    private String matchedTerms;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
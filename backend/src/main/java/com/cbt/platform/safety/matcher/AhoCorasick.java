@@ -0,0 +1,164 @@
+package com.cbt.platform.safety.matcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick multi-pattern matcher compiled to a dense automaton
+ *
+ * Characters that occur in patterns get a compact class; all other characters share class 0.
+ * Transitions are a flat int array (state * alphabet + class), so matching is one array
+ * lookup per character with no allocation. Immutable and thread-safe once built.
+ */
+public final class AhoCorasick {
+
+    private final char[] charClasses = new char[Character.MAX_VALUE + 1];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+
+    /**
+     * Called for every pattern occurrence
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * @param pattern index of pattern in the list passed to constructor
+         * @param end     index after the last matched character
+         */
+        void onMatch(int pattern, int end);
+    }
+
+    /**
+     * Build automaton
+     *
+     * @param patterns non-empty patterns
+     */
+    public AhoCorasick(List<String> patterns) {
+        // Compact alphabet
+        int nextClass = 1;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = (char) nextClass++;
+                }
+            }
+        }
+        alphabetSize = nextClass;
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminal.add(new ArrayList<>());
+        patternLengths = new int[patterns.size()];
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern at index " + p);
+            }
+            patternLengths[p] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cls = charClasses[pattern.charAt(i)];
+                Integer next = children.get(state).get(cls);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminal.add(new ArrayList<>());
+                    children.get(state).put(cls, next);
+                }
+                state = next;
+            }
+            terminal.get(state).add(p);
+        }
+
+        // Failure links resolved into full transition table (breadth first)
+        int stateCount = children.size();
+        transitions = new int[stateCount * alphabetSize];
+        outputs = new int[stateCount][];
+        int[] fail = new int[stateCount];
+        outputs[0] = toArray(terminal.get(0));
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : children.get(0).entrySet()) {
+            transitions[edge.getKey()] = edge.getValue();
+            fail[edge.getValue()] = 0;
+            queue.add(edge.getValue());
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failState = fail[state];
+
+            List<Integer> out = new ArrayList<>(terminal.get(state));
+            for (int pattern : outputs[failState]) {
+                out.add(pattern);
+            }
+            outputs[state] = toArray(out);
+
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                Integer child = children.get(state).get(cls);
+                if (child != null) {
+                    fail[child] = transitions[failState * alphabetSize + cls];
+                    transitions[state * alphabetSize + cls] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * alphabetSize + cls] = transitions[failState * alphabetSize + cls];
+                }
+            }
+        }
+    }
+
+    /**
+     * Report every occurrence of every pattern in text
+     */
+    public void match(CharSequence text, MatchHandler handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + charClasses[text.charAt(i)]];
+            int[] out = outputs[state];
+            for (int pattern : out) {
+                handler.onMatch(pattern, i + 1);
+            }
+        }
+    }
+
+    /**
+     * Check whether text contains any pattern
+     */
+    public boolean matchesAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + charClasses[text.charAt(i)]];
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Length of pattern (to get match start from end)
+     */
+    public int patternLength(int pattern) {
+        return patternLengths[pattern];
+    }
+
+    public int stateCount() {
+        return outputs.length;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = values.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,183 @@
+package com.cbt.platform.safety.matcher;
+
+import java.util.Arrays;
+
+/**
+ * Normalizes RU/EN text for lexicon matching
+ *
+ * - lower case, "ё" -> "е", Latin look-alikes inside Cyrillic words -> Cyrillic
+ * - anything that is not a letter or digit separates words
+ * - runs of 3+ equal letters collapse to one ("хочууу" -> "хочу")
+ * - every word is cut to a light stem by stripping the longest known ending,
+ *   keeping at least 3 characters; Russian reflexive "-ся/-сь" is kept as a marker
+ *   so that "повеситься" and "повесить" stay different
+ *
+ * Output is the stems separated and surrounded by single spaces (" хоч жит "),
+ * so a lexicon phrase normalized the same way matches on word boundaries.
+ * Stateless and thread-safe.
+ */
+public final class TextNormalizer {
+
+    private static final int MIN_STEM = 3;
+    private static final int MAX_REPEAT = 2;
+
+    private static final String[][] RU_ENDINGS = indexByLastChar('а', 32,
+            "ившись", "ывшись", "ивши", "ывши", "ющий", "ющая", "ющее",
+            "ами", "ями", "ыми", "ими", "ого", "его", "ому", "ему",
+            "ать", "ять", "еть", "ить", "ыть", "уть",
+            "ила", "ыла", "ала", "яла", "ела", "ило", "ало", "или", "али", "ыли", "ели",
+            "ешь", "ишь", "ете", "ите", "ет", "ит", "ут", "ют", "ат", "ят",
+            "ая", "яя", "ое", "ее", "ые", "ие", "ый", "ий", "ой", "ей", "ую", "юю",
+            "ым", "им", "ом", "ем", "ах", "ях", "ов", "ев",
+            "ал", "ял", "ил", "ел", "ыл", "ла", "ло", "ли", "ть",
+            "у", "ю", "а", "я", "о", "е", "ы", "и", "ь", "й", "л"
+    );
+
+    private static final String[][] EN_ENDINGS = indexByLastChar('a', 26, "ing", "ed", "es", "ly", "s");
+
+    private static final String REFLEXIVE_MARKER = "ся";
+
+    private static final String[] NO_ENDINGS = new String[0];
+
+    /**
+     * Normalize text
+     *
+     * @param text raw user text or lexicon phrase
+     * @return space-delimited stems with leading and trailing space, " " for blank text
+     */
+    public String normalize(CharSequence text) {
+        StringBuilder result = new StringBuilder(text.length() + 2).append(' ');
+        StringBuilder word = new StringBuilder(32);
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c == 'ё' ? 'е' : c);
+            } else if (!word.isEmpty()) {
+                appendStem(word, result);
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) {
+            appendStem(word, result);
+        }
+        return result.toString();
+    }
+
+    private void appendStem(StringBuilder word, StringBuilder result) {
+        boolean cyrillic = hasCyrillic(word);
+        if (cyrillic) {
+            replaceLookAlikes(word);
+        }
+        collapseRepeats(word);
+
+        boolean reflexive = false;
+        if (cyrillic && word.length() - 2 >= MIN_STEM && (endsWith(word, "ся") || endsWith(word, "сь"))) {
+            word.setLength(word.length() - 2);
+            reflexive = true;
+        }
+
+        String[] endings = endingsOf(word, cyrillic ? RU_ENDINGS : EN_ENDINGS, cyrillic ? 'а' : 'a');
+        for (String ending : endings) {
+            if (word.length() - ending.length() >= MIN_STEM && endsWith(word, ending)) {
+                word.setLength(word.length() - ending.length());
+                break;
+            }
+        }
+
+        result.append(word);
+        if (reflexive) {
+            result.append(REFLEXIVE_MARKER);
+        }
+        result.append(' ');
+    }
+
+    private static boolean hasCyrillic(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= '\u0400' && c <= '\u04FF') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void replaceLookAlikes(StringBuilder word) {
+        for (int i = 0; i < word.length(); i++) {
+            char replacement = switch (word.charAt(i)) {
+                case 'a' -> 'а';
+                case 'c' -> 'с';
+                case 'e' -> 'е';
+                case 'o' -> 'о';
+                case 'p' -> 'р';
+                case 'x' -> 'х';
+                case 'y' -> 'у';
+                case 'k' -> 'к';
+                case 'm' -> 'м';
+                case 't' -> 'т';
+                case 'h' -> 'н';
+                case 'b' -> 'в';
+                case '3' -> 'з';
+                case '0' -> 'о';
+                default -> 0;
+            };
+            if (replacement != 0) {
+                word.setCharAt(i, replacement);
+            }
+        }
+    }
+
+    private static void collapseRepeats(StringBuilder word) {
+        int write = 0;
+        int read = 0;
+        while (read < word.length()) {
+            char c = word.charAt(read);
+            int run = 1;
+            while (read + run < word.length() && word.charAt(read + run) == c) {
+                run++;
+            }
+            int keep = run > MAX_REPEAT && Character.isLetter(c) ? 1 : run;
+            for (int i = 0; i < keep; i++) {
+                word.setCharAt(write++, c);
+            }
+            read += run;
+        }
+        word.setLength(write);
+    }
+
+    private static boolean endsWith(CharSequence word, String suffix) {
+        int offset = word.length() - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (word.charAt(offset + i) != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] endingsOf(CharSequence word, String[][] index, char first) {
+        int slot = word.charAt(word.length() - 1) - first;
+        return slot >= 0 && slot < index.length ? index[slot] : NO_ENDINGS;
+    }
+
+    /**
+     * Group endings by last character, longest first, so a word is checked only against
+     * endings it can have
+     */
+    private static String[][] indexByLastChar(char first, int size, String... endings) {
+        String[] sorted = endings.clone();
+        Arrays.sort(sorted, (a, b) -> b.length() - a.length());
+
+        String[][] index = new String[size][];
+        for (int slot = 0; slot < size; slot++) {
+            char last = (char) (first + slot);
+            index[slot] = Arrays.stream(sorted)
+                    .filter(ending -> ending.charAt(ending.length() - 1) == last)
+                    .toArray(String[]::new);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,20 @@
+package com.cbt.platform.safety.repository;
+
+import com.cbt.platform.safety.entity.RiskFlag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for RiskFlag entity
+ */
+@Repository
+public interface RiskFlagRepository extends JpaRepository<RiskFlag, UUID> {
+
+    /**
+     * Find flags of user, newest first
+     */
+    List<RiskFlag> findByUserIdOrderByCreatedAtDesc(UUID userId);
+}
@@ -0,0 +1,134 @@
+package com.cbt.platform.safety.service;
+
+import com.cbt.platform.safety.config.SafetyProperties;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.entity.RiskCategory;
+import com.cbt.platform.safety.matcher.AhoCorasick;
+import com.cbt.platform.safety.matcher.TextNormalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local pre-screen of user text for risk language
+ *
+ * Lexicon format (UTF-8): "[CATEGORY]" starts a section, every other non-empty line
+ * that does not start with "#" is a word or phrase. A trailing "*" matches any
+ * continuation of the last word ("суицид*" matches "суицидальные").
+ * Phrases and text are normalized by TextNormalizer, so one entry covers most
+ * inflected forms; the automaton then finds all entries in one pass over the text.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RiskScreener {
+
+    private static final String PREFIX_WILDCARD = "*";
+
+    private final SafetyProperties properties;
+    private final TextNormalizer normalizer = new TextNormalizer();
+
+    private AhoCorasick matcher;
+    private RiskCategory[] categories;
+    private String[] terms;
+
+    /**
+     * Load lexicons and build automaton
+     */
+    @PostConstruct
+    public void init() {
+        Map<String, RiskCategory> patterns = new LinkedHashMap<>();
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        for (String location : properties.getLexicons()) {
+            loadLexicon(resourceLoader.getResource(location), patterns);
+        }
+        if (patterns.isEmpty()) {
+            throw new IllegalStateException("Risk screening lexicons are empty: " + properties.getLexicons());
+        }
+
+        List<String> keys = new ArrayList<>(patterns.keySet());
+        matcher = new AhoCorasick(keys);
+        categories = patterns.values().toArray(new RiskCategory[0]);
+        terms = keys.stream().map(String::trim).toArray(String[]::new);
+        log.info("Risk screener loaded {} patterns ({} automaton states)", keys.size(), matcher.stateCount());
+    }
+
+    /**
+     * Screen text for risk language
+     *
+     * @param text User text
+     * @return detected categories and matched terms
+     */
+    public ScreeningResult screen(String text) {
+        if (text == null || text.isBlank()) {
+            return ScreeningResult.CLEAN;
+        }
+
+        String normalized = normalizer.normalize(text);
+        if (!matcher.matchesAny(normalized)) {
+            return ScreeningResult.CLEAN;
+        }
+
+        Set<RiskCategory> detected = EnumSet.noneOf(RiskCategory.class);
+        List<String> matched = new ArrayList<>();
+        matcher.match(normalized, (pattern, end) -> {
+            detected.add(categories[pattern]);
+            if (!matched.contains(terms[pattern])) {
+                matched.add(terms[pattern]);
+            }
+        });
+        return new ScreeningResult(detected, matched);
+    }
+
+    private void loadLexicon(Resource resource, Map<String, RiskCategory> patterns) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            RiskCategory category = null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    category = RiskCategory.valueOf(line.substring(1, line.length() - 1).strip().toUpperCase());
+                    continue;
+                }
+                if (category == null) {
+                    throw new IllegalStateException("Lexicon entry outside of category section at "
+                            + resource.getDescription() + ":" + lineNumber);
+                }
+
+                boolean prefix = line.endsWith(PREFIX_WILDCARD);
+                String phrase = prefix ? line.substring(0, line.length() - 1) : line;
+                String pattern = normalizer.normalize(phrase);
+                if (pattern.isBlank()) {
+                    continue;
+                }
+                if (prefix) {
+                    // Drop trailing boundary so any continuation of the last word matches
+                    pattern = pattern.substring(0, pattern.length() - 1);
+                }
+                patterns.putIfAbsent(pattern, category);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load risk lexicon: " + resource.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cbt.platform.safety.service;
+
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
+
+/**
+ * Service for screening user text and routing risk to the safety flow
+ */
+public interface SafetyService {
+
+    /**
+     * Screen user text and record a flag if risk language is found
+     *
+     * @param userId   User ID (null if unknown)
+     * @param courseId Course ID (null if unknown)
+     * @param blockId  Block where text was entered
+     * @param text     User text
+     * @return screening result
+     */
+    ScreeningResult screen(UUID userId, UUID courseId, String blockId, String text);
+
+    /**
+     * Build content of the safety flow shown instead of regular block output
+     *
+     * @param result Flagged screening result
+     * @return content JSON (type "safety_flow")
+     */
+    JsonNode buildSafetyContent(ScreeningResult result);
+}
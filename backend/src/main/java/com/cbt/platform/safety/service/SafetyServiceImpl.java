@@ -0,0 +1,100 @@
+package com.cbt.platform.safety.service;
+
+import com.cbt.platform.safety.config.SafetyProperties;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.entity.RiskCategory;
+import com.cbt.platform.safety.entity.RiskFlag;
+import com.cbt.platform.safety.repository.RiskFlagRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Implementation of SafetyService
+ */
+@Service
+@Slf4j
+public class SafetyServiceImpl implements SafetyService {
+
+    private static final int MAX_TERMS_LENGTH = 500;
+
+    private final SafetyProperties properties;
+    private final RiskScreener riskScreener;
+    private final RiskFlagRepository riskFlagRepository;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate newTransaction;
+
+    public SafetyServiceImpl(SafetyProperties properties,
+                             RiskScreener riskScreener,
+                             RiskFlagRepository riskFlagRepository,
+                             MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.riskScreener = riskScreener;
+        this.riskFlagRepository = riskFlagRepository;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public ScreeningResult screen(UUID userId, UUID courseId, String blockId, String text) {
+        if (!properties.isEnabled()) {
+            return ScreeningResult.CLEAN;
+        }
+
+        ScreeningResult result = riskScreener.screen(text);
+        if (!result.isFlagged()) {
+            return result;
+        }
+
+        RiskCategory category = result.primaryCategory();
+        meterRegistry.counter("safety.screening.flagged", "category", category.name().toLowerCase()).increment();
+        log.warn("Risk language ({}) detected for user {} in block {}", result.categories(), userId, blockId);
+
+        // Flag is best effort: safety flow must be shown even if it cannot be stored.
+        // Own transaction, so a failed insert neither rolls back the caller's submit
+        // nor keeps the flag from being stored when the submit rolls back.
+        try {
+            String terms = String.join(",", result.matchedTerms());
+            newTransaction.executeWithoutResult(status -> riskFlagRepository.saveAndFlush(RiskFlag.builder()
+                    .userId(userId)
+                    .courseId(courseId)
+                    .blockId(blockId)
+                    .category(category)
+                    .matchedTerms(terms.length() > MAX_TERMS_LENGTH ? terms.substring(0, MAX_TERMS_LENGTH) : terms)
+                    .build()));
+        } catch (Exception e) {
+            log.error("Failed to record risk flag for user {}", userId, e);
+        }
+        return result;
+    }
+
+    @Override
+    public JsonNode buildSafetyContent(ScreeningResult result) {
+        ObjectNode content = objectMapper.createObjectNode();
+        content.put("type", "safety_flow");
+        content.put("category", result.primaryCategory().name());
+        content.put("message", properties.getMessage());
+
+        ArrayNode hotlines = content.putArray("hotlines");
+        for (SafetyProperties.Hotline hotline : properties.getHotlines()) {
+            hotlines.addObject()
+                    .put("name", hotline.getName())
+                    .put("phone", hotline.getPhone());
+        }
+        return content;
+    }
+}
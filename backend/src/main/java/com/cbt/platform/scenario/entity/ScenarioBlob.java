@@ -0,0 +1,58 @@
+package com.cbt.platform.scenario.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.ResultCheckStyle;
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable scenario JSON stored once per content
+ * Referenced by courses, drafts and draft versions; the key is the SHA-256 of canonical JSON.
+ * Inserted with ON CONFLICT DO NOTHING: a concurrent first write of the same content stores it once
+ * and neither writer fails (the rows are equal by definition of the key).
+ */
+@Entity
+@Table(name = "scenario_blobs")
+@Immutable
+@SQLInsert(sql = "INSERT INTO scenario_blobs (content, created_at, size_bytes, hash) VALUES (?, ?, ?, ?) "
+        + "ON CONFLICT DO NOTHING", check = ResultCheckStyle.NONE)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioBlob {
+
+    /**
+     * Hex SHA-256 of canonical JSON (see CanonicalJson)
+     */
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    /**
+     * Scenario JSON: meta, global_config, user_profile_schema, sessions
+     */
+    @Column(columnDefinition = "jsonb", nullable = false, updatable = false)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private JsonNode content;
+
+    /**
+     * Size of canonical JSON in bytes
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer sizeBytes;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package com.cbt.platform.scenario.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Part of a scenario split at publish time
+ * Content is a scenario blob itself, so a session unchanged between scenario versions is stored once.
+ */
+@Entity
+@Table(name = "scenario_parts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_scenario_parts_key", columnNames = {"scenario_hash", "kind", "part_key"})
+})
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioPart {
+
+    @Id
+    private UUID id;
+
+    /**
+     * Hash of the full scenario blob
+     */
+    @Column(name = "scenario_hash", nullable = false, length = 64)
+    private String scenarioHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ScenarioPartKind kind;
+
+    /**
+     * Session ID for SESSION parts, field name for SECTION parts, "header" for the header
+     */
+    @Column(name = "part_key", nullable = false, length = 100)
+    private String partKey;
+
+    /**
+     * Order of the part in the scenario
+     */
+    @Column(nullable = false)
+    private Integer position;
+
+    /**
+     * Hash of the blob holding the part content
+     */
+    @Column(name = "part_hash", nullable = false, length = 64)
+    private String partHash;
+
+    /**
+     * Size of part content in bytes
+     */
+    @Column(nullable = false)
+    private Integer sizeBytes;
+}
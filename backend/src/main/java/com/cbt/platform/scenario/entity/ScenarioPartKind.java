@@ -0,0 +1,19 @@
+package com.cbt.platform.scenario.entity;
+
+/**
+ * Kind of a scenario part
+ */
+public enum ScenarioPartKind {
+    /**
+     * Small document the engine always needs: meta, global_config, user_profile_schema
+     */
+    HEADER,
+    /**
+     * One session with its blocks, key is the session ID
+     */
+    SESSION,
+    /**
+     * Other top-level section (inter_session_flows, ui_component_specs, ...), key is the field name
+     */
+    SECTION
+}
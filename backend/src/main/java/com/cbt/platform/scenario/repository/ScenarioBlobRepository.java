@@ -0,0 +1,12 @@
+package com.cbt.platform.scenario.repository;
+
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ScenarioBlob entity operations
+ */
+@Repository
+public interface ScenarioBlobRepository extends JpaRepository<ScenarioBlob, String> {
+}
@@ -0,0 +1,34 @@
+package com.cbt.platform.scenario.repository;
+
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for ScenarioPart entity operations
+ */
+@Repository
+public interface ScenarioPartRepository extends JpaRepository<ScenarioPart, UUID> {
+
+    /**
+     * Find all parts of scenario in scenario order
+     */
+    List<ScenarioPart> findByScenarioHashOrderByPosition(String scenarioHash);
+
+    /**
+     * Insert part unless the scenario was already split (concurrent publishers are safe)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO scenario_parts (id, scenario_hash, kind, part_key, position, part_hash, size_bytes) " +
+            "VALUES (:id, :scenarioHash, :kind, :partKey, :position, :partHash, :sizeBytes) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("scenarioHash") String scenarioHash, @Param("kind") String kind,
+                       @Param("partKey") String partKey, @Param("position") int position,
+                       @Param("partHash") String partHash, @Param("sizeBytes") int sizeBytes);
+}
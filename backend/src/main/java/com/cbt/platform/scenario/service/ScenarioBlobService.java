@@ -0,0 +1,27 @@
+package com.cbt.platform.scenario.service;
+
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Service for content-addressed scenario storage
+ */
+public interface ScenarioBlobService {
+
+    /**
+     * Store scenario JSON once per content
+     * Two transactions storing the same new content at the same time both succeed; the row is written once.
+     *
+     * @param scenarioJson Scenario JSON
+     * @return stored blob (existing one if the content was stored before)
+     */
+    ScenarioBlob store(JsonNode scenarioJson);
+
+    /**
+     * Compute content hash of scenario JSON without storing it
+     *
+     * @param scenarioJson Scenario JSON
+     * @return hex SHA-256 of canonical JSON
+     */
+    String hash(JsonNode scenarioJson);
+}
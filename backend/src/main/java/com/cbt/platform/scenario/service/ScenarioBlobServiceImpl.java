@@ -0,0 +1,47 @@
+package com.cbt.platform.scenario.service;
+
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementation of ScenarioBlobService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioBlobServiceImpl implements ScenarioBlobService {
+
+    private final ScenarioBlobRepository blobRepository;
+
+    @Override
+    @Transactional
+    public ScenarioBlob store(JsonNode scenarioJson) {
+        byte[] canonical = CanonicalJson.toBytes(scenarioJson);
+        String hash = CanonicalJson.sha256(canonical);
+
+        Optional<ScenarioBlob> existing = blobRepository.findById(hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        ScenarioBlob blob = blobRepository.save(ScenarioBlob.builder()
+                .hash(hash)
+                .content(scenarioJson)
+                .sizeBytes(canonical.length)
+                .build());
+        log.info("Stored scenario blob: hash={}, size={}", hash, canonical.length);
+        return blob;
+    }
+
+    @Override
+    public String hash(JsonNode scenarioJson) {
+        return CanonicalJson.sha256(CanonicalJson.toBytes(scenarioJson));
+    }
+}
@@ -0,0 +1,37 @@
+package com.cbt.platform.scenario.service;
+
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+
+import java.util.List;
+
+/**
+ * Service for session-granular access to stored scenarios
+ */
+public interface ScenarioPartService {
+
+    /**
+     * Split stored scenario into header, session and section parts
+     * Does nothing if the scenario was already split.
+     *
+     * @param scenarioHash Hash of the scenario blob
+     * @return parts in scenario order
+     */
+    List<ScenarioPart> split(String scenarioHash);
+
+    /**
+     * Get parts of scenario, splitting it first if needed
+     *
+     * @param scenarioHash Hash of the scenario blob
+     * @return parts in scenario order
+     */
+    List<ScenarioPart> findParts(String scenarioHash);
+
+    /**
+     * Load blob of a part
+     *
+     * @param partHash Hash of the part blob
+     * @return part blob
+     */
+    ScenarioBlob loadPart(String partHash);
+}
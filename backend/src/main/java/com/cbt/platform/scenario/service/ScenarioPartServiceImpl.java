@@ -0,0 +1,58 @@
+package com.cbt.platform.scenario.service;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
+import com.cbt.platform.scenario.repository.ScenarioPartRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of ScenarioPartService
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioPartServiceImpl implements ScenarioPartService {
+
+    private final ScenarioPartRepository partRepository;
+    private final ScenarioBlobRepository blobRepository;
+    private final ScenarioBlobService blobService;
+
+    @Override
+    @Transactional
+    public List<ScenarioPart> split(String scenarioHash) {
+        List<ScenarioPart> existing = partRepository.findByScenarioHashOrderByPosition(scenarioHash);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        List<ScenarioSplitter.Part> parts = ScenarioSplitter.split(loadPart(scenarioHash).getContent());
+        for (ScenarioSplitter.Part part : parts) {
+            ScenarioBlob blob = blobService.store(part.content());
+            partRepository.insertIfAbsent(UuidV7Generator.next(), scenarioHash, part.kind().name(), part.key(),
+                    part.position(), blob.getHash(), blob.getSizeBytes());
+        }
+        log.info("Split scenario {} into {} parts", scenarioHash, parts.size());
+        return partRepository.findByScenarioHashOrderByPosition(scenarioHash);
+    }
+
+    @Override
+    @Transactional
+    public List<ScenarioPart> findParts(String scenarioHash) {
+        List<ScenarioPart> parts = partRepository.findByScenarioHashOrderByPosition(scenarioHash);
+        return parts.isEmpty() ? split(scenarioHash) : parts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScenarioBlob loadPart(String partHash) {
+        return blobRepository.findById(partHash)
+                .orElseThrow(() -> new IllegalStateException("Scenario blob not found: " + partHash));
+    }
+}
@@ -0,0 +1,74 @@
+package com.cbt.platform.scenario.service;
+
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits scenario JSON into a header, one part per session and one part per other large section
+ * Also used by the V14 backfill migration.
+ */
+public final class ScenarioSplitter {
+
+    public static final String HEADER_KEY = "header";
+
+    /**
+     * Top-level fields kept in the header, everything else except sessions becomes a SECTION part
+     */
+    private static final Set<String> HEADER_FIELDS = Set.of("meta", "global_config", "user_profile_schema");
+
+    private ScenarioSplitter() {
+    }
+
+    /**
+     * Part content before storage
+     *
+     * @param kind     Part kind
+     * @param key      Session ID, section name or "header"
+     * @param position Order in scenario (header first, then sessions, then sections)
+     * @param content  Part JSON
+     */
+    public record Part(ScenarioPartKind kind, String key, int position, JsonNode content) {
+    }
+
+    /**
+     * Split scenario JSON into parts
+     */
+    public static List<Part> split(JsonNode scenarioJson) {
+        List<Part> parts = new ArrayList<>();
+        ObjectNode header = JsonNodeFactory.instance.objectNode();
+        List<Map.Entry<String, JsonNode>> sections = new ArrayList<>();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = scenarioJson.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (HEADER_FIELDS.contains(field.getKey())) {
+                header.set(field.getKey(), field.getValue());
+            } else if (!"sessions".equals(field.getKey())) {
+                sections.add(field);
+            }
+        }
+        parts.add(new Part(ScenarioPartKind.HEADER, HEADER_KEY, 0, header));
+
+        JsonNode sessions = scenarioJson.get("sessions");
+        if (sessions != null && sessions.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> sessionFields = sessions.fields();
+            while (sessionFields.hasNext()) {
+                Map.Entry<String, JsonNode> session = sessionFields.next();
+                parts.add(new Part(ScenarioPartKind.SESSION, session.getKey(), parts.size(), session.getValue()));
+            }
+        }
+
+        for (Map.Entry<String, JsonNode> section : sections) {
+            parts.add(new Part(ScenarioPartKind.SECTION, section.getKey(), parts.size(), section.getValue()));
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cbt.platform.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token epochs kept in memory of this instance
+ * Suitable for a single instance only: revocations are not shared and are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenEpochStore implements TokenEpochStore {
+
+    private final Map<UUID, Long> epochs = new ConcurrentHashMap<>();
+
+    @Override
+    public long currentEpoch(UUID userId) {
+        return epochs.getOrDefault(userId, 0L);
+    }
+
+    @Override
+    public long revoke(UUID userId) {
+        return epochs.merge(userId, 1L, Long::sum);
+    }
+}
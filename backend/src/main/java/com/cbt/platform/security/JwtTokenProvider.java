@@ -1,27 +1,44 @@
 package com.cbt.platform.security;
 
+import com.cbt.platform.user.entity.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT token provider for generating and validating JWT tokens
+ * Access tokens carry user ID, role and token epoch, so requests are authenticated without a user lookup.
+ * Signatures are verified once per token: verified claims are cached by SHA-256 of the token until it expires.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_EPOCH = "ep";
+    private static final String CLAIM_TYPE = "type";
+    private static final String TYPE_REFRESH = "refresh";
+
+    private final TokenEpochStore tokenEpochStore;
+
     @Value("${jwt.secret:default-secret-key-change-this-in-production-min-256-bits}")
     private String jwtSecret;
 
@@ -31,7 +48,12 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration:604800000}") // 7 days in milliseconds
     private long refreshTokenExpiration;
 
+    @Value("${jwt.verified-cache-size:10000}") // 0 disables the cache
+    private long verifiedCacheSize;
+
     private SecretKey key;
+    private JwtParser parser;
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
@@ -41,28 +63,48 @@ public class JwtTokenProvider {
             jwtSecret = jwtSecret + "0".repeat(32 - jwtSecret.length());
         }
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+
+        if (verifiedCacheSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                        @Override
+                        public long expireAfterCreate(ByteBuffer digest, VerifiedToken token, long currentTime) {
+                            long ttl = token.expiresAt() - System.currentTimeMillis();
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttl, 0));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(ByteBuffer digest, VerifiedToken token,
+                                                      long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+
+                        @Override
+                        public long expireAfterRead(ByteBuffer digest, VerifiedToken token,
+                                                    long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
     }
 
     /**
-     * Generate access token from Authentication
-     */
-    public String generateAccessToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateAccessToken(userDetails.getUsername(), userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
-    }
-
-    /**
-     * Generate access token from email and roles
+     * Generate access token carrying user ID, role and current token epoch
      */
-    public String generateAccessToken(String email, java.util.List<String> roles) {
+    public String generateAccessToken(UUID userId, String email, UserRole role) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
 
         return Jwts.builder()
                 .setSubject(email)
-                .claim("roles", roles)
+                .claim(CLAIM_USER_ID, userId.toString())
+                .claim(CLAIM_ROLE, role.name())
+                .claim(CLAIM_EPOCH, tokenEpochStore.currentEpoch(userId))
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -72,13 +114,15 @@ public class JwtTokenProvider {
     /**
      * Generate refresh token
      */
-    public String generateRefreshToken(String email) {
+    public String generateRefreshToken(UUID userId, String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
 
         return Jwts.builder()
                 .setSubject(email)
-                .claim("type", "refresh")
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .claim(CLAIM_USER_ID, userId.toString())
+                .claim(CLAIM_EPOCH, tokenEpochStore.currentEpoch(userId))
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -86,33 +130,99 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Extract email from JWT token
+     * Build principal from claims of access token
+     *
+     * @return principal, or null if token is invalid, is not an access token, was issued
+     * before user ID claims were introduced, or was revoked
      */
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public UserPrincipal getPrincipalFromToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null || verified.refresh() || verified.userId() == null || verified.role() == null) {
+            return null;
+        }
+
+        if (verified.epoch() == null || verified.epoch() < tokenEpochStore.currentEpoch(verified.userId())) {
+            log.debug("Rejected revoked token of user {}", verified.userId());
+            return null;
+        }
 
-        return claims.getSubject();
+        return new UserPrincipal(verified.userId(), verified.email(), verified.role());
+    }
+
+    /**
+     * Revoke all tokens issued to user so far
+     */
+    public void revokeTokens(UUID userId) {
+        long epoch = tokenEpochStore.revoke(userId);
+        log.info("Revoked tokens of user {} (epoch {})", userId, epoch);
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * Verify token signature and expiration, served from cache for recently verified tokens
+     *
+     * @return verified claims, or null if token is invalid
+     */
+    private VerifiedToken verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token);
+        if (verified != null) {
+            verifiedTokens.put(digest, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Verify signature and read claims in one pass
+     */
+    private VerifiedToken parse(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                log.error("Invalid JWT token: no expiration");
+                return null;
+            }
+
+            String userId = claims.get(CLAIM_USER_ID, String.class);
+            String role = claims.get(CLAIM_ROLE, String.class);
+            Number epoch = claims.get(CLAIM_EPOCH, Number.class);
+            return new VerifiedToken(
+                    userId != null ? UUID.fromString(userId) : null,
+                    claims.getSubject(),
+                    role != null ? UserRole.valueOf(role) : null,
+                    epoch != null ? epoch.longValue() : null,
+                    TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class)),
+                    claims.getExpiration().getTime()
+            );
         } catch (JwtException ex) {
             log.error("Invalid JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
+            log.error("Invalid JWT claims: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    private ByteBuffer digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        return false;
     }
 }
@@ -0,0 +1,36 @@
+package com.cbt.platform.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Token epochs shared by all instances through Redis
+ * Key "auth:epoch:{userId}" has no TTL: the epoch must never go back, or tokens issued
+ * in an epoch that was revoked once become valid again after a later revoke.
+ * Only users whose tokens were ever revoked have a key.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-store", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisTokenEpochStore implements TokenEpochStore {
+
+    private static final String KEY_PREFIX = "auth:epoch:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long currentEpoch(UUID userId) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    @Override
+    public long revoke(UUID userId) {
+        Long epoch = redisTemplate.opsForValue().increment(KEY_PREFIX + userId);
+        return epoch != null ? epoch : 0L;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cbt.platform.security;
+
+import java.util.UUID;
+
+/**
+ * Per-user token epoch used for revocation
+ * Tokens carry the epoch they were issued in; bumping the epoch invalidates all earlier tokens of the user
+ */
+public interface TokenEpochStore {
+
+    /**
+     * Get current epoch of user (0 if tokens were never revoked)
+     */
+    long currentEpoch(UUID userId);
+
+    /**
+     * Invalidate all tokens issued so far
+     *
+     * @return new epoch
+     */
+    long revoke(UUID userId);
+}
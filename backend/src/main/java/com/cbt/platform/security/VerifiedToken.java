@@ -0,0 +1,22 @@
+package com.cbt.platform.security;
+
+import com.cbt.platform.user.entity.UserRole;
+
+import java.util.UUID;
+
+/**
+ * Claims of a JWT whose signature was verified
+ * Kept in verified-token cache until the token expires
+ */
+public record VerifiedToken(
+        UUID userId,
+        String email,
+        UserRole role,
+        Long epoch,
+        boolean refresh,
+        long expiresAt
+) {
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
@@ -0,0 +1,65 @@
+package com.cbt.platform.usage.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for LLM usage metering and budgets
+ * Binds to usage.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "usage")
+@Data
+public class UsageProperties {
+
+    /**
+     * How often hot counters are flushed to llm_usage_daily (milliseconds)
+     */
+    private long flushInterval = 10000;
+
+    /**
+     * Daily LLM spend limit per user in USD (0 = unlimited)
+     */
+    private double dailyUserBudgetUsd = 0;
+
+    /**
+     * Daily LLM spend limit per course in USD (0 = unlimited)
+     */
+    private double dailyCourseBudgetUsd = 0;
+
+    /**
+     * Keep daily spend of users and courses in Redis, so budgets hold across instances
+     * (each instance counts locally while Redis is unreachable)
+     */
+    private boolean redisSpend = true;
+
+    /**
+     * How long to count spend locally after a Redis failure (milliseconds)
+     */
+    private long redisRetryInterval = 30000;
+
+    /**
+     * Share of regular price paid for batch requests
+     */
+    private double batchPriceMultiplier = 0.5;
+
+    /**
+     * Text shown instead of generated content when budget is exceeded
+     */
+    private String degradedMessage = "AI assistant is temporarily unavailable. Let's continue with the course.";
+
+    /**
+     * Prices per provider (claude, openai, gemini, local)
+     */
+    private Map<String, Price> prices = new HashMap<>();
+
+    @Data
+    public static class Price {
+        private double inputPerMillion = 0; // USD per 1M input tokens
+        private double outputPerMillion = 0; // USD per 1M output tokens
+    }
+}
@@ -0,0 +1,47 @@
+package com.cbt.platform.usage.controller;
+
+import com.cbt.platform.usage.dto.BlockUsageResponse;
+import com.cbt.platform.usage.service.UsageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for LLM usage reports
+ */
+@RestController
+@RequestMapping("/api/admin/usage")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "LLM Usage", description = "LLM token and cost reports (admin only)")
+public class UsageController {
+
+    private final UsageService usageService;
+
+    @GetMapping("/blocks")
+    @Operation(summary = "Get most expensive blocks", description = "Blocks ordered by LLM cost over a period of days")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Usage retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<BlockUsageResponse>> getTopBlocks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<BlockUsageResponse> blocks = usageService.findTopBlocks(from, to, limit);
+        return ResponseEntity.ok(blocks);
+    }
+}
@@ -0,0 +1,16 @@
+package com.cbt.platform.usage.dto;
+
+import java.util.UUID;
+
+/**
+ * LLM usage of a scenario block over a period
+ */
+public record BlockUsageResponse(
+        UUID courseId,
+        String blockId,
+        Long requests,
+        Long inputTokens,
+        Long outputTokens,
+        Long costMicros
+) {
+}
@@ -0,0 +1,64 @@
+package com.cbt.platform.usage.entity;
+
+import com.cbt.platform.common.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Daily LLM usage aggregate per user, course, block, provider and model
+ * Rows are upserted in batches from in-memory counters
+ */
+@Entity
+@Table(name = "llm_usage_daily")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmUsageDaily {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "course_id")
+    private UUID courseId;
+
+    @Column(length = 100)
+    private String blockId;
+
+    @Column(nullable = false, length = 20)
+    private String provider;
+
+    @Column(length = 100)
+    private String model;
+
+    @Column(nullable = false)
+    private Long requests;
+
+    @Column(nullable = false)
+    private Long inputTokens;
+
+    @Column(nullable = false)
+    private Long outputTokens;
+
+    /**
+     * Cost in millionths of USD
+     */
+    @Column(nullable = false)
+    private Long costMicros;
+
+    private LocalDateTime updatedAt;
+}
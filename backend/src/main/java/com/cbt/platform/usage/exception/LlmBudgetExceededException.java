@@ -0,0 +1,15 @@
+package com.cbt.platform.usage.exception;
+
+import com.cbt.platform.common.exception.BaseException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when daily LLM budget of user or course is spent
+ * Message is safe to show to the user (degraded mode text)
+ */
+public class LlmBudgetExceededException extends BaseException {
+
+    public LlmBudgetExceededException(String message) {
+        super(message, "LLM_BUDGET_EXCEEDED", HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cbt.platform.usage.repository;
+
+import com.cbt.platform.usage.dto.BlockUsageResponse;
+import com.cbt.platform.usage.entity.LlmUsageDaily;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for LlmUsageDaily entity operations
+ */
+@Repository
+public interface LlmUsageRepository extends JpaRepository<LlmUsageDaily, UUID> {
+
+    /**
+     * Total cost of user for a day (millionths of USD)
+     */
+    @Query("SELECT COALESCE(SUM(u.costMicros), 0) FROM LlmUsageDaily u WHERE u.usageDate = :date AND u.userId = :userId")
+    long sumCostByUser(@Param("date") LocalDate date, @Param("userId") UUID userId);
+
+    /**
+     * Total cost of course for a day (millionths of USD)
+     */
+    @Query("SELECT COALESCE(SUM(u.costMicros), 0) FROM LlmUsageDaily u WHERE u.usageDate = :date AND u.courseId = :courseId")
+    long sumCostByCourse(@Param("date") LocalDate date, @Param("courseId") UUID courseId);
+
+    /**
+     * Blocks ordered by cost over a period
+     */
+    @Query("SELECT new com.cbt.platform.usage.dto.BlockUsageResponse(u.courseId, u.blockId, SUM(u.requests), " +
+            "SUM(u.inputTokens), SUM(u.outputTokens), SUM(u.costMicros)) FROM LlmUsageDaily u " +
+            "WHERE u.usageDate BETWEEN :from AND :to AND u.blockId IS NOT NULL " +
+            "GROUP BY u.courseId, u.blockId ORDER BY SUM(u.costMicros) DESC")
+    List<BlockUsageResponse> findTopBlocks(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.cbt.platform.usage.service;
+
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.usage.dto.BlockUsageResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service for LLM token and cost accounting
+ */
+public interface UsageService {
+
+    /**
+     * Check daily budgets of user and course before dispatching a call
+     *
+     * @param context call context
+     * @throws com.cbt.platform.usage.exception.LlmBudgetExceededException if budget is spent
+     */
+    void checkBudget(LlmCallContext context);
+
+    /**
+     * Record usage of a completed call
+     *
+     * @param context      call context
+     * @param providerType provider that served the call
+     * @param response     LLM response with token counts
+     */
+    void record(LlmCallContext context, ProviderType providerType, LlmResponse response);
+
+    /**
+     * Find blocks that spent the most over a period
+     *
+     * @param from  first day (inclusive)
+     * @param to    last day (inclusive)
+     * @param limit max number of blocks
+     * @return blocks ordered by cost
+     */
+    List<BlockUsageResponse> findTopBlocks(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Write accumulated counters to usage table
+     */
+    void flush();
+}
@@ -0,0 +1,318 @@
+package com.cbt.platform.usage.service;
+
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.usage.config.UsageProperties;
+import com.cbt.platform.usage.dto.BlockUsageResponse;
+import com.cbt.platform.usage.exception.LlmBudgetExceededException;
+import com.cbt.platform.usage.repository.LlmUsageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Implementation of UsageService
+ *
+ * Usage is accumulated in memory and upserted into llm_usage_daily in batches.
+ * Daily spend of users and courses is kept in Redis ("usage:spend:{user|course}:{date}:{id}",
+ * INCRBY per call), so all instances check budgets against the same total. A missing key is
+ * seeded from llm_usage_daily. While Redis is unreachable each instance counts locally,
+ * seeded the same way, and spend of other instances is seen only as far as it was flushed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UsageServiceImpl implements UsageService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO llm_usage_daily (usage_date, user_id, course_id, block_id, provider, model, " +
+            "requests, input_tokens, output_tokens, cost_micros, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT ON CONSTRAINT uq_llm_usage_daily DO UPDATE SET " +
+            "requests = llm_usage_daily.requests + EXCLUDED.requests, " +
+            "input_tokens = llm_usage_daily.input_tokens + EXCLUDED.input_tokens, " +
+            "output_tokens = llm_usage_daily.output_tokens + EXCLUDED.output_tokens, " +
+            "cost_micros = llm_usage_daily.cost_micros + EXCLUDED.cost_micros, " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String SPEND_KEY_PREFIX = "usage:spend:";
+    private static final String USER_SCOPE = "user";
+    private static final String COURSE_SCOPE = "course";
+    private static final Duration SPEND_TTL = Duration.ofDays(2);
+
+    private final UsageProperties properties;
+    private final LlmUsageRepository usageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private final Map<UsageKey, UsageCounter> counters = new ConcurrentHashMap<>();
+    private final Map<SpendKey, LongAdder> userSpend = new ConcurrentHashMap<>();
+    private final Map<SpendKey, LongAdder> courseSpend = new ConcurrentHashMap<>();
+
+    private volatile long redisUnavailableUntil;
+
+    @Override
+    public void checkBudget(LlmCallContext context) {
+        LocalDate today = LocalDate.now();
+
+        long userBudget = toMicros(properties.getDailyUserBudgetUsd());
+        if (context.userId() != null && userBudget > 0) {
+            long spent = spent(USER_SCOPE, new SpendKey(today, context.userId()), userSpend,
+                    () -> usageRepository.sumCostByUser(today, context.userId()));
+            if (spent >= userBudget) {
+                log.debug("Daily LLM budget of user {} is spent", context.userId());
+                throw new LlmBudgetExceededException(properties.getDegradedMessage());
+            }
+        }
+
+        long courseBudget = toMicros(properties.getDailyCourseBudgetUsd());
+        if (context.courseId() != null && courseBudget > 0) {
+            long spent = spent(COURSE_SCOPE, new SpendKey(today, context.courseId()), courseSpend,
+                    () -> usageRepository.sumCostByCourse(today, context.courseId()));
+            if (spent >= courseBudget) {
+                log.debug("Daily LLM budget of course {} is spent", context.courseId());
+                throw new LlmBudgetExceededException(properties.getDegradedMessage());
+            }
+        }
+    }
+
+    @Override
+    public void record(LlmCallContext context, ProviderType providerType, LlmResponse response) {
+        if (response == null) {
+            return;
+        }
+
+        long inputTokens = response.inputTokens() != null ? response.inputTokens() : 0;
+        long outputTokens = response.outputTokens() != null ? response.outputTokens() :
+                (response.tokensUsed() != null ? response.tokensUsed() : 0);
+        long costMicros = cost(providerType, context.priority(), inputTokens, outputTokens);
+
+        LocalDate today = LocalDate.now();
+        UsageKey key = new UsageKey(today, context.userId(), context.courseId(), context.blockId(),
+                providerType.name().toLowerCase(), response.model());
+        UsageCounter counter = counters.computeIfAbsent(key, k -> new UsageCounter());
+        counter.requests.incrementAndGet();
+        counter.inputTokens.addAndGet(inputTokens);
+        counter.outputTokens.addAndGet(outputTokens);
+        counter.costMicros.addAndGet(costMicros);
+
+        // Keep budget counters current between flushes
+        if (context.userId() != null && properties.getDailyUserBudgetUsd() > 0) {
+            addSpend(USER_SCOPE, new SpendKey(today, context.userId()), userSpend, costMicros);
+        }
+        if (context.courseId() != null && properties.getDailyCourseBudgetUsd() > 0) {
+            addSpend(COURSE_SCOPE, new SpendKey(today, context.courseId()), courseSpend, costMicros);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlockUsageResponse> findTopBlocks(LocalDate from, LocalDate to, int limit) {
+        return usageRepository.findTopBlocks(from, to, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${usage.flush-interval:10000}")
+    public void flush() {
+        LocalDate today = LocalDate.now();
+        userSpend.keySet().removeIf(key -> key.date().isBefore(today));
+        courseSpend.keySet().removeIf(key -> key.date().isBefore(today));
+
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        List<UsageKey> keys = new ArrayList<>();
+        List<long[]> deltas = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<UsageKey, UsageCounter> entry : counters.entrySet()) {
+            long[] delta = entry.getValue().drain();
+            if (delta[0] == 0) {
+                if (entry.getKey().date().isBefore(today)) {
+                    counters.remove(entry.getKey(), entry.getValue());
+                }
+                continue;
+            }
+            UsageKey key = entry.getKey();
+            keys.add(key);
+            deltas.add(delta);
+            rows.add(new Object[]{key.date(), key.userId(), key.courseId(), key.blockId(), key.provider(),
+                    key.model(), delta[0], delta[1], delta[2], delta[3]});
+        }
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            log.debug("Flushed {} LLM usage rows", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to flush LLM usage, will retry", e);
+            for (int i = 0; i < keys.size(); i++) {
+                counters.computeIfAbsent(keys.get(i), k -> new UsageCounter()).add(deltas.get(i));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private long cost(ProviderType providerType, LlmPriority priority, long inputTokens, long outputTokens) {
+        UsageProperties.Price price = properties.getPrices().get(providerType.name().toLowerCase());
+        if (price == null) {
+            return 0;
+        }
+        // USD per 1M tokens == micro-USD per token
+        double cost = inputTokens * price.getInputPerMillion() + outputTokens * price.getOutputPerMillion();
+        if (priority == LlmPriority.BATCH) {
+            cost *= properties.getBatchPriceMultiplier();
+        }
+        return Math.round(cost);
+    }
+
+    /**
+     * Spend of the day from Redis, or from local counter while Redis is unreachable
+     * Stored spend is read outside of the map, so a slow query does not block other keys
+     */
+    private long spent(String scope, SpendKey key, Map<SpendKey, LongAdder> local, LongSupplier stored) {
+        StringRedisTemplate template = redis();
+        if (template != null) {
+            try {
+                String redisKey = redisKey(scope, key);
+                String value = template.opsForValue().get(redisKey);
+                if (value != null) {
+                    return Long.parseLong(value);
+                }
+                long seeded = stored.getAsLong();
+                if (Boolean.TRUE.equals(template.opsForValue().setIfAbsent(redisKey, Long.toString(seeded), SPEND_TTL))) {
+                    return seeded;
+                }
+                value = template.opsForValue().get(redisKey);
+                return value != null ? Long.parseLong(value) : seeded;
+            } catch (DataAccessException e) {
+                redisUnavailable(e);
+            }
+        }
+
+        LongAdder adder = local.get(key);
+        if (adder == null) {
+            LongAdder seeded = seed(stored.getAsLong());
+            adder = local.putIfAbsent(key, seeded);
+            if (adder == null) {
+                adder = seeded;
+            }
+        }
+        return adder.sum();
+    }
+
+    private void addSpend(String scope, SpendKey key, Map<SpendKey, LongAdder> local, long costMicros) {
+        if (costMicros == 0) {
+            return;
+        }
+        StringRedisTemplate template = redis();
+        if (template != null) {
+            try {
+                String redisKey = redisKey(scope, key);
+                Long total = template.opsForValue().increment(redisKey, costMicros);
+                if (total != null && total == costMicros) {
+                    // Key expired or was never seeded: make sure it does not live forever
+                    template.expire(redisKey, SPEND_TTL);
+                }
+                return;
+            } catch (DataAccessException e) {
+                redisUnavailable(e);
+            }
+        }
+
+        LongAdder adder = local.get(key);
+        if (adder != null) {
+            adder.add(costMicros);
+        }
+    }
+
+    private StringRedisTemplate redis() {
+        if (!properties.isRedisSpend() || System.currentTimeMillis() < redisUnavailableUntil) {
+            return null;
+        }
+        return redisTemplate.getIfAvailable();
+    }
+
+    private void redisUnavailable(DataAccessException e) {
+        if (System.currentTimeMillis() >= redisUnavailableUntil) {
+            log.warn("Redis unavailable for LLM spend counters, counting locally for {} ms: {}",
+                    properties.getRedisRetryInterval(), e.getMessage());
+        }
+        redisUnavailableUntil = System.currentTimeMillis() + properties.getRedisRetryInterval();
+    }
+
+    private String redisKey(String scope, SpendKey key) {
+        return SPEND_KEY_PREFIX + scope + ":" + key.date() + ":" + key.id();
+    }
+
+    private LongAdder seed(long value) {
+        LongAdder adder = new LongAdder();
+        adder.add(value);
+        return adder;
+    }
+
+    private long toMicros(double usd) {
+        return Math.round(usd * 1_000_000);
+    }
+
+    private record UsageKey(LocalDate date, UUID userId, UUID courseId, String blockId,
+                            String provider, String model) {
+    }
+
+    private record SpendKey(LocalDate date, UUID id) {
+    }
+
+    /**
+     * Counters of one usage key; drained atomically per field on flush
+     */
+    private static final class UsageCounter {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong inputTokens = new AtomicLong();
+        private final AtomicLong outputTokens = new AtomicLong();
+        private final AtomicLong costMicros = new AtomicLong();
+
+        long[] drain() {
+            return new long[]{
+                    requests.getAndSet(0),
+                    inputTokens.getAndSet(0),
+                    outputTokens.getAndSet(0),
+                    costMicros.getAndSet(0)
+            };
+        }
+
+        void add(long[] delta) {
+            requests.addAndGet(delta[0]);
+            inputTokens.addAndGet(delta[1]);
+            outputTokens.addAndGet(delta[2]);
+            costMicros.addAndGet(delta[3]);
+        }
+    }
+}
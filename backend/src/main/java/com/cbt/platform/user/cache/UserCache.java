@@ -0,0 +1,155 @@
+package com.cbt.platform.user.cache;
+
+import com.cbt.platform.user.config.UserCacheProperties;
+import com.cbt.platform.user.entity.User;
+import com.cbt.platform.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process cache of user rows keyed by id and by lowercased email
+ *
+ * Entries expire after user.cache.ttl, so isActive/deletedAt changes made on another instance
+ * are honored at most that late. Local changes are evicted right away and again after commit,
+ * and, with Redis invalidation on, published to the other instances.
+ * Cached users are detached snapshots: read them, never modify them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final UserCacheProperties properties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    private Cache<UUID, User> byId;
+    private Cache<String, UUID> idByEmail;
+
+    @PostConstruct
+    public void init() {
+        Duration ttl = Duration.ofMillis(properties.getTtl());
+        byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(properties.getMaxSize())
+                .build();
+        idByEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(properties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Find active (not deactivated, not deleted) user by id
+     */
+    public Optional<User> findActiveById(UUID id) {
+        if (!properties.isEnabled()) {
+            return userRepository.findActiveById(id);
+        }
+        User user = byId.getIfPresent(id);
+        if (user == null) {
+            user = userRepository.findById(id).orElse(null);
+            if (user == null) {
+                return Optional.empty();
+            }
+            put(user);
+        }
+        return Optional.of(user).filter(this::isActive);
+    }
+
+    /**
+     * Find active (not deactivated, not deleted) user by email, case insensitive
+     */
+    public Optional<User> findActiveByEmail(String email) {
+        if (!properties.isEnabled()) {
+            return userRepository.findActiveByEmail(email);
+        }
+        String key = normalize(email);
+        UUID id = idByEmail.getIfPresent(key);
+        if (id != null) {
+            User user = byId.getIfPresent(id);
+            if (user != null && normalize(user.getEmail()).equals(key)) {
+                return Optional.of(user).filter(this::isActive);
+            }
+        }
+        User user = userRepository.findByEmailIgnoreCase(email).orElse(null);
+        if (user == null) {
+            return Optional.empty();
+        }
+        put(user);
+        return Optional.of(user).filter(this::isActive);
+    }
+
+    /**
+     * Drop user from the cache of this and (with Redis invalidation on) every other instance
+     * Called by writers of the users table; repeated after commit so that a reader racing the
+     * transaction cannot leave the old row cached.
+     */
+    public void evict(UUID id) {
+        evictLocal(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(id);
+                    publish(id);
+                }
+            });
+        } else {
+            publish(id);
+        }
+    }
+
+    /**
+     * Drop user from the cache of this instance only
+     */
+    public void evictLocal(UUID id) {
+        User user = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (user != null && user.getEmail() != null) {
+            idByEmail.invalidate(normalize(user.getEmail()));
+        }
+    }
+
+    private void put(User user) {
+        byId.put(user.getId(), user);
+        idByEmail.put(normalize(user.getEmail()), user.getId());
+    }
+
+    private void publish(UUID id) {
+        if (!properties.isRedisInvalidation()) {
+            return;
+        }
+        StringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.convertAndSend(properties.getChannel(), id.toString());
+        } catch (RuntimeException e) {
+            // Other instances fall back to TTL expiry
+            log.warn("Failed to publish user cache invalidation for {}: {}", id, e.getMessage());
+        }
+    }
+
+    private boolean isActive(User user) {
+        return Boolean.TRUE.equals(user.getIsActive()) && user.getDeletedAt() == null;
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cbt.platform.user.cache;
+
+import com.cbt.platform.user.config.UserCacheProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Applies user cache invalidations published by other instances
+ */
+@Configuration
+@ConditionalOnProperty(name = "user.cache.redis-invalidation", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationListener implements MessageListener {
+
+    private final UserCache userCache;
+    private final UserCacheProperties properties;
+
+    @Bean
+    public RedisMessageListenerContainer userCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        return container;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            userCache.evictLocal(UUID.fromString(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed user cache invalidation: {}", body);
+        }
+    }
+}
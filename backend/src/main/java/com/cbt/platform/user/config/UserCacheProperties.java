@@ -0,0 +1,41 @@
+package com.cbt.platform.user.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the user identity cache
+ * Binds to user.cache.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "user.cache")
+@Data
+public class UserCacheProperties {
+
+    /**
+     * Serve user lookups from the in-process cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a cached user stays valid (milliseconds)
+     * Upper bound on how late another instance sees deactivation without Redis invalidation
+     */
+    private long ttl = 60000;
+
+    /**
+     * Max number of cached users
+     */
+    private long maxSize = 10000;
+
+    /**
+     * Propagate invalidations to other instances through Redis pub/sub
+     */
+    private boolean redisInvalidation = false;
+
+    /**
+     * Redis channel for invalidation messages
+     */
+    private String channel = "user-cache:invalidate";
+}
@@ -1,5 +1,6 @@
 package com.cbt.platform.user.controller;
 
+import com.cbt.platform.user.dto.ChangeRoleRequest;
 import com.cbt.platform.user.dto.UpdateProfileRequest;
 import com.cbt.platform.user.dto.UserResponse;
 import com.cbt.platform.user.service.UserService;
@@ -79,6 +80,20 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Change user role (admin only)", description = "Change user role and revoke issued tokens")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Role changed successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<UserResponse> changeRole(
+            @PathVariable UUID id,
+            @Valid @RequestBody ChangeRoleRequest request) {
+        UserResponse user = userService.changeRole(id, request.role());
+        return ResponseEntity.ok(user);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete user (admin only)", description = "Soft delete a user account")
@@ -0,0 +1,13 @@
+package com.cbt.platform.user.dto;
+
+import com.cbt.platform.user.entity.UserRole;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for changing user role
+ */
+public record ChangeRoleRequest(
+        @NotNull(message = "Role is required")
+        UserRole role
+) {
+}
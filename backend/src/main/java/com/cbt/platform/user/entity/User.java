@@ -1,5 +1,6 @@
 package com.cbt.platform.user.entity;
 
+import com.cbt.platform.common.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(unique = true, nullable = false, length = 255)
@@ -1,6 +1,7 @@
 package com.cbt.platform.user.service;
 
 import com.cbt.platform.user.dto.*;
+import com.cbt.platform.user.entity.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -60,6 +61,16 @@ public interface UserService {
      */
     UserResponse updateProfile(UUID id, UpdateProfileRequest request);
 
+    /**
+     * Change user role
+     * Issued tokens carry the role, so they are revoked
+     *
+     * @param id   user ID
+     * @param role new role
+     * @return updated user response
+     */
+    UserResponse changeRole(UUID id, UserRole role);
+
     /**
      * Update last login timestamp
      *
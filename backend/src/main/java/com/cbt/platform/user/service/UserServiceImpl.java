@@ -1,8 +1,10 @@
 package com.cbt.platform.user.service;
 
 import com.cbt.platform.security.JwtTokenProvider;
+import com.cbt.platform.user.cache.UserCache;
 import com.cbt.platform.user.dto.*;
 import com.cbt.platform.user.entity.User;
+import com.cbt.platform.user.entity.UserRole;
 import com.cbt.platform.user.exception.InvalidCredentialsException;
 import com.cbt.platform.user.exception.UserAlreadyExistsException;
 import com.cbt.platform.user.exception.UserNotFoundException;
@@ -17,7 +19,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -32,6 +33,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserCache userCache;
 
     @Override
     @Transactional
@@ -74,15 +76,13 @@ public class UserServiceImpl implements UserService {
         // Update last login timestamp
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
+        userCache.evict(user.getId());
 
         log.info("User logged in: id={}, email={}", user.getId(), user.getEmail());
 
         // Generate JWT tokens
-        String accessToken = jwtTokenProvider.generateAccessToken(
-                user.getEmail(),
-                List.of("ROLE_" + user.getRole().name())
-        );
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+        String accessToken = jwtTokenProvider.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId(), user.getEmail());
 
         return new AuthResponse(
                 accessToken,
@@ -96,7 +96,7 @@ public class UserServiceImpl implements UserService {
     public UserResponse findById(UUID id) {
         log.debug("Finding user by id: {}", id);
 
-        return userRepository.findActiveById(id)
+        return userCache.findActiveById(id)
                 .map(userMapper::toResponse)
                 .orElseThrow(() -> new UserNotFoundException(id));
     }
@@ -106,7 +106,7 @@ public class UserServiceImpl implements UserService {
     public UserResponse findByEmail(String email) {
         log.debug("Finding user by email: {}", email);
 
-        return userRepository.findActiveByEmail(email)
+        return userCache.findActiveByEmail(email)
                 .map(userMapper::toResponse)
                 .orElseThrow(() -> new UserNotFoundException(email));
     }
@@ -130,11 +130,29 @@ public class UserServiceImpl implements UserService {
 
         userMapper.updateEntity(user, request);
         user = userRepository.save(user);
+        userCache.evict(id);
 
         log.info("User profile updated: id={}", user.getId());
         return userMapper.toResponse(user);
     }
 
+    @Override
+    @Transactional
+    public UserResponse changeRole(UUID id, UserRole role) {
+        log.info("Changing user role: id={}, role={}", id, role);
+
+        User user = userRepository.findActiveById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+
+        user.setRole(role);
+        user = userRepository.save(user);
+        userCache.evict(id);
+        jwtTokenProvider.revokeTokens(id);
+
+        log.info("User role changed: id={}, role={}", id, role);
+        return userMapper.toResponse(user);
+    }
+
     @Override
     @Transactional
     public void updateLastLogin(UUID id) {
@@ -145,6 +163,7 @@ public class UserServiceImpl implements UserService {
 
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
+        userCache.evict(id);
     }
 
     @Override
@@ -156,6 +175,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException(id));
 
         userRepository.softDelete(id);
+        userCache.evict(id);
+        jwtTokenProvider.revokeTokens(id);
         log.info("User soft deleted: id={}", id);
     }
 
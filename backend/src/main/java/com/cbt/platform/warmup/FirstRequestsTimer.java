@@ -0,0 +1,60 @@
+package com.cbt.platform.warmup;
+
+import com.cbt.platform.warmup.config.WarmUpProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times the first HTTP requests served by the instance as http.server.first.requests
+ * Shows whether warm-up removed the cold-start penalty; later requests pass through untimed
+ */
+@Component
+@Slf4j
+public class FirstRequestsTimer extends OncePerRequestFilter {
+
+    private final int limit;
+    private final Timer timer;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    public FirstRequestsTimer(WarmUpProperties properties, MeterRegistry meterRegistry) {
+        this.limit = properties.getFirstRequests();
+        this.timer = Timer.builder("http.server.first.requests")
+                .description("Latency of the first requests after startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        if (started.get() >= limit || started.incrementAndGet() > limit) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (finished.incrementAndGet() == limit) {
+                log.info("First {} requests: mean {} ms, max {} ms", limit,
+                        Math.round(timer.mean(TimeUnit.MILLISECONDS)), Math.round(timer.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.cbt.platform.warmup;
+
+import com.cbt.platform.course.dto.CourseResponse;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.editor.service.BlockTemplateService;
+import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.handler.BlockHandler;
+import com.cbt.platform.engine.service.BlockHandlerRegistry;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.service.LlmProviderFactory;
+import com.cbt.platform.llm.service.TemplateEngine;
+import com.cbt.platform.warmup.config.WarmUpProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-up run once on startup, before the instance reports ready
+ *
+ * Spring Boot switches readiness to ACCEPTING_TRAFFIC only after all ApplicationRunners
+ * have finished, so the first users get compiled scenarios, filled caches, JIT-compiled
+ * handler paths and open connections instead of paying for them. Every step is best effort:
+ * a failing step is logged and skipped, it never prevents the instance from starting.
+ * Durations are recorded as warmup.duration{step}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    /**
+     * LLM blocks are only validated: rendering them would call the provider and spend tokens
+     */
+    private static final Set<BlockType> LLM_BLOCK_TYPES = Set.of(BlockType.LLM_CONVERSATION, BlockType.LLM_RESPONSE);
+
+    private final WarmUpProperties properties;
+    private final DataSource dataSource;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+    private final LlmProviderFactory llmProviderFactory;
+    private final CourseService courseService;
+    private final ScenarioCache scenarioCache;
+    private final BlockTemplateService blockTemplateService;
+    private final BlockHandlerRegistry handlerRegistry;
+    private final TemplateEngine templateEngine;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        step("connections", this::openConnections);
+        Map<BlockType, JsonNode> sampleBlocks = new EnumMap<>(BlockType.class);
+        step("scenarios", () -> compileScenarios(sampleBlocks));
+        step("templates", this::primeTemplates);
+        step("handlers", () -> exerciseHandlers(sampleBlocks));
+
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Open pooled connections to the database, Redis and LLM providers
+     */
+    private void openConnections() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.isValid(2);
+        }
+
+        RedisConnectionFactory redis = properties.isRedis() ? redisConnectionFactory.getIfAvailable() : null;
+        if (redis != null) {
+            try (RedisConnection connection = redis.getConnection()) {
+                connection.ping();
+            }
+        }
+
+        if (properties.isLlm()) {
+            for (ProviderType type : llmProviderFactory.getAvailableProviders()) {
+                llmProviderFactory.getProvider(type).warmUp();
+            }
+        }
+    }
+
+    /**
+     * Compile scenarios of published courses and load their first sessions,
+     * keeping the first block of every type as a sample for the handlers
+     */
+    private void compileScenarios(Map<BlockType, JsonNode> sampleBlocks) {
+        List<CourseResponse> courses = courseService.findAllActiveAndPublished();
+        for (CourseResponse course : courses) {
+            try {
+                CompiledScenario scenario = scenarioCache.get(course.id());
+                JsonNode blocks = scenarioCache.session(scenario, scenario.firstSessionId()).get("blocks");
+                if (blocks == null) {
+                    continue;
+                }
+                for (JsonNode block : blocks) {
+                    BlockType type = blockType(block);
+                    if (type != null) {
+                        sampleBlocks.putIfAbsent(type, block);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Warm-up of course {} failed: {}", course.id(), e.getMessage());
+            }
+        }
+        log.debug("Compiled {} published scenarios", courses.size());
+    }
+
+    private void primeTemplates() {
+        blockTemplateService.findAllActive();
+        ObjectNode userData = objectMapper.createObjectNode().put("name", "warm-up");
+        templateEngine.resolve("{{name}}", userData);
+    }
+
+    /**
+     * Run every handler on a real block of its type, or on a synthetic one if no course has it
+     */
+    private void exerciseHandlers(Map<BlockType, JsonNode> sampleBlocks) {
+        ObjectNode userData = objectMapper.createObjectNode();
+        ObjectNode userInput = objectMapper.createObjectNode();
+        for (BlockType type : BlockType.values()) {
+            if (!handlerRegistry.hasHandler(type)) {
+                continue;
+            }
+            BlockHandler handler = handlerRegistry.getHandler(type);
+            JsonNode block = sampleBlocks.getOrDefault(type, syntheticBlock(type));
+            try {
+                handler.validateInput(block, userInput);
+                if (!LLM_BLOCK_TYPES.contains(type)) {
+                    handler.handle(block, userData.deepCopy(), null);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Warm-up of {} handler failed: {}", type, e.getMessage());
+            }
+        }
+    }
+
+    private JsonNode syntheticBlock(BlockType type) {
+        return objectMapper.createObjectNode()
+                .put("id", "warmup")
+                .put("type", type.name().toLowerCase());
+    }
+
+    private BlockType blockType(JsonNode block) {
+        JsonNode type = block.get("type");
+        if (type == null) {
+            return null;
+        }
+        try {
+            return BlockType.valueOf(type.asText().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void step(String name, WarmUpStep step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (Exception e) {
+            log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.duration")
+                .description("Startup warm-up duration by step")
+                .tag("step", name)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up step {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,35 @@
+package com.cbt.platform.warmup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the startup warm-up
+ * Binds to warmup.* properties in application.yml
+ */
+@Component
+@ConfigurationProperties(prefix = "warmup")
+@Data
+public class WarmUpProperties {
+
+    /**
+     * Run warm-up before the instance reports ready
+     */
+    private boolean enabled = true;
+
+    /**
+     * Open a connection to Redis (only where Redis is deployed)
+     */
+    private boolean redis = false;
+
+    /**
+     * Open connections to configured LLM providers (HEAD request, no tokens used)
+     */
+    private boolean llm = true;
+
+    /**
+     * Number of first HTTP requests timed as http.server.first.requests (0 = off)
+     */
+    private int firstRequests = 100;
+}
@@ -0,0 +1,67 @@
+package db.migration;
+
+import com.cbt.platform.scenario.service.CanonicalJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Move inline scenario_json of courses, drafts and draft versions into scenario_blobs
+ * Hashing must match CanonicalJson, so it runs in Java rather than SQL.
+ */
+public class V11__Backfill_scenario_blobs extends BaseJavaMigration {
+
+    private static final String[] TABLES = {"courses", "scenario_drafts", "scenario_draft_versions"};
+    private static final int BATCH_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        for (String table : TABLES) {
+            backfill(connection, table);
+        }
+    }
+
+    private void backfill(Connection connection, String table) throws Exception {
+        try (Statement select = connection.createStatement();
+             PreparedStatement insertBlob = connection.prepareStatement(
+                     "INSERT INTO scenario_blobs (hash, content, size_bytes) VALUES (?, CAST(? AS jsonb), ?) " +
+                             "ON CONFLICT (hash) DO NOTHING");
+             PreparedStatement updateRow = connection.prepareStatement(
+                     "UPDATE " + table + " SET scenario_hash = ? WHERE id = ?")) {
+
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, scenario_json::text FROM " + table)) {
+                int pending = 0;
+                while (rows.next()) {
+                    byte[] canonical = CanonicalJson.toBytes(objectMapper.readTree(rows.getString(2)));
+                    String hash = CanonicalJson.sha256(canonical);
+
+                    insertBlob.setString(1, hash);
+                    insertBlob.setString(2, new String(canonical, StandardCharsets.UTF_8));
+                    insertBlob.setInt(3, canonical.length);
+                    insertBlob.executeUpdate();
+
+                    updateRow.setString(1, hash);
+                    updateRow.setObject(2, rows.getObject(1));
+                    updateRow.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        updateRow.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    updateRow.executeBatch();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package db.migration;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import com.cbt.platform.scenario.service.CanonicalJson;
+import com.cbt.platform.scenario.service.ScenarioSplitter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Split scenarios of existing courses into parts (new courses are split when published)
+ * Uses the same splitter and canonical hashing as the application.
+ */
+public class V14__Split_course_scenarios extends BaseJavaMigration {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             PreparedStatement insertBlob = connection.prepareStatement(
+                     "INSERT INTO scenario_blobs (hash, content, size_bytes) VALUES (?, CAST(? AS jsonb), ?) " +
+                             "ON CONFLICT (hash) DO NOTHING");
+             PreparedStatement insertPart = connection.prepareStatement(
+                     "INSERT INTO scenario_parts (id, scenario_hash, kind, part_key, position, part_hash, size_bytes) " +
+                             "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (scenario_hash, kind, part_key) DO NOTHING");
+             ResultSet rows = select.executeQuery(
+                     "SELECT b.hash, b.content::text FROM scenario_blobs b " +
+                             "WHERE b.hash IN (SELECT DISTINCT scenario_hash FROM courses)")) {
+
+            while (rows.next()) {
+                String scenarioHash = rows.getString(1);
+                for (ScenarioSplitter.Part part : ScenarioSplitter.split(objectMapper.readTree(rows.getString(2)))) {
+                    byte[] canonical = CanonicalJson.toBytes(part.content());
+                    String partHash = CanonicalJson.sha256(canonical);
+
+                    insertBlob.setString(1, partHash);
+                    insertBlob.setString(2, new String(canonical, StandardCharsets.UTF_8));
+                    insertBlob.setInt(3, canonical.length);
+                    insertBlob.executeUpdate();
+
+                    insertPart.setObject(1, UuidV7Generator.next());
+                    insertPart.setString(2, scenarioHash);
+                    insertPart.setString(3, part.kind().name());
+                    insertPart.setString(4, part.key());
+                    insertPart.setInt(5, part.position());
+                    insertPart.setString(6, partHash);
+                    insertPart.setInt(7, canonical.length);
+                    insertPart.executeUpdate();
+                }
+            }
+        }
+    }
+}
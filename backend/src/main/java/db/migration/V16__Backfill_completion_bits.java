@@ -0,0 +1,102 @@
+package db.migration;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.progress.service.CompletionBits;
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.cbt.platform.scenario.service.ScenarioSplitter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Convert completed block keys of existing progress into completion bitsets, then drop completed_blocks
+ * Ordinals follow the current scenario order; completed keys no longer in the scenario get the next ordinals,
+ * so no completion is lost. Courses without completed blocks get their ordinals on first use.
+ */
+public class V16__Backfill_completion_bits extends BaseJavaMigration {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet courses = select.executeQuery(
+                     "SELECT c.id, b.content::text FROM courses c JOIN scenario_blobs b ON b.hash = c.scenario_hash " +
+                             "WHERE c.id IN (SELECT course_id FROM user_progress " +
+                             "WHERE jsonb_array_length(coalesce(completed_blocks, '[]'::jsonb)) > 0)")) {
+            while (courses.next()) {
+                backfillCourse(connection, courses.getObject(1, UUID.class), objectMapper.readTree(courses.getString(2)));
+            }
+        }
+
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("ALTER TABLE user_progress DROP COLUMN completed_blocks");
+        }
+    }
+
+    private void backfillCourse(Connection connection, UUID courseId, JsonNode scenario) throws Exception {
+        Map<String, Integer> ordinals = new LinkedHashMap<>();
+        int blockCount = 0;
+        for (ScenarioSplitter.Part part : ScenarioSplitter.split(scenario)) {
+            if (part.kind() == ScenarioPartKind.SESSION) {
+                for (String key : CompiledScenario.sessionBlockKeys(part.key(), part.content())) {
+                    if (ordinals.putIfAbsent(key, ordinals.size()) == null) {
+                        blockCount++;
+                    }
+                }
+            }
+        }
+
+        try (PreparedStatement selectProgress = connection.prepareStatement(
+                     "SELECT id, completed_blocks::text FROM user_progress WHERE course_id = ?");
+             PreparedStatement updateProgress = connection.prepareStatement(
+                     "UPDATE user_progress SET completed_bits = ?, completed_block_count = ?, " +
+                             "completion_percentage = GREATEST(completion_percentage, ?) WHERE id = ?")) {
+            selectProgress.setObject(1, courseId);
+            try (ResultSet rows = selectProgress.executeQuery()) {
+                while (rows.next()) {
+                    List<String> completed = rows.getString(2) == null ? List.of()
+                            : List.of(objectMapper.readValue(rows.getString(2), String[].class));
+                    byte[] bits = null;
+                    int count = 0;
+                    for (String key : completed) {
+                        int ordinal = ordinals.computeIfAbsent(key, k -> ordinals.size());
+                        if (!CompletionBits.isSet(bits, ordinal)) {
+                            bits = CompletionBits.set(bits, ordinal);
+                            count++;
+                        }
+                    }
+                    updateProgress.setBytes(1, bits);
+                    updateProgress.setInt(2, count);
+                    updateProgress.setInt(3, Math.min(100, count * 100 / Math.max(blockCount, 1)));
+                    updateProgress.setObject(4, rows.getObject(1, UUID.class));
+                    updateProgress.executeUpdate();
+                }
+            }
+        }
+
+        try (PreparedStatement insertOrdinal = connection.prepareStatement(
+                "INSERT INTO course_block_ordinals (id, course_id, block_key, ordinal) VALUES (?, ?, ?, ?)")) {
+            for (Map.Entry<String, Integer> ordinal : ordinals.entrySet()) {
+                insertOrdinal.setObject(1, UuidV7Generator.next());
+                insertOrdinal.setObject(2, courseId);
+                insertOrdinal.setString(3, ordinal.getKey());
+                insertOrdinal.setInt(4, ordinal.getValue());
+                insertOrdinal.addBatch();
+            }
+            insertOrdinal.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- Content-addressed store of scenario JSON shared by courses, drafts and draft versions
+-- Rows are immutable: key is SHA-256 of canonical JSON (sorted keys, no whitespace)
+
+CREATE TABLE scenario_blobs (
+    hash VARCHAR(64) PRIMARY KEY,
+    content JSONB NOT NULL,
+    size_bytes INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- References are filled by V11 (Java migration: canonical hashing is done in the application)
+ALTER TABLE courses ADD COLUMN scenario_hash VARCHAR(64);
+ALTER TABLE scenario_drafts ADD COLUMN scenario_hash VARCHAR(64);
+ALTER TABLE scenario_draft_versions ADD COLUMN scenario_hash VARCHAR(64);
+
+COMMENT ON TABLE scenario_blobs IS 'Immutable scenario JSON stored once per content';
+COMMENT ON COLUMN scenario_blobs.hash IS 'Hex SHA-256 of canonical JSON (sorted keys, compact, UTF-8)';
+COMMENT ON COLUMN scenario_blobs.size_bytes IS 'Size of canonical JSON in bytes';
@@ -0,0 +1,29 @@
+-- Switch courses, drafts and draft versions to scenario_blobs references (filled by V11)
+
+ALTER TABLE courses ALTER COLUMN scenario_hash SET NOT NULL;
+ALTER TABLE scenario_drafts ALTER COLUMN scenario_hash SET NOT NULL;
+ALTER TABLE scenario_draft_versions ALTER COLUMN scenario_hash SET NOT NULL;
+
+ALTER TABLE courses ADD CONSTRAINT fk_courses_scenario_hash
+    FOREIGN KEY (scenario_hash) REFERENCES scenario_blobs(hash);
+ALTER TABLE scenario_drafts ADD CONSTRAINT fk_scenario_drafts_scenario_hash
+    FOREIGN KEY (scenario_hash) REFERENCES scenario_blobs(hash);
+ALTER TABLE scenario_draft_versions ADD CONSTRAINT fk_scenario_draft_versions_scenario_hash
+    FOREIGN KEY (scenario_hash) REFERENCES scenario_blobs(hash);
+
+CREATE INDEX idx_courses_scenario_hash ON courses(scenario_hash);
+CREATE INDEX idx_scenario_drafts_scenario_hash ON scenario_drafts(scenario_hash);
+CREATE INDEX idx_scenario_draft_versions_scenario_hash ON scenario_draft_versions(scenario_hash);
+
+-- Inline copies and their GIN indexes are replaced by the shared blobs
+DROP INDEX IF EXISTS idx_courses_scenario_json;
+DROP INDEX IF EXISTS idx_scenario_drafts_scenario_json;
+DROP INDEX IF EXISTS idx_scenario_draft_versions_scenario_json;
+
+ALTER TABLE courses DROP COLUMN scenario_json;
+ALTER TABLE scenario_drafts DROP COLUMN scenario_json;
+ALTER TABLE scenario_draft_versions DROP COLUMN scenario_json;
+
+COMMENT ON COLUMN courses.scenario_hash IS 'Scenario blob of the course';
+COMMENT ON COLUMN scenario_drafts.scenario_hash IS 'Scenario blob of the current draft content';
+COMMENT ON COLUMN scenario_draft_versions.scenario_hash IS 'Scenario blob snapshot at this version';
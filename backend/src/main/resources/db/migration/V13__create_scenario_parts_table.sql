@@ -0,0 +1,20 @@
+-- Published scenarios split into header, sessions and sections for session-granular loading
+-- Part content is a scenario_blobs row, so a session unchanged between versions is stored once
+
+CREATE TABLE scenario_parts (
+    id UUID PRIMARY KEY,
+    scenario_hash VARCHAR(64) NOT NULL REFERENCES scenario_blobs(hash),
+    kind VARCHAR(20) NOT NULL,
+    part_key VARCHAR(100) NOT NULL,
+    position INTEGER NOT NULL,
+    part_hash VARCHAR(64) NOT NULL REFERENCES scenario_blobs(hash),
+    size_bytes INTEGER NOT NULL,
+    CONSTRAINT uk_scenario_parts_key UNIQUE (scenario_hash, kind, part_key),
+    CONSTRAINT chk_scenario_parts_kind CHECK (kind IN ('HEADER', 'SESSION', 'SECTION'))
+);
+
+CREATE INDEX idx_scenario_parts_part_hash ON scenario_parts(part_hash);
+
+COMMENT ON TABLE scenario_parts IS 'Header, session and section parts of published scenarios';
+COMMENT ON COLUMN scenario_parts.part_key IS 'Session ID, section name, or header';
+COMMENT ON COLUMN scenario_parts.part_hash IS 'Scenario blob holding the part content';
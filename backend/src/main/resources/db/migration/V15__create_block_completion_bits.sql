@@ -0,0 +1,42 @@
+-- Block completion as a bitset over stable per-course block ordinals
+-- Replaces user_progress.completed_blocks (backfilled and dropped by V16)
+
+CREATE TABLE course_block_ordinals (
+    id UUID PRIMARY KEY,
+    course_id UUID NOT NULL REFERENCES courses(id) ON DELETE CASCADE,
+    block_key VARCHAR(201) NOT NULL,
+    ordinal INTEGER NOT NULL,
+    CONSTRAINT uk_course_block_ordinals_key UNIQUE (course_id, block_key),
+    CONSTRAINT uk_course_block_ordinals_ordinal UNIQUE (course_id, ordinal),
+    CONSTRAINT chk_course_block_ordinals_ordinal CHECK (ordinal >= 0)
+);
+
+COMMENT ON TABLE course_block_ordinals IS 'Append-only block ordinals per course, bit positions in user_progress.completed_bits';
+COMMENT ON COLUMN course_block_ordinals.block_key IS 'Block key (format: "session_id:block_id")';
+
+ALTER TABLE user_progress
+    ADD COLUMN completed_bits BYTEA,
+    ADD COLUMN completed_block_count INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN user_progress.completed_bits IS 'Completed blocks, bit N (get_bit numbering) is the block with ordinal N';
+COMMENT ON COLUMN user_progress.completed_block_count IS 'Number of bits set in completed_bits';
+
+-- Whether bit is set; bits beyond the end of the bitset are not set
+CREATE FUNCTION progress_has_bit(bits BYTEA, ordinal INTEGER) RETURNS BOOLEAN
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE
+               WHEN bits IS NULL OR length(bits) * 8 <= ordinal THEN false
+               ELSE get_bit(bits, ordinal) = 1
+           END
+$$;
+
+-- Bitset with bit set, padded with zero bytes up to the byte of the bit
+CREATE FUNCTION progress_set_bit(bits BYTEA, ordinal INTEGER) RETURNS BYTEA
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT set_bit(
+               CASE
+                   WHEN length(coalesce(bits, '')) * 8 > ordinal THEN bits
+                   ELSE coalesce(bits, '') || decode(repeat('00', ordinal / 8 + 1 - length(coalesce(bits, ''))), 'hex')
+               END,
+               ordinal, 1)
+$$;
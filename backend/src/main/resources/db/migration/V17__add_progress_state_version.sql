@@ -0,0 +1,7 @@
+-- Version of the session state in user_progress, fences checkpoints of Redis-resident hot state
+-- High 32 bits: generation, claimed whenever hot state is loaded from this row; low 32 bits: writes within it
+
+ALTER TABLE user_progress
+    ADD COLUMN state_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN user_progress.state_version IS 'Version of the last checkpoint of hot session state (generation * 2^32 + writes)';
@@ -0,0 +1,45 @@
+-- Append-only log of block interactions, range partitioned by month
+-- Written in batches by BlockEventWriter; partitions ahead are created by BlockEventPartitions
+
+CREATE TABLE block_events (
+    id BIGINT GENERATED ALWAYS AS IDENTITY,
+    occurred_at TIMESTAMP NOT NULL,
+    user_id UUID NOT NULL,
+    course_id UUID NOT NULL,
+    session_id VARCHAR(100),
+    block_id VARCHAR(100),
+    block_type VARCHAR(30),
+    event_type VARCHAR(20) NOT NULL,
+    input_digest BYTEA,
+    result_flags SMALLINT NOT NULL DEFAULT 0,
+    handler_micros INTEGER NOT NULL DEFAULT 0,
+
+    -- Primary key of a partitioned table must contain the partition key
+    CONSTRAINT pk_block_events PRIMARY KEY (occurred_at, id)
+) PARTITION BY RANGE (occurred_at);
+
+-- Indexes are created on every partition
+CREATE INDEX idx_block_events_user ON block_events(user_id, course_id, occurred_at);
+CREATE INDEX idx_block_events_course_block ON block_events(course_id, block_id, occurred_at);
+
+COMMENT ON TABLE block_events IS 'Block views and inputs per user, one partition per month (block_events_yYYYYmMM)';
+COMMENT ON COLUMN block_events.event_type IS 'VIEW (block rendered) or SUBMIT (input processed)';
+COMMENT ON COLUMN block_events.input_digest IS 'SHA-256 of the submitted input JSON, the input itself is not stored';
+COMMENT ON COLUMN block_events.result_flags IS 'Bit 0 complete, 1 userData changed, 2 precomputed response, 3 failed';
+COMMENT ON COLUMN block_events.handler_micros IS 'Time spent in the block handler, microseconds';
+
+-- Create partition of the month containing the given day unless it exists; returns its name
+CREATE FUNCTION create_block_events_partition(day DATE) RETURNS TEXT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day)::DATE;
+    partition_name TEXT := 'block_events_' || to_char(month_start, '"y"YYYY"m"MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF block_events FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, (month_start + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END
+$$;
+
+SELECT create_block_events_partition((CURRENT_DATE + make_interval(months => m))::DATE)
+FROM generate_series(0, 2) AS m;
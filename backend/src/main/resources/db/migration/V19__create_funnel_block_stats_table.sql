@@ -0,0 +1,18 @@
+-- Funnel counters per course block, upserted in batches from in-memory counters (FunnelServiceImpl)
+
+CREATE TABLE funnel_block_stats (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    course_id UUID NOT NULL,
+    session_id VARCHAR(100) NOT NULL,
+    block_id VARCHAR(100) NOT NULL,
+    reached BIGINT NOT NULL DEFAULT 0,
+    completed BIGINT NOT NULL DEFAULT 0,
+    dwell_histogram BIGINT[] NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_funnel_block_stats UNIQUE (course_id, session_id, block_id)
+);
+
+COMMENT ON TABLE funnel_block_stats IS 'Users reaching and completing each block, and time spent on it';
+COMMENT ON COLUMN funnel_block_stats.reached IS 'Arrivals at the block (repeated views of the same block by a user count once)';
+COMMENT ON COLUMN funnel_block_stats.dwell_histogram IS 'Completions by time from arrival: bucket 0 under 1 s, bucket N from 2^(N-1) to 2^N s, last bucket open';
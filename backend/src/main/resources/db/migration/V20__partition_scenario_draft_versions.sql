@@ -0,0 +1,54 @@
+-- Hash partition scenario_draft_versions by draft_id
+-- Every read and the version number lookup filter by draft_id, so each query touches one partition and
+-- each partition keeps its own small indexes and vacuum cycle. Versions are kept for rollback, so there
+-- is no time-based retention that range partitions would serve.
+
+CREATE TABLE scenario_draft_versions_partitioned (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    draft_id UUID NOT NULL,
+    version_number INTEGER NOT NULL,
+    change_description VARCHAR(500),
+    created_by_user_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    scenario_hash VARCHAR(64) NOT NULL
+) PARTITION BY HASH (draft_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF scenario_draft_versions_partitioned '
+                       'FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       'scenario_draft_versions_h' || lpad(remainder::TEXT, 2, '0'), remainder);
+    END LOOP;
+END
+$$;
+
+INSERT INTO scenario_draft_versions_partitioned
+    (id, draft_id, version_number, change_description, created_by_user_id, created_at, scenario_hash)
+SELECT id, draft_id, version_number, change_description, created_by_user_id, created_at, scenario_hash
+FROM scenario_draft_versions;
+
+DROP TABLE scenario_draft_versions;
+ALTER TABLE scenario_draft_versions_partitioned RENAME TO scenario_draft_versions;
+
+-- Primary key and unique constraints of a partitioned table must contain the partition key
+ALTER TABLE scenario_draft_versions
+    ADD CONSTRAINT pk_scenario_draft_versions PRIMARY KEY (draft_id, id),
+    ADD CONSTRAINT uq_scenario_draft_versions_draft_version UNIQUE (draft_id, version_number),
+    ADD CONSTRAINT chk_scenario_draft_versions_version_number CHECK (version_number > 0),
+    ADD CONSTRAINT fk_scenario_draft_versions_draft
+        FOREIGN KEY (draft_id) REFERENCES scenario_drafts(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_scenario_draft_versions_created_by
+        FOREIGN KEY (created_by_user_id) REFERENCES users(id) ON DELETE SET NULL,
+    ADD CONSTRAINT fk_scenario_draft_versions_scenario_hash
+        FOREIGN KEY (scenario_hash) REFERENCES scenario_blobs(hash);
+
+-- (draft_id, version_number) is served by the unique constraint; created_at was never queried.
+-- These two back the ON DELETE actions of users and the blob reference checks.
+CREATE INDEX idx_scenario_draft_versions_created_by ON scenario_draft_versions(created_by_user_id);
+CREATE INDEX idx_scenario_draft_versions_scenario_hash ON scenario_draft_versions(scenario_hash);
+
+COMMENT ON TABLE scenario_draft_versions IS 'Version history for scenario drafts (audit and rollback), 16 hash partitions by draft_id';
+COMMENT ON COLUMN scenario_draft_versions.version_number IS 'Sequential version number (1, 2, 3, ...)';
+COMMENT ON COLUMN scenario_draft_versions.change_description IS 'Optional description of changes made';
+COMMENT ON COLUMN scenario_draft_versions.scenario_hash IS 'Scenario blob snapshot at this version';
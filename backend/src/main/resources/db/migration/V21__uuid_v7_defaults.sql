@@ -0,0 +1,33 @@
+-- Time-ordered UUIDv7 keys for rows inserted by SQL
+-- Entities get their keys from UuidV7Generator in the application; this default covers JdbcTemplate
+-- upserts and manual inserts. Existing v4 keys are left as they are; both kinds are valid UUIDs.
+
+-- 48-bit Unix millisecond timestamp, version 7, random rest (the variant bits come from gen_random_uuid)
+-- Unlike UuidV7Generator there is no sequence counter: keys are ordered by millisecond only
+CREATE FUNCTION uuid_generate_v7() RETURNS UUID
+    LANGUAGE plpgsql VOLATILE AS $$
+DECLARE
+    value BYTEA := uuid_send(gen_random_uuid());
+    unix_ms BIGINT := floor(extract(EPOCH FROM clock_timestamp()) * 1000);
+BEGIN
+    value := overlay(value PLACING substring(int8send(unix_ms) FROM 3) FROM 1 FOR 6);
+    value := set_byte(value, 6, (get_byte(value, 6) & 15) | 112);
+    RETURN encode(value, 'hex')::UUID;
+END
+$$;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE courses ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE user_progress ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE block_templates ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE scenario_drafts ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE scenario_draft_versions ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE llm_batch_jobs ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE pregenerated_content ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE llm_usage_daily ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE risk_flags ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE funnel_block_stats ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE scenario_parts ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE course_block_ordinals ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+
+COMMENT ON FUNCTION uuid_generate_v7() IS 'Time-ordered UUID (RFC 9562 version 7), millisecond precision; keys within one millisecond are random';
@@ -0,0 +1,11 @@
+-- Mark shards that are still being built as CLAIMED instead of ENDED
+-- A job now becomes ENDED or SUBMITTED only when its run finishes, so a node that dies mid-run leaves a
+-- CLAIMED job behind; once claimed_at is older than the claim timeout the shard is run again.
+
+ALTER TABLE llm_batch_jobs ADD COLUMN claimed_at TIMESTAMP;
+
+ALTER TABLE llm_batch_jobs DROP CONSTRAINT chk_llm_batch_jobs_status;
+ALTER TABLE llm_batch_jobs ADD CONSTRAINT chk_llm_batch_jobs_status
+    CHECK (status IN ('CLAIMED', 'SUBMITTED', 'ENDED', 'FAILED'));
+
+COMMENT ON COLUMN llm_batch_jobs.claimed_at IS 'When the current run claimed the shard; stale CLAIMED jobs are taken over';
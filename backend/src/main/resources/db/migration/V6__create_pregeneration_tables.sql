@@ -0,0 +1,62 @@
+-- Create tables for nightly batch pre-generation of personalized content
+
+-- ============================================
+-- 1. Batch Jobs Table
+-- ============================================
+CREATE TABLE llm_batch_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    shard INTEGER NOT NULL,
+    run_date DATE NOT NULL,
+    provider_batch_id VARCHAR(200),
+    status VARCHAR(20) NOT NULL,
+    item_count INTEGER NOT NULL DEFAULT 0,
+    error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    -- Constraints
+    CONSTRAINT uq_llm_batch_jobs_shard_run_date UNIQUE(shard, run_date),
+    CONSTRAINT chk_llm_batch_jobs_status CHECK (status IN ('SUBMITTED', 'ENDED', 'FAILED'))
+);
+
+CREATE INDEX idx_llm_batch_jobs_status ON llm_batch_jobs(status);
+
+COMMENT ON TABLE llm_batch_jobs IS 'Nightly pre-generation jobs, one per user shard and night';
+COMMENT ON COLUMN llm_batch_jobs.provider_batch_id IS 'Batch ID returned by LLM provider batch API';
+
+
+-- ============================================
+-- 2. Pre-generated Content Table
+-- ============================================
+CREATE TABLE pregenerated_content (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    batch_job_id UUID,
+    user_id UUID NOT NULL,
+    course_id UUID NOT NULL,
+    content_key VARCHAR(200) NOT NULL,
+    prompt_digest VARCHAR(64),
+    status VARCHAR(20) NOT NULL,
+    content TEXT,
+    model VARCHAR(100),
+    tokens_used INTEGER,
+    error VARCHAR(1000),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- Foreign keys
+    CONSTRAINT fk_pregenerated_content_batch_job FOREIGN KEY (batch_job_id) REFERENCES llm_batch_jobs(id) ON DELETE SET NULL,
+    CONSTRAINT fk_pregenerated_content_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_pregenerated_content_course FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE,
+
+    -- Constraints
+    CONSTRAINT chk_pregenerated_content_status CHECK (status IN ('PENDING', 'READY', 'FAILED'))
+);
+
+CREATE INDEX idx_pregenerated_content_lookup ON pregenerated_content(user_id, course_id, content_key, created_at DESC);
+CREATE INDEX idx_pregenerated_content_batch_job ON pregenerated_content(batch_job_id);
+CREATE INDEX idx_pregenerated_content_expires_at ON pregenerated_content(expires_at);
+
+COMMENT ON TABLE pregenerated_content IS 'Personalized content generated ahead of time by nightly batch';
+COMMENT ON COLUMN pregenerated_content.content_key IS 'block:{session_id}:{block_id} or notification:{flow_id}';
+COMMENT ON COLUMN pregenerated_content.prompt_digest IS 'SHA-256 of resolved prompts; content is served only if digest matches';
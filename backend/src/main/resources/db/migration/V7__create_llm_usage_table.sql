@@ -0,0 +1,26 @@
+-- Create table for daily LLM usage accounting
+
+CREATE TABLE llm_usage_daily (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    usage_date DATE NOT NULL,
+    user_id UUID,
+    course_id UUID,
+    block_id VARCHAR(100),
+    provider VARCHAR(20) NOT NULL,
+    model VARCHAR(100),
+    requests BIGINT NOT NULL DEFAULT 0,
+    input_tokens BIGINT NOT NULL DEFAULT 0,
+    output_tokens BIGINT NOT NULL DEFAULT 0,
+    cost_micros BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Constraints (system calls have no user/course/block, so NULLs must collide for upserts)
+    CONSTRAINT uq_llm_usage_daily UNIQUE NULLS NOT DISTINCT (usage_date, user_id, course_id, block_id, provider, model)
+);
+
+-- Indexes for budget checks and reports
+CREATE INDEX idx_llm_usage_daily_user ON llm_usage_daily(user_id, usage_date);
+CREATE INDEX idx_llm_usage_daily_course ON llm_usage_daily(course_id, usage_date);
+
+COMMENT ON TABLE llm_usage_daily IS 'LLM requests, tokens and cost per day, user, course and block';
+COMMENT ON COLUMN llm_usage_daily.cost_micros IS 'Cost in millionths of USD';
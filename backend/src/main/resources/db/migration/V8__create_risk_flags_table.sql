@@ -0,0 +1,20 @@
+-- Create table for risk language flags raised by the local pre-screen
+
+CREATE TABLE risk_flags (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID,
+    course_id UUID,
+    block_id VARCHAR(100),
+    category VARCHAR(20) NOT NULL,
+    matched_terms VARCHAR(500) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Constraints
+    CONSTRAINT chk_risk_flags_category CHECK (category IN ('SUICIDE', 'SELF_HARM'))
+);
+
+-- Indexes
+CREATE INDEX idx_risk_flags_user_id ON risk_flags(user_id, created_at DESC);
+CREATE INDEX idx_risk_flags_created_at ON risk_flags(created_at DESC);
+
+COMMENT ON TABLE risk_flags IS 'Risk language detected in user text (matched lexicon terms only, no user text)';
@@ -0,0 +1,5 @@
+-- Add change counter used for cluster-wide cache invalidation of courses
+
+ALTER TABLE courses ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN courses.revision IS 'Incremented on every course change; caches drop copies with a lower revision';
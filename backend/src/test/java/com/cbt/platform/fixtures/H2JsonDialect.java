@@ -0,0 +1,59 @@
+package com.cbt.platform.fixtures;
+
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.jdbc.BasicBinder;
+import org.hibernate.type.descriptor.jdbc.JsonJdbcType;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * H2 dialect binding JSON as UTF-8 bytes, which H2 parses into a JSON value
+ * The stock H2 JSON type binds a string and relies on "? FORMAT JSON" in generated SQL, so custom
+ * SQL written for PostgreSQL (see ScenarioBlob) would store a JSON string instead of the document.
+ */
+public class H2JsonDialect extends H2Dialect {
+
+    @Override
+    public void contributeTypes(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        super.contributeTypes(typeContributions, serviceRegistry);
+        typeContributions.getTypeConfiguration().getJdbcTypeRegistry().addDescriptor(JsonBytesJdbcType.INSTANCE);
+    }
+
+    private static final class JsonBytesJdbcType extends JsonJdbcType {
+
+        private static final JsonBytesJdbcType INSTANCE = new JsonBytesJdbcType();
+
+        private JsonBytesJdbcType() {
+            super(null);
+        }
+
+        @Override
+        public <X> ValueBinder<X> getBinder(JavaType<X> javaType) {
+            return new BasicBinder<>(javaType, this) {
+                @Override
+                protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options)
+                        throws SQLException {
+                    st.setBytes(index, json(value, options));
+                }
+
+                @Override
+                protected void doBind(CallableStatement st, X value, String name, WrapperOptions options)
+                        throws SQLException {
+                    st.setBytes(name, json(value, options));
+                }
+
+                private byte[] json(X value, WrapperOptions options) {
+                    return JsonBytesJdbcType.this.toString(value, getJavaType(), options).getBytes(StandardCharsets.UTF_8);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cbt.platform.fixtures;
+
+import com.cbt.platform.progress.service.CompletionBits;
+
+/**
+ * H2 versions of the PostgreSQL functions created in V15 (registered by the test datasource URL)
+ */
+public final class H2ProgressFunctions {
+
+    private H2ProgressFunctions() {
+    }
+
+    public static byte[] setBit(byte[] bits, int ordinal) {
+        return CompletionBits.set(bits, ordinal);
+    }
+
+    public static boolean hasBit(byte[] bits, int ordinal) {
+        return CompletionBits.isSet(bits, ordinal);
+    }
+}
@@ -2,6 +2,8 @@ package com.cbt.platform.fixtures;
 
 import com.cbt.platform.course.entity.Course;
 import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.service.CanonicalJson;
 import com.cbt.platform.user.entity.User;
 import com.cbt.platform.user.entity.UserRole;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -54,6 +56,21 @@ public class TestDataBuilder {
                 .build();
     }
 
+    // ==================== Scenario Fixtures ====================
+
+    public static ScenarioBlob scenarioBlob() {
+        return scenarioBlob(objectMapper.createObjectNode());
+    }
+
+    public static ScenarioBlob scenarioBlob(JsonNode content) {
+        byte[] canonical = CanonicalJson.toBytes(content);
+        return ScenarioBlob.builder()
+                .hash(CanonicalJson.sha256(canonical))
+                .content(content)
+                .sizeBytes(canonical.length)
+                .build();
+    }
+
     // ==================== Course Fixtures ====================
 
     public static Course.CourseBuilder defaultCourse() {
@@ -63,7 +80,7 @@ public class TestDataBuilder {
                 .name("Test Course")
                 .description("Test course description")
                 .category("test")
-                .scenarioJson(objectMapper.createObjectNode())
+                .scenario(scenarioBlob())
                 .estimatedDurationMinutes(30)
                 .version("1.0.0")
                 .isActive(true)
@@ -102,7 +119,7 @@ public class TestDataBuilder {
                 .currentBlockIndex(0)
                 .userData(emptyUserData())
                 .completedSessions(new ArrayList<>())
-                .completedBlocks(new ArrayList<>())
+                .completedBlockCount(0)
                 .completionPercentage(0)
                 .isCompleted(false)
                 .startedAt(LocalDateTime.now())
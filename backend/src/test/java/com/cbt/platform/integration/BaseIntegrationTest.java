@@ -13,8 +13,6 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.util.List;
-
 /**
  * Base class for integration tests
  * Provides common utilities for testing with real database and security
@@ -69,10 +67,7 @@ public abstract class BaseIntegrationTest {
      * Generate JWT access token for a user
      */
     protected String generateAccessToken(User user) {
-        return jwtTokenProvider.generateAccessToken(
-                user.getEmail(),
-                List.of("ROLE_" + user.getRole().name())
-        );
+        return jwtTokenProvider.generateAccessToken(user.getId(), user.getEmail(), user.getRole());
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.cbt.platform.integration.course;
+
+import com.cbt.platform.config.CacheConfig;
+import com.cbt.platform.course.dto.CourseResponse;
+import com.cbt.platform.course.dto.UpdateCourseRequest;
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.integration.BaseIntegrationTest;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the course catalog
+ * Tests catalog projections and cache eviction on course changes
+ */
+@DisplayName("Course Catalog Integration Tests")
+class CourseCatalogIT extends BaseIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ScenarioBlobRepository scenarioBlobRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Course testCourse;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.COURSE_CATALOG).clear();
+        scenarioBlobRepository.save(TestDataBuilder.scenarioBlob());
+        testCourse = courseRepository.save(TestDataBuilder.course());
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should list catalog columns of published courses")
+    void shouldListPublishedCourses() {
+        // When
+        List<CourseResponse> catalog = courseService.findAllActiveAndPublished();
+        List<CourseResponse> byCategory = courseService.findByCategory("test");
+
+        // Then
+        assertThat(catalog).singleElement().satisfies(course -> {
+            assertThat(course.id()).isEqualTo(testCourse.getId());
+            assertThat(course.slug()).isEqualTo("test-course");
+            assertThat(course.isActive()).isTrue();
+            assertThat(course.isPublished()).isTrue();
+        });
+        assertThat(byCategory).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should serve catalog from cache until course is updated")
+    void shouldEvictCatalogOnUpdate() {
+        // Given
+        courseService.findAllActiveAndPublished();
+        courseRepository.save(TestDataBuilder.course("other-course", "Other Course"));
+
+        // When
+        List<CourseResponse> cached = courseService.findAllActiveAndPublished();
+        courseService.update(testCourse.getId(), new UpdateCourseRequest(
+                "Renamed Course", null, null, null, null, null, null, null, null, null, null));
+        List<CourseResponse> refreshed = courseService.findAllActiveAndPublished();
+
+        // Then
+        assertThat(cached).hasSize(1);
+        assertThat(refreshed).hasSize(2)
+                .extracting(CourseResponse::name)
+                .contains("Renamed Course", "Other Course");
+    }
+}
@@ -0,0 +1,85 @@
+package com.cbt.platform.integration.course;
+
+import com.cbt.platform.course.dto.UpdateCourseRequest;
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.event.CourseChangedEvent;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.integration.BaseIntegrationTest;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for course revisions
+ * Tests that revisions are assigned by the database and published as written
+ */
+@RecordApplicationEvents
+@DisplayName("Course Revision Integration Tests")
+class CourseRevisionIT extends BaseIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ScenarioBlobRepository scenarioBlobRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Course testCourse;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        scenarioBlobRepository.save(TestDataBuilder.scenarioBlob());
+        testCourse = courseRepository.save(TestDataBuilder.course());
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should publish revision written by update and delete")
+    void shouldPublishStoredRevision() {
+        // When
+        courseService.update(testCourse.getId(), new UpdateCourseRequest(
+                "Renamed Course", null, null, null, null, null, null, null, null, null, null));
+        courseService.delete(testCourse.getId());
+
+        // Then
+        Course stored = courseRepository.findById(testCourse.getId()).orElseThrow();
+        assertThat(stored.getRevision()).isEqualTo(testCourse.getRevision() + 2);
+        assertThat(stored.getDeletedAt()).isNotNull();
+        assertThat(events.stream(CourseChangedEvent.class).map(CourseChangedEvent::revision))
+                .containsExactly(testCourse.getRevision() + 1, testCourse.getRevision() + 2);
+    }
+
+    @Test
+    @DisplayName("Should reject write of a copy loaded before another change")
+    void shouldRejectStaleWrite() {
+        // Given
+        Course stale = courseRepository.findById(testCourse.getId()).orElseThrow();
+        courseService.update(testCourse.getId(), new UpdateCourseRequest(
+                "Renamed Course", null, null, null, null, null, null, null, null, null, null));
+
+        // When/Then
+        stale.setName("Lost Update");
+        assertThatThrownBy(() -> courseRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
@@ -0,0 +1,148 @@
+package com.cbt.platform.integration.engine;
+
+import com.cbt.platform.course.dto.CourseDetailResponse;
+import com.cbt.platform.course.dto.CreateCourseRequest;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.engine.dto.ScenarioBundle;
+import com.cbt.platform.engine.dto.ScenarioManifest;
+import com.cbt.platform.integration.BaseIntegrationTest;
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Integration tests for session-granular scenario bundles
+ * Tests publish-time split, manifest and ETag revalidation of bundles
+ */
+@DisplayName("Scenario Bundle Integration Tests")
+class ScenarioBundleIT extends BaseIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String userToken;
+    private CourseDetailResponse course;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        userToken = generateAccessToken(createTestUser());
+
+        course = courseService.create(new CreateCourseRequest("bundle-course", "Bundle Course", null,
+                objectMapper.readTree("""
+                        {"meta": {"sessions": ["s1", "s2"]},
+                         "sessions": {"s1": {"blocks": [{"id": "b1", "type": "static"}]},
+                                      "s2": {"blocks": [{"id": "b2", "type": "static"}]}},
+                         "ui_component_specs": {"button": {}},
+                         "llm_prompt_templates": {"reframe": "system prompt"}}
+                        """),
+                "1.0.0", 2, null, null, 30, "test", true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /scenario - Should list session and section bundles of published course")
+    void shouldReturnManifest() {
+        // When
+        ResponseEntity<ScenarioManifest> response = restTemplate.exchange(
+                "/api/sessions/courses/" + course.id() + "/scenario", GET, withAuth(userToken), ScenarioManifest.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ScenarioManifest manifest = response.getBody();
+        assertThat(manifest).isNotNull();
+        assertThat(manifest.header().has("sessions")).isFalse();
+        assertThat(manifest.parts()).extracting(part -> part.kind() + ":" + part.key())
+                .containsExactly("SESSION:s1", "SESSION:s2", "SECTION:ui_component_specs");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + manifest.scenarioHash() + "\"");
+    }
+
+    @Test
+    @DisplayName("GET /scenario/sessions/{id} - Should return session bundle and 304 for unchanged hash")
+    void shouldReturnSessionBundleWithETag() {
+        // Given
+        String url = "/api/sessions/courses/" + course.id() + "/scenario/sessions/s2";
+        ResponseEntity<ScenarioBundle> first = restTemplate.exchange(url, GET, withAuth(userToken), ScenarioBundle.class);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(userToken);
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+
+        // When
+        ResponseEntity<ScenarioBundle> second = restTemplate.exchange(url, GET, new HttpEntity<>(headers), ScenarioBundle.class);
+
+        // Then
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody().kind()).isEqualTo(ScenarioPartKind.SESSION);
+        assertThat(first.getBody().content().get("blocks").get(0).get("id").asText()).isEqualTo("b2");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    @DisplayName("GET /scenario/sections/{name} - Should serve client sections only")
+    void shouldServeClientSectionsOnly() {
+        // When
+        ResponseEntity<ScenarioBundle> specs = restTemplate.exchange(
+                "/api/sessions/courses/" + course.id() + "/scenario/sections/ui_component_specs",
+                GET, withAuth(userToken), ScenarioBundle.class);
+        ResponseEntity<String> templates = restTemplate.exchange(
+                "/api/sessions/courses/" + course.id() + "/scenario/sections/llm_prompt_templates",
+                GET, withAuth(userToken), String.class);
+
+        // Then
+        assertThat(specs.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(specs.getBody().content().has("button")).isTrue();
+        assertThat(templates.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("GET /scenario - Should return 404 for unpublished course")
+    void shouldReturn404ForUnpublishedCourse() throws Exception {
+        // Given
+        CourseDetailResponse draft = courseService.create(new CreateCourseRequest("unpublished-course",
+                "Unpublished Course", null, objectMapper.readTree("{\"meta\": {\"sessions\": []}, \"sessions\": {}}"),
+                "1.0.0", 2, null, null, 30, "test", false));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/sessions/courses/" + draft.id() + "/scenario", GET, withAuth(userToken), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("GET /scenario/sessions/{id} - Should return 404 for unknown session")
+    void shouldReturn404ForUnknownSession() {
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/sessions/courses/" + course.id() + "/scenario/sessions/missing", GET, withAuth(userToken), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -7,6 +7,8 @@ import com.cbt.platform.integration.BaseIntegrationTest;
 import com.cbt.platform.progress.dto.*;
 import com.cbt.platform.progress.entity.UserProgress;
 import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
 import com.cbt.platform.user.entity.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -36,6 +38,9 @@ class ProgressControllerIT extends BaseIntegrationTest {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private ScenarioBlobRepository scenarioBlobRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,7 +59,8 @@ class ProgressControllerIT extends BaseIntegrationTest {
         testUser = createTestUser();
         userToken = generateAccessToken(testUser);
 
-        // Create test course
+        // Create test course (scenario blob is shared by all fixture courses)
+        scenarioBlobRepository.save(TestDataBuilder.scenarioBlob());
         testCourse = TestDataBuilder.course();
         testCourse = courseRepository.save(testCourse);
     }
@@ -380,28 +386,63 @@ class ProgressControllerIT extends BaseIntegrationTest {
 
     @Test
     @DisplayName("POST /api/progress/course/{courseId}/complete-block/{sessionId}/{blockId} - Should complete block")
-    void shouldCompleteBlock() {
+    void shouldCompleteBlock() throws Exception {
         // Given
+        useScenarioWithTwoBlocks();
         UserProgress progress = TestDataBuilder.userProgress(testUser.getId(), testCourse.getId());
         progressRepository.save(progress);
 
-        // When
-        ResponseEntity<ProgressResponse> response = restTemplate.exchange(
-                "/api/progress/course/" + testCourse.getId() + "/complete-block/session_1/welcome",
-                POST,
-                withAuth(userToken),
-                ProgressResponse.class
-        );
+        // When: completing the same block twice counts it once
+        completeBlock("session_1", "welcome");
+        ResponseEntity<ProgressResponse> response = completeBlock("session_1", "welcome");
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().completedBlocks()).contains("session_1:welcome");
+        assertThat(response.getBody().completedBlocks()).containsExactly("session_1:welcome");
+        assertThat(response.getBody().completionPercentage()).isEqualTo(50);
 
         // Verify in database
         UserProgress updated = progressRepository.findByUserIdAndCourseId(testUser.getId(), testCourse.getId())
                 .orElseThrow();
-        assertThat(updated.getCompletedBlocks()).contains("session_1:welcome");
+        assertThat(updated.getCompletedBlockCount()).isEqualTo(1);
+        assertThat(updated.getCompletionPercentage()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("POST /api/progress/course/{courseId}/complete-block/{sessionId}/{blockId} - Should return 404 for unknown block")
+    void shouldReturn404ForUnknownBlock() throws Exception {
+        // Given
+        useScenarioWithTwoBlocks();
+        progressRepository.save(TestDataBuilder.userProgress(testUser.getId(), testCourse.getId()));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/progress/course/" + testCourse.getId() + "/complete-block/session_1/missing",
+                POST,
+                withAuth(userToken),
+                String.class
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private void useScenarioWithTwoBlocks() throws Exception {
+        ScenarioBlob scenario = scenarioBlobRepository.save(TestDataBuilder.scenarioBlob(objectMapper.readTree(
+                "{\"meta\":{\"sessions\":[\"session_1\"]},\"sessions\":{\"session_1\":{\"blocks\":[" +
+                        "{\"id\":\"welcome\",\"type\":\"static\"},{\"id\":\"intro\",\"type\":\"static\"}]}}}")));
+        testCourse.setScenario(scenario);
+        testCourse = courseRepository.save(testCourse);
+    }
+
+    private ResponseEntity<ProgressResponse> completeBlock(String sessionId, String blockId) {
+        return restTemplate.exchange(
+                "/api/progress/course/" + testCourse.getId() + "/complete-block/" + sessionId + "/" + blockId,
+                POST,
+                withAuth(userToken),
+                ProgressResponse.class
+        );
     }
 
     // ==================== Complete Course Tests ====================
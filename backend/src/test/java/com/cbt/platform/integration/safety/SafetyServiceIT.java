@@ -0,0 +1,74 @@
+package com.cbt.platform.integration.safety;
+
+import com.cbt.platform.integration.BaseIntegrationTest;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.repository.RiskFlagRepository;
+import com.cbt.platform.safety.service.SafetyService;
+import com.cbt.platform.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for SafetyService
+ * Tests that risk flags are written independently of the caller's transaction
+ */
+@DisplayName("Safety Service Integration Tests")
+class SafetyServiceIT extends BaseIntegrationTest {
+
+    private static final String RISK_TEXT = "Я больше не хочу жить";
+
+    @Autowired
+    private SafetyService safetyService;
+
+    @Autowired
+    private RiskFlagRepository riskFlagRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        riskFlagRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should commit caller's transaction when risk flag insert fails")
+    void shouldCommitCallerWhenFlagInsertFails() {
+        // Given - block id longer than the column, so the insert fails
+        String tooLongBlockId = "b".repeat(101);
+
+        // When
+        ScreeningResult result = transactionTemplate.execute(status -> {
+            createTestUser();
+            return safetyService.screen(UUID.randomUUID(), UUID.randomUUID(), tooLongBlockId, RISK_TEXT);
+        });
+
+        // Then
+        assertThat(result.isFlagged()).isTrue();
+        assertThat(userRepository.findByEmailIgnoreCase("test@example.com")).isPresent();
+        assertThat(riskFlagRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep risk flag when caller's transaction rolls back")
+    void shouldKeepFlagWhenCallerRollsBack() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = createTestUser();
+            safetyService.screen(user.getId(), UUID.randomUUID(), "b1", RISK_TEXT);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(userRepository.findByEmailIgnoreCase("test@example.com")).isEmpty();
+        assertThat(riskFlagRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cbt.platform.unit.analytics;
+
+import com.cbt.platform.analytics.config.BlockEventProperties;
+import com.cbt.platform.analytics.service.BlockEventPartitions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlockEventPartitions
+ * Tests which partitions retention detaches and drops
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlockEventPartitions Unit Tests")
+class BlockEventPartitionsTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'block_events_y'yyyy'm'MM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BlockEventProperties properties;
+    private BlockEventPartitions partitions;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BlockEventProperties();
+        properties.setRetentionMonths(3);
+        partitions = new BlockEventPartitions(properties, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should drop only partitions older than the retention window")
+    void shouldDropExpiredPartitions() {
+        // Given
+        YearMonth now = YearMonth.now();
+        String expired = partition(now.minusMonths(4));
+        String kept = partition(now.minusMonths(3));
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                Map.of("name", expired, "pending", false),
+                Map.of("name", kept, "pending", false),
+                Map.of("name", partition(now), "pending", false),
+                Map.of("name", "block_events_archive", "pending", false)));
+
+        // When
+        partitions.dropExpired();
+
+        // Then
+        verify(jdbcTemplate).execute("ALTER TABLE block_events DETACH PARTITION " + expired + " CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE " + expired);
+        verify(jdbcTemplate, times(2)).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should finish an interrupted detach")
+    void shouldFinalizePendingDetach() {
+        // Given
+        String expired = partition(YearMonth.now().minusMonths(5));
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(Map.of("name", expired, "pending", true)));
+
+        // When
+        partitions.dropExpired();
+
+        // Then
+        verify(jdbcTemplate).execute("ALTER TABLE block_events DETACH PARTITION " + expired + " FINALIZE");
+        verify(jdbcTemplate).execute("DROP TABLE " + expired);
+    }
+
+    @Test
+    @DisplayName("Should keep all partitions when retention is off")
+    void shouldKeepAllWhenRetentionOff() {
+        // Given
+        properties.setRetentionMonths(0);
+
+        // When
+        partitions.dropExpired();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private String partition(YearMonth month) {
+        return month.atDay(1).format(PARTITION_MONTH);
+    }
+}
@@ -0,0 +1,181 @@
+package com.cbt.platform.unit.analytics;
+
+import com.cbt.platform.analytics.config.BlockEventProperties;
+import com.cbt.platform.analytics.event.BlockEvent;
+import com.cbt.platform.analytics.service.BlockEventWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.security.MessageDigest;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlockEventWriter
+ * Tests batching, the overflow policies and what is written for an event, with a mocked JdbcTemplate
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlockEventWriter Unit Tests")
+class BlockEventWriterTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BlockEventProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BlockEventWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new BlockEventProperties();
+        properties.setFlushInterval(60000);
+        properties.setBatchSize(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new BlockEventWriter(properties, jdbcTemplate, objectMapper, meterRegistry);
+        writer.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should write queued events in batches")
+    @SuppressWarnings("unchecked")
+    void shouldWriteInBatches() {
+        // Given
+        properties.setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            writer.onBlockEvent(event(null));
+        }
+
+        // When
+        writer.flush();
+
+        // Then
+        ArgumentCaptor<Collection<BlockEvent>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeast(3)).batchUpdate(anyString(), batches.capture(), anyInt(), any());
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.getAllValues().stream().mapToInt(Collection::size).sum()).isEqualTo(5);
+        assertThat(meterRegistry.get("analytics.block-events.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop events when the queue is full")
+    void shouldDropWhenFull() {
+        // Given
+        properties.setQueueCapacity(2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            writer.onBlockEvent(event(null));
+        }
+
+        // Then
+        assertThat(meterRegistry.get("analytics.block-events.dropped").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("analytics.block-events.queued").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should wait for queue space with BLOCK policy, then drop")
+    void shouldBlockThenDrop() {
+        // Given
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(BlockEventProperties.OverflowPolicy.BLOCK);
+        properties.setBlockTimeout(20);
+        writer.onBlockEvent(event(null));
+
+        // When
+        long start = System.nanoTime();
+        writer.onBlockEvent(event(null));
+
+        // Then: the writer thread was woken up and freed the slot, or the event was dropped after the timeout
+        double blocked = meterRegistry.get("analytics.block-events.blocked").counter().count();
+        double dropped = meterRegistry.get("analytics.block-events.dropped").counter().count();
+        assertThat(blocked).isEqualTo(1);
+        if (dropped == 1) {
+            assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(20_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write digest of input instead of input")
+    @SuppressWarnings("unchecked")
+    void shouldWriteInputDigest() throws Exception {
+        // Given
+        BlockEvent event = event(objectMapper.createObjectNode().put("text", "I feel anxious"));
+        writer.onBlockEvent(event);
+
+        // When
+        writer.flush();
+
+        // Then
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<BlockEvent>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), setter.capture());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, event);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(event.input()));
+        verify(statement).setBytes(8, expected);
+        verify(statement).setString(7, "SUBMIT");
+        verify(statement).setShort(9, (short) BlockEvent.COMPLETE);
+        verify(statement).setInt(10, 1500);
+        verify(statement, never()).setString(anyInt(), eq("I feel anxious"));
+    }
+
+    @Test
+    @DisplayName("Should count events of a failed batch and keep going")
+    void shouldCountFailedBatch() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        writer.onBlockEvent(event(null));
+
+        // When
+        writer.flush();
+
+        // Then
+        assertThat(meterRegistry.get("analytics.block-events.failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.block-events.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore events when disabled")
+    void shouldIgnoreWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        writer.onBlockEvent(event(null));
+        writer.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private BlockEvent event(JsonNode input) {
+        return new BlockEvent(LocalDateTime.now(), UUID.randomUUID(), UUID.randomUUID(), "s1", "b1", "input",
+                BlockEvent.Type.SUBMIT, input, BlockEvent.COMPLETE, 1_500_000);
+    }
+}
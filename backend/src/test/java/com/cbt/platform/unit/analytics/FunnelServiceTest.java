@@ -0,0 +1,237 @@
+package com.cbt.platform.unit.analytics;
+
+import com.cbt.platform.analytics.config.FunnelProperties;
+import com.cbt.platform.analytics.dto.CourseFunnelResponse;
+import com.cbt.platform.analytics.dto.SessionFunnelResponse;
+import com.cbt.platform.analytics.entity.FunnelBlockStats;
+import com.cbt.platform.analytics.event.BlockEvent;
+import com.cbt.platform.analytics.repository.FunnelBlockStatsRepository;
+import com.cbt.platform.analytics.service.DwellHistogram;
+import com.cbt.platform.analytics.service.FunnelServiceImpl;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FunnelServiceImpl
+ * Tests arrival and completion counting, dwell buckets, delta flushing and funnel assembly
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FunnelService Unit Tests")
+class FunnelServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private FunnelBlockStatsRepository statsRepository;
+
+    @Mock
+    private ScenarioCache scenarioCache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FunnelProperties properties;
+    private FunnelServiceImpl service;
+    private UUID courseId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FunnelProperties();
+        service = new FunnelServiceImpl(properties, statsRepository, scenarioCache, jdbcTemplate);
+        service.init();
+        courseId = UUID.randomUUID();
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Should count repeated views of the same block as one arrival")
+    @SuppressWarnings("unchecked")
+    void shouldCountArrivalOnce() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        service.record(view(userId, "b1", now));
+        service.record(view(userId, "b1", now.plusSeconds(1)));
+        service.record(view(UUID.randomUUID(), "b1", now));
+
+        // When
+        service.flush();
+
+        // Then
+        PreparedStatement statement = flushedRow(0);
+        verify(statement).setLong(4, 2L);
+        verify(statement).setLong(5, 0L);
+    }
+
+    @Test
+    @DisplayName("Should add dwell time from arrival to completion to the histogram")
+    @SuppressWarnings("unchecked")
+    void shouldRecordDwellTime() throws Exception {
+        // Given: 5 s on the block, measured from the first view
+        UUID userId = UUID.randomUUID();
+        service.record(view(userId, "b1", now));
+        service.record(view(userId, "b1", now.plusSeconds(3)));
+        service.record(submit(userId, "b1", now.plusSeconds(5), BlockEvent.COMPLETE));
+
+        // When
+        service.flush();
+
+        // Then
+        ArgumentCaptor<Object[]> histogram = ArgumentCaptor.forClass(Object[].class);
+        PreparedStatement statement = flushedRow(0);
+        verify(statement.getConnection()).createArrayOf(eq("bigint"), histogram.capture());
+        assertThat(histogram.getValue()).hasSize(DwellHistogram.BUCKETS);
+        assertThat(histogram.getValue()[DwellHistogram.bucket(5000)]).isEqualTo(1L);
+        verify(statement).setLong(5, 1L);
+    }
+
+    @Test
+    @DisplayName("Should not count incomplete or failed submissions")
+    void shouldIgnoreIncompleteSubmissions() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        service.record(submit(userId, "b1", now, 0));
+        service.record(submit(userId, "b1", now, BlockEvent.COMPLETE | BlockEvent.FAILED));
+
+        // When
+        service.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should write only counts added since the last successful flush")
+    @SuppressWarnings("unchecked")
+    void shouldFlushDeltas() throws Exception {
+        // Given: first flush fails
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[][]{{1}})
+                .thenReturn(new int[][]{{1}});
+        service.record(view(UUID.randomUUID(), "b1", now));
+        service.flush();
+        service.record(view(UUID.randomUUID(), "b1", now));
+
+        // When: the retry carries both arrivals, the next flush only the new one
+        service.flush();
+        service.record(view(UUID.randomUUID(), "b1", now));
+        service.flush();
+        service.flush();
+
+        // Then
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        verify(flushedRow(1)).setLong(4, 2L);
+        verify(flushedRow(2)).setLong(4, 1L);
+    }
+
+    @Test
+    @DisplayName("Should build funnel in scenario order from block aggregates")
+    void shouldBuildFunnel() {
+        // Given
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
+        Long[] histogram = new Long[DwellHistogram.BUCKETS];
+        Arrays.fill(histogram, 0L);
+        histogram[DwellHistogram.bucket(5000)] = 8L;
+        when(statsRepository.findByCourseId(courseId)).thenReturn(List.of(
+                stats("s1", "b1", 10, 8, histogram),
+                stats("s1", "b2", 8, 6, null),
+                stats("s2", "b1", 6, 3, null)));
+
+        // When
+        CourseFunnelResponse funnel = service.getCourseFunnel(courseId);
+
+        // Then
+        assertThat(funnel.reached()).isEqualTo(10);
+        assertThat(funnel.completed()).isZero();
+        assertThat(funnel.sessions()).extracting(SessionFunnelResponse::sessionId).containsExactly("s1", "s2");
+        SessionFunnelResponse first = funnel.sessions().get(0);
+        assertThat(first.reached()).isEqualTo(10);
+        assertThat(first.completed()).isEqualTo(6);
+        assertThat(first.blocks().get(0).dropOff()).isEqualTo(2);
+        assertThat(first.blocks().get(0).completionRate()).isEqualTo(0.8);
+        assertThat(first.blocks().get(0).medianDwellMillis()).isBetween(4000L, 8000L);
+        assertThat(first.blocks().get(1).medianDwellMillis()).isNull();
+        assertThat(funnel.sessions().get(1).blocks()).hasSize(2);
+        assertThat(funnel.sessions().get(1).blocks().get(1).reached()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore events when disabled")
+    void shouldIgnoreWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        service.record(view(UUID.randomUUID(), "b1", now));
+        service.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PreparedStatement flushedRow(int flush) throws Exception {
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture(), anyInt(), setter.capture());
+        Connection connection = mock(Connection.class);
+        lenient().when(connection.createArrayOf(anyString(), any())).thenReturn(mock(Array.class));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        lenient().when(statement.getConnection()).thenReturn(connection);
+        setter.getAllValues().get(flush).setValues(statement, rows.getAllValues().get(flush).iterator().next());
+        return statement;
+    }
+
+    private BlockEvent view(UUID userId, String blockId, LocalDateTime at) {
+        return new BlockEvent(at, userId, courseId, "s1", blockId, "text", BlockEvent.Type.VIEW, null, 0, 0);
+    }
+
+    private BlockEvent submit(UUID userId, String blockId, LocalDateTime at, int flags) {
+        return new BlockEvent(at, userId, courseId, "s1", blockId, "input", BlockEvent.Type.SUBMIT,
+                objectMapper.createObjectNode(), flags, 0);
+    }
+
+    private FunnelBlockStats stats(String sessionId, String blockId, long reached, long completed, Long[] histogram) {
+        return FunnelBlockStats.builder()
+                .courseId(courseId)
+                .sessionId(sessionId)
+                .blockId(blockId)
+                .reached(reached)
+                .completed(completed)
+                .dwellHistogram(histogram)
+                .updatedAt(now)
+                .build();
+    }
+
+    private CompiledScenario scenario() {
+        return new CompiledScenario(courseId, 1, "hash", objectMapper.createObjectNode(), "s1", Map.of(), Map.of(),
+                List.of("s1:b1", "s1:b2", "s2:b1", "s2:b2"), Map.of());
+    }
+}
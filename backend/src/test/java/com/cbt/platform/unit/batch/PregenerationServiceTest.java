@@ -0,0 +1,390 @@
+package com.cbt.platform.unit.batch;
+
+import com.cbt.platform.batch.config.PregenerationProperties;
+import com.cbt.platform.batch.entity.BatchJobStatus;
+import com.cbt.platform.batch.entity.LlmBatchJob;
+import com.cbt.platform.batch.entity.PregeneratedContent;
+import com.cbt.platform.batch.entity.PregeneratedContentStatus;
+import com.cbt.platform.batch.repository.LlmBatchJobRepository;
+import com.cbt.platform.batch.repository.PregeneratedContentRepository;
+import com.cbt.platform.batch.service.PregenerationServiceImpl;
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.engine.service.LlmBlockPrompts;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.llm.dto.LlmBatchItem;
+import com.cbt.platform.llm.dto.LlmRequest;
+import com.cbt.platform.llm.provider.LlmBatchProvider;
+import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.cbt.platform.llm.service.TemplateEngine;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.usage.service.UsageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PregenerationService
+ * Tests shard claiming and takeover, notifications, batch size cap and submission outside of transactions using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PregenerationService Unit Tests")
+class PregenerationServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 1, 15);
+
+    @Mock
+    private PregeneratedContentRepository contentRepository;
+
+    @Mock
+    private LlmBatchJobRepository batchJobRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LlmBatchProvider batchProvider;
+
+    @Mock
+    private LlmService llmService;
+
+    @Mock
+    private LlmBlockPrompts blockPrompts;
+
+    @Mock
+    private UsageService usageService;
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private PregenerationProperties properties;
+    private PregenerationServiceImpl pregenerationService;
+    private Course course;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new PregenerationProperties();
+        properties.setEnabled(true);
+        properties.setPageSize(2);
+        pregenerationService = new PregenerationServiceImpl(properties, contentRepository, batchJobRepository,
+                progressRepository, courseRepository, batchProvider, llmService,
+                new PromptBuilder(new TemplateEngine()), blockPrompts, usageService, objectMapper,
+                new TransactionTemplate(transactionManager));
+
+        course = TestDataBuilder.defaultCourse()
+                .scenario(TestDataBuilder.scenarioBlob(objectMapper.readTree("""
+                        {"meta": {"sessions": ["s1"]},
+                         "sessions": {"s1": {"blocks": [{"id": "b1", "type": "llm_response", "prompt": "Hi"}]}}}
+                        """)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should skip shard locked by another node")
+    void pregenerateShard_LockedShard_DoesNothing() {
+        // Given
+        when(batchJobRepository.tryAdvisoryLock(anyInt(), eq(3))).thenReturn(false);
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isZero();
+        verify(batchJobRepository, never()).save(any());
+        verifyNoInteractions(progressRepository, batchProvider);
+    }
+
+    @Test
+    @DisplayName("Should skip shard already processed for the night")
+    void pregenerateShard_AlreadyProcessed_DoesNothing() {
+        // Given
+        when(batchJobRepository.tryAdvisoryLock(anyInt(), eq(3))).thenReturn(true);
+        when(batchJobRepository.findByShardAndRunDate(3, RUN_DATE))
+                .thenReturn(Optional.of(existingJob(BatchJobStatus.SUBMITTED, LocalDateTime.now().minusHours(5))));
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isZero();
+        verifyNoInteractions(progressRepository, batchProvider);
+    }
+
+    @Test
+    @DisplayName("Should skip shard claimed recently by another node")
+    void pregenerateShard_RecentlyClaimed_DoesNothing() {
+        // Given
+        when(batchJobRepository.tryAdvisoryLock(anyInt(), eq(3))).thenReturn(true);
+        when(batchJobRepository.findByShardAndRunDate(3, RUN_DATE))
+                .thenReturn(Optional.of(existingJob(BatchJobStatus.CLAIMED, LocalDateTime.now().minusMinutes(10))));
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isZero();
+        verify(batchJobRepository, never()).save(any());
+        verifyNoInteractions(progressRepository, batchProvider);
+    }
+
+    @Test
+    @DisplayName("Should take over expired claim and fail content of the abandoned run")
+    void pregenerateShard_ExpiredClaim_TakesOverShard() throws Exception {
+        // Given
+        LlmBatchJob abandoned = existingJob(BatchJobStatus.CLAIMED, LocalDateTime.now().minusHours(3));
+        PregeneratedContent pending = PregeneratedContent.builder()
+                .status(PregeneratedContentStatus.PENDING)
+                .build();
+        givenClaimedShard();
+        when(batchJobRepository.findByShardAndRunDate(3, RUN_DATE)).thenReturn(Optional.of(abandoned));
+        when(contentRepository.findByBatchJobId(abandoned.getId())).thenReturn(List.of(pending));
+        givenCandidates(1);
+        when(batchProvider.submitBatch(anyList())).thenReturn("batch-1");
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isEqualTo(1);
+        assertThat(pending.getStatus()).isEqualTo(PregeneratedContentStatus.FAILED);
+        assertThat(pending.getError()).isEqualTo("Claim expired");
+        assertThat(abandoned.getStatus()).isEqualTo(BatchJobStatus.SUBMITTED);
+        assertThat(abandoned.getClaimedAt()).isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should keep job CLAIMED while building and end it when there is nothing to generate")
+    void pregenerateShard_NoCandidates_EndsJob() {
+        // Given
+        List<BatchJobStatus> saved = new ArrayList<>();
+        when(batchJobRepository.tryAdvisoryLock(anyInt(), eq(3))).thenReturn(true);
+        when(batchJobRepository.findByShardAndRunDate(3, RUN_DATE)).thenReturn(Optional.empty());
+        when(batchJobRepository.save(any(LlmBatchJob.class))).thenAnswer(invocation -> {
+            LlmBatchJob job = invocation.getArgument(0);
+            saved.add(job.getStatus());
+            return job;
+        });
+        givenCandidates(0);
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isZero();
+        assertThat(saved).containsExactly(BatchJobStatus.CLAIMED, BatchJobStatus.ENDED);
+        verifyNoInteractions(batchProvider);
+    }
+
+    @Test
+    @DisplayName("Should commit every page and submit batch with no transaction open")
+    void pregenerateShard_SubmitsAfterCommits() throws Exception {
+        // Given
+        givenClaimedShard();
+        givenCandidates(3);
+        AtomicInteger openAtSubmit = new AtomicInteger(-1);
+        when(batchProvider.submitBatch(anyList())).thenAnswer(invocation -> {
+            openAtSubmit.set(transactionManager.open);
+            return "batch-1";
+        });
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        assertThat(submitted).isEqualTo(3);
+        assertThat(openAtSubmit.get()).isZero();
+        assertThat(transactionManager.commits).isEqualTo(3); // claim and two pages
+        verify(progressRepository, times(2)).findPregenerationCandidates(any(), anyInt(), eq(3), any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("Should never submit more requests than max batch size")
+    void pregenerateShard_MoreCandidatesThanCap_StopsAtCap() throws Exception {
+        // Given
+        properties.setMaxBatchSize(3);
+        givenClaimedShard();
+        givenCandidates(5);
+        when(batchProvider.submitBatch(anyList())).thenReturn("batch-1");
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LlmBatchItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(batchProvider).submitBatch(items.capture());
+        assertThat(items.getValue()).hasSize(3);
+        assertThat(submitted).isEqualTo(3);
+        verify(contentRepository, times(3)).save(any(PregeneratedContent.class));
+    }
+
+    @Test
+    @DisplayName("Should store resolved notifications for every candidate, also past the batch cap")
+    void pregenerateShard_InterSessionFlows_StoresNotificationsForAll() throws Exception {
+        // Given
+        properties.setMaxBatchSize(1);
+        course.setScenario(TestDataBuilder.scenarioBlob(objectMapper.readTree("""
+                {"meta": {"sessions": ["s1"]},
+                 "sessions": {"s1": {"blocks": [{"id": "b1", "type": "llm_response", "prompt": "Hi"}]}},
+                 "inter_session_flows": {
+                   "daily_check_in": {"notification": {"title": "Check-in", "body": "{{name}}, how was your day?"}},
+                   "no_notification": {"trigger": "manual"}}}
+                """)));
+        givenClaimedShard();
+        givenCandidates(3);
+        when(batchProvider.submitBatch(anyList())).thenReturn("batch-1");
+
+        // When
+        int submitted = pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        ArgumentCaptor<PregeneratedContent> saved = ArgumentCaptor.forClass(PregeneratedContent.class);
+        verify(contentRepository, times(4)).save(saved.capture());
+        List<PregeneratedContent> notifications = saved.getAllValues().stream()
+                .filter(content -> content.getContentKey().equals("notification:daily_check_in"))
+                .toList();
+        assertThat(submitted).isEqualTo(1);
+        assertThat(notifications).hasSize(3).allMatch(content ->
+                content.getStatus() == PregeneratedContentStatus.READY && content.getBatchJobId() == null);
+        assertThat(objectMapper.readValue(notifications.get(0).getContent(), InterSessionNotification.class))
+                .isEqualTo(new InterSessionNotification("daily_check_in", "Check-in", "Anna, how was your day?"));
+    }
+
+    @Test
+    @DisplayName("Should read pre-generated notification back")
+    void findNotification_Ready_ReturnsNotification() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        InterSessionNotification stored = new InterSessionNotification("daily_check_in", null, "How was your day?");
+        when(contentRepository.findLatest(eq(userId), eq(course.getId()), eq("notification:daily_check_in"),
+                eq(PregeneratedContentStatus.READY), any()))
+                .thenReturn(Optional.of(PregeneratedContent.builder()
+                        .content(objectMapper.writeValueAsString(stored))
+                        .build()));
+
+        // When
+        Optional<InterSessionNotification> notification =
+                pregenerationService.findNotification(userId, course.getId(), "daily_check_in");
+
+        // Then
+        assertThat(notification).contains(stored);
+    }
+
+    @Test
+    @DisplayName("Should mark job and content failed when submission fails")
+    void pregenerateShard_SubmitFails_MarksJobFailed() throws Exception {
+        // Given
+        givenClaimedShard();
+        givenCandidates(1);
+        when(batchProvider.submitBatch(anyList())).thenThrow(new IllegalStateException("provider down"));
+
+        // When
+        pregenerationService.pregenerateShard(3, RUN_DATE);
+
+        // Then
+        ArgumentCaptor<LlmBatchJob> job = ArgumentCaptor.forClass(LlmBatchJob.class);
+        verify(batchJobRepository, times(2)).save(job.capture());
+        assertThat(job.getValue().getStatus()).isEqualTo(BatchJobStatus.FAILED);
+        assertThat(job.getValue().getError()).isEqualTo("provider down");
+        assertThat(transactionManager.open).isZero();
+    }
+
+    private void givenClaimedShard() {
+        when(batchJobRepository.tryAdvisoryLock(anyInt(), eq(3))).thenReturn(true);
+        lenient().when(batchJobRepository.findByShardAndRunDate(3, RUN_DATE)).thenReturn(Optional.empty());
+        when(batchJobRepository.save(any(LlmBatchJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(blockPrompts.digest(any(), any())).thenReturn("digest");
+        when(llmService.buildRequest(any(), any(), any(), anyMap())).thenReturn(LlmRequest.builder().build());
+        when(contentRepository.save(any(PregeneratedContent.class))).thenAnswer(invocation -> {
+            PregeneratedContent content = invocation.getArgument(0);
+            content.setId(UUID.randomUUID());
+            return content;
+        });
+    }
+
+    private LlmBatchJob existingJob(BatchJobStatus status, LocalDateTime claimedAt) {
+        return LlmBatchJob.builder()
+                .id(UUID.randomUUID())
+                .shard(3)
+                .runDate(RUN_DATE)
+                .status(status)
+                .claimedAt(claimedAt)
+                .build();
+    }
+
+    /**
+     * Candidates returned in pages of properties.pageSize
+     */
+    private void givenCandidates(int count) {
+        List<UserProgress> candidates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            candidates.add(TestDataBuilder.defaultUserProgress()
+                    .id(new UUID(0L, i + 1))
+                    .courseId(course.getId())
+                    .userData(TestDataBuilder.userDataWithName("Anna"))
+                    .build());
+        }
+        when(progressRepository.findPregenerationCandidates(any(), anyInt(), anyInt(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    UUID afterId = invocation.getArgument(3);
+                    return candidates.stream()
+                            .filter(progress -> progress.getId().compareTo(afterId) > 0)
+                            .limit(properties.getPageSize())
+                            .toList();
+                });
+    }
+
+    /**
+     * Transaction manager that only counts open transactions and commits
+     */
+    private static class CountingTransactionManager implements PlatformTransactionManager {
+
+        private int open;
+        private int commits;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            open++;
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            open--;
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            open--;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.cbt.platform.unit.cache;
+
+import com.cbt.platform.cache.TwoTierCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoTierCache
+ * Tests tier lookups, invalidation messages and Redis failure handling using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierCache Unit Tests")
+class TwoTierCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private RedisTemplate<String, Object> redis;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private List<String> published;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        cache = new TwoTierCache("courses", Caffeine.newBuilder().maximumSize(100).build(), redis, TTL,
+                "cache:", (name, key) -> published.add(name + "|" + key), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should read through Redis once and then serve from local tier")
+    void shouldPopulateLocalTierFromRedis() {
+        // Given
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache:courses:slug:anxiety")).thenReturn("course");
+
+        // When
+        Object first = cache.get("slug:anxiety", Object.class);
+        Object second = cache.get("slug:anxiety", Object.class);
+
+        // Then
+        assertThat(first).isEqualTo("course");
+        assertThat(second).isEqualTo("course");
+        verify(valueOperations, times(1)).get("cache:courses:slug:anxiety");
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "local").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("tier", "redis").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load value on miss and write it to both tiers")
+    void shouldLoadOnMiss() {
+        // Given
+        when(redis.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        String value = cache.get("id:1", () -> "loaded");
+        String cached = cache.get("id:1", () -> "reloaded");
+
+        // Then
+        assertThat(value).isEqualTo("loaded");
+        assertThat(cached).isEqualTo("loaded");
+        verify(valueOperations).set("cache:courses:id:1", "loaded", TTL);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not announce put of a value loaded on miss")
+    void shouldNotAnnouncePut() {
+        // Given
+        when(redis.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        cache.put("slug:anxiety", "course");
+
+        // Then
+        verify(valueOperations).set("cache:courses:slug:anxiety", "course", TTL);
+        assertThat(cache.get("slug:anxiety", Object.class)).isEqualTo("course");
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should announce clear of whole cache")
+    void shouldAnnounceClear() {
+        // Given
+        @SuppressWarnings("unchecked")
+        Cursor<String> cursor = mock(Cursor.class);
+        when(redis.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        // When
+        cache.clear();
+
+        // Then
+        verify(cursor).close();
+        assertThat(published).containsExactly("courses|" + TwoTierCache.ALL_KEYS);
+    }
+
+    @Test
+    @DisplayName("Should compare keys by string form and announce eviction")
+    void shouldEvictByStringKey() {
+        // Given
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        UUID id = UUID.randomUUID();
+        cache.put(id, "draft");
+
+        // When
+        cache.evict(id.toString());
+
+        // Then
+        assertThat(cache.get(id, () -> "reloaded")).isEqualTo("reloaded");
+        verify(redis).delete("cache:courses:" + id);
+        assertThat(published).containsExactly("courses|" + id);
+    }
+
+    @Test
+    @DisplayName("Should drop local entries on invalidation from another instance")
+    void shouldInvalidateLocalTier() {
+        // Given
+        TwoTierCache localOnly = new TwoTierCache("catalog", Caffeine.newBuilder().maximumSize(100).build(), null,
+                TTL, "cache:", (name, key) -> { }, meterRegistry);
+        localOnly.put("published", "list");
+        localOnly.put("active", "list");
+
+        // When
+        localOnly.invalidateLocal("published");
+        Object afterKeyInvalidation = localOnly.get("active", Object.class);
+        localOnly.invalidateLocal(TwoTierCache.ALL_KEYS);
+
+        // Then
+        assertThat(afterKeyInvalidation).isEqualTo("list");
+        assertThat(localOnly.get("published")).isNull();
+        assertThat(localOnly.get("active")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should treat Redis failure as a miss")
+    void shouldDegradeOnRedisFailure() {
+        // Given
+        when(redis.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        String value = cache.get("id:2", () -> "loaded");
+
+        // Then
+        assertThat(value).isEqualTo("loaded");
+        assertThat(meterRegistry.get("cache.redis.errors").counter().count()).isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.cbt.platform.unit.common;
+
+import com.cbt.platform.common.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UuidV7Generator
+ * Tests the RFC 9562 layout, ordering and uniqueness under concurrency
+ */
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUID with the current time")
+    void shouldGenerateVersion7() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7Generator.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestamp(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("Should generate increasing keys, also within one millisecond")
+    void shouldGenerateIncreasingKeys() {
+        // Given
+        List<UUID> keys = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            keys.add(UuidV7Generator.next());
+        }
+
+        // Then: UUID.compareTo is signed, compare as the database does (unsigned bytes)
+        for (int i = 1; i < keys.size(); i++) {
+            assertThat(Long.compareUnsigned(keys.get(i).getMostSignificantBits(),
+                    keys.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat keys across threads")
+    void shouldBeUniqueAcrossThreads() throws Exception {
+        // Given
+        Set<UUID> keys = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        keys.add(UuidV7Generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(keys).hasSize(160_000);
+    }
+}
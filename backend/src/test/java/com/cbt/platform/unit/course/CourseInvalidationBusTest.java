@@ -0,0 +1,124 @@
+package com.cbt.platform.unit.course;
+
+import com.cbt.platform.course.config.CourseInvalidationProperties;
+import com.cbt.platform.course.dto.CourseRevision;
+import com.cbt.platform.course.event.CourseChangedEvent;
+import com.cbt.platform.course.invalidation.CourseCacheListener;
+import com.cbt.platform.course.invalidation.CourseInvalidationBus;
+import com.cbt.platform.course.invalidation.CourseInvalidationTransport;
+import com.cbt.platform.course.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CourseInvalidationBus
+ * Tests idempotent handling of course change messages using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CourseInvalidationBus Unit Tests")
+class CourseInvalidationBusTest {
+
+    @Mock
+    private CourseCacheListener listener;
+
+    @Mock
+    private ObjectProvider<CourseInvalidationTransport> transports;
+
+    @Mock
+    private CourseInvalidationTransport transport;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    private CourseInvalidationProperties properties;
+    private CourseInvalidationBus bus;
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CourseInvalidationProperties();
+        bus = new CourseInvalidationBus(List.of(listener), transports, courseRepository, properties,
+                new SimpleMeterRegistry());
+        courseId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should apply committed change locally and publish it")
+    void shouldApplyAndPublishChange() {
+        // Given
+        when(transports.orderedStream()).thenReturn(Stream.of(transport));
+
+        // When
+        bus.onCourseChanged(new CourseChangedEvent(courseId, 3));
+
+        // Then
+        verify(listener).onCourseChanged(courseId, 3);
+        verify(transport).publish(courseId, 3);
+    }
+
+    @Test
+    @DisplayName("Should ignore replayed and older revisions")
+    void shouldIgnoreReplayedRevisions() {
+        // When
+        bus.receive(courseId + ":2");
+        bus.receive(courseId + ":2");
+        bus.receive(courseId + ":1");
+        bus.receive(courseId + ":3");
+
+        // Then
+        verify(listener).onCourseChanged(courseId, 2);
+        verify(listener).onCourseChanged(courseId, 3);
+        verify(listener, never()).onCourseChanged(courseId, 1);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed message")
+    void shouldIgnoreMalformedMessage() {
+        // When
+        bus.receive("not-a-course:abc");
+
+        // Then
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    @DisplayName("Should apply revisions missed by transports on reconcile")
+    void shouldApplyMissedRevisionsOnReconcile() {
+        // Given
+        properties.setRedis(true);
+        bus.receive(courseId + ":1");
+        when(courseRepository.findAllRevisions()).thenReturn(List.of(new CourseRevision(courseId, 4L)));
+
+        // When
+        bus.reconcile();
+        bus.reconcile();
+
+        // Then
+        verify(listener).onCourseChanged(courseId, 4);
+        assertThat(bus.apply(courseId, 4)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should notify listeners on resync")
+    void shouldResync() {
+        // When
+        bus.resync();
+
+        // Then
+        verify(listener).onResync();
+    }
+}
@@ -0,0 +1,129 @@
+package com.cbt.platform.unit.datasource;
+
+import com.cbt.platform.datasource.ReadWriteRoutingDataSource;
+import com.cbt.platform.datasource.ReadYourWritesGuard;
+import com.cbt.platform.datasource.ReplicaLagMonitor;
+import com.cbt.platform.datasource.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for ReadWriteRoutingDataSource against two H2 databases standing in for primary and replica
+ * Each database holds a row naming itself, so a query shows where it was routed.
+ */
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private ReplicaProperties properties;
+    private ReadYourWritesGuard guard;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReplicaProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DriverManagerDataSource primaryDataSource = database("primary");
+        DriverManagerDataSource replicaDataSource = database("replica");
+        replica = new JdbcTemplate(replicaDataSource);
+        guard = new ReadYourWritesGuard(properties);
+        lagMonitor = new ReplicaLagMonitor(properties, replica, meterRegistry);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource,
+                guard, lagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.end();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica")
+    void shouldRouteReadOnlyToReplica() {
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+        assertThat(inTransaction(readWrite)).isEqualTo("primary");
+        assertThat(server()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after a write in the same request")
+    void shouldReadOwnWriteWithinRequest() {
+        // Given
+        guard.begin(UUID.randomUUID());
+
+        // When
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET writes = writes + 1"));
+
+        // Then
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a user who just wrote on the primary")
+    void shouldPinRecentWriter() {
+        // Given
+        UUID writer = UUID.randomUUID();
+        guard.begin(writer);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET writes = writes + 1"));
+        guard.end();
+
+        // When / Then
+        guard.begin(writer);
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+        guard.end();
+
+        guard.begin(UUID.randomUUID());
+        assertThat(inTransaction(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica is unreachable")
+    void shouldFallBackWhenReplicaDown() {
+        // Given: the lag query fails (H2 has no replay functions), as for an unreachable replica
+        lagMonitor.check();
+
+        // Then
+        assertThat(lagMonitor.isBehind()).isTrue();
+        assertThat(inTransaction(readOnly)).isEqualTo("primary");
+    }
+
+    private String inTransaction(TransactionTemplate transaction) {
+        return transaction.execute(status -> server());
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("SELECT name FROM server", String.class);
+    }
+
+    private DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE server (name VARCHAR(20), writes INT)");
+        template.update("INSERT INTO server VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
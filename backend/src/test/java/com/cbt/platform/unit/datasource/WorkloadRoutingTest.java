@@ -0,0 +1,128 @@
+package com.cbt.platform.unit.datasource;
+
+import com.cbt.platform.datasource.Workload;
+import com.cbt.platform.datasource.WorkloadContext;
+import com.cbt.platform.datasource.WorkloadInterceptor;
+import com.cbt.platform.datasource.WorkloadPool;
+import com.cbt.platform.datasource.WorkloadRoutingDataSource;
+import com.cbt.platform.datasource.config.WorkloadProperties;
+import com.cbt.platform.engine.controller.SessionController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkloadInterceptor and WorkloadRoutingDataSource
+ * Tests how a request is classified and that connections come from the pool of its workload
+ */
+@DisplayName("Workload Routing Unit Tests")
+class WorkloadRoutingTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private WorkloadInterceptor interceptor;
+    private Map<Workload, DataSource> pools;
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WorkloadProperties properties = new WorkloadProperties();
+        properties.getPackages().put(Workload.INTERACTIVE, List.of("com.cbt.platform.engine"));
+        properties.getPackages().put(Workload.ADMIN, List.of("com.cbt.platform.unit"));
+        interceptor = new WorkloadInterceptor(properties);
+
+        pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            DataSource pool = mock(DataSource.class);
+            when(pool.getConnection()).thenReturn(mock(Connection.class));
+            pools.put(workload, pool);
+        }
+        dataSource = new WorkloadRoutingDataSource(pools);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should classify requests by controller package")
+    void shouldClassifyByPackage() throws Exception {
+        // When
+        interceptor.preHandle(request, response, handler(ImportController.class, "list"));
+        dataSource.getConnection();
+
+        // Then
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.ADMIN);
+        verify(pools.get(Workload.ADMIN)).getConnection();
+        verify(pools.get(Workload.INTERACTIVE), never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should prefer @WorkloadPool over the package")
+    void shouldPreferAnnotation() throws Exception {
+        // When
+        interceptor.preHandle(request, response, handler(ImportController.class, "importAll"));
+
+        // Then
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.BATCH);
+    }
+
+    @Test
+    @DisplayName("Should send learner requests to the interactive pool and release it after the request")
+    void shouldUseInteractivePool() throws Exception {
+        // When
+        HandlerMethod handler = new HandlerMethod(mock(SessionController.class),
+                SessionController.class.getDeclaredMethods()[0]);
+        interceptor.preHandle(request, response, handler);
+        dataSource.getConnection();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        // Then: work outside of requests runs as batch
+        verify(pools.get(Workload.INTERACTIVE)).getConnection();
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.BATCH);
+    }
+
+    @Test
+    @DisplayName("Should run action as another workload and restore the previous one")
+    void shouldSwitchWorkloadForAction() throws Exception {
+        // Given
+        WorkloadContext.set(Workload.ADMIN);
+
+        // When
+        Workload inside = WorkloadContext.call(Workload.BATCH, WorkloadContext::current);
+
+        // Then
+        assertThat(inside).isEqualTo(Workload.BATCH);
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.ADMIN);
+    }
+
+    private HandlerMethod handler(Class<?> type, String method) throws NoSuchMethodException {
+        return new HandlerMethod(mock(type), type.getMethod(method));
+    }
+
+    static class ImportController {
+
+        public void list() {
+        }
+
+        @WorkloadPool(Workload.BATCH)
+        public void importAll() {
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.engine.dto.BlockContext;
+import com.cbt.platform.engine.dto.BlockResult;
+import com.cbt.platform.engine.handler.InputBlockHandler;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.entity.RiskCategory;
+import com.cbt.platform.safety.service.SafetyService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InputBlockHandler
+ * Tests that input flagged by safety screening never reaches userData
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InputBlockHandler Unit Tests")
+class InputBlockHandlerTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private SafetyService safetyService;
+
+    private InputBlockHandler handler;
+    private BlockContext context;
+    private JsonNode blockData;
+    private JsonNode userData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        handler = new InputBlockHandler(objectMapper, safetyService);
+        context = new BlockContext(UUID.randomUUID(), UUID.randomUUID());
+        blockData = objectMapper.readTree("{\"id\": \"b1\", \"type\": \"input\", \"save_to\": \"thought\"}");
+        userData = objectMapper.readTree("{\"name\": \"Anna\"}");
+    }
+
+    @Test
+    @DisplayName("Should save clean input to userData")
+    void handle_CleanInput_SavesToUserData() throws Exception {
+        // Given
+        when(safetyService.screen(any(), any(), eq("b1"), eq("I failed the exam"))).thenReturn(ScreeningResult.CLEAN);
+
+        // When
+        BlockResult result = handler.handle(context, blockData, userData,
+                objectMapper.readTree("{\"value\": \"I failed the exam\"}"));
+
+        // Then
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getUpdatedUserData().get("thought").asText()).isEqualTo("I failed the exam");
+    }
+
+    @Test
+    @DisplayName("Should keep flagged input out of userData and show safety flow")
+    void handle_FlaggedInput_NotSavedToUserData() throws Exception {
+        // Given
+        ScreeningResult flagged = new ScreeningResult(Set.of(RiskCategory.SUICIDE), List.of("suicide"));
+        JsonNode safetyContent = objectMapper.readTree("{\"type\": \"safety_flow\"}");
+        when(safetyService.screen(context.userId(), context.courseId(), "b1", "thinking about suicide")).thenReturn(flagged);
+        when(safetyService.buildSafetyContent(flagged)).thenReturn(safetyContent);
+
+        // When
+        BlockResult result = handler.handle(context, blockData, userData,
+                objectMapper.readTree("{\"value\": \"thinking about suicide\"}"));
+
+        // Then
+        assertThat(result.getContent()).isEqualTo(safetyContent);
+        assertThat(result.getUpdatedUserData()).isEqualTo(userData);
+        assertThat(result.getUpdatedUserData().has("thought")).isFalse();
+    }
+}
@@ -0,0 +1,139 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.batch.service.PregenerationService;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.dto.InterSessionNotification;
+import com.cbt.platform.engine.exception.NotificationNotFoundException;
+import com.cbt.platform.engine.service.InterSessionNotificationService;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.cbt.platform.llm.service.TemplateEngine;
+import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSessionService;
+import com.cbt.platform.progress.repository.UserProgressRepository;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InterSessionNotificationService
+ * Tests serving pre-generated notifications and resolving flow templates when there is none
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InterSessionNotificationService Unit Tests")
+class InterSessionNotificationServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String FLOWS_HASH = "flows-hash";
+
+    @Mock
+    private PregenerationService pregenerationService;
+
+    @Mock
+    private ScenarioCache scenarioCache;
+
+    @Mock
+    private ScenarioPartService partService;
+
+    @Mock
+    private HotSessionService hotSessions;
+
+    @Mock
+    private UserProgressRepository progressRepository;
+
+    private InterSessionNotificationService notificationService;
+    private UUID userId;
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new InterSessionNotificationService(pregenerationService, scenarioCache, partService,
+                hotSessions, progressRepository, new PromptBuilder(new TemplateEngine()));
+        userId = UUID.randomUUID();
+        courseId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should serve pre-generated notification without reading the scenario")
+    void getNotification_Pregenerated_ReturnsIt() {
+        // Given
+        InterSessionNotification pregenerated = new InterSessionNotification("daily_check_in", "Check-in", "Anna, how was your day?");
+        when(pregenerationService.findNotification(userId, courseId, "daily_check_in")).thenReturn(Optional.of(pregenerated));
+
+        // When
+        InterSessionNotification notification = notificationService.getNotification(userId, courseId, "daily_check_in");
+
+        // Then
+        assertThat(notification).isEqualTo(pregenerated);
+        verifyNoInteractions(scenarioCache, progressRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve flow templates with user data when nothing was pre-generated")
+    void getNotification_NotPregenerated_ResolvesTemplates() throws Exception {
+        // Given
+        givenFlows();
+        when(hotSessions.load(userId, courseId)).thenReturn(Optional.empty());
+        when(progressRepository.findByUserIdAndCourseId(userId, courseId)).thenReturn(Optional.of(
+                TestDataBuilder.userProgressWithData(userId, courseId,
+                        objectMapper.readTree("{\"user_profile\": {\"name\": \"Anna\"}}"))));
+
+        // When
+        InterSessionNotification notification = notificationService.getNotification(userId, courseId, "daily_check_in");
+
+        // Then
+        assertThat(notification.flowId()).isEqualTo("daily_check_in");
+        assertThat(notification.title()).isEqualTo("Evening check-in");
+        assertThat(notification.body()).isEqualTo("Anna, how was your day?");
+    }
+
+    @Test
+    @DisplayName("Should throw when flow has no notification")
+    void getNotification_UnknownFlow_ThrowsNotFound() throws Exception {
+        // Given
+        givenFlows();
+
+        // When / Then
+        assertThatThrownBy(() -> notificationService.getNotification(userId, courseId, "weekly_review"))
+                .isInstanceOf(NotificationNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw when user has not started the course")
+    void getNotification_NoProgress_ThrowsNotFound() throws Exception {
+        // Given
+        givenFlows();
+        when(hotSessions.load(userId, courseId)).thenReturn(Optional.empty());
+        when(progressRepository.findByUserIdAndCourseId(userId, courseId)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> notificationService.getNotification(userId, courseId, "daily_check_in"))
+                .isInstanceOf(ProgressNotFoundException.class);
+    }
+
+    private void givenFlows() throws Exception {
+        when(pregenerationService.findNotification(eq(userId), eq(courseId), anyString())).thenReturn(Optional.empty());
+        when(scenarioCache.get(courseId)).thenReturn(new CompiledScenario(courseId, 1L, "scenario-hash",
+                objectMapper.createObjectNode(), null, Map.of(), Map.of("inter_session_flows", FLOWS_HASH),
+                List.of(), Map.of()));
+        when(partService.loadPart(FLOWS_HASH)).thenReturn(TestDataBuilder.scenarioBlob(objectMapper.readTree("""
+                {"daily_check_in": {"notification": {"title": "Evening check-in",
+                                                     "body": "{{user_profile.name}}, how was your day?"}}}
+                """)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.engine.dto.BlockContext;
+import com.cbt.platform.engine.dto.BlockResult;
+import com.cbt.platform.engine.handler.LlmConversationBlockHandler;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.service.SafetyService;
+import com.cbt.platform.usage.config.UsageProperties;
+import com.cbt.platform.usage.exception.LlmBudgetExceededException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LlmConversationBlockHandler
+ * Tests that an exceeded LLM budget keeps the conversation open in degraded mode
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LlmConversationBlockHandler Unit Tests")
+class LlmConversationBlockHandlerTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private LlmService llmService;
+
+    @Mock
+    private SafetyService safetyService;
+
+    private UsageProperties usageProperties;
+    private LlmConversationBlockHandler handler;
+    private BlockContext context;
+    private JsonNode userData;
+    private JsonNode userInput;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        usageProperties = new UsageProperties();
+        handler = new LlmConversationBlockHandler(llmService, objectMapper, safetyService, usageProperties);
+        context = new BlockContext(UUID.randomUUID(), UUID.randomUUID());
+        userData = objectMapper.readTree("{\"name\": \"Anna\"}");
+        userInput = objectMapper.readTree("{\"message\": \"Hello\"}");
+
+        when(llmService.isAvailable()).thenReturn(true);
+        when(safetyService.screen(any(), any(), eq("c1"), eq("Hello"))).thenReturn(ScreeningResult.CLEAN);
+        when(llmService.sendConversation(anyString(), anyList(), any(JsonNode.class), anyMap(), any(LlmCallContext.class)))
+                .thenThrow(new LlmBudgetExceededException("Daily budget of user 42 is spent"));
+    }
+
+    @Test
+    @DisplayName("Should keep block open with degraded message when budget is exceeded")
+    void handle_BudgetExceeded_KeepsBlockOpen() throws Exception {
+        // Given
+        JsonNode blockData = objectMapper.readTree("{\"id\": \"c1\", \"type\": \"llm_conversation\"}");
+
+        // When
+        BlockResult result = handler.handle(context, blockData, userData, userInput);
+
+        // Then
+        assertThat(result.isComplete()).isFalse();
+        assertThat(result.isRequiresInput()).isTrue();
+        assertThat(result.getContent().get("degraded").asBoolean()).isTrue();
+        assertThat(result.getContent().get("message").asText()).isEqualTo(usageProperties.getDegradedMessage());
+        assertThat(result.getUpdatedUserData()).isEqualTo(userData);
+    }
+
+    @Test
+    @DisplayName("Should show block fallback response when budget is exceeded")
+    void handle_BudgetExceededWithFallback_ShowsFallback() throws Exception {
+        // Given
+        JsonNode blockData = objectMapper.readTree(
+                "{\"id\": \"c1\", \"type\": \"llm_conversation\", \"fallback_response\": \"Write it down for now\"}");
+
+        // When
+        BlockResult result = handler.handle(context, blockData, userData, userInput);
+
+        // Then
+        assertThat(result.getContent().get("message").asText()).isEqualTo("Write it down for now");
+    }
+}
@@ -0,0 +1,256 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.datasource.Workload;
+import com.cbt.platform.datasource.WorkloadContext;
+import com.cbt.platform.engine.config.PrefetchProperties;
+import com.cbt.platform.engine.service.LlmBlockPrompts;
+import com.cbt.platform.engine.service.LlmPrefetchService;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.llm.service.LlmService;
+import com.cbt.platform.llm.service.PromptBuilder;
+import com.cbt.platform.llm.service.TemplateEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LlmPrefetchService
+ * Tests speculation on the next LLM_RESPONSE block and serving results only for matching userData
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LlmPrefetchService Unit Tests")
+class LlmPrefetchServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private LlmService llmService;
+
+    private PrefetchProperties properties;
+    private LlmPrefetchService prefetchService;
+    private UUID userId;
+    private UUID courseId;
+    private JsonNode userData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new PrefetchProperties();
+        LlmBlockPrompts blockPrompts = new LlmBlockPrompts(new PromptBuilder(new TemplateEngine()));
+        prefetchService = new LlmPrefetchService(llmService, blockPrompts, properties);
+        prefetchService.init();
+        userId = UUID.randomUUID();
+        courseId = UUID.randomUUID();
+        userData = objectMapper.readTree("{\"name\": \"Anna\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetchService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should speculate once per SINGLE_SELECT option with PREFETCH priority")
+    void speculate_SingleSelect_SendsOneCallPerOption() throws Exception {
+        // Given
+        stubLlm();
+
+        // When
+        prefetchService.speculate(userId, courseId, selectThenResponse("How are you, {{name}}? Mood: {{mood}}"), 0, userData);
+
+        // Then
+        ArgumentCaptor<JsonNode> assumed = ArgumentCaptor.forClass(JsonNode.class);
+        ArgumentCaptor<LlmCallContext> context = ArgumentCaptor.forClass(LlmCallContext.class);
+        verify(llmService, timeout(1000).times(2))
+                .sendMessage(anyString(), anyString(), assumed.capture(), context.capture());
+        assertThat(assumed.getAllValues()).extracting(node -> node.get("mood").asText())
+                .containsExactlyInAnyOrder("good", "bad");
+        assertThat(context.getAllValues()).allMatch(ctx -> ctx.priority() == LlmPriority.PREFETCH);
+    }
+
+    @Test
+    @DisplayName("Should run speculative calls on the interactive connection pool")
+    void speculate_RunsAsInteractiveWorkload() throws Exception {
+        // Given
+        CompletableFuture<Workload> workload = new CompletableFuture<>();
+        when(llmService.isAvailable()).thenReturn(true);
+        when(llmService.sendMessage(anyString(), anyString(), any(JsonNode.class), any(LlmCallContext.class)))
+                .thenAnswer(invocation -> {
+                    workload.complete(WorkloadContext.current());
+                    return LlmResponse.builder().content("reply").build();
+                });
+
+        // When
+        prefetchService.speculate(userId, courseId, inputThenResponse("Thanks, {{name}}"), 0, userData);
+
+        // Then
+        assertThat(workload.get(1, TimeUnit.SECONDS)).isEqualTo(Workload.INTERACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should serve prefetched response generated for the chosen option")
+    void take_MatchingUserData_ReturnsPrefetchedResponse() throws Exception {
+        // Given
+        stubLlm();
+        JsonNode blocks = selectThenResponse("Mood: {{mood}}");
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+
+        // When
+        Optional<LlmResponse> response = prefetchService.take(userId, courseId, blocks.get(1),
+                objectMapper.readTree("{\"name\": \"Anna\", \"mood\": \"bad\"}"));
+
+        // Then
+        assertThat(response).map(LlmResponse::content).contains("reply for bad");
+    }
+
+    @Test
+    @DisplayName("Should miss when actual userData differs from every assumption")
+    void take_UnassumedUserData_ReturnsEmpty() throws Exception {
+        // Given
+        when(llmService.isAvailable()).thenReturn(true);
+        JsonNode blocks = selectThenResponse("Mood: {{mood}}");
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+
+        // When
+        Optional<LlmResponse> response = prefetchService.take(userId, courseId, blocks.get(1),
+                objectMapper.readTree("{\"name\": \"Anna\", \"mood\": \"unknown\"}"));
+
+        // Then
+        assertThat(response).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should miss for another block and consume the speculation")
+    void take_OtherBlock_ReturnsEmptyAndDropsSpeculation() throws Exception {
+        // Given
+        when(llmService.isAvailable()).thenReturn(true);
+        JsonNode blocks = selectThenResponse("Mood: {{mood}}");
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+        JsonNode chosen = objectMapper.readTree("{\"name\": \"Anna\", \"mood\": \"good\"}");
+
+        // When
+        Optional<LlmResponse> otherBlock = prefetchService.take(userId, courseId,
+                objectMapper.readTree("{\"id\": \"other\", \"type\": \"llm_response\", \"prompt\": \"Mood: {{mood}}\"}"),
+                chosen);
+        Optional<LlmResponse> sameBlock = prefetchService.take(userId, courseId, blocks.get(1), chosen);
+
+        // Then
+        assertThat(otherBlock).isEmpty();
+        assertThat(sameBlock).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not serve expired speculation")
+    void take_ExpiredSpeculation_ReturnsEmpty() throws Exception {
+        // Given
+        when(llmService.isAvailable()).thenReturn(true);
+        properties.setTtl(-1);
+        JsonNode blocks = selectThenResponse("Mood: {{mood}}");
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+
+        // When
+        Optional<LlmResponse> response = prefetchService.take(userId, courseId, blocks.get(1),
+                objectMapper.readTree("{\"name\": \"Anna\", \"mood\": \"good\"}"));
+
+        // Then
+        assertThat(response).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should speculate after INPUT block when next prompt does not use the input")
+    void speculate_InputNotUsedByPrompt_ServesAnyInput() throws Exception {
+        // Given
+        stubLlm();
+        JsonNode blocks = inputThenResponse("Thanks, {{name}}");
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+
+        // When
+        Optional<LlmResponse> response = prefetchService.take(userId, courseId, blocks.get(1),
+                objectMapper.readTree("{\"name\": \"Anna\", \"thought\": \"I failed the exam\"}"));
+
+        // Then
+        verify(llmService, times(1)).sendMessage(anyString(), anyString(), any(JsonNode.class), any(LlmCallContext.class));
+        assertThat(response).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should not speculate after INPUT block when next prompt uses the input")
+    void speculate_InputUsedByPrompt_SkipsSpeculation() throws Exception {
+        // Given
+        when(llmService.isAvailable()).thenReturn(true);
+        JsonNode blocks = inputThenResponse("You wrote: {{thought}}");
+
+        // When
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+        Optional<LlmResponse> response = prefetchService.take(userId, courseId, blocks.get(1),
+                objectMapper.readTree("{\"name\": \"Anna\", \"thought\": \"I failed the exam\"}"));
+
+        // Then
+        verify(llmService, never()).sendMessage(anyString(), anyString(), any(JsonNode.class), any(LlmCallContext.class));
+        assertThat(response).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not speculate when next block is not LLM_RESPONSE")
+    void speculate_NextBlockNotLlmResponse_SkipsSpeculation() throws Exception {
+        // Given
+        JsonNode blocks = objectMapper.readTree("""
+                [
+                  {"id": "b1", "type": "input", "save_to": "thought"},
+                  {"id": "b2", "type": "text", "content": "Well done"}
+                ]
+                """);
+
+        // When
+        prefetchService.speculate(userId, courseId, blocks, 0, userData);
+
+        // Then
+        verifyNoInteractions(llmService);
+    }
+
+    private void stubLlm() {
+        when(llmService.isAvailable()).thenReturn(true);
+        when(llmService.sendMessage(anyString(), anyString(), any(JsonNode.class), any(LlmCallContext.class)))
+                .thenAnswer(invocation -> {
+                    JsonNode assumed = invocation.getArgument(2);
+                    String mood = assumed.has("mood") ? assumed.get("mood").asText() : "input";
+                    return LlmResponse.builder().content("reply for " + mood).build();
+                });
+    }
+
+    private JsonNode selectThenResponse(String prompt) throws Exception {
+        return objectMapper.readTree("""
+                [
+                  {"id": "b1", "type": "single_select", "save_to": "mood",
+                   "options": [{"id": "good", "text": "Good"}, {"id": "bad", "text": "Bad"}]},
+                  {"id": "b2", "type": "llm_response", "prompt": "%s"}
+                ]
+                """.formatted(prompt));
+    }
+
+    private JsonNode inputThenResponse(String prompt) throws Exception {
+        return objectMapper.readTree("""
+                [
+                  {"id": "b1", "type": "input", "save_to": "thought"},
+                  {"id": "b2", "type": "llm_response", "prompt": "%s"}
+                ]
+                """.formatted(prompt));
+    }
+}
@@ -0,0 +1,226 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.course.entity.Course;
+import com.cbt.platform.course.exception.CourseNotFoundException;
+import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.config.ScenarioCacheProperties;
+import com.cbt.platform.engine.config.ScenarioSnapshotProperties;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.exception.BlockNotFoundException;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.engine.service.ScenarioSnapshotStore;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.entity.ScenarioPart;
+import com.cbt.platform.scenario.service.ScenarioPartService;
+import com.cbt.platform.scenario.service.ScenarioSplitter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScenarioCache
+ * Tests revision-aware caching of compiled scenarios and lazy session loading using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScenarioCache Unit Tests")
+class ScenarioCacheTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private ScenarioPartService partService;
+
+    @Mock
+    private BlockCompletionService completionService;
+
+    private ScenarioCache scenarioCache;
+    private UUID courseId;
+    private ScenarioBlob blob;
+    private List<ScenarioPart> parts;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scenarioCache = new ScenarioCache(courseRepository, partService,
+                new ScenarioSnapshotStore(new ScenarioSnapshotProperties(), new SimpleMeterRegistry()),
+                completionService, new ScenarioCacheProperties());
+        scenarioCache.init();
+        courseId = UUID.randomUUID();
+        blob = TestDataBuilder.scenarioBlob(objectMapper.readTree(
+                "{\"meta\":{\"sessions\":[\"s1\",\"s2\"]}," +
+                        "\"sessions\":{\"s1\":{\"blocks\":[{\"id\":\"b1\",\"type\":\"static\"}]}," +
+                        "\"s2\":{\"blocks\":[{\"id\":\"b2\",\"type\":\"static\"}]}}}"));
+        parts = split(blob);
+        lenient().when(partService.findParts(blob.getHash())).thenReturn(parts);
+        lenient().when(completionService.assignOrdinals(eq(courseId), anyList())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            Map<String, Integer> ordinals = new HashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                ordinals.put(keys.get(i), i);
+            }
+            return ordinals;
+        });
+    }
+
+    @Test
+    @DisplayName("Should compile scenario once and index sessions")
+    void shouldCompileOnce() {
+        // Given
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(1)));
+
+        // When
+        CompiledScenario first = scenarioCache.get(courseId);
+        CompiledScenario second = scenarioCache.get(courseId);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.firstSessionId()).isEqualTo("s1");
+        assertThat(scenarioCache.block(first, "s1", 0).get("id").asText()).isEqualTo("b1");
+        assertThat(first.scenarioHash()).isEqualTo(blob.getHash());
+        verify(courseRepository, times(1)).findById(courseId);
+    }
+
+    @Test
+    @DisplayName("Should load only the sessions that are used, once")
+    void shouldLoadSessionsLazily() {
+        // Given
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(1)));
+        CompiledScenario scenario = scenarioCache.get(courseId);
+        clearInvocations(partService);
+
+        // When
+        scenarioCache.session(scenario, "s1");
+        scenarioCache.block(scenario, "s1", 0);
+
+        // Then
+        verify(partService, times(1)).loadPart(scenario.sessionHash("s1"));
+        verify(partService, never()).loadPart(scenario.sessionHash("s2"));
+    }
+
+    @Test
+    @DisplayName("Should collect block keys in scenario order and bind course ordinals")
+    void shouldBindBlockOrdinals() {
+        // Given
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(1)));
+
+        // When
+        CompiledScenario scenario = scenarioCache.get(courseId);
+
+        // Then
+        assertThat(scenario.blockKeys()).containsExactly("s1:b1", "s2:b2");
+        assertThat(scenario.blockCount()).isEqualTo(2);
+        assertThat(scenario.blockOrdinal("s2", "b2")).isEqualTo(1);
+        assertThatThrownBy(() -> scenario.blockOrdinal("s2", "missing"))
+                .isInstanceOf(BlockNotFoundException.class);
+        verify(completionService).assignOrdinals(courseId, List.of("s1:b1", "s2:b2"));
+    }
+
+    @Test
+    @DisplayName("Should reuse compiled content of the same scenario hash")
+    void shouldReuseCompiledContentByHash() {
+        // Given: metadata-only change keeps the scenario blob
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(1)), Optional.of(course(2)));
+        CompiledScenario before = scenarioCache.get(courseId);
+
+        // When
+        scenarioCache.onCourseChanged(courseId, 2);
+        CompiledScenario after = scenarioCache.get(courseId);
+
+        // Then
+        assertThat(after.revision()).isEqualTo(2);
+        assertThat(after.header()).isSameAs(before.header());
+        verify(partService, times(1)).findParts(blob.getHash());
+    }
+
+    @Test
+    @DisplayName("Should drop scenario on newer revision and keep it on older one")
+    void shouldDropOnNewerRevision() {
+        // Given
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(2)), Optional.of(course(3)));
+        scenarioCache.get(courseId);
+
+        // When
+        scenarioCache.onCourseChanged(courseId, 2);
+        CompiledScenario kept = scenarioCache.get(courseId);
+        scenarioCache.onCourseChanged(courseId, 3);
+        CompiledScenario reloaded = scenarioCache.get(courseId);
+
+        // Then
+        assertThat(kept.revision()).isEqualTo(2);
+        assertThat(reloaded.revision()).isEqualTo(3);
+        verify(courseRepository, times(2)).findById(courseId);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load older than an invalidated revision")
+    void shouldNotCacheStaleLoad() {
+        // Given: invalidation of revision 5 arrives before the replica shows it
+        scenarioCache.onCourseChanged(courseId, 5);
+        when(courseRepository.findById(courseId)).thenReturn(Optional.of(course(4)));
+
+        // When
+        scenarioCache.get(courseId);
+        scenarioCache.get(courseId);
+
+        // Then
+        verify(courseRepository, times(2)).findById(courseId);
+    }
+
+    @Test
+    @DisplayName("Should throw when course does not exist")
+    void shouldThrowWhenCourseNotFound() {
+        // Given
+        when(courseRepository.findById(courseId)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> scenarioCache.get(courseId))
+                .isInstanceOf(CourseNotFoundException.class);
+    }
+
+    private Course course(long revision) {
+        return Course.builder()
+                .id(courseId)
+                .slug("test-course")
+                .scenario(blob)
+                .revision(revision)
+                .build();
+    }
+
+    private List<ScenarioPart> split(ScenarioBlob scenario) {
+        List<ScenarioPart> result = new ArrayList<>();
+        for (ScenarioSplitter.Part part : ScenarioSplitter.split(scenario.getContent())) {
+            ScenarioBlob partBlob = TestDataBuilder.scenarioBlob(part.content());
+            lenient().when(partService.loadPart(partBlob.getHash())).thenReturn(partBlob);
+            result.add(ScenarioPart.builder()
+                    .id(UUID.randomUUID())
+                    .scenarioHash(scenario.getHash())
+                    .kind(part.kind())
+                    .partKey(part.key())
+                    .position(part.position())
+                    .partHash(partBlob.getHash())
+                    .sizeBytes(partBlob.getSizeBytes())
+                    .build());
+        }
+        return result;
+    }
+}
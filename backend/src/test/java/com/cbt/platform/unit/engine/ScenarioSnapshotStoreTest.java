@@ -0,0 +1,105 @@
+package com.cbt.platform.unit.engine;
+
+import com.cbt.platform.engine.config.ScenarioSnapshotProperties;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioSnapshotStore;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioSnapshotStore
+ * Tests Smile snapshots surviving a restart and recovery from damaged files
+ */
+@DisplayName("ScenarioSnapshotStore Unit Tests")
+class ScenarioSnapshotStoreTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private ScenarioSnapshotProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScenarioSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+    }
+
+    @Test
+    @DisplayName("Should read snapshots written before restart")
+    void shouldReadSnapshotsAfterRestart() throws Exception {
+        CompiledScenario compiled = new CompiledScenario(null, 0, "abc",
+                objectMapper.readTree("{\"meta\":{\"sessions\":[\"s1\"]}}"), "s1",
+                Map.of("s1", "h1"), Map.of(), List.of("s1:b1"), Map.of());
+        ScenarioBlob session = TestDataBuilder.scenarioBlob(objectMapper.readTree("{\"blocks\":[{\"id\":\"b1\"}]}"));
+
+        ScenarioSnapshotStore store = newStore();
+        store.write("scenario-abc", compiled);
+        store.write("part-h1", session);
+
+        ScenarioSnapshotStore restarted = newStore();
+        Optional<CompiledScenario> readScenario = restarted.read("scenario-abc", CompiledScenario.class);
+        Optional<ScenarioBlob> readSession = restarted.read("part-h1", ScenarioBlob.class);
+
+        assertThat(readScenario).contains(compiled);
+        assertThat(readSession).isPresent();
+        assertThat(readSession.get().getContent()).isEqualTo(session.getContent());
+    }
+
+    @Test
+    @DisplayName("Should drop unreadable snapshot")
+    void shouldDropUnreadableSnapshot() throws Exception {
+        Files.write(directory.resolve("part-broken.smile"), new byte[]{1, 2, 3});
+
+        ScenarioSnapshotStore store = newStore();
+
+        assertThat(store.read("part-broken", ScenarioBlob.class)).isEmpty();
+        assertThat(directory.resolve("part-broken.smile")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should skip snapshots above disk budget")
+    void shouldSkipSnapshotsAboveBudget() throws Exception {
+        properties.setMaxDiskBytes(8);
+        ScenarioSnapshotStore store = newStore();
+
+        store.write("part-big", TestDataBuilder.scenarioBlob(objectMapper.readTree("{\"text\":\"long enough content\"}")));
+
+        assertThat(store.read("part-big", ScenarioBlob.class)).isEmpty();
+        assertThat(directory.resolve("part-big.smile")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        properties.setEnabled(false);
+        ScenarioSnapshotStore store = newStore();
+
+        store.write("part-h1", TestDataBuilder.scenarioBlob());
+
+        assertThat(store.read("part-h1", ScenarioBlob.class)).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    private ScenarioSnapshotStore newStore() {
+        ScenarioSnapshotStore store = new ScenarioSnapshotStore(properties, new SimpleMeterRegistry());
+        store.init();
+        return store;
+    }
+}
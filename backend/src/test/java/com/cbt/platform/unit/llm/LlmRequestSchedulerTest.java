@@ -0,0 +1,153 @@
+package com.cbt.platform.unit.llm;
+
+import com.cbt.platform.llm.config.LlmProviderProperties;
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmRequest;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.llm.exception.LlmOverloadedException;
+import com.cbt.platform.llm.service.LlmRequestScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LlmRequestScheduler
+ * Token budget of 100 tokens per second; each test first drains it, so waiting calls
+ * are admitted one by one (every 100 ms) in the order chosen by the scheduler
+ */
+@DisplayName("LlmRequestScheduler Unit Tests")
+class LlmRequestSchedulerTest {
+
+    private static final ProviderType PROVIDER = ProviderType.CLAUDE;
+    private static final int DRAIN_TOKENS = 100_000;
+    private static final int DEBT_TOKENS = 150;
+    private static final int CALL_TOKENS = 10;
+
+    private LlmProviderProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmRequestScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        LlmProviderProperties.ProviderConfig config = new LlmProviderProperties.ProviderConfig();
+        config.setTokensPerMinute(6000);
+        properties = new LlmProviderProperties();
+        properties.getProviders().put(PROVIDER.name().toLowerCase(), config);
+        properties.getScheduler().setMaxQueueTime(30000);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new LlmRequestScheduler(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should admit waiting calls by weighted round robin over priorities")
+    void shouldAdmitByWeightedRoundRobin() throws Exception {
+        // Given
+        properties.getScheduler().setShedBelow(0);
+        drainBudget();
+        List<LlmPriority> admitted = new CopyOnWriteArrayList<>();
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            waiters.add(startWaiter(LlmPriority.INTERACTIVE, admitted));
+        }
+        for (int i = 0; i < 2; i++) {
+            waiters.add(startWaiter(LlmPriority.BATCH, admitted));
+        }
+        awaitQueued(8);
+
+        // When
+        for (Thread waiter : waiters) {
+            waiter.join(10000);
+        }
+
+        // Then - interactive (weight 8) goes first, batch (weight 1) is not starved
+        assertThat(admitted).containsExactly(
+                LlmPriority.INTERACTIVE, LlmPriority.INTERACTIVE, LlmPriority.INTERACTIVE, LlmPriority.INTERACTIVE,
+                LlmPriority.BATCH,
+                LlmPriority.INTERACTIVE, LlmPriority.INTERACTIVE,
+                LlmPriority.BATCH);
+    }
+
+    @Test
+    @DisplayName("Should shed call when queue of its priority is full")
+    void shouldShedWhenQueueFull() throws Exception {
+        // Given
+        properties.getScheduler().setMaxQueueSize(1);
+        drainBudget();
+        List<LlmPriority> admitted = new CopyOnWriteArrayList<>();
+        Thread waiter = startWaiter(LlmPriority.INTERACTIVE, admitted);
+        awaitQueued(1);
+
+        // When / Then
+        assertThatThrownBy(() -> execute(LlmPriority.INTERACTIVE, CALL_TOKENS, admitted))
+                .isInstanceOf(LlmOverloadedException.class);
+        assertThat(meterRegistry.get("llm.scheduler.shed").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+
+        waiter.join(10000);
+        assertThat(admitted).containsExactly(LlmPriority.INTERACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should shed sheddable call right away when budget is low")
+    void shouldShedSheddableWhenBudgetLow() {
+        // Given
+        drainBudget();
+
+        // When / Then
+        assertThatThrownBy(() -> execute(LlmPriority.BATCH, CALL_TOKENS, new ArrayList<>()))
+                .isInstanceOf(LlmOverloadedException.class);
+        assertThat(meterRegistry.get("llm.scheduler.shed").tag("reason", "budget_exhausted").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    /**
+     * Take the whole token budget and report extra usage, so the next call waits for refill
+     */
+    private void drainBudget() {
+        scheduler.execute(PROVIDER, LlmPriority.INTERACTIVE, request(DRAIN_TOKENS),
+                request -> LlmResponse.builder().tokensUsed(DRAIN_TOKENS + DEBT_TOKENS).build());
+    }
+
+    private Thread startWaiter(LlmPriority priority, List<LlmPriority> admitted) {
+        Thread thread = new Thread(() -> execute(priority, CALL_TOKENS, admitted));
+        thread.start();
+        return thread;
+    }
+
+    private LlmResponse execute(LlmPriority priority, int tokens, List<LlmPriority> admitted) {
+        return scheduler.execute(PROVIDER, priority, request(tokens), request -> {
+            admitted.add(priority);
+            return LlmResponse.builder().build();
+        });
+    }
+
+    private LlmRequest request(int maxTokens) {
+        return LlmRequest.builder()
+                .parameters(Map.of("maxTokens", maxTokens))
+                .build();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (queued() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queued()).isEqualTo(expected);
+    }
+
+    private int queued() {
+        return (int) meterRegistry.find("llm.scheduler.queue.size").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+}
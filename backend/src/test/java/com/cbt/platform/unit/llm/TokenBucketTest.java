@@ -0,0 +1,91 @@
+package com.cbt.platform.unit.llm;
+
+import com.cbt.platform.llm.service.TokenBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket
+ * Uses manual clock to control refill
+ */
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    private AtomicLong clock;
+    private TokenBucket bucket;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        bucket = new TokenBucket(60, clock::get); // 1 per second
+    }
+
+    @Test
+    @DisplayName("Should start full and reject when empty")
+    void shouldStartFullAndRejectWhenEmpty() {
+        // When
+        boolean first = bucket.tryAcquire(60);
+        boolean second = bucket.tryAcquire(1);
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(bucket.availableFraction()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill at per-minute rate")
+    void shouldRefillAtPerMinuteRate() {
+        // Given
+        bucket.tryAcquire(60);
+
+        // When
+        clock.addAndGet(5 * ONE_SECOND);
+
+        // Then
+        assertThat(bucket.tryAcquire(5)).isTrue();
+        assertThat(bucket.tryAcquire(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report time until amount is available")
+    void shouldReportTimeUntilAvailable() {
+        // Given
+        bucket.tryAcquire(60);
+
+        // When / Then
+        assertThat(bucket.nanosUntilAvailable(3)).isEqualTo(3 * ONE_SECOND);
+        clock.addAndGet(3 * ONE_SECOND);
+        assertThat(bucket.nanosUntilAvailable(3)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cap amounts larger than capacity")
+    void shouldCapAmountsLargerThanCapacity() {
+        // When / Then
+        assertThat(bucket.tryAcquire(1000)).isTrue();
+        assertThat(bucket.nanosUntilAvailable(1000)).isEqualTo(60 * ONE_SECOND);
+    }
+
+    @Test
+    @DisplayName("Should go into debt on positive adjustment")
+    void shouldGoIntoDebtOnPositiveAdjustment() {
+        // Given
+        bucket.tryAcquire(60);
+
+        // When
+        bucket.adjust(10);
+        clock.addAndGet(5 * ONE_SECOND);
+
+        // Then
+        assertThat(bucket.tryAcquire(1)).isFalse();
+        assertThat(bucket.nanosUntilAvailable(1)).isEqualTo(6 * ONE_SECOND);
+    }
+}
@@ -0,0 +1,122 @@
+package com.cbt.platform.unit.progress;
+
+import com.cbt.platform.progress.entity.BlockOrdinal;
+import com.cbt.platform.progress.repository.BlockOrdinalRepository;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.progress.service.BlockCompletionServiceImpl;
+import com.cbt.platform.progress.service.CompletionBits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BlockCompletionServiceImpl
+ * Tests stable ordinal assignment and bitset decoding using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlockCompletionService Unit Tests")
+class BlockCompletionServiceTest {
+
+    @Mock
+    private BlockOrdinalRepository ordinalRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @InjectMocks
+    private BlockCompletionServiceImpl completionService;
+
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        courseId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should keep existing ordinals and append new blocks")
+    void shouldAppendNewBlocks() {
+        // Given: s1:b2 was removed from the scenario, s1:b3 is new
+        when(ordinalRepository.findByCourseIdOrderByOrdinal(courseId)).thenReturn(
+                List.of(ordinal("s1:b1", 0), ordinal("s1:b2", 1)),
+                List.of(ordinal("s1:b1", 0), ordinal("s1:b2", 1), ordinal("s1:b3", 2)));
+
+        // When
+        Map<String, Integer> ordinals = completionService.assignOrdinals(courseId, List.of("s1:b1", "s1:b3"));
+
+        // Then
+        assertThat(ordinals).containsExactlyInAnyOrderEntriesOf(Map.of("s1:b1", 0, "s1:b3", 2));
+        verify(ordinalRepository).insertIfAbsent(any(), eq(courseId), eq("s1:b3"), eq(2));
+        verify(ordinalRepository, times(1)).insertIfAbsent(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should retry when another instance took the ordinal")
+    void shouldRetryOnConcurrentAssignment() {
+        // Given: another instance assigned ordinal 0 to s1:b2 first
+        when(ordinalRepository.findByCourseIdOrderByOrdinal(courseId)).thenReturn(
+                List.of(),
+                List.of(ordinal("s1:b2", 0)),
+                List.of(ordinal("s1:b2", 0), ordinal("s1:b1", 1)));
+
+        // When
+        Map<String, Integer> ordinals = completionService.assignOrdinals(courseId, List.of("s1:b1", "s1:b2"));
+
+        // Then
+        assertThat(ordinals).containsExactlyInAnyOrderEntriesOf(Map.of("s1:b1", 1, "s1:b2", 0));
+        verify(ordinalRepository).insertIfAbsent(any(), eq(courseId), eq("s1:b1"), eq(1));
+    }
+
+    @Test
+    @DisplayName("Should decode bitset and reload ordinals assigned after caching")
+    void shouldDecodeBitset() {
+        // Given
+        when(ordinalRepository.findByCourseIdOrderByOrdinal(courseId)).thenReturn(
+                List.of(ordinal("s1:b1", 0)),
+                List.of(ordinal("s1:b1", 0), ordinal("s1:b2", 1), ordinal("s2:b1", 2)));
+        byte[] first = CompletionBits.set(null, 0);
+        byte[] later = CompletionBits.set(first, 2);
+
+        // When
+        List<String> before = completionService.completedBlocks(courseId, first);
+        List<String> after = completionService.completedBlocks(courseId, later);
+
+        // Then
+        assertThat(before).containsExactly("s1:b1");
+        assertThat(after).containsExactly("s1:b1", "s2:b1");
+        assertThat(completionService.completedBlocks(courseId, null)).isEmpty();
+        verify(ordinalRepository, times(2)).findByCourseIdOrderByOrdinal(courseId);
+    }
+
+    @Test
+    @DisplayName("Should report missing progress")
+    void shouldReportMissingProgress() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(progressRepository.markBlockCompleted(eq(userId), eq(courseId), eq(3), eq(10), any())).thenReturn(0);
+
+        // When/Then
+        assertThat(completionService.markCompleted(userId, courseId, 3, 10)).isFalse();
+    }
+
+    private BlockOrdinal ordinal(String key, int ordinal) {
+        return BlockOrdinal.builder()
+                .id(UUID.randomUUID())
+                .courseId(courseId)
+                .blockKey(key)
+                .ordinal(ordinal)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cbt.platform.unit.progress;
+
+import com.cbt.platform.progress.service.CompletionBits;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CompletionBits
+ * Tests the bit layout shared with PostgreSQL get_bit/set_bit
+ */
+@DisplayName("CompletionBits Unit Tests")
+class CompletionBitsTest {
+
+    @Test
+    @DisplayName("Should number bits from the least significant bit of the first byte")
+    void shouldUsePostgresBitLayout() {
+        byte[] bits = CompletionBits.set(null, 0);
+        bits = CompletionBits.set(bits, 9);
+
+        assertThat(bits).containsExactly(0x01, 0x02);
+    }
+
+    @Test
+    @DisplayName("Should grow bitset and keep existing bits")
+    void shouldGrowBitset() {
+        byte[] bits = CompletionBits.set(CompletionBits.set(null, 3), 20);
+
+        assertThat(bits).hasSize(3);
+        assertThat(CompletionBits.isSet(bits, 3)).isTrue();
+        assertThat(CompletionBits.isSet(bits, 20)).isTrue();
+        assertThat(CompletionBits.isSet(bits, 4)).isFalse();
+        assertThat(CompletionBits.isSet(bits, 100)).isFalse();
+        assertThat(CompletionBits.isSet(null, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should list set ordinals in ascending order")
+    void shouldListOrdinals() {
+        byte[] bits = CompletionBits.set(CompletionBits.set(CompletionBits.set(null, 17), 2), 8);
+
+        assertThat(CompletionBits.ordinals(bits)).containsExactly(2, 8, 17);
+        assertThat(CompletionBits.ordinals(null)).isEmpty();
+    }
+}
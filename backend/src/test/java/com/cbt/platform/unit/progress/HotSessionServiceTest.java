@@ -0,0 +1,254 @@
+package com.cbt.platform.unit.progress;
+
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.progress.config.HotSessionProperties;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.exception.ProgressConflictException;
+import com.cbt.platform.progress.hot.HotSession;
+import com.cbt.platform.progress.hot.HotSessionService;
+import com.cbt.platform.progress.hot.HotSessionStore;
+import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.progress.service.BlockCompletionService;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HotSessionService
+ * Tests loading from the last checkpoint, checkpoint triggers, version fencing and Redis fallback
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HotSessionService Unit Tests")
+class HotSessionServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final long GENERATION = 1L << 32;
+
+    @Mock
+    private HotSessionStore store;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private BlockCompletionService completionService;
+
+    @Mock
+    private ProgressWriteBuffer writeBuffer;
+
+    @Mock
+    private ScenarioCache scenarioCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HotSessionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HotSessionService service;
+    private UUID userId;
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HotSessionProperties();
+        properties.setEnabled(true);
+        properties.setCheckpointInteractions(3);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new HotSessionService(properties, store, progressRepository, completionService, writeBuffer,
+                scenarioCache, transactionManager, meterRegistry);
+        userId = UUID.randomUUID();
+        courseId = UUID.randomUUID();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Should load state from the last checkpoint under a new generation")
+    void shouldLoadFromCheckpoint() {
+        // Given
+        UserProgress progress = TestDataBuilder.userProgress(userId, courseId);
+        progress.setCurrentSessionId("s1");
+        progress.setCurrentBlockIndex(4);
+        progress.setStateVersion(GENERATION);
+        when(store.get(userId, courseId)).thenReturn(Optional.empty());
+        when(writeBuffer.pending(userId, courseId)).thenReturn(Optional.empty());
+        when(progressRepository.claimStateGeneration(userId, courseId)).thenReturn(1);
+        when(progressRepository.findByUserIdAndCourseId(userId, courseId)).thenReturn(Optional.of(progress));
+        when(store.create(eq(userId), eq(courseId), any())).thenReturn(true);
+
+        // When
+        Optional<HotSession> session = service.load(userId, courseId);
+
+        // Then
+        assertThat(session).isPresent();
+        assertThat(session.get().position()).isEqualTo(new ProgressPosition("s1", 4));
+        assertThat(session.get().version()).isEqualTo(GENERATION);
+        assertThat(session.get().uncheckpointed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write to Redis only until enough interactions accumulate")
+    void shouldCheckpointAfterInteractions() {
+        // Given
+        HotSession current = session(GENERATION + 1, GENERATION, "");
+        when(store.write(eq(userId), eq(courseId), eq(GENERATION + 1), any(), isNull(), eq(1), any()))
+                .thenReturn(GENERATION + 2);
+
+        // When: two writes since the checkpoint
+        Optional<HotSession> updated = service.advance(userId, courseId, current, new ProgressPosition("s1", 2),
+                null, 1, false);
+
+        // Then
+        assertThat(updated).isPresent();
+        assertThat(updated.get().completedOrdinals()).containsExactly(1);
+        verifyNoInteractions(progressRepository, completionService);
+
+        // When: third write
+        when(store.write(eq(userId), eq(courseId), eq(GENERATION + 2), any(), isNull(), eq(2), any()))
+                .thenReturn(GENERATION + 3);
+        when(progressRepository.checkpointState(eq(userId), eq(courseId), eq("s1"), eq(3), any(), eq(GENERATION + 3)))
+                .thenReturn(1);
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
+        service.advance(userId, courseId, updated.get(), new ProgressPosition("s1", 3), null, 2, false);
+
+        // Then: position, userData and both completed blocks are written once
+        verify(progressRepository).checkpointState(eq(userId), eq(courseId), eq("s1"), eq(3), any(), eq(GENERATION + 3));
+        verify(completionService).markCompleted(userId, courseId, 1, 4);
+        verify(completionService).markCompleted(userId, courseId, 2, 4);
+        verify(store).checkpointed(eq(userId), eq(courseId), argThat(session -> "1,2".equals(session.completedBlocks())));
+        assertThat(meterRegistry.get("progress.hot-session.checkpoints").tag("reason", "interactions").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint when the session is completed")
+    void shouldCheckpointOnSessionCompletion() {
+        // Given
+        HotSession current = session(GENERATION, GENERATION, "");
+        when(store.write(any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(GENERATION + 1);
+        when(progressRepository.checkpointState(eq(userId), eq(courseId), eq("s2"), eq(0), any(), eq(GENERATION + 1)))
+                .thenReturn(1);
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
+
+        // When
+        service.advance(userId, courseId, current, new ProgressPosition("s2", 0), null, 3, true);
+
+        // Then
+        verify(completionService).markCompleted(userId, courseId, 3, 4);
+        assertThat(meterRegistry.get("progress.hot-session.checkpoints").tag("reason", "session").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop state whose checkpoint is older than the row")
+    void shouldDropStaleState() {
+        // Given: row was claimed by a newer generation after this state was loaded
+        HotSession current = session(GENERATION + 2, GENERATION, "1");
+        when(store.write(any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(GENERATION + 3);
+        when(progressRepository.checkpointState(any(), any(), any(), anyInt(), any(), anyLong())).thenReturn(0);
+
+        // When
+        service.advance(userId, courseId, current, new ProgressPosition("s1", 3), null, null, false);
+
+        // Then
+        verify(store).evict(userId, courseId, GENERATION + 3);
+        verify(store, never()).checkpointed(any(), any(), any());
+        verifyNoInteractions(completionService);
+        assertThat(meterRegistry.get("progress.hot-session.fenced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject write when another request changed the state")
+    void shouldRejectConcurrentWrite() {
+        // Given
+        when(store.write(any(), any(), anyLong(), any(), any(), any(), any())).thenReturn(-1L);
+
+        // When / Then
+        assertThatThrownBy(() -> service.advance(userId, courseId, session(GENERATION, GENERATION, ""),
+                new ProgressPosition("s1", 2), null, null, false))
+                .isInstanceOf(ProgressConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should fall back to user_progress while Redis is unreachable")
+    void shouldFallBackWhenRedisUnavailable() {
+        // Given
+        properties.setRetryInterval(60000);
+        when(store.get(userId, courseId)).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        Optional<HotSession> first = service.load(userId, courseId);
+        Optional<HotSession> second = service.load(userId, courseId);
+
+        // Then: Redis is not asked again until the retry interval passed
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(store, times(1)).get(userId, courseId);
+    }
+
+    @Test
+    @DisplayName("Should fence off and drop state of sessions written without Redis")
+    void shouldDropStateWrittenWithoutRedis() {
+        // Given: a write went to user_progress during an outage
+        service.fallBack(userId, courseId);
+        when(store.get(userId, courseId)).thenReturn(Optional.of(session(GENERATION, GENERATION, "")));
+
+        // When: Redis is back
+        service.load(userId, courseId);
+
+        // Then: the row is at a new generation and the old state is deleted before Redis is read
+        verify(progressRepository).claimStateGeneration(userId, courseId);
+        InOrder order = inOrder(store);
+        order.verify(store).delete(userId, courseId);
+        order.verify(store).get(userId, courseId);
+    }
+
+    @Test
+    @DisplayName("Should not use Redis when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        Optional<HotSession> session = service.load(userId, courseId);
+        service.evict(userId, courseId);
+        service.fallBack(userId, courseId);
+
+        // Then
+        assertThat(session).isEmpty();
+        verifyNoInteractions(store, progressRepository);
+    }
+
+    private HotSession session(long version, long checkpointedVersion, String completedBlocks) {
+        JsonNode userData = objectMapper.createObjectNode().put("name", "John");
+        return new HotSession(version, checkpointedVersion, "s1", 1, userData, LocalDateTime.now(), completedBlocks);
+    }
+
+    private CompiledScenario scenario() {
+        return new CompiledScenario(courseId, 1, "hash", objectMapper.createObjectNode(), "s1", Map.of(), Map.of(),
+                List.of("s1:b1", "s1:b2", "s1:b3", "s2:b1"), Map.of("s1:b1", 0, "s1:b2", 1, "s1:b3", 2, "s2:b1", 3));
+    }
+}
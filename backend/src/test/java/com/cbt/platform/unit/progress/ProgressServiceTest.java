@@ -2,14 +2,21 @@ package com.cbt.platform.unit.progress;
 
 import com.cbt.platform.course.exception.CourseNotFoundException;
 import com.cbt.platform.course.repository.CourseRepository;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.exception.BlockNotFoundException;
+import com.cbt.platform.engine.service.ScenarioCache;
 import com.cbt.platform.fixtures.TestDataBuilder;
 import com.cbt.platform.progress.dto.*;
 import com.cbt.platform.progress.entity.UserProgress;
 import com.cbt.platform.progress.exception.CourseAlreadyStartedException;
 import com.cbt.platform.progress.exception.ProgressNotFoundException;
+import com.cbt.platform.progress.hot.HotSessionService;
 import com.cbt.platform.progress.mapper.ProgressMapper;
 import com.cbt.platform.progress.repository.ProgressRepository;
+import com.cbt.platform.progress.service.BlockCompletionService;
 import com.cbt.platform.progress.service.ProgressServiceImpl;
+import com.cbt.platform.progress.writebehind.ProgressUpdate;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +24,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -49,6 +58,18 @@ class ProgressServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ScenarioCache scenarioCache;
+
+    @Mock
+    private BlockCompletionService completionService;
+
+    @Mock
+    private ProgressWriteBuffer writeBuffer;
+
+    @Mock
+    private HotSessionService hotSessions;
+
     @InjectMocks
     private ProgressServiceImpl progressService;
 
@@ -70,7 +91,7 @@ class ProgressServiceTest {
                 testProgress.getCurrentBlockIndex(),
                 testProgress.getUserData(),
                 testProgress.getCompletedSessions(),
-                testProgress.getCompletedBlocks(),
+                List.of(),
                 testProgress.getCompletionPercentage(),
                 testProgress.getIsCompleted(),
                 testProgress.getStartedAt(),
@@ -79,6 +100,8 @@ class ProgressServiceTest {
                 testProgress.getCreatedAt(),
                 testProgress.getUpdatedAt()
         );
+        lenient().when(writeBuffer.apply(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(hotSessions.apply(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     // ==================== Start Course Tests ====================
@@ -219,17 +242,62 @@ class ProgressServiceTest {
         );
         when(progressRepository.findByUserIdAndCourseId(userId, courseId))
                 .thenReturn(Optional.of(testProgress));
-        when(progressRepository.save(testProgress)).thenReturn(testProgress);
         when(progressMapper.toResponse(testProgress)).thenReturn(testResponse);
 
         // When
         ProgressResponse result = progressService.updateProgress(userId, courseId, request);
 
-        // Then
+        // Then: small fields go to the write-behind buffer, the row is not saved
         assertThat(result).isNotNull();
-        verify(progressMapper).updateEntity(testProgress, request);
+        ArgumentCaptor<ProgressUpdate> update = ArgumentCaptor.forClass(ProgressUpdate.class);
+        verify(writeBuffer).record(eq(userId), eq(courseId), update.capture());
+        assertThat(update.getValue().currentSessionId()).isEqualTo("session_2");
+        assertThat(update.getValue().currentBlockIndex()).isEqualTo(5);
+        assertThat(update.getValue().completionPercentage()).isEqualTo(50);
+        assertThat(update.getValue().lastActivityAt()).isNotNull();
+        verify(progressRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should save user data of progress update and buffer the rest")
+    void shouldSaveUserDataOfProgressUpdate() {
+        // Given
+        ObjectNode userData = new ObjectMapper().createObjectNode().put("name", "John");
+        UpdateProgressRequest request = new UpdateProgressRequest(null, 6, userData, null);
+        when(progressRepository.findByUserIdAndCourseId(userId, courseId))
+                .thenReturn(Optional.of(testProgress));
+        when(progressRepository.save(testProgress)).thenReturn(testProgress);
+        when(progressMapper.toResponse(testProgress)).thenReturn(testResponse);
+
+        // When
+        progressService.updateProgress(userId, courseId, request);
+
+        // Then
+        assertThat(testProgress.getUserData()).isEqualTo(userData);
         verify(progressRepository).save(testProgress);
-        assertThat(testProgress.getLastActivityAt()).isNotNull();
+        ArgumentCaptor<ProgressUpdate> update = ArgumentCaptor.forClass(ProgressUpdate.class);
+        verify(writeBuffer).record(eq(userId), eq(courseId), update.capture());
+        assertThat(update.getValue().sessionSet()).isFalse();
+        assertThat(update.getValue().currentBlockIndex()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint hot session state before reading progress to change it")
+    void shouldEvictHotSessionBeforeUpdate() {
+        // Given
+        UpdateProgressRequest request = new UpdateProgressRequest(null, 2, null, null);
+        when(progressRepository.findByUserIdAndCourseId(userId, courseId))
+                .thenReturn(Optional.of(testProgress));
+        when(progressMapper.toResponse(testProgress)).thenReturn(testResponse);
+
+        // When
+        progressService.updateProgress(userId, courseId, request);
+
+        // Then
+        InOrder order = inOrder(hotSessions, progressRepository);
+        order.verify(hotSessions).evict(userId, courseId);
+        order.verify(progressRepository).findByUserIdAndCourseId(userId, courseId);
+        verify(hotSessions).apply(testResponse);
     }
 
     // ==================== Update UserData Tests ====================
@@ -243,7 +311,11 @@ class ProgressServiceTest {
                 progressRepository,
                 courseRepository,
                 progressMapper,
-                realObjectMapper
+                realObjectMapper,
+                scenarioCache,
+                completionService,
+                writeBuffer,
+                hotSessions
         );
 
         ObjectNode existingData = realObjectMapper.createObjectNode();
@@ -281,7 +353,11 @@ class ProgressServiceTest {
                 progressRepository,
                 courseRepository,
                 progressMapper,
-                realObjectMapper
+                realObjectMapper,
+                scenarioCache,
+                completionService,
+                writeBuffer,
+                hotSessions
         );
 
         ObjectNode existingData = realObjectMapper.createObjectNode();
@@ -355,47 +431,49 @@ class ProgressServiceTest {
     // ==================== Complete Block Tests ====================
 
     @Test
-    @DisplayName("Should complete block successfully")
+    @DisplayName("Should complete block with a single update and no read before it")
     void shouldCompleteBlockSuccessfully() {
         // Given
-        String sessionId = "session_1";
-        String blockId = "welcome";
-        String expectedBlockKey = "session_1:welcome";
-
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
+        when(completionService.markCompleted(userId, courseId, 1, 3)).thenReturn(true);
         when(progressRepository.findByUserIdAndCourseId(userId, courseId))
                 .thenReturn(Optional.of(testProgress));
-        when(progressRepository.save(testProgress)).thenReturn(testProgress);
         when(progressMapper.toResponse(testProgress)).thenReturn(testResponse);
 
         // When
-        ProgressResponse result = progressService.completeBlock(userId, courseId, sessionId, blockId);
+        ProgressResponse result = progressService.completeBlock(userId, courseId, "session_1", "exercise");
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(testProgress.getCompletedBlocks()).contains(expectedBlockKey);
-        verify(progressRepository).save(testProgress);
+        InOrder order = inOrder(completionService, progressRepository);
+        order.verify(completionService).markCompleted(userId, courseId, 1, 3);
+        order.verify(progressRepository).findByUserIdAndCourseId(userId, courseId);
+        verify(progressRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should not duplicate block when already completed")
-    void shouldNotDuplicateCompletedBlock() {
+    @DisplayName("Should throw when completing block without progress")
+    void shouldThrowWhenCompletingBlockWithoutProgress() {
         // Given
-        String sessionId = "session_1";
-        String blockId = "welcome";
-        String blockKey = "session_1:welcome";
-        testProgress.getCompletedBlocks().add(blockKey); // Already completed
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
+        when(completionService.markCompleted(userId, courseId, 0, 3)).thenReturn(false);
 
-        when(progressRepository.findByUserIdAndCourseId(userId, courseId))
-                .thenReturn(Optional.of(testProgress));
-        when(progressRepository.save(testProgress)).thenReturn(testProgress);
-        when(progressMapper.toResponse(testProgress)).thenReturn(testResponse);
+        // When/Then
+        assertThatThrownBy(() -> progressService.completeBlock(userId, courseId, "session_1", "welcome"))
+                .isInstanceOf(ProgressNotFoundException.class);
+        verify(progressRepository, never()).findByUserIdAndCourseId(any(), any());
+    }
 
-        // When
-        ProgressResponse result = progressService.completeBlock(userId, courseId, sessionId, blockId);
+    @Test
+    @DisplayName("Should throw when block is not in scenario")
+    void shouldThrowWhenBlockNotInScenario() {
+        // Given
+        when(scenarioCache.get(courseId)).thenReturn(scenario());
 
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(testProgress.getCompletedBlocks()).containsOnlyOnce(blockKey);
+        // When/Then
+        assertThatThrownBy(() -> progressService.completeBlock(userId, courseId, "session_1", "missing"))
+                .isInstanceOf(BlockNotFoundException.class);
+        verifyNoInteractions(completionService);
     }
 
     // ==================== Complete Course Tests ====================
@@ -449,4 +527,10 @@ class ProgressServiceTest {
 
         verify(progressRepository, never()).delete(any());
     }
+
+    private CompiledScenario scenario() {
+        return new CompiledScenario(courseId, 1, "hash", null, "session_1", Map.of(), Map.of(),
+                List.of("session_1:welcome", "session_1:exercise", "session_2:intro"),
+                Map.of("session_1:welcome", 0, "session_1:exercise", 1, "session_2:intro", 2));
+    }
 }
@@ -0,0 +1,180 @@
+package com.cbt.platform.unit.progress;
+
+import com.cbt.platform.progress.config.ProgressWriteBehindProperties;
+import com.cbt.platform.progress.entity.UserProgress;
+import com.cbt.platform.progress.writebehind.ProgressPosition;
+import com.cbt.platform.progress.writebehind.ProgressUpdate;
+import com.cbt.platform.progress.writebehind.ProgressWriteBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProgressWriteBuffer
+ * Tests coalescing, read-through, journal replay and flush retry with a mocked JdbcTemplate
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgressWriteBuffer Unit Tests")
+class ProgressWriteBufferTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ProgressWriteBehindProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID userId;
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProgressWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setJournalDirectory(directory.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        userId = UUID.randomUUID();
+        courseId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should coalesce updates of a session into one row write")
+    void shouldCoalesceUpdates() throws Exception {
+        // Given
+        ProgressWriteBuffer buffer = newBuffer();
+        LocalDateTime now = LocalDateTime.now();
+        for (int block = 1; block <= 20; block++) {
+            buffer.record(userId, courseId, ProgressUpdate.position("s1", block, now.plusSeconds(block)));
+        }
+        buffer.record(userId, courseId, ProgressUpdate.touch(now));
+
+        // When
+        buffer.flush();
+
+        // Then
+        ArgumentCaptor<BatchPreparedStatementSetter> batch = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue().getBatchSize()).isEqualTo(1);
+        assertThat(meterRegistry.get("progress.write-behind.updates").counter().count()).isEqualTo(21);
+        assertThat(meterRegistry.get("progress.write-behind.rows").counter().count()).isEqualTo(1);
+        assertThat(buffer.pending(userId, courseId)).isEmpty();
+        assertThat(journalFiles()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should serve buffered position and keep the latest activity time")
+    void shouldServeBufferedPosition() throws Exception {
+        // Given
+        ProgressWriteBuffer buffer = newBuffer();
+        LocalDateTime now = LocalDateTime.now();
+        buffer.record(userId, courseId, ProgressUpdate.position("s2", 3, now));
+        buffer.record(userId, courseId, new ProgressUpdate(false, null, null, 40, now.minusMinutes(1)));
+        UserProgress progress = UserProgress.builder()
+                .userId(userId)
+                .courseId(courseId)
+                .currentSessionId("s1")
+                .currentBlockIndex(7)
+                .build();
+
+        // When
+        ProgressPosition position = buffer.position(progress);
+        ProgressUpdate pending = buffer.pending(userId, courseId).orElseThrow();
+
+        // Then
+        assertThat(position).isEqualTo(new ProgressPosition("s2", 3));
+        assertThat(pending.completionPercentage()).isEqualTo(40);
+        assertThat(pending.lastActivityAt()).isEqualTo(now);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should replay journal of a crashed instance")
+    void shouldReplayJournal() throws Exception {
+        // Given: updates recorded, instance dies without flushing
+        ProgressWriteBuffer crashed = newBuffer();
+        crashed.record(userId, courseId, ProgressUpdate.position("s1", 1, LocalDateTime.now()));
+        crashed.record(userId, courseId, ProgressUpdate.position("s1", 2, LocalDateTime.now()));
+
+        // When
+        ProgressWriteBuffer restarted = newBuffer();
+
+        // Then
+        assertThat(restarted.pending(userId, courseId)).get()
+                .extracting(ProgressUpdate::currentBlockIndex).isEqualTo(2);
+        restarted.flush();
+        verify(jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        assertThat(journalFiles()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep updates and journal when flush fails")
+    void shouldKeepUpdatesWhenFlushFails() throws Exception {
+        // Given
+        ProgressWriteBuffer buffer = newBuffer();
+        buffer.record(userId, courseId, ProgressUpdate.position("s1", 4, LocalDateTime.now()));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When
+        buffer.flush();
+        buffer.record(userId, courseId, ProgressUpdate.touch(LocalDateTime.now()));
+
+        // Then
+        assertThat(buffer.pending(userId, courseId)).get()
+                .extracting(ProgressUpdate::currentBlockIndex).isEqualTo(4);
+        assertThat(journalFiles()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should write immediately when disabled")
+    void shouldWriteImmediatelyWhenDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+        ProgressWriteBuffer buffer = newBuffer();
+
+        // When
+        buffer.record(userId, courseId, ProgressUpdate.touch(LocalDateTime.now()));
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        assertThat(buffer.pending(userId, courseId)).isEmpty();
+        assertThat(journalFiles()).isEmpty();
+    }
+
+    private ProgressWriteBuffer newBuffer() throws Exception {
+        ProgressWriteBuffer buffer = new ProgressWriteBuffer(properties, jdbcTemplate, objectMapper, meterRegistry);
+        buffer.init();
+        return buffer;
+    }
+
+    private List<Path> journalFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cbt.platform.unit.safety;
+
+import com.cbt.platform.safety.matcher.AhoCorasick;
+import com.cbt.platform.safety.matcher.TextNormalizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AhoCorasick matcher and TextNormalizer
+ */
+@DisplayName("AhoCorasick Unit Tests")
+class AhoCorasickTest {
+
+    @Test
+    @DisplayName("Should find overlapping patterns")
+    void match_OverlappingPatterns_FindsAll() {
+        // Given
+        AhoCorasick matcher = new AhoCorasick(List.of("he", "she", "his", "hers"));
+        List<String> found = new ArrayList<>();
+
+        // When
+        matcher.match("ushers", (pattern, end) ->
+                found.add("ushers".substring(end - matcher.patternLength(pattern), end)));
+
+        // Then
+        assertThat(found).containsExactlyInAnyOrder("she", "he", "hers");
+        assertThat(matcher.matchesAny("ushers")).isTrue();
+        assertThat(matcher.matchesAny("usual")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject empty pattern")
+    void constructor_EmptyPattern_ThrowsException() {
+        assertThatThrownBy(() -> new AhoCorasick(List.of("a", "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should normalize inflected forms to the same stems")
+    void normalize_InflectedForms_SameStems() {
+        // Given
+        TextNormalizer normalizer = new TextNormalizer();
+
+        // Then
+        assertThat(normalizer.normalize("Покончу с собой!")).isEqualTo(normalizer.normalize("покончить с собой"));
+        assertThat(normalizer.normalize("killing myself")).isEqualTo(normalizer.normalize("kill myself"));
+        assertThat(normalizer.normalize("повеситься")).isNotEqualTo(normalizer.normalize("повесить"));
+        assertThat(normalizer.normalize("Ёжик")).isEqualTo(" ежик ");
+    }
+}
@@ -0,0 +1,63 @@
+package com.cbt.platform.unit.safety;
+
+import com.cbt.platform.safety.config.SafetyProperties;
+import com.cbt.platform.safety.dto.ScreeningResult;
+import com.cbt.platform.safety.entity.RiskCategory;
+import com.cbt.platform.safety.service.RiskScreener;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RiskScreener
+ * Runs the labeled corpus from src/test/resources/safety against the shipped lexicons
+ */
+@DisplayName("RiskScreener Unit Tests")
+class RiskScreenerTest {
+
+    private static RiskScreener riskScreener;
+
+    @BeforeAll
+    static void setUp() {
+        riskScreener = new RiskScreener(new SafetyProperties());
+        riskScreener.init();
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @CsvFileSource(resources = "/safety/screening-corpus.tsv", delimiter = '\t')
+    @DisplayName("Should classify labeled corpus")
+    void screen_LabeledCorpus_MatchesLabel(String expected, String text) {
+        // When
+        ScreeningResult result = riskScreener.screen(text);
+
+        // Then
+        if ("NONE".equals(expected)) {
+            assertThat(result.isFlagged()).as("false positive, matched %s", result.matchedTerms()).isFalse();
+        } else {
+            assertThat(result.primaryCategory()).isEqualTo(RiskCategory.valueOf(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return clean result for blank text")
+    void screen_BlankText_ReturnsClean() {
+        assertThat(riskScreener.screen(null).isFlagged()).isFalse();
+        assertThat(riskScreener.screen("   ").isFlagged()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report all matched categories and terms")
+    void screen_SeveralCategories_ReportsAll() {
+        // When
+        ScreeningResult result = riskScreener.screen("Я режу себя и думаю о суициде");
+
+        // Then
+        assertThat(result.categories()).containsExactlyInAnyOrder(RiskCategory.SUICIDE, RiskCategory.SELF_HARM);
+        assertThat(result.primaryCategory()).isEqualTo(RiskCategory.SUICIDE);
+        assertThat(result.matchedTerms()).hasSize(2);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cbt.platform.unit.scenario;
+
+import com.cbt.platform.fixtures.TestDataBuilder;
+import com.cbt.platform.scenario.entity.ScenarioBlob;
+import com.cbt.platform.scenario.repository.ScenarioBlobRepository;
+import com.cbt.platform.scenario.service.ScenarioBlobServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScenarioBlobService
+ * Tests canonical hashing and store-once behavior using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScenarioBlobService Unit Tests")
+class ScenarioBlobServiceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private ScenarioBlobRepository blobRepository;
+
+    @InjectMocks
+    private ScenarioBlobServiceImpl blobService;
+
+    @Test
+    @DisplayName("Should hash equal content the same regardless of key order and whitespace")
+    void shouldHashCanonically() throws Exception {
+        // Given
+        JsonNode first = objectMapper.readTree("{\"meta\": {\"name\": \"A\", \"sessions\": [\"s1\"]}, \"sessions\": {}}");
+        JsonNode second = objectMapper.readTree("{\"sessions\":{},\"meta\":{\"sessions\":[\"s1\"],\"name\":\"A\"}}");
+        JsonNode changed = objectMapper.readTree("{\"sessions\":{},\"meta\":{\"sessions\":[\"s1\"],\"name\":\"B\"}}");
+
+        // When/Then
+        assertThat(blobService.hash(first)).isEqualTo(blobService.hash(second)).hasSize(64);
+        assertThat(blobService.hash(first)).isNotEqualTo(blobService.hash(changed));
+    }
+
+    @Test
+    @DisplayName("Should return stored blob without inserting when content exists")
+    void shouldReuseExistingBlob() throws Exception {
+        // Given
+        ScenarioBlob existing = TestDataBuilder.scenarioBlob(objectMapper.readTree("{\"meta\":{}}"));
+        when(blobRepository.findById(existing.getHash())).thenReturn(Optional.of(existing));
+
+        // When
+        ScenarioBlob result = blobService.store(objectMapper.readTree("{ \"meta\" : { } }"));
+
+        // Then
+        assertThat(result).isSameAs(existing);
+        verify(blobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should store new content under hash of its canonical JSON")
+    void shouldStoreNewBlob() throws Exception {
+        // Given
+        JsonNode content = objectMapper.readTree("{\"b\": 1, \"a\": [true, null]}");
+        String expectedHash = blobService.hash(objectMapper.readTree("{\"a\":[true,null],\"b\":1}"));
+        when(blobRepository.findById(expectedHash)).thenReturn(Optional.empty());
+        when(blobRepository.save(any(ScenarioBlob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScenarioBlob result = blobService.store(content);
+
+        // Then
+        assertThat(result.getHash()).isEqualTo(expectedHash);
+        assertThat(result.getSizeBytes()).isEqualTo("{\"a\":[true,null],\"b\":1}".length());
+        assertThat(result.getContent()).isEqualTo(content);
+    }
+}
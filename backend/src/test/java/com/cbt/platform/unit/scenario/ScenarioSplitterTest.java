@@ -0,0 +1,64 @@
+package com.cbt.platform.unit.scenario;
+
+import com.cbt.platform.scenario.entity.ScenarioPartKind;
+import com.cbt.platform.scenario.service.ScenarioSplitter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ScenarioSplitter
+ * Tests splitting of scenario JSON into header, session and section parts
+ */
+@DisplayName("ScenarioSplitter Unit Tests")
+class ScenarioSplitterTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should split scenario into header, sessions and sections in order")
+    void shouldSplitScenario() throws Exception {
+        // Given
+        JsonNode scenario = objectMapper.readTree("""
+                {"meta": {"sessions": ["onboarding", "session_1"]},
+                 "global_config": {"tone": "warm"},
+                 "sessions": {"onboarding": {"blocks": []}, "session_1": {"blocks": [{"id": "b1"}]}},
+                 "inter_session_flows": {"reminder": {}},
+                 "ui_component_specs": {}}
+                """);
+
+        // When
+        List<ScenarioSplitter.Part> parts = ScenarioSplitter.split(scenario);
+
+        // Then
+        assertThat(parts).extracting(ScenarioSplitter.Part::kind).containsExactly(
+                ScenarioPartKind.HEADER, ScenarioPartKind.SESSION, ScenarioPartKind.SESSION,
+                ScenarioPartKind.SECTION, ScenarioPartKind.SECTION);
+        assertThat(parts).extracting(ScenarioSplitter.Part::key).containsExactly(
+                ScenarioSplitter.HEADER_KEY, "onboarding", "session_1", "inter_session_flows", "ui_component_specs");
+        assertThat(parts).extracting(ScenarioSplitter.Part::position).containsExactly(0, 1, 2, 3, 4);
+
+        JsonNode header = parts.get(0).content();
+        assertThat(header.has("meta")).isTrue();
+        assertThat(header.has("global_config")).isTrue();
+        assertThat(header.has("sessions")).isFalse();
+        assertThat(header.has("inter_session_flows")).isFalse();
+        assertThat(parts.get(2).content().get("blocks").get(0).get("id").asText()).isEqualTo("b1");
+    }
+
+    @Test
+    @DisplayName("Should produce only a header when scenario has no sessions")
+    void shouldSplitEmptyScenario() throws Exception {
+        // When
+        List<ScenarioSplitter.Part> parts = ScenarioSplitter.split(objectMapper.readTree("{\"meta\": {}}"));
+
+        // Then
+        assertThat(parts).hasSize(1);
+        assertThat(parts.get(0).kind()).isEqualTo(ScenarioPartKind.HEADER);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cbt.platform.unit.security;
+
+import com.cbt.platform.security.InMemoryTokenEpochStore;
+import com.cbt.platform.security.JwtTokenProvider;
+import com.cbt.platform.security.UserPrincipal;
+import com.cbt.platform.user.entity.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JwtTokenProvider
+ * Tests claims-based principal and epoch revocation
+ */
+@DisplayName("JwtTokenProvider Unit Tests")
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(new InMemoryTokenEpochStore());
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-secret-key-for-unit-tests-min-256-bits");
+        ReflectionTestUtils.setField(tokenProvider, "accessTokenExpiration", 60000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshTokenExpiration", 120000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheSize", 100L);
+        tokenProvider.init();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should build principal from access token claims")
+    void getPrincipalFromToken_AccessToken_ReturnsPrincipal() {
+        // Given
+        String token = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.ADMIN);
+
+        // When
+        UserPrincipal principal = tokenProvider.getPrincipalFromToken(token);
+
+        // Then
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(userId);
+        assertThat(principal.getUsername()).isEqualTo("user@example.com");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before revocation")
+    void getPrincipalFromToken_RevokedToken_ReturnsNull() {
+        // Given
+        String oldToken = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.USER);
+
+        assertThat(tokenProvider.getPrincipalFromToken(oldToken)).isNotNull(); // now cached
+
+        // When
+        tokenProvider.revokeTokens(userId);
+        String newToken = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.USER);
+
+        // Then
+        assertThat(tokenProvider.getPrincipalFromToken(oldToken)).isNull();
+        assertThat(tokenProvider.getPrincipalFromToken(newToken)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not accept refresh token as access token")
+    void getPrincipalFromToken_RefreshToken_ReturnsNull() {
+        // Given
+        String refreshToken = tokenProvider.generateRefreshToken(userId, "user@example.com");
+
+        // Then
+        assertThat(tokenProvider.validateToken(refreshToken)).isTrue();
+        assertThat(tokenProvider.getPrincipalFromToken(refreshToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject token with modified payload")
+    void getPrincipalFromToken_TamperedToken_ReturnsNull() {
+        // Given
+        String token = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.USER);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"sub\":\"user@example.com\",\"uid\":\"" + userId + "\",\"role\":\"ADMIN\",\"ep\":0,"
+                        + "\"exp\":9999999999}").getBytes());
+
+        // Then
+        assertThat(tokenProvider.getPrincipalFromToken(token)).isNotNull();
+        assertThat(tokenProvider.getPrincipalFromToken(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.cbt.platform.unit.security;
+
+import com.cbt.platform.security.JwtTokenProvider;
+import com.cbt.platform.security.RedisTokenEpochStore;
+import com.cbt.platform.user.entity.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisTokenEpochStore
+ * Redis is faked by a map; keys given a TTL are dropped when the test lets time pass
+ */
+@DisplayName("RedisTokenEpochStore Unit Tests")
+class RedisTokenEpochStoreTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final Set<String> expiring = new HashSet<>();
+
+    private JwtTokenProvider tokenProvider;
+    private UUID userId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        when(ops.increment(anyString())).thenAnswer(inv -> Long.parseLong(
+                redis.merge(inv.getArgument(0), "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1))));
+        when(redisTemplate.expire(anyString(), any(Duration.class))).thenAnswer(inv -> expiring.add(inv.getArgument(0)));
+
+        tokenProvider = new JwtTokenProvider(new RedisTokenEpochStore(redisTemplate));
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-secret-key-for-unit-tests-min-256-bits");
+        ReflectionTestUtils.setField(tokenProvider, "accessTokenExpiration", 60000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshTokenExpiration", 120000L);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheSize", 100L);
+        tokenProvider.init();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should keep rejecting revoked tokens when revoking again after key TTL would have passed")
+    void revokeTokens_AfterKeyExpiry_EpochNeverGoesBack() {
+        // Given - token issued after a first revoke carries epoch 1
+        tokenProvider.revokeTokens(userId);
+        String token = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.USER);
+        assertThat(tokenProvider.getPrincipalFromToken(token)).isNotNull();
+
+        // When - keys with a TTL are gone, then the user is revoked again
+        expiring.forEach(redis::remove);
+        tokenProvider.revokeTokens(userId);
+
+        // Then
+        assertThat(tokenProvider.getPrincipalFromToken(token)).isNull();
+        assertThat(redis).containsEntry("auth:epoch:" + userId, "2");
+    }
+
+    @Test
+    @DisplayName("Should start at epoch 0 for users never revoked")
+    void currentEpoch_NeverRevoked_ReturnsZero() {
+        // Given
+        String token = tokenProvider.generateAccessToken(userId, "user@example.com", UserRole.USER);
+
+        // Then
+        assertThat(tokenProvider.getPrincipalFromToken(token)).isNotNull();
+        assertThat(redis).isEmpty();
+    }
+}
@@ -0,0 +1,211 @@
+package com.cbt.platform.unit.usage;
+
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.dto.LlmCallContext;
+import com.cbt.platform.llm.dto.LlmPriority;
+import com.cbt.platform.llm.dto.LlmResponse;
+import com.cbt.platform.usage.config.UsageProperties;
+import com.cbt.platform.usage.exception.LlmBudgetExceededException;
+import com.cbt.platform.usage.repository.LlmUsageRepository;
+import com.cbt.platform.usage.service.UsageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UsageServiceImpl
+ * Tests cost accounting and budget checks using mocks
+ * Redis is faked by a map shared by the service instances of a test
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UsageService Unit Tests")
+class UsageServiceTest {
+
+    @Mock
+    private LlmUsageRepository usageRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> noRedis;
+
+    private final Map<String, String> redis = new HashMap<>();
+
+    private UsageProperties properties;
+    private UsageServiceImpl usageService;
+    private UUID userId;
+    private UUID courseId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UsageProperties();
+        UsageProperties.Price price = new UsageProperties.Price();
+        price.setInputPerMillion(3.0);
+        price.setOutputPerMillion(15.0);
+        properties.getPrices().put("claude", price);
+
+        usageService = new UsageServiceImpl(properties, usageRepository, jdbcTemplate, noRedis);
+        userId = UUID.randomUUID();
+        courseId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should reject call when user daily budget is spent")
+    void checkBudget_UserBudgetSpent_ThrowsException() {
+        // Given
+        properties.setDailyUserBudgetUsd(0.01);
+        when(usageRepository.sumCostByUser(any(), eq(userId))).thenReturn(0L);
+        LlmCallContext context = LlmCallContext.of(LlmPriority.RENDER, userId, courseId, "block_1");
+
+        // When
+        usageService.checkBudget(context);
+        usageService.record(context, ProviderType.CLAUDE, response(1000, 1000)); // 18000 micros
+
+        // Then
+        assertThatThrownBy(() -> usageService.checkBudget(context))
+                .isInstanceOf(LlmBudgetExceededException.class);
+        verify(usageRepository, times(1)).sumCostByUser(any(), eq(userId));
+    }
+
+    @Test
+    @DisplayName("Should not check budgets when they are unlimited")
+    void checkBudget_Unlimited_DoesNotQueryRepository() {
+        // Given
+        LlmCallContext context = LlmCallContext.of(LlmPriority.RENDER, userId, courseId, "block_1");
+
+        // When
+        usageService.checkBudget(context);
+
+        // Then
+        verifyNoInteractions(usageRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply batch discount and flush aggregated counters")
+    @SuppressWarnings("unchecked")
+    void flush_BatchCalls_WritesDiscountedCost() {
+        // Given
+        LlmCallContext context = LlmCallContext.of(LlmPriority.BATCH, userId, courseId, "block_1");
+        usageService.record(context, ProviderType.CLAUDE, response(1000, 1000));
+        usageService.record(context, ProviderType.CLAUDE, response(1000, 1000));
+
+        // When
+        usageService.flush();
+
+        // Then
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        Object[] row = captor.getValue().get(0);
+        assertThat(row[6]).isEqualTo(2L);      // requests
+        assertThat(row[7]).isEqualTo(2000L);   // input tokens
+        assertThat(row[9]).isEqualTo(18000L);  // cost: 2 * 18000 * 0.5
+    }
+
+    @Test
+    @DisplayName("Should skip flush when nothing was recorded")
+    void flush_NoUsage_DoesNothing() {
+        // When
+        usageService.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should see spend of other instances through Redis")
+    void checkBudget_SpendOnOtherInstance_ThrowsException() {
+        // Given
+        properties.setDailyUserBudgetUsd(0.01);
+        when(usageRepository.sumCostByUser(any(), eq(userId))).thenReturn(0L);
+        ObjectProvider<StringRedisTemplate> sharedRedis = fakeRedis();
+        UsageServiceImpl first = new UsageServiceImpl(properties, usageRepository, jdbcTemplate, sharedRedis);
+        UsageServiceImpl second = new UsageServiceImpl(properties, usageRepository, jdbcTemplate, sharedRedis);
+        LlmCallContext context = LlmCallContext.of(LlmPriority.RENDER, userId, courseId, "block_1");
+
+        // When
+        second.checkBudget(context);
+        first.checkBudget(context);
+        first.record(context, ProviderType.CLAUDE, response(1000, 1000)); // 18000 micros
+
+        // Then
+        assertThatThrownBy(() -> second.checkBudget(context))
+                .isInstanceOf(LlmBudgetExceededException.class);
+        assertThat(redis).containsValue("18000");
+        verify(usageRepository, times(1)).sumCostByUser(any(), eq(userId));
+    }
+
+    @Test
+    @DisplayName("Should count spend locally when Redis is unreachable")
+    @SuppressWarnings("unchecked")
+    void checkBudget_RedisDown_CountsLocally() {
+        // Given
+        properties.setDailyUserBudgetUsd(0.01);
+        when(usageRepository.sumCostByUser(any(), eq(userId))).thenReturn(5000L);
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        ObjectProvider<StringRedisTemplate> downRedis = mock(ObjectProvider.class);
+        when(downRedis.getIfAvailable()).thenReturn(template);
+        UsageServiceImpl service = new UsageServiceImpl(properties, usageRepository, jdbcTemplate, downRedis);
+        LlmCallContext context = LlmCallContext.of(LlmPriority.RENDER, userId, courseId, "block_1");
+
+        // When
+        service.checkBudget(context);
+        service.record(context, ProviderType.CLAUDE, response(300, 300)); // 5400 micros
+
+        // Then - 5000 stored + 5400 local is over the 10000 budget
+        assertThatThrownBy(() -> service.checkBudget(context))
+                .isInstanceOf(LlmBudgetExceededException.class);
+        verify(ops, times(1)).get(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<StringRedisTemplate> fakeRedis() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        lenient().when(template.opsForValue()).thenReturn(ops);
+        lenient().when(ops.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+        lenient().when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(inv -> redis.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        lenient().when(ops.increment(anyString(), anyLong())).thenAnswer(inv -> Long.parseLong(redis.merge(
+                inv.getArgument(0), String.valueOf(inv.<Long>getArgument(1)),
+                (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b)))));
+        ObjectProvider<StringRedisTemplate> provider = mock(ObjectProvider.class);
+        lenient().when(provider.getIfAvailable()).thenReturn(template);
+        return provider;
+    }
+
+    private LlmResponse response(int inputTokens, int outputTokens) {
+        return LlmResponse.builder()
+                .content("response")
+                .model("claude-3-5-sonnet")
+                .inputTokens(inputTokens)
+                .outputTokens(outputTokens)
+                .tokensUsed(inputTokens + outputTokens)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.cbt.platform.unit.user;
+
+import com.cbt.platform.user.cache.UserCache;
+import com.cbt.platform.user.config.UserCacheProperties;
+import com.cbt.platform.user.entity.User;
+import com.cbt.platform.user.entity.UserRole;
+import com.cbt.platform.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserCache
+ * Tests lookups, active checks and invalidation using mocks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserCache Unit Tests")
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    @Mock
+    private StringRedisTemplate template;
+
+    private UserCacheProperties properties;
+    private UserCache userCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserCacheProperties();
+        userCache = new UserCache(userRepository, properties, redisTemplate);
+        userCache.init();
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("Test@Example.com")
+                .name("Test User")
+                .role(UserRole.USER)
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load user once and serve repeated lookups by id and email from cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        // When
+        Optional<User> first = userCache.findActiveById(user.getId());
+        Optional<User> second = userCache.findActiveById(user.getId());
+        Optional<User> byEmail = userCache.findActiveByEmail("test@EXAMPLE.com");
+
+        // Then
+        assertThat(first).contains(user);
+        assertThat(second).contains(user);
+        assertThat(byEmail).contains(user);
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, never()).findByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not return deleted or deactivated user")
+    void shouldNotReturnInactiveUser() {
+        // Given
+        user.setDeletedAt(LocalDateTime.now());
+        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Optional.of(user));
+
+        // When
+        Optional<User> byEmail = userCache.findActiveByEmail("test@example.com");
+        Optional<User> byId = userCache.findActiveById(user.getId());
+
+        // Then
+        assertThat(byEmail).isEmpty();
+        assertThat(byId).isEmpty();
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reload user after eviction")
+    void shouldReloadAfterEviction() {
+        // Given
+        User deleted = User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .isActive(true)
+                .deletedAt(LocalDateTime.now())
+                .build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user), Optional.of(deleted));
+        userCache.findActiveById(user.getId());
+
+        // When
+        userCache.evict(user.getId());
+        Optional<User> result = userCache.findActiveById(user.getId());
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Should publish invalidation when Redis invalidation is enabled")
+    void shouldPublishInvalidation() {
+        // Given
+        properties.setRedisInvalidation(true);
+        when(redisTemplate.getIfAvailable()).thenReturn(template);
+
+        // When
+        userCache.evict(user.getId());
+
+        // Then
+        verify(template).convertAndSend(properties.getChannel(), user.getId().toString());
+    }
+
+    @Test
+    @DisplayName("Should go to repository when cache is disabled")
+    void shouldBypassCacheWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+        when(userRepository.findActiveById(user.getId())).thenReturn(Optional.of(user));
+
+        // When
+        userCache.findActiveById(user.getId());
+        userCache.findActiveById(user.getId());
+
+        // Then
+        verify(userRepository, times(2)).findActiveById(user.getId());
+        verify(userRepository, never()).findById(any());
+    }
+}
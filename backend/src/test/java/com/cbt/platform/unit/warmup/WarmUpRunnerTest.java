@@ -0,0 +1,163 @@
+package com.cbt.platform.unit.warmup;
+
+import com.cbt.platform.course.dto.CourseResponse;
+import com.cbt.platform.course.service.CourseService;
+import com.cbt.platform.editor.service.BlockTemplateService;
+import com.cbt.platform.engine.dto.BlockType;
+import com.cbt.platform.engine.dto.CompiledScenario;
+import com.cbt.platform.engine.handler.BlockHandler;
+import com.cbt.platform.engine.service.BlockHandlerRegistry;
+import com.cbt.platform.engine.service.ScenarioCache;
+import com.cbt.platform.llm.config.ProviderType;
+import com.cbt.platform.llm.provider.LlmProvider;
+import com.cbt.platform.llm.service.LlmProviderFactory;
+import com.cbt.platform.llm.service.TemplateEngine;
+import com.cbt.platform.warmup.WarmUpRunner;
+import com.cbt.platform.warmup.config.WarmUpProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WarmUpRunner
+ * Tests which caches, handlers and connections are warmed and that failures never stop startup
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WarmUpRunner Unit Tests")
+class WarmUpRunnerTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+
+    @Mock
+    private LlmProviderFactory llmProviderFactory;
+
+    @Mock
+    private LlmProvider llmProvider;
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private ScenarioCache scenarioCache;
+
+    @Mock
+    private BlockTemplateService blockTemplateService;
+
+    @Mock
+    private BlockHandlerRegistry handlerRegistry;
+
+    @Mock
+    private BlockHandler staticHandler;
+
+    @Mock
+    private BlockHandler llmHandler;
+
+    private WarmUpProperties properties;
+    private WarmUpRunner runner;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new WarmUpProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new WarmUpRunner(properties, dataSource, redisConnectionFactory, llmProviderFactory,
+                courseService, scenarioCache, blockTemplateService, handlerRegistry,
+                new TemplateEngine(), objectMapper, meterRegistry);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(llmProviderFactory.getAvailableProviders()).thenReturn(List.of(ProviderType.CLAUDE));
+        when(llmProviderFactory.getProvider(ProviderType.CLAUDE)).thenReturn(llmProvider);
+        when(handlerRegistry.hasHandler(any())).thenAnswer(invocation ->
+                invocation.getArgument(0) == BlockType.STATIC || invocation.getArgument(0) == BlockType.LLM_RESPONSE);
+        when(handlerRegistry.getHandler(BlockType.STATIC)).thenReturn(staticHandler);
+        when(handlerRegistry.getHandler(BlockType.LLM_RESPONSE)).thenReturn(llmHandler);
+    }
+
+    @Test
+    @DisplayName("Should compile published scenarios and run handlers on their blocks")
+    void shouldCompileScenariosAndRunHandlers() throws Exception {
+        UUID courseId = UUID.randomUUID();
+        CompiledScenario scenario = new CompiledScenario(courseId, 1, "hash",
+                objectMapper.readTree("{\"meta\":{\"sessions\":[\"s1\"]}}"), "s1", Map.of("s1", "h1"), Map.of(),
+                List.of("s1:b1"), Map.of("s1:b1", 0));
+        JsonNode session = objectMapper.readTree("{\"blocks\":[{\"id\":\"b1\",\"type\":\"static\"}]}");
+        when(courseService.findAllActiveAndPublished()).thenReturn(List.of(course(courseId)));
+        when(scenarioCache.get(courseId)).thenReturn(scenario);
+        when(scenarioCache.session(scenario, "s1")).thenReturn(session);
+
+        runner.run(null);
+
+        verify(blockTemplateService).findAllActive();
+        verify(staticHandler).handle(eq(session.get("blocks").get(0)), any(), isNull());
+        verify(llmProvider).warmUp();
+        assertThat(meterRegistry.get("warmup.duration").tag("step", "scenarios").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only validate LLM blocks")
+    void shouldOnlyValidateLlmBlocks() {
+        runner.run(null);
+
+        verify(llmHandler).validateInput(any(), any());
+        verify(llmHandler, never()).handle(any(), any(), any());
+        verify(llmHandler, never()).handle(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should continue when a step fails")
+    void shouldContinueWhenStepFails() throws Exception {
+        when(dataSource.getConnection()).thenThrow(new SQLException("down"));
+        when(courseService.findAllActiveAndPublished()).thenThrow(new IllegalStateException("down"));
+
+        assertThatCode(() -> runner.run(null)).doesNotThrowAnyException();
+
+        verify(blockTemplateService).findAllActive();
+        verify(staticHandler).handle(any(), any(), isNull());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        runner.run(null);
+
+        verifyNoInteractions(dataSource, courseService, blockTemplateService, handlerRegistry);
+    }
+
+    private CourseResponse course(UUID id) {
+        return new CourseResponse(id, "course", "Course", null, "1.0.0", 2, null, null, null, null,
+                true, true, null);
+    }
+}